@@ -0,0 +1,303 @@
+package foodchain.gui;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+import foodchain.ai.HintMap;
+import foodchain.board.CellContent;
+import foodchain.board.Terrain;
+import foodchain.board.TerrainMap;
+import foodchain.core.GameSnapshot;
+import foodchain.jfr.RenderEvent;
+import foodchain.metrics.Metrics;
+import foodchain.model.Era;
+import foodchain.model.Pos;
+import foodchain.model.Role;
+
+/**
+ * Visual representation of the game grid.
+ * Handles rendering of cells, tokens, and click events.
+ */
+public class BoardPanel extends JPanel {
+
+    private int size;
+    private JButton[][] cells;
+    private Consumer<Pos> onCellClick=p->{};
+
+    private static final String GROUND="foodchain.ground";
+    private TerrainMap terrain;
+    private Era era;
+    private GameSnapshot rendered;
+    private int renderedCellSize;
+    private final BitSet touched=new BitSet();
+    // Cells a highlight enabled or coloured; all cells when allMarked is set.
+    private final List<JButton> marked=new ArrayList<>();
+    private boolean allMarked=true;
+
+    /**
+     * Initializes an empty board panel. The grid is built by the first render,
+     * once the board size is known.
+     */
+    public BoardPanel() {
+        setBackground(Color.WHITE);
+    }
+
+    /**
+     * Registers a callback for cell click events.
+     * @param onCellClick The action to perform when a cell is clicked.
+     */
+    public void setOnCellClick(Consumer<Pos> onCellClick) {
+        this.onCellClick=(onCellClick==null) ? (p->{}) : onCellClick;
+    }
+
+    /**
+     * Generates a circular token icon with the entity image inside.
+     * @param name The name of the asset to load.
+     * @param cellSize The dimension of the cell.
+     * @param circleColor The background color of the token.
+     * @return An ImageIcon ready for the button, or null if image fails.
+     */
+    private ImageIcon createTokenIcon(String name, int cellSize, Color circleColor) {
+        BufferedImage token=TokenArt.token(name, cellSize, circleColor, era);
+        return (token==null) ? null : new ImageIcon(token);
+    }
+
+    /**
+     * Recreates the grid layout based on a new board size.
+     * @param newSize The number of rows/cols.
+     */
+    public void rebuild(int newSize) {
+        this.size=newSize;
+        this.rendered=null;
+        this.allMarked=true;
+        marked.clear();
+        removeAll();
+        setLayout(new GridLayout(size,size)); 
+
+        cells=new JButton[size][size];
+
+        for(int r=0;r<size;r++) {
+            for(int c=0;c<size;c++) {
+                JButton b=new JButton();
+                b.setFocusPainted(false);
+                b.setContentAreaFilled(true); 
+                b.setOpaque(true);
+                b.putClientProperty(GROUND, ground(r, c));
+                b.setBackground(ground(r, c));
+                b.setBorder(BorderFactory.createLineBorder(TokenArt.GRID_LINE)); 
+
+                int rr=r, cc=c;
+                b.addActionListener(e->onCellClick.accept(new Pos(rr,cc)));
+
+                cells[r][c]=b;
+                add(b);
+            }
+        }
+        revalidate();
+        repaint();
+    }
+
+    /**
+     * Updates the board visuals from a published engine snapshot.
+     * When the snapshot directly follows the one drawn last, only the cells in its
+     * change journal are redrawn.
+     * @param st The latest GameSnapshot.
+     */
+    public void render(GameSnapshot st) {
+        long t0=Metrics.start();
+        RenderEvent ev=new RenderEvent();
+        ev.begin();
+        try {
+            renderState(st);
+        } finally {
+            Metrics.RENDER.stop(t0);
+            ev.end();
+            if(ev.shouldCommit()) {
+                ev.boardSize=size;
+                ev.commit();
+            }
+        }
+    }
+
+    private void renderState(GameSnapshot st) {
+        if(st.getEra()!=era) {
+            // The old era's sprites will not be shown again until it is played again
+            if(era!=null) TokenArt.unloadEra(era);
+            era=st.getEra();
+        }
+        if(st.getSize()!=size || st.getTerrain()!=terrain) {
+            terrain=st.getTerrain();
+            rebuild(st.getSize());
+        }
+
+        int cellSize=cells[0][0].getWidth();
+        if(cellSize<=0) cellSize=64; 
+
+        touched.clear();
+        if(cellSize==renderedCellSize && st.changesSince(rendered, (r,c,before,after)->touched.set(r*size+c))) {
+            for(int i=touched.nextSetBit(0);i>=0;i=touched.nextSetBit(i+1)) {
+                paintCell(st, i/size, i%size, cellSize);
+            }
+        } else {
+            for(int r=0;r<size;r++) {
+                for(int c=0;c<size;c++) clearCell(r, c);
+            }
+            putToken(st.getPrey(), cellSize);
+            putToken(st.getPredator(), cellSize);
+            putToken(st.getApex(), cellSize);
+            putToken(st.getFood(), cellSize);
+        }
+        rendered=st;
+        renderedCellSize=cellSize;
+    }
+
+    private void clearCell(int r, int c) {
+        JButton b=cells[r][c];
+        b.setIcon(null);
+        b.setDisabledIcon(null);
+        b.setText("");
+        b.setBackground(ground(r, c));
+    }
+
+    /**
+     * Returns the unhighlighted colour of a cell, which shows its terrain.
+     */
+    private Color ground(int r, int c) {
+        return TokenArt.ground(terrain==null ? Terrain.OPEN : terrain.get(r, c));
+    }
+
+    private void paintCell(GameSnapshot st, int r, int c, int cellSize) {
+        clearCell(r, c);
+        CellContent cc=st.get(r, c);
+        if(cc==CellContent.PREY) putToken(st.getPrey(), cellSize);
+        else if(cc==CellContent.PREDATOR) putToken(st.getPredator(), cellSize);
+        else if(cc==CellContent.APEX) putToken(st.getApex(), cellSize);
+        else if(cc==CellContent.FOOD) putToken(st.getFood(), cellSize);
+    }
+
+    private void putToken(GameSnapshot.Piece piece, int size) {
+        Pos p=piece.getPos();
+        if(p==null) return;
+        Color circleColor=TokenArt.tokenColor(piece.getRole());
+        if(p.getRow()<0 || p.getRow()>=size || p.getCol()<0 || p.getCol()>=size) return;
+
+        JButton b=cells[p.getRow()][p.getCol()];
+        ImageIcon icon=createTokenIcon(piece.getName(), size, circleColor);
+        
+        if(icon!=null) {
+            b.setIcon(icon);
+            b.setDisabledIcon(icon);
+            b.setText("");
+        } else {
+            b.setText(TokenArt.fallbackText(piece.getRole()));
+            b.setForeground(circleColor.darker().darker());
+            b.setFont(new Font("Arial",Font.BOLD,16));
+        }
+    }
+
+    public void setEnabledAll(boolean enabled) {
+        for(int r=0;r<size;r++)
+            for(int c=0;c<size;c++)
+                cells[r][c].setEnabled(enabled);
+        allMarked=true;
+    }
+
+    /**
+     * Turns every cell touched by the last highlight back to its ground colour and disabled.
+     */
+    private void resetMarked() {
+        if(allMarked) {
+            for(int r=0;r<size;r++) {
+                for(int c=0;c<size;c++) {
+                    cells[r][c].setEnabled(false);
+                    cells[r][c].setBackground(ground(r, c));
+                    cells[r][c].setToolTipText(null);
+                }
+            }
+        } else {
+            for(JButton b : marked) {
+                b.setEnabled(false);
+                b.setBackground((Color)b.getClientProperty(GROUND));
+                b.setToolTipText(null);
+            }
+        }
+        marked.clear();
+        allMarked=false;
+    }
+
+    /**
+     * Highlights cells to show valid moves or the current player.
+     * @param turn Current active role.
+     * @param walk Grid of valid walk moves.
+     * @param ability Grid of valid ability moves.
+     * @param enableClicks Whether the user can interact with highlighted cells.
+     * @param playerPos Position of the current player.
+     */
+    public void highlight(Role turn, boolean[][] walk, boolean[][] ability, boolean enableClicks, Pos playerPos) {
+        long t0=Metrics.start();
+        try {
+            paintHighlight(walk, ability, enableClicks, playerPos);
+        } finally {
+            Metrics.HIGHLIGHT.stop(t0);
+        }
+    }
+
+    private void paintHighlight(boolean[][] walk, boolean[][] ability, boolean enableClicks, Pos playerPos) {
+        resetMarked();
+        for(int r=0;r<size;r++) {
+            for(int c=0;c<size;c++) {
+                boolean w=(walk!=null && walk[r][c]);
+                boolean a=(ability!=null && ability[r][c]);
+                boolean isSelf=(playerPos!=null && r==playerPos.getRow() && c==playerPos.getCol());
+                if(!w && !a && !isSelf) continue;
+
+                if(isSelf) {
+                    cells[r][c].setBackground(new Color(180,220,255)); 
+                } else if(a) {
+                    cells[r][c].setBackground(new Color(255,200,200));
+                } else {
+                    cells[r][c].setBackground(new Color(180,220,255)); 
+                }
+                cells[r][c].setEnabled(enableClicks);
+                marked.add(cells[r][c]);
+            }
+        }
+    }
+    
+    public void disableAll() {
+        resetMarked();
+    }
+
+    /**
+     * Colours the highlighted destinations by their estimated worth, from blue for the
+     * worst to red for the best, and shows the estimate as a tooltip.
+     * Cells that are not highlighted are left alone.
+     * @param heat The estimates of the position on the board.
+     */
+    public void showHeat(HintMap.Heat heat) {
+        if(heat==null || heat.getSize()!=size) return;
+        double lo=heat.getMin(), hi=heat.getMax();
+        for(int r=0;r<size;r++) {
+            for(int c=0;c<size;c++) {
+                JButton b=cells[r][c];
+                if(!heat.isMove(r, c) || !b.isEnabled()) continue;
+                double t=(hi>lo) ? (heat.getMean(r, c)-lo)/(hi-lo) : 0.5;
+                b.setBackground(heatColor(t));
+                b.setToolTipText(String.format(Locale.ROOT, "%+.2f points over %d playouts", heat.getMean(r, c), heat.getPlayouts(r, c)));
+            }
+        }
+    }
+
+    private static Color heatColor(double t) {
+        int red=(int)Math.round(150+105*t);
+        int green=(int)Math.round(200-90*Math.abs(2*t-1));
+        int blue=(int)Math.round(255-105*t);
+        return new Color(red, green, blue);
+    }
+}
\ No newline at end of file
@@ -2,13 +2,17 @@ package foodchain.gui;
 
 import foodchain.core.GameConfig;
 import foodchain.core.GameEngine;
+import foodchain.core.GameSnapshot;
 import foodchain.io.GameStateSerializer;
 import foodchain.io.InvalidSaveFormatException;
+import foodchain.service.SpectatorServer;
 
 import javax.swing.*;
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.awt.CardLayout;
+import java.util.List;
 
 /**
  * Main application window for the FoodChain game.
@@ -20,10 +24,12 @@ public class GameFrame extends JFrame {
     private final JPanel root=new JPanel(cards);
 
     private final StartPanel startPanel;
-    private final GamePanel gamePanel;
+    private GamePanel gamePanel;
 
     private GameEngine engine;
     private final Path SAVE_FILE=Path.of("data", "save.txt");
+    private final Path REPLAY_FILE=Path.of("data", "replay.gif");
+    private final SpectatorServer stream=openStream();
 
     /**
      * Initializes the main frame and setup panels.
@@ -37,10 +43,7 @@ public class GameFrame extends JFrame {
         setJMenuBar(buildMenuBar());
 
         startPanel=new StartPanel(this);
-        gamePanel=new GamePanel(this);
-
         root.add(startPanel, "START");
-        root.add(gamePanel, "GAME");
 
         setContentPane(root);
         showStart();
@@ -48,6 +51,42 @@ public class GameFrame extends JFrame {
 
     public GameEngine getEngine() { return engine; }
 
+    /**
+     * Opens the spectator stream if "foodchain.spectate.port" is set.
+     * @return The stream, or null.
+     */
+    private static SpectatorServer openStream() {
+        Integer port=Integer.getInteger("foodchain.spectate.port");
+        if(port==null) return null;
+        try {
+            return new SpectatorServer(port);
+        } catch(IOException e) {
+            System.err.println("Spectator stream not started: "+e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Sends the shown board to the spectator stream, if there is one. Never blocks.
+     * @param snap The snapshot just rendered.
+     */
+    void broadcast(GameSnapshot snap) {
+        if(stream!=null) stream.publish(snap);
+    }
+
+    /**
+     * Returns the game screen, building it on first use so that the start screen
+     * appears without paying for the board, status panel and player cards.
+     * @return The game panel.
+     */
+    GamePanel gamePanel() {
+        if(gamePanel==null) {
+            gamePanel=new GamePanel(this);
+            root.add(gamePanel, "GAME");
+        }
+        return gamePanel;
+    }
+
     private JMenuBar buildMenuBar() {
         JMenuBar bar=new JMenuBar();
         JMenu file=new JMenu("Menu");
@@ -61,6 +100,9 @@ public class GameFrame extends JFrame {
         JMenuItem load=new JMenuItem("Load");
         load.addActionListener(e->loadWithChooser());
 
+        JMenuItem replay=new JMenuItem("Export Replay");
+        replay.addActionListener(e->exportReplay());
+
         JMenuItem exit=new JMenuItem("Exit");
         exit.addActionListener(e->System.exit(0));
 
@@ -68,6 +110,7 @@ public class GameFrame extends JFrame {
         file.addSeparator();
         file.add(save);
         file.add(load);
+        file.add(replay);
         file.addSeparator();
         file.add(exit);
 
@@ -93,6 +136,36 @@ public class GameFrame extends JFrame {
         }
     }
 
+    /**
+     * Writes the current game so far as an animated GIF, on a background thread.
+     * Shows a popup dialog when done or on failure.
+     */
+    public void exportReplay() {
+        List<GameSnapshot> frames=(engine==null) ? List.of() : engine.getRecording();
+        if(frames.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "No game to export.", "Warning", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() throws Exception {
+                new ReplayExporter(48, 250).writeGif(frames, REPLAY_FILE);
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    get();
+                    JOptionPane.showMessageDialog(GameFrame.this, "Replay exported to data/replay.gif!");
+                } catch(Exception ex) {
+                    Throwable cause=(ex.getCause()!=null) ? ex.getCause() : ex;
+                    JOptionPane.showMessageDialog(GameFrame.this, "Export Failed: "+cause.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
     /**
      * Loads a game state from a file.
      * Restores the game engine and UI.
@@ -104,9 +177,10 @@ public class GameFrame extends JFrame {
         }
         try {
             GameEngine loaded=new GameEngine();
+            loaded.setRecording(true);
             GameStateSerializer.load(SAVE_FILE, loaded);
             this.engine=loaded;
-            gamePanel.refreshFromEngine(engine);
+            gamePanel().refreshFromEngine(engine);
             showGame();
             JOptionPane.showMessageDialog(this, "Game loaded from data/save.txt!");
         } catch(InvalidSaveFormatException ex) {
@@ -122,9 +196,21 @@ public class GameFrame extends JFrame {
      * @throws java.io.IOException if assets fail to load.
      */
     public void startNewGame(GameConfig cfg) throws java.io.IOException {
+        startNewGame(cfg, false);
+    }
+
+    /**
+     * Starts a new game, optionally with the AI playing the Predator too.
+     * @param cfg The game configuration (Era, Size, etc.).
+     * @param spectate True to watch an AI-only game.
+     * @throws java.io.IOException if assets fail to load.
+     */
+    public void startNewGame(GameConfig cfg, boolean spectate) throws java.io.IOException {
         engine=new GameEngine();
+        engine.setRecording(true);
         engine.startGame(cfg);
-        gamePanel.refreshFromEngine(engine);
+        if(spectate) gamePanel().spectate(engine);
+        else gamePanel().refreshFromEngine(engine);
         showGame();
     }
 
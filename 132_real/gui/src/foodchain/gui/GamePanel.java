@@ -0,0 +1,311 @@
+package foodchain.gui;
+
+import foodchain.ai.ApexAI;
+import foodchain.ai.HintMap;
+import foodchain.ai.Ponderer;
+import foodchain.ai.PreyAI;
+import foodchain.core.GameEngine;
+import foodchain.core.GameSnapshot;
+import foodchain.model.Era;
+import foodchain.model.Pos;
+import foodchain.model.Role;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import java.awt.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The primary game interface containing the board and status panels.
+ * Manages the AI turn timer and player interaction flow.
+ */
+public class GamePanel extends JPanel {
+
+    private final GameFrame frame;
+    private final BoardPanel boardPanel=new BoardPanel();
+    private final StatusPanel statusPanel=new StatusPanel();
+
+    private GameEngine boundEngine;
+    private ApexAI apexAI;
+    private PreyAI preyAI;
+    private Ponderer ponderer;
+    private HintMap hints;
+    private final AtomicReference<HintMap.Heat> latestHeat=new AtomicReference<>();
+    private final AtomicBoolean heatPending=new AtomicBoolean();
+
+    private Timer aiTimer; 
+    private Spectator spectator;
+    private final JComboBox<Spectator.Speed> speedBox=new JComboBox<>(Spectator.Speed.values());
+    private final JCheckBox hintBox=new JCheckBox("Hints");
+
+    public GamePanel(GameFrame frame) {
+        this.frame=frame;
+        setLayout(new BorderLayout(10,10));
+        setBorder(new EmptyBorder(10,10,10,10));
+
+        add(boardPanel, BorderLayout.CENTER);
+        add(statusPanel, BorderLayout.EAST);
+        add(buildBottomBar(), BorderLayout.SOUTH);
+
+        boardPanel.setOnCellClick(this::handleCellClick);
+
+        aiTimer=new Timer(Spectator.Speed.X1.timerDelayMillis(),e->processNextAITurn());
+        aiTimer.setRepeats(true);
+    }
+
+    /**
+     * Shows a game in which the AI also plays the Predator, at the selected speed.
+     * @param engine The started game to watch.
+     */
+    public void spectate(GameEngine engine) {
+        stopTimer();
+        closePonderer();
+        boundEngine=engine;
+        boardPanel.disableAll();
+        spectator=new Spectator(engine, (Spectator.Speed)speedBox.getSelectedItem(), snap->{
+            statusPanel.update(snap);
+            boardPanel.render(snap);
+            boardPanel.disableAll();
+            frame.broadcast(snap);
+        }, ()->showGameOverMessage(engine));
+        spectator.start();
+    }
+
+    private JPanel buildBottomBar() {
+        JButton newGame=new JButton("New Game");
+        newGame.addActionListener(e->{
+            stopTimer();
+            frame.showStart();
+        });
+
+        JButton saveBtn=new JButton("Save");
+        saveBtn.addActionListener(e->frame.saveWithChooser());
+
+        JButton loadBtn=new JButton("Load");
+        loadBtn.addActionListener(e->{
+            stopTimer(); 
+            frame.loadWithChooser();
+        });
+
+        speedBox.addActionListener(e->{
+            Spectator.Speed s=(Spectator.Speed)speedBox.getSelectedItem();
+            aiTimer.setDelay(s.timerDelayMillis());
+            if(spectator!=null) spectator.setSpeed(s);
+        });
+
+        hintBox.setToolTipText("Colour your moves by their worth over the next rounds, estimated by random playouts");
+        hintBox.addActionListener(e->{
+            GameEngine engine=frame.getEngine();
+            if(!hintBox.isSelected()) {
+                cancelHints();
+                if(engine!=null && spectator==null && !aiTimer.isRunning() && !engine.isGameOver()) highlightForCurrentTurn(engine);
+            } else if(engine!=null && spectator==null && !aiTimer.isRunning()) {
+                startHints(engine);
+            }
+        });
+
+        JPanel bottom=new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        bottom.add(hintBox);
+        bottom.add(new JLabel("Speed:"));
+        bottom.add(speedBox);
+        bottom.add(loadBtn);
+        bottom.add(saveBtn);
+        bottom.add(newGame);
+        return bottom;
+    }
+
+    private void stopTimer() {
+        if(aiTimer.isRunning()) aiTimer.stop();
+        if(ponderer!=null) ponderer.cancel();
+        cancelHints();
+        if(spectator!=null) {
+            spectator.stop();
+            spectator=null;
+        }
+    }
+
+    /**
+     * Updates the UI to reflect a new or loaded game engine.
+     * Re-initializes AI controllers and timers.
+     * @param engine The GameEngine instance to display.
+     */
+    public void refreshFromEngine(GameEngine engine) {
+        if(engine==null) return;
+
+        boolean newEngine=(engine!=boundEngine);
+        if(newEngine) {
+            stopTimer(); 
+            boundEngine=engine;
+            apexAI=new ApexAI(engine);
+            preyAI=new PreyAI(engine);
+            closePonderer();
+            if(Ponderer.enabled()) ponderer=new Ponderer(engine);
+            hints=null;
+
+            if(engine.getTurnManager().getCurrentTurn()!=Role.PREDATOR) {
+                boardPanel.setEnabledAll(false); 
+                aiTimer.start();
+            }
+        }
+
+        GameSnapshot snap=engine.getSnapshot();
+        statusPanel.update(snap);
+        boardPanel.render(snap);
+        frame.broadcast(snap);
+
+        if(engine.isGameOver()) {
+            boardPanel.disableAll();
+            stopTimer();
+        } else if(!aiTimer.isRunning()) {
+            highlightForCurrentTurn(engine);
+        } else {
+            boardPanel.disableAll(); 
+        }
+    }
+
+    /**
+     * Handles clicks on the board by the human player.
+     * Executes the move if valid and passes turn to AI.
+     * @param to The target position.
+     */
+    private void handleCellClick(Pos to) {
+        if(aiTimer.isRunning() || spectator!=null) return;
+
+        GameEngine engine=frame.getEngine();
+        if(engine==null || engine.isGameOver()) return;
+        if(engine.getTurnManager().getCurrentTurn()!=Role.PREDATOR) return;
+
+        cancelHints();
+        boolean ok=engine.move(Role.PREDATOR, to);
+
+        if(!ok) {
+            Toolkit.getDefaultToolkit().beep();
+            return;
+        }
+
+        refreshFromEngine(engine);
+
+        if(!engine.isGameOver()) {
+            boardPanel.setEnabledAll(false); 
+            aiTimer.start(); 
+        } else {
+            showGameOverMessage(engine);
+        }
+    }
+
+    /**
+     * Triggered by the timer to execute AI moves (Apex and Prey).
+     */
+    private void processNextAITurn() {
+        GameEngine engine=frame.getEngine();
+        if(engine==null || engine.isGameOver()) {
+            stopTimer();
+            if(engine!=null) showGameOverMessage(engine);
+            return;
+        }
+
+        Role turn=engine.getTurnManager().getCurrentTurn();
+
+        if(turn==Role.PREDATOR) {
+            stopTimer(); 
+            refreshFromEngine(engine); 
+            Toolkit.getDefaultToolkit().beep();
+            return;
+        }
+
+        int round=engine.getTurnManager().getRound();
+        boolean moved=false;
+        Ponderer.Reply pondered=(ponderer!=null) ? ponderer.reply() : null;
+        if(pondered!=null) {
+            moved=(turn==Role.PREY) ? preyAI.play(pondered.getTo()) : apexAI.play(pondered.getTo());
+        } else if(turn==Role.PREY) {
+            moved=preyAI.playTurn();
+        } else if(turn==Role.APEX) {
+            moved=apexAI.playTurn();
+        }
+
+        if(!moved && engine.getTurnManager().getCurrentTurn()==turn && engine.getTurnManager().getRound()==round) {
+            engine.endTurn();
+        }
+
+        refreshFromEngine(engine);
+        if(engine.isGameOver()) {
+            stopTimer();
+            showGameOverMessage(engine);
+        }
+    }
+
+    private void showGameOverMessage(GameEngine engine) {
+        JOptionPane.showMessageDialog(this, engine.getSnapshot().getWinnerText(), "Game Over", JOptionPane.INFORMATION_MESSAGE);
+        boardPanel.disableAll();
+    }
+
+    private void closePonderer() {
+        if(ponderer!=null) ponderer.close();
+        ponderer=null;
+    }
+
+    /**
+     * Highlights the human's moves, from the pondered masks when the last turns went as pondered,
+     * and starts pondering the replies to them.
+     */
+    private void highlightForCurrentTurn(GameEngine engine) {
+        Role turn=engine.getTurnManager().getCurrentTurn();
+        
+        if(turn!=Role.PREDATOR) {
+            return;
+        }
+
+        Pos playerPos=engine.getState().getPredator().getPos();
+        Ponderer.Masks pondered=(ponderer!=null) ? ponderer.masks() : null;
+        boolean[][] walk;
+        boolean[][] ability;
+        if(pondered!=null) {
+            walk=pondered.getWalk();
+            ability=pondered.getAbility();
+        } else {
+            int n=engine.getState().getBoard().getSize();
+            walk=new boolean[n][n];
+            ability=new boolean[n][n];
+            for(int r=0;r<n;r++) {
+                for(int c=0;c<n;c++) {
+                    Pos p=new Pos(r, c);
+                    GameEngine.MoveKind k=engine.getMoveKind(turn, p);
+                    if(k==GameEngine.MoveKind.WALK) walk[r][c]=true;
+                    else if(k==GameEngine.MoveKind.ABILITY) ability[r][c]=true;
+                }
+            }
+        }
+        if(ponderer!=null) ponderer.ponder();
+
+        boolean enableClicks=!engine.isGameOver();
+        boardPanel.highlight(turn, walk, ability, enableClicks, playerPos);
+        if(hintBox.isSelected()) startHints(engine);
+    }
+
+    /**
+     * Starts estimating the human's moves; the board is recoloured as the estimates come in.
+     */
+    private void startHints(GameEngine engine) {
+        if(hints==null) {
+            hints=new HintMap(engine, heat->{
+                latestHeat.set(heat);
+                if(heatPending.compareAndSet(false, true)) SwingUtilities.invokeLater(this::showHeat);
+            });
+        }
+        hints.start();
+        showHeat();
+    }
+
+    private void showHeat() {
+        heatPending.set(false);
+        HintMap.Heat heat=latestHeat.get();
+        if(hints!=null && hints.isCurrent(heat)) boardPanel.showHeat(heat);
+    }
+
+    private void cancelHints() {
+        if(hints!=null) hints.cancel();
+        latestHeat.set(null);
+    }
+}
\ No newline at end of file
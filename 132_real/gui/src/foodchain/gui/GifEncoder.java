@@ -0,0 +1,238 @@
+package foodchain.gui;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import foodchain.board.Terrain;
+import foodchain.model.Role;
+
+/**
+ * Writes animated GIFs whose frames are compressed independently.
+ *
+ * All frames share one fixed 256-colour palette: the board colours, a 6x6x6 colour cube
+ * and greys. Because nothing depends on earlier frames, {@link #encode} can run for many
+ * frames at once on different threads; only {@link #writeFrame} must be called in order.
+ */
+final class GifEncoder {
+
+    private static final int[] PALETTE=new int[256];
+    // Palette index of every colour with 5 bits per channel
+    private static final byte[] NEAREST=new byte[1<<15];
+    static {
+        int n=0;
+        Color[] fixed={Color.WHITE, Color.BLACK, TokenArt.GRID_LINE, TokenArt.FOOD,
+                TokenArt.tokenColor(Role.PREY), TokenArt.tokenColor(Role.PREDATOR),
+                TokenArt.tokenColor(Role.APEX)};
+        for(Color c : fixed) PALETTE[n++]=c.getRGB()&0xFFFFFF;
+        for(Terrain t : Terrain.values()) PALETTE[n++]=TokenArt.ground(t).getRGB()&0xFFFFFF;
+        for(int r=0;r<6;r++) {
+            for(int g=0;g<6;g++) {
+                for(int b=0;b<6;b++) PALETTE[n++]=(r*51<<16)|(g*51<<8)|(b*51);
+            }
+        }
+        for(int i=0, greys=256-n;i<greys;i++) {
+            int v=(i+1)*255/(greys+1);
+            PALETTE[n+i]=(v<<16)|(v<<8)|v;
+        }
+        fillNearest();
+    }
+
+    private static void fillNearest() {
+        for(int rgb=0;rgb<NEAREST.length;rgb++) {
+            int r=((rgb>>10)&31)<<3|4, g=((rgb>>5)&31)<<3|4, b=(rgb&31)<<3|4;
+            int best=0, bestD=Integer.MAX_VALUE;
+            for(int i=0;i<256;i++) {
+                int p=PALETTE[i];
+                int dr=r-(p>>16), dg=g-((p>>8)&255), db=b-(p&255);
+                int d=2*dr*dr+4*dg*dg+3*db*db;
+                if(d<bestD) { bestD=d; best=i; }
+            }
+            NEAREST[rgb]=(byte)best;
+        }
+    }
+
+    private final OutputStream out;
+
+    /**
+     * Writes the header, the palette and a loop-forever marker.
+     * @param out The stream to write to; not closed by the encoder.
+     * @param width The width of the animation.
+     * @param height The height of the animation.
+     * @throws IOException If writing fails.
+     */
+    GifEncoder(OutputStream out, int width, int height) throws IOException {
+        this.out=out;
+        out.write("GIF89a".getBytes(StandardCharsets.US_ASCII));
+        short16(width);
+        short16(height);
+        out.write(0xF7);
+        out.write(0);
+        out.write(0);
+        for(int p : PALETTE) {
+            out.write(p>>16);
+            out.write((p>>8)&255);
+            out.write(p&255);
+        }
+        out.write(new byte[]{0x21, (byte)0xFF, 11, 'N','E','T','S','C','A','P','E','2','.','0', 3, 1, 0, 0, 0});
+    }
+
+    /**
+     * Maps RGB pixels to the palette.
+     * @param rgb Pixels as 0xRRGGBB, alpha ignored.
+     * @return One palette index per pixel.
+     */
+    static byte[] quantize(int[] rgb) {
+        byte[] idx=new byte[rgb.length];
+        for(int i=0;i<rgb.length;i++) {
+            int p=rgb[i];
+            idx[i]=NEAREST[(p>>9&0x7C00)|(p>>6&0x3E0)|(p>>3&0x1F)];
+        }
+        return idx;
+    }
+
+    /**
+     * Compresses palette indices into GIF image data: the LZW code size and the data sub-blocks.
+     * @param idx The palette indices, row by row.
+     * @return The encoded data.
+     */
+    static byte[] encode(byte[] idx) {
+        return new Lzw().run(idx);
+    }
+
+    /**
+     * Writes one frame that covers part of the animation and stays on screen for a delay.
+     * Earlier frames stay visible outside the covered part.
+     * @param x The left edge of the frame.
+     * @param y The top edge of the frame.
+     * @param w The frame width.
+     * @param h The frame height.
+     * @param delayMs How long the frame is shown.
+     * @param data The data from {@link #encode}.
+     * @throws IOException If writing fails.
+     */
+    void writeFrame(int x, int y, int w, int h, int delayMs, byte[] data) throws IOException {
+        out.write(new byte[]{0x21, (byte)0xF9, 4, 0x04});
+        short16((delayMs+5)/10);
+        out.write(0);
+        out.write(0);
+        out.write(0x2C);
+        short16(x);
+        short16(y);
+        short16(w);
+        short16(h);
+        out.write(0);
+        out.write(data);
+    }
+
+    /**
+     * Writes the end marker. The stream is left open.
+     * @throws IOException If writing fails.
+     */
+    void finish() throws IOException {
+        out.write(0x3B);
+        out.flush();
+    }
+
+    private void short16(int v) throws IOException {
+        out.write(v&255);
+        out.write((v>>8)&255);
+    }
+
+    /**
+     * Variable-width LZW as GIF uses it, with 8-bit pixels and a reset when the table is full.
+     */
+    private static final class Lzw {
+        private static final int CLEAR=256;
+        private static final int EOI=257;
+        private static final int MAX_CODES=4096;
+        private static final int HASH=8192;
+
+        private final int[] keys=new int[HASH];
+        private final short[] codes=new short[HASH];
+        private int freeCode;
+        private int bits;
+        private int maxCode;
+        private boolean cleared;
+
+        private byte[] bytes=new byte[4096];
+        private int length;
+        private int acc;
+        private int accBits;
+
+        byte[] run(byte[] idx) {
+            reset();
+            bits=9;
+            maxCode=(1<<bits)-1;
+            output(CLEAR);
+            if(idx.length>0) {
+                int prefix=idx[0]&255;
+                for(int i=1;i<idx.length;i++) {
+                    int k=idx[i]&255;
+                    int key=(prefix<<8)|k;
+                    int h=(key*0x9E3779B1)>>>19;
+                    while(keys[h]!=0 && keys[h]!=key+1) h=(h+1)&(HASH-1);
+                    if(keys[h]!=0) {
+                        prefix=codes[h];
+                        continue;
+                    }
+                    output(prefix);
+                    prefix=k;
+                    if(freeCode<MAX_CODES) {
+                        keys[h]=key+1;
+                        codes[h]=(short)freeCode++;
+                    } else {
+                        reset();
+                        cleared=true;
+                        output(CLEAR);
+                    }
+                }
+                output(prefix);
+            }
+            output(EOI);
+            if(accBits>0) put(acc);
+
+            byte[] out=new byte[length+(length+254)/255+2];
+            int o=0;
+            out[o++]=8;
+            for(int off=0;off<length;off+=255) {
+                int len=Math.min(255, length-off);
+                out[o++]=(byte)len;
+                System.arraycopy(bytes, off, out, o, len);
+                o+=len;
+            }
+            out[o]=0;
+            return out;
+        }
+
+        private void put(int b) {
+            if(length==bytes.length) bytes=Arrays.copyOf(bytes, 2*length);
+            bytes[length++]=(byte)b;
+        }
+
+        private void reset() {
+            Arrays.fill(keys, 0);
+            freeCode=EOI+1;
+        }
+
+        private void output(int code) {
+            acc|=code<<accBits;
+            accBits+=bits;
+            while(accBits>=8) {
+                put(acc);
+                acc>>>=8;
+                accBits-=8;
+            }
+            if(cleared) {
+                bits=9;
+                maxCode=(1<<bits)-1;
+                cleared=false;
+            } else if(freeCode>maxCode && bits<12) {
+                bits++;
+                maxCode=(bits==12) ? MAX_CODES : (1<<bits)-1;
+            }
+        }
+    }
+}
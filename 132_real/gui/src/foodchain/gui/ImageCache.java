@@ -0,0 +1,140 @@
+package foodchain.gui;
+
+import java.awt.image.BufferedImage;
+import java.lang.ref.SoftReference;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import foodchain.model.Era;
+
+/**
+ * Least-recently-used cache of decoded images, bounded by the bytes their pixels take.
+ * Each entry remembers the eras it was shown in, so the sprites of an era can be dropped when it ends.
+ * With soft references the collector may also clear entries under memory pressure.
+ * Safe to use from several threads.
+ */
+final class ImageCache {
+
+    private static final class Entry {
+        final BufferedImage strong;
+        final SoftReference<BufferedImage> soft;
+        final long bytes;
+        final EnumSet<Era> eras=EnumSet.noneOf(Era.class);
+        // Shown outside any era, as by the replay export; only the budget evicts it
+        boolean untagged;
+
+        Entry(BufferedImage img, boolean useSoft) {
+            strong=useSoft ? null : img;
+            soft=useSoft ? new SoftReference<>(img) : null;
+            bytes=bytesOf(img);
+        }
+
+        BufferedImage get() {
+            return (strong!=null) ? strong : soft.get();
+        }
+
+        void tag(Era era) {
+            if(era==null) untagged=true;
+            else eras.add(era);
+        }
+    }
+
+    private final long budget;
+    private final boolean useSoft;
+    private final LinkedHashMap<String, Entry> map=new LinkedHashMap<>(64, 0.75f, true);
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates an empty cache.
+     * @param budget The most bytes of pixels to keep.
+     * @param useSoft Whether entries are held through soft references.
+     */
+    ImageCache(long budget, boolean useSoft) {
+        if(budget<=0) throw new IllegalArgumentException("budget must be positive");
+        this.budget=budget;
+        this.useSoft=useSoft;
+    }
+
+    /**
+     * Looks an image up and marks it as recently used.
+     * @param key The key.
+     * @param era The era it is shown in, or null.
+     * @return The image, or null if it is not cached.
+     */
+    synchronized BufferedImage get(String key, Era era) {
+        Entry e=map.get(key);
+        BufferedImage img=(e==null) ? null : e.get();
+        if(img==null) {
+            if(e!=null) remove(key, e);
+            misses++;
+            return null;
+        }
+        e.tag(era);
+        hits++;
+        return img;
+    }
+
+    /**
+     * Adds an image, evicting the least recently used ones beyond the budget.
+     * An image larger than the whole budget is not kept.
+     * @param key The key.
+     * @param era The era it is shown in, or null.
+     * @param img The image.
+     */
+    synchronized void put(String key, Era era, BufferedImage img) {
+        Entry old=map.get(key);
+        if(old!=null) remove(key, old);
+        Entry e=new Entry(img, useSoft);
+        if(e.bytes>budget) return;
+        e.tag(era);
+        map.put(key, e);
+        bytes+=e.bytes;
+        Iterator<Map.Entry<String, Entry>> it=map.entrySet().iterator();
+        while(bytes>budget && it.hasNext()) {
+            Entry lru=it.next().getValue();
+            it.remove();
+            bytes-=lru.bytes;
+            evictions++;
+        }
+    }
+
+    /**
+     * Drops the images shown only in an era.
+     * @param era The era that ended.
+     */
+    synchronized void unloadEra(Era era) {
+        Iterator<Entry> it=map.values().iterator();
+        while(it.hasNext()) {
+            Entry e=it.next();
+            if(!e.eras.remove(era) || !e.eras.isEmpty() || e.untagged) continue;
+            it.remove();
+            bytes-=e.bytes;
+            evictions++;
+        }
+    }
+
+    private void remove(String key, Entry e) {
+        map.remove(key);
+        bytes-=e.bytes;
+    }
+
+    synchronized long getBytes() { return bytes; }
+    synchronized int getCount() { return map.size(); }
+
+    @Override
+    public synchronized String toString() {
+        return String.format(Locale.ROOT, "images=%d bytes=%d/%d hits=%d misses=%d evictions=%d",
+                map.size(), bytes, budget, hits, misses, evictions);
+    }
+
+    private static long bytesOf(BufferedImage img) {
+        int bits=img.getColorModel().getPixelSize();
+        return (long)img.getWidth()*img.getHeight()*Math.max(1, (bits+7)/8);
+    }
+}
@@ -1,6 +1,6 @@
 package foodchain.gui;
 
-import foodchain.entities.Animal;
+import foodchain.core.GameSnapshot;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -38,10 +38,10 @@ public class PlayerCard extends JPanel {
     /**
      * Updates the card info based on the entity's current state.
      * @param header The title for the card.
-     * @param a The animal entity to display.
+     * @param a The animal to display.
      * @param ai Whether this entity is controlled by AI.
      */
-    public void update(String header, Animal a, boolean ai) {
+    public void update(String header, GameSnapshot.Piece a, boolean ai) {
         title.setText(header);
         name.setText("Name: "+a.getName()+(ai?" [AI]":" [Player]"));
         score.setText("Score: "+a.getScore());
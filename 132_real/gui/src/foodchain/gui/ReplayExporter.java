@@ -0,0 +1,352 @@
+package foodchain.gui;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+
+import foodchain.ai.AiStrategies;
+import foodchain.ai.AiStrategy;
+import foodchain.board.Terrain;
+import foodchain.board.TerrainMap;
+import foodchain.core.GameConfig;
+import foodchain.core.GameEngine;
+import foodchain.core.GameSnapshot;
+import foodchain.model.Era;
+import foodchain.model.GridSize;
+import foodchain.model.Pos;
+import foodchain.model.Role;
+
+/**
+ * Renders a recorded game to an animated GIF or a folder of PNG frames without a window.
+ *
+ * Frames look like the board panel: the same cell colours and tokens, with a line above the
+ * board showing the round and the scores. Each token is drawn once at the cell size and then
+ * copied into the frames. Frames are rendered and encoded on all cores, a few at a time, and
+ * written in order as they finish, so memory stays bounded however long the game is.
+ * A GIF frame only covers the cells that changed since the previous turn.
+ *
+ * Usage: ReplayExporter out.gif|dir [era] [size] [rounds] [seed] [cellPx] [delayMs]
+ * plays a seeded game with the configured AI for all three roles and exports it.
+ */
+public final class ReplayExporter {
+
+    private static final int THREADS=Runtime.getRuntime().availableProcessors();
+
+    private final int cellSize;
+    private final int delayMs;
+    private final Map<String, Optional<BufferedImage>> sprites=new ConcurrentHashMap<>();
+
+    /**
+     * Creates an exporter.
+     * @param cellSize The size of a board cell in pixels.
+     * @param delayMs How long each turn is shown.
+     */
+    public ReplayExporter(int cellSize, int delayMs) {
+        if(cellSize<16) throw new IllegalArgumentException("cellSize must be at least 16");
+        if(delayMs<10) throw new IllegalArgumentException("delayMs must be at least 10");
+        this.cellSize=cellSize;
+        this.delayMs=delayMs;
+    }
+
+    /**
+     * Exports a recording as a GIF if the path ends in ".gif", otherwise as PNG frames in that folder.
+     * @param frames The recorded snapshots, one per turn, as {@link GameEngine#getRecording()} returns them.
+     * @param out The GIF file or frame folder.
+     * @throws IOException If writing fails.
+     */
+    public void export(List<GameSnapshot> frames, Path out) throws IOException {
+        if(out.getFileName()!=null && out.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".gif")) writeGif(frames, out);
+        else writePngs(frames, out);
+    }
+
+    /**
+     * Writes a looping animated GIF, one frame per turn.
+     * @param frames The recorded snapshots.
+     * @param file The GIF file.
+     * @throws IOException If writing fails.
+     */
+    public void writeGif(List<GameSnapshot> frames, Path file) throws IOException {
+        check(frames);
+        if(file.getParent()!=null) Files.createDirectories(file.getParent());
+        try(OutputStream os=new BufferedOutputStream(Files.newOutputStream(file), 1<<16)) {
+            GifEncoder gif=new GifEncoder(os, width(frames.get(0)), height(frames.get(0)));
+            preload(frames.get(0));
+            pipeline(frames.size(), i->gifFrame(frames, i), f->{
+                int delay=(f.index==frames.size()-1) ? 4*delayMs : delayMs;
+                gif.writeFrame(f.x, f.y, f.w, f.h, delay, f.data);
+            });
+            gif.finish();
+        }
+    }
+
+    /**
+     * Writes one PNG per turn, named frame-00000.png and up.
+     * @param frames The recorded snapshots.
+     * @param dir The folder, created if missing.
+     * @throws IOException If writing fails.
+     */
+    public void writePngs(List<GameSnapshot> frames, Path dir) throws IOException {
+        check(frames);
+        Files.createDirectories(dir);
+        GameSnapshot first=frames.get(0);
+        preload(first);
+        pipeline(frames.size(), i->{
+            BufferedImage img=render(frames.get(i), 0, 0, width(first), height(first));
+            Path file=dir.resolve(String.format(Locale.ROOT, "frame-%05d.png", i));
+            try {
+                if(!ImageIO.write(img, "png", file.toFile())) throw new IOException("No PNG writer");
+            } catch(IOException e) {
+                throw new UncheckedIOException(file+": "+e.getMessage(), e);
+            }
+            return null;
+        }, f->{});
+    }
+
+    /**
+     * Draws the four tokens side by side before the frames need them.
+     */
+    private void preload(GameSnapshot st) throws IOException {
+        List<GameSnapshot.Piece> pieces=List.of(st.getPrey(), st.getPredator(), st.getApex(), st.getFood());
+        pipeline(pieces.size(), i->sprite(pieces.get(i)), s->{});
+    }
+
+    private interface Sink<T> {
+        void accept(T t) throws IOException;
+    }
+
+    /**
+     * Runs frame jobs on all cores with at most two jobs per core in flight,
+     * handing the results to the sink in frame order.
+     */
+    private static <T> void pipeline(int count, java.util.function.IntFunction<T> job, Sink<T> sink) throws IOException {
+        ExecutorService pool=Executors.newFixedThreadPool(THREADS, r->{
+            Thread t=new Thread(r, "foodchain-replay");
+            t.setDaemon(true);
+            return t;
+        });
+        ArrayDeque<Future<T>> window=new ArrayDeque<>();
+        try {
+            int next=0;
+            for(int i=0;i<count;i++) {
+                while(next<count && window.size()<2*THREADS) {
+                    int k=next++;
+                    window.add(pool.submit(()->job.apply(k)));
+                }
+                sink.accept(window.poll().get());
+            }
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Replay export interrupted");
+        } catch(ExecutionException e) {
+            Throwable cause=e.getCause();
+            if(cause instanceof UncheckedIOException) throw ((UncheckedIOException)cause).getCause();
+            if(cause instanceof RuntimeException) throw (RuntimeException)cause;
+            throw new IOException(cause);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static final class GifFrame {
+        final int index, x, y, w, h;
+        final byte[] data;
+
+        GifFrame(int index, int x, int y, int w, int h, byte[] data) {
+            this.index=index;
+            this.x=x;
+            this.y=y;
+            this.w=w;
+            this.h=h;
+            this.data=data;
+        }
+    }
+
+    /**
+     * Renders and compresses the part of a frame that differs from the frame before it.
+     */
+    private GifFrame gifFrame(List<GameSnapshot> frames, int i) {
+        GameSnapshot st=frames.get(i);
+        int x=0, y=0, w=width(st), h=height(st);
+        if(i>0) {
+            GameSnapshot prev=frames.get(i-1);
+            int n=st.getSize(), r0=n, r1=-1, c0=n, c1=-1;
+            for(int r=0;r<n;r++) {
+                if(st.sharesRow(prev, r)) continue;
+                for(int c=0;c<n;c++) {
+                    if(st.get(r, c)==prev.get(r, c)) continue;
+                    r0=Math.min(r0, r);
+                    r1=Math.max(r1, r);
+                    c0=Math.min(c0, c);
+                    c1=Math.max(c1, c);
+                }
+            }
+            boolean status=!statusText(st).equals(statusText(prev));
+            if(r1<0 && !status) {
+                w=1;
+                h=1;
+            } else {
+                int x2=w, y2=h;
+                if(r1>=0) {
+                    x=c0*cellSize;
+                    x2=(c1+1)*cellSize;
+                    y=statusHeight()+r0*cellSize;
+                    y2=statusHeight()+(r1+1)*cellSize;
+                }
+                if(status) {
+                    if(r1<0) y2=statusHeight();
+                    x=0;
+                    y=0;
+                    x2=w;
+                }
+                w=x2-x;
+                h=y2-y;
+            }
+        }
+        BufferedImage img=render(st, x, y, w, h);
+        int[] rgb=((DataBufferInt)img.getRaster().getDataBuffer()).getData();
+        return new GifFrame(i, x, y, w, h, GifEncoder.encode(GifEncoder.quantize(rgb)));
+    }
+
+    /**
+     * Draws the part of a frame inside a rectangle.
+     */
+    private BufferedImage render(GameSnapshot st, int x, int y, int w, int h) {
+        BufferedImage img=new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g=img.createGraphics();
+        g.translate(-x, -y);
+        int bar=statusHeight();
+        if(y<bar) {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width(st), bar);
+            g.setColor(Color.BLACK);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g.setFont(new Font("SansSerif", Font.BOLD, bar*11/20));
+            g.drawString(statusText(st), 6, bar*3/4);
+        }
+
+        TerrainMap terrain=st.getTerrain();
+        int n=st.getSize();
+        int r0=Math.max(0, (y-bar)/cellSize), r1=Math.min(n-1, (y+h-1-bar)/cellSize);
+        int c0=x/cellSize, c1=Math.min(n-1, (x+w-1)/cellSize);
+        for(int r=r0;r<=r1 && y+h>bar;r++) {
+            for(int c=c0;c<=c1;c++) {
+                int px=c*cellSize, py=bar+r*cellSize;
+                g.setColor(TokenArt.ground(terrain==null ? Terrain.OPEN : terrain.get(r, c)));
+                g.fillRect(px, py, cellSize, cellSize);
+                g.setColor(TokenArt.GRID_LINE);
+                g.drawRect(px, py, cellSize-1, cellSize-1);
+            }
+        }
+        drawPiece(g, st.getPrey(), r0, r1, c0, c1);
+        drawPiece(g, st.getPredator(), r0, r1, c0, c1);
+        drawPiece(g, st.getApex(), r0, r1, c0, c1);
+        drawPiece(g, st.getFood(), r0, r1, c0, c1);
+        g.dispose();
+        return img;
+    }
+
+    private void drawPiece(Graphics2D g, GameSnapshot.Piece piece, int r0, int r1, int c0, int c1) {
+        Pos p=piece.getPos();
+        if(p==null || p.getRow()<r0 || p.getRow()>r1 || p.getCol()<c0 || p.getCol()>c1) return;
+        int px=p.getCol()*cellSize, py=statusHeight()+p.getRow()*cellSize;
+        BufferedImage sprite=sprite(piece);
+        if(sprite!=null) {
+            g.drawImage(sprite, px, py, null);
+        } else {
+            Color color=TokenArt.tokenColor(piece.getRole());
+            g.setColor(color.darker().darker());
+            g.setFont(new Font("Arial", Font.BOLD, 16));
+            g.drawString(TokenArt.fallbackText(piece.getRole()), px+cellSize/2-5, py+cellSize/2+6);
+        }
+    }
+
+    /**
+     * Returns the token of a piece at the cell size, drawn once per exporter.
+     */
+    private BufferedImage sprite(GameSnapshot.Piece piece) {
+        String key=piece.getRole()+"/"+piece.getName();
+        return sprites.computeIfAbsent(key, k->Optional.ofNullable(
+                TokenArt.token(piece.getName(), cellSize, TokenArt.tokenColor(piece.getRole()), null))).orElse(null);
+    }
+
+    private static String statusText(GameSnapshot st) {
+        return String.format(Locale.ROOT, "%s   Round %d / %d   %s %d   %s %d   %s %d", st.getEra(),
+                st.getRound(), st.getTotalRounds(),
+                st.getPrey().getName(), st.getPrey().getScore(),
+                st.getPredator().getName(), st.getPredator().getScore(),
+                st.getApex().getName(), st.getApex().getScore());
+    }
+
+    private int statusHeight() { return Math.max(20, cellSize/2); }
+    private int width(GameSnapshot st) { return st.getSize()*cellSize; }
+    private int height(GameSnapshot st) { return statusHeight()+st.getSize()*cellSize; }
+
+    private static void check(List<GameSnapshot> frames) {
+        if(frames==null || frames.isEmpty()) throw new IllegalArgumentException("Nothing recorded to export");
+        GameSnapshot first=frames.get(0);
+        for(GameSnapshot st : frames) {
+            if(st.getSize()!=first.getSize() || st.getTerrain()!=first.getTerrain()) {
+                throw new IllegalArgumentException("All frames must show the same board");
+            }
+        }
+    }
+
+    /**
+     * Plays a seeded AI game and exports it.
+     * @param args out.gif|dir [era] [size] [rounds] [seed] [cellPx] [delayMs]
+     * @throws Exception If the game cannot start or the export fails.
+     */
+    public static void main(String[] args) throws Exception {
+        if(System.getProperty("java.awt.headless")==null) System.setProperty("java.awt.headless", "true");
+        if(args.length<1) {
+            System.err.println("Usage: ReplayExporter out.gif|dir [era] [size] [rounds] [seed] [cellPx] [delayMs]");
+            System.exit(2);
+        }
+        Path out=Path.of(args[0]);
+        Era era=Era.valueOf(arg(args, 1, "PAST").toUpperCase(Locale.ROOT));
+        GridSize size=GridSize.valueOf(arg(args, 2, "LARGE").toUpperCase(Locale.ROOT));
+        int rounds=Integer.parseInt(arg(args, 3, "100"));
+        long seed=Long.parseLong(arg(args, 4, "132"));
+        int cell=Integer.parseInt(arg(args, 5, "48"));
+        int delay=Integer.parseInt(arg(args, 6, "250"));
+
+        long t0=System.nanoTime();
+        GameEngine engine=new GameEngine(new Random(seed), null);
+        engine.setRecording(true);
+        engine.startGame(new GameConfig(era, size, rounds));
+        Map<Role, AiStrategy> ai=new EnumMap<>(Role.class);
+        for(Role r : Role.values()) {
+            ai.put(r, AiStrategies.forRole(r));
+            AiStrategies.seed(ai.get(r), r, seed);
+        }
+        while(!engine.isGameOver()) {
+            Role turn=engine.getTurnManager().getCurrentTurn();
+            Pos to=AiStrategies.decideLive(ai.get(turn), engine, turn, AiStrategies.DEFAULT_BUDGET_NANOS);
+            if(to==null || !engine.move(turn, to)) engine.endTurn();
+        }
+        List<GameSnapshot> frames=engine.getRecording();
+        long t1=System.nanoTime();
+
+        new ReplayExporter(cell, delay).export(frames, out);
+        long t2=System.nanoTime();
+        System.out.printf(Locale.ROOT, "played %d turns in %d ms, exported %d frames to %s in %d ms (%d threads)%n",
+                frames.size()-1, (t1-t0)/1_000_000, frames.size(), out, (t2-t1)/1_000_000, THREADS);
+    }
+
+    private static String arg(String[] args, int i, String def) {
+        return (args.length>i) ? args[i] : def;
+    }
+}
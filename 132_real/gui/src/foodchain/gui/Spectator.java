@@ -0,0 +1,170 @@
+package foodchain.gui;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+import foodchain.ai.AiStrategies;
+import foodchain.ai.AiStrategy;
+import foodchain.ai.ApexAI;
+import foodchain.ai.PreyAI;
+import foodchain.core.GameEngine;
+import foodchain.core.GameSnapshot;
+import foodchain.model.Pos;
+import foodchain.model.Role;
+
+/**
+ * Plays all three roles by AI on a background thread for watching a game.
+ *
+ * The worker only touches the engine; the GUI only reads published snapshots.
+ * However many turns the worker plays, at most one render is queued on the EDT
+ * at a time, and renders are spaced at least one display frame apart.
+ */
+class Spectator {
+
+    /**
+     * Playback speed relative to the normal one turn per 750 ms.
+     */
+    enum Speed {
+        X1("1×", 750_000_000L),
+        X10("10×", 75_000_000L),
+        X100("100×", 7_500_000L),
+        MAX("Max", 0L);
+
+        private final String label;
+        private final long nanosPerTurn;
+
+        Speed(String label, long nanosPerTurn) {
+            this.label=label;
+            this.nanosPerTurn=nanosPerTurn;
+        }
+
+        /**
+         * Delay for the Swing timer that paces AI turns in a player game.
+         * @return The delay in milliseconds.
+         */
+        int timerDelayMillis() { return (int)(nanosPerTurn/1_000_000L); }
+
+        @Override
+        public String toString() { return label; }
+    }
+
+    private static final long FRAME_NANOS=1_000_000_000L/60;
+
+    private final GameEngine engine;
+    private final ApexAI apexAI;
+    private final PreyAI preyAI;
+    private final AiStrategy predatorAI;
+    private final Consumer<GameSnapshot> renderer;
+    private final Runnable onGameOver;
+
+    private final AtomicBoolean renderPending=new AtomicBoolean();
+    private volatile Speed speed;
+    private volatile boolean running;
+    private Thread worker;
+
+    // EDT only
+    private long lastRenderNanos;
+    private boolean announced;
+
+    /**
+     * Creates a spectator for a started game.
+     * @param engine The game to play.
+     * @param speed The initial speed.
+     * @param renderer Draws a snapshot; called on the EDT.
+     * @param onGameOver Called once on the EDT after the final position is drawn.
+     */
+    Spectator(GameEngine engine, Speed speed, Consumer<GameSnapshot> renderer, Runnable onGameOver) {
+        this.engine=engine;
+        this.speed=speed;
+        this.renderer=renderer;
+        this.onGameOver=onGameOver;
+        this.apexAI=new ApexAI(engine);
+        this.preyAI=new PreyAI(engine);
+        this.predatorAI=AiStrategies.forRole(Role.PREDATOR);
+    }
+
+    /**
+     * Starts playing on a new daemon thread.
+     */
+    void start() {
+        running=true;
+        worker=new Thread(this::run, "foodchain-spectator");
+        worker.setDaemon(true);
+        worker.start();
+        requestRender();
+    }
+
+    /**
+     * Stops playing after the current turn. Does not wait for the worker.
+     */
+    void stop() {
+        running=false;
+        if(worker!=null) worker.interrupt();
+    }
+
+    void setSpeed(Speed speed) { this.speed=speed; }
+
+    private void run() {
+        long next=System.nanoTime();
+        while(running && !engine.isGameOver()) {
+            playTurn();
+            requestRender();
+
+            long pace=speed.nanosPerTurn;
+            if(pace==0) continue;
+            next+=pace;
+            long wait=next-System.nanoTime();
+            if(wait>0) LockSupport.parkNanos(wait);
+            else next=System.nanoTime();
+        }
+        requestRender();
+    }
+
+    private void playTurn() {
+        Role turn=engine.getTurnManager().getCurrentTurn();
+        int round=engine.getTurnManager().getRound();
+        boolean moved;
+        if(turn==Role.PREY) {
+            moved=preyAI.playTurn();
+        } else if(turn==Role.APEX) {
+            moved=apexAI.playTurn();
+        } else {
+            Pos to=AiStrategies.decideLive(predatorAI, engine, Role.PREDATOR, AiStrategies.DEFAULT_BUDGET_NANOS);
+            moved=(to!=null && engine.move(Role.PREDATOR, to));
+        }
+        if(!moved && engine.getTurnManager().getCurrentTurn()==turn && engine.getTurnManager().getRound()==round) {
+            engine.endTurn();
+        }
+    }
+
+    /**
+     * Queues a render unless one is already queued.
+     */
+    private void requestRender() {
+        if(renderPending.compareAndSet(false, true)) SwingUtilities.invokeLater(this::renderOnEdt);
+    }
+
+    private void renderOnEdt() {
+        long wait=lastRenderNanos+FRAME_NANOS-System.nanoTime();
+        if(wait>0) {
+            // Too soon after the last frame; keep the request pending and draw when the frame is due.
+            Timer t=new Timer((int)Math.max(1, wait/1_000_000L), e->renderOnEdt());
+            t.setRepeats(false);
+            t.start();
+            return;
+        }
+        // Clear first so a turn published while drawing queues the next frame.
+        renderPending.set(false);
+        lastRenderNanos=System.nanoTime();
+        GameSnapshot snap=engine.getSnapshot();
+        renderer.accept(snap);
+        if(snap.isGameOver() && !announced && running) {
+            announced=true;
+            onGameOver.run();
+        }
+    }
+}
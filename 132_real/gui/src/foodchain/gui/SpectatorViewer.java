@@ -0,0 +1,76 @@
+package foodchain.gui;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import java.awt.BorderLayout;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import foodchain.core.GameSnapshot;
+import foodchain.service.SpectatorClient;
+import foodchain.service.SpectatorServer;
+
+/**
+ * Read-only window following a game streamed by {@link SpectatorServer}.
+ * A background thread reads the stream; the board is redrawn from the latest snapshot,
+ * at most one redraw queued on the EDT at a time.
+ *
+ * Usage: SpectatorViewer [port]
+ */
+public class SpectatorViewer extends JFrame {
+
+    private final BoardPanel boardPanel=new BoardPanel();
+    private final JLabel statusLabel=new JLabel("Connecting...");
+    private final AtomicReference<GameSnapshot> latest=new AtomicReference<>();
+    private final AtomicBoolean renderPending=new AtomicBoolean();
+
+    /**
+     * Builds the window.
+     * @param port The port of the stream.
+     */
+    public SpectatorViewer(int port) {
+        super("FoodChain Viewer - port "+port);
+        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        setSize(800, 850);
+        setLocationRelativeTo(null);
+
+        JPanel root=new JPanel(new BorderLayout(10,10));
+        root.setBorder(new EmptyBorder(10,10,10,10));
+        root.add(boardPanel, BorderLayout.CENTER);
+        root.add(statusLabel, BorderLayout.SOUTH);
+        setContentPane(root);
+
+        Thread reader=new Thread(()->follow(port), "foodchain-viewer");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    private void follow(int port) {
+        try(SpectatorClient client=new SpectatorClient(port)) {
+            while(true) {
+                latest.set(client.next());
+                if(renderPending.compareAndSet(false, true)) SwingUtilities.invokeLater(this::render);
+            }
+        } catch(IOException e) {
+            SwingUtilities.invokeLater(()->statusLabel.setText("Disconnected: "+e.getMessage()));
+        }
+    }
+
+    private void render() {
+        renderPending.set(false);
+        GameSnapshot st=latest.get();
+        boardPanel.render(st);
+        boardPanel.disableAll();
+        String text="Era: "+st.getEra()+"   Round: "+st.getRound()+" / "+st.getTotalRounds()+"   "
+                +st.getPrey().getName()+" "+st.getPrey().getScore()+"   "
+                +st.getPredator().getName()+" "+st.getPredator().getScore()+"   "
+                +st.getApex().getName()+" "+st.getApex().getScore();
+        statusLabel.setText(st.isGameOver() ? text+"   "+st.getWinnerText() : text);
+    }
+
+    public static void main(String[] args) {
+        int port=(args.length>0) ? Integer.parseInt(args[0]) : SpectatorServer.DEFAULT_PORT;
+        SwingUtilities.invokeLater(()->new SpectatorViewer(port).setVisible(true));
+    }
+}
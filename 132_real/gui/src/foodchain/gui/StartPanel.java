@@ -1,6 +1,8 @@
 package foodchain.gui;
 
+import foodchain.board.TerrainMap;
 import foodchain.core.GameConfig;
+import foodchain.io.TerrainBook;
 import foodchain.model.Era;
 import foodchain.model.GridSize;
 
@@ -11,13 +13,15 @@ import java.awt.*;
 
 /**
  * The initial screen for configuring game settings.
- * Allows selection of Era, Grid Size, and Rounds.
+ * Allows selection of Era, Grid Size, Rounds and an optional terrain map.
  */
 public class StartPanel extends JPanel {
 
     private final JComboBox<Era> eraBox=new JComboBox<>(Era.values());
     private final JComboBox<GridSize> sizeBox=new JComboBox<>(GridSize.values());
     private final JSpinner roundsSpinner=new JSpinner(new SpinnerNumberModel(10,10,100,1));
+    private final JCheckBox spectateBox=new JCheckBox("AI plays Predator too");
+    private final JComboBox<String> terrainBox=new JComboBox<>();
 
     public StartPanel(GameFrame frame) {
         setLayout(new BorderLayout(10,10));
@@ -27,7 +31,7 @@ public class StartPanel extends JPanel {
         title.setBorder(BorderFactory.createEmptyBorder(20,0,20,0));
         add(title,BorderLayout.NORTH);
 
-        JPanel form=new JPanel(new GridLayout(4,2,10,20));
+        JPanel form=new JPanel(new GridLayout(6,2,10,20));
         form.setBorder(BorderFactory.createEmptyBorder(20,100,20,100));
 
         form.add(new JLabel("Select Era:"));
@@ -39,6 +43,19 @@ public class StartPanel extends JPanel {
         form.add(new JLabel("Total Rounds:"));
         form.add(roundsSpinner);
 
+        terrainBox.addItem(NO_TERRAIN);
+        try {
+            for(String name : TerrainBook.getDefault().names()) terrainBox.addItem(name);
+        } catch(java.io.IOException ex) {
+            System.err.println("Cannot list terrain maps: "+ex.getMessage());
+        }
+        terrainBox.addActionListener(e->matchSizeToTerrain());
+        form.add(new JLabel("Terrain:"));
+        form.add(terrainBox);
+
+        form.add(new JLabel("Watch only:"));
+        form.add(spectateBox);
+
         add(form,BorderLayout.CENTER);
 
         JButton startBtn=new JButton("START GAME");
@@ -53,8 +70,11 @@ public class StartPanel extends JPanel {
                 int totalRounds=(Integer)roundsSpinner.getValue();
       
 
-                GameConfig cfg=new GameConfig(era,gs,totalRounds);
-                frame.startNewGame(cfg);
+                String terrainName=(String)terrainBox.getSelectedItem();
+                TerrainMap terrain=NO_TERRAIN.equals(terrainName) ? null : TerrainBook.getDefault().map(terrainName);
+
+                GameConfig cfg=new GameConfig(era,gs,totalRounds,terrain);
+                frame.startNewGame(cfg, spectateBox.isSelected());
             } catch(Exception ex) {
                 JOptionPane.showMessageDialog(this,"Error: "+ex.getMessage(),"Error",JOptionPane.ERROR_MESSAGE);
             }
@@ -65,4 +85,22 @@ public class StartPanel extends JPanel {
         bottom.add(startBtn);
         add(bottom,BorderLayout.SOUTH);
     }
+
+    private static final String NO_TERRAIN="(none)";
+
+    /**
+     * Selects the grid size of the chosen terrain map, which fixes the board size.
+     */
+    private void matchSizeToTerrain() {
+        String name=(String)terrainBox.getSelectedItem();
+        boolean open=(name==null || NO_TERRAIN.equals(name));
+        sizeBox.setEnabled(open);
+        if(open) return;
+        try {
+            sizeBox.setSelectedItem(GridSize.fromSize(TerrainBook.getDefault().map(name).getSize()));
+        } catch(Exception ex) {
+            JOptionPane.showMessageDialog(this,"Error: "+ex.getMessage(),"Error",JOptionPane.ERROR_MESSAGE);
+            terrainBox.setSelectedItem(NO_TERRAIN);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,192 @@
+package foodchain.gui;
+
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import javax.swing.SwingUtilities;
+
+import foodchain.ai.ApexAI;
+import foodchain.ai.PreyAI;
+import foodchain.core.GameConfig;
+import foodchain.core.GameEngine;
+import foodchain.model.Era;
+import foodchain.model.GridSize;
+import foodchain.model.Pos;
+import foodchain.model.Role;
+
+/**
+ * Measures cold start of the GUI in fresh JVMs, with and without an AppCDS archive.
+ *
+ * Each run launches a child JVM that opens the main window, starts a Past/Small game,
+ * lets the AI open it and makes the first Predator move. The parent timestamps the
+ * child's "FRAME" and "MOVE" lines, so the figures include JVM startup.
+ *
+ * Usage: StartupBenchmark [runs] [archive]
+ * e.g. StartupBenchmark 10 foodchain.jsa. If the archive does not exist, a training run
+ * creates it with -XX:ArchiveClassesAtExit. Start the game with
+ * -XX:SharedArchiveFile=foodchain.jsa to use it.
+ */
+public class StartupBenchmark {
+
+    private static final String PROBE="--probe";
+
+    private final List<String> launcher;
+    private final String mainClass;
+
+    /**
+     * Creates a benchmark that launches children the way this JVM was launched.
+     */
+    public StartupBenchmark() {
+        List<String> cmd=new ArrayList<>();
+        cmd.add(ProcessHandle.current().info().command().orElse("java"));
+        String modulePath=System.getProperty("jdk.module.path");
+        if(modulePath!=null) {
+            cmd.add("-p");
+            cmd.add(modulePath);
+            mainClass="comp132real/"+StartupBenchmark.class.getName();
+        } else {
+            cmd.add("-cp");
+            cmd.add(System.getProperty("java.class.path"));
+            mainClass=StartupBenchmark.class.getName();
+        }
+        this.launcher=cmd;
+    }
+
+    /**
+     * Creates a dynamic AppCDS archive from one full probe run.
+     * @param archive Where to write the archive.
+     * @throws IOException If the child cannot be started or fails.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public void train(Path archive) throws IOException, InterruptedException {
+        Path parent=archive.toAbsolutePath().getParent();
+        if(parent!=null) Files.createDirectories(parent);
+        launch("-XX:ArchiveClassesAtExit="+archive);
+        if(!Files.exists(archive)) throw new IOException("JVM did not write the archive: "+archive);
+    }
+
+    /**
+     * Runs one child JVM and times its milestones.
+     * @param jvmOption Extra JVM option, or null.
+     * @return Milliseconds to the first frame and to the first move.
+     * @throws IOException If the child cannot be started or exits before its first move.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public long[] launch(String jvmOption) throws IOException, InterruptedException {
+        List<String> cmd=new ArrayList<>(launcher);
+        if(jvmOption!=null) cmd.add(1, jvmOption);
+        if(mainClass.contains("/")) { cmd.add("-m"); cmd.add(mainClass); }
+        else cmd.add(mainClass);
+        cmd.add(PROBE);
+
+        long start=System.nanoTime();
+        Process p=new ProcessBuilder(cmd).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+        long[] ms={-1, -1};
+        try(BufferedReader in=new BufferedReader(new InputStreamReader(p.getInputStream()))) {
+            String line;
+            while((line=in.readLine())!=null) {
+                long t=(System.nanoTime()-start)/1_000_000;
+                if(line.equals("FRAME")) ms[0]=t;
+                else if(line.equals("MOVE")) ms[1]=t;
+            }
+        }
+        int code=p.waitFor();
+        if(code!=0 || ms[1]<0) throw new IOException("Probe failed with exit code "+code);
+        return ms;
+    }
+
+    /**
+     * Child side: opens the window, then plays up to the first Predator move on the EDT.
+     */
+    private static void probe() {
+        SwingUtilities.invokeLater(()->{
+            GameFrame f=new GameFrame();
+            f.addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowOpened(WindowEvent e) {
+                    // Queued behind the window's first paint.
+                    SwingUtilities.invokeLater(()->{
+                        System.out.println("FRAME");
+                        System.out.flush();
+                        firstMove(f);
+                    });
+                }
+            });
+            f.setVisible(true);
+        });
+    }
+
+    private static void firstMove(GameFrame f) {
+        try {
+            f.startNewGame(new GameConfig(Era.PAST, GridSize.SMALL, 10));
+            GameEngine engine=f.getEngine();
+            ApexAI apexAI=new ApexAI(engine);
+            PreyAI preyAI=new PreyAI(engine);
+            while(!engine.isGameOver() && engine.getTurnManager().getCurrentTurn()!=Role.PREDATOR) {
+                engine.playAITurns(apexAI, preyAI);
+            }
+            Pos from=engine.getState().getPredator().getPos();
+            Pos to=from;
+            int n=engine.getState().getBoard().getSize();
+            for(int r=0;r<n && to==from;r++) {
+                for(int c=0;c<n;c++) {
+                    Pos q=new Pos(r, c);
+                    if(engine.getMoveKind(Role.PREDATOR, q)==GameEngine.MoveKind.WALK) { to=q; break; }
+                }
+            }
+            engine.move(Role.PREDATOR, to);
+            f.gamePanel().refreshFromEngine(engine);
+            System.out.println("MOVE");
+            System.out.flush();
+            System.exit(0);
+        } catch(Exception e) {
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    private static String summary(String label, List<long[]> runs) {
+        long[] frame=new long[runs.size()];
+        long[] move=new long[runs.size()];
+        for(int i=0;i<runs.size();i++) { frame[i]=runs.get(i)[0]; move[i]=runs.get(i)[1]; }
+        Arrays.sort(frame);
+        Arrays.sort(move);
+        return String.format(Locale.ROOT, "%-8s first frame p50=%dms min=%dms max=%dms | first move p50=%dms min=%dms max=%dms",
+                label, frame[frame.length/2], frame[0], frame[frame.length-1],
+                move[move.length/2], move[0], move[move.length-1]);
+    }
+
+    public static void main(String[] args) throws Exception {
+        if(args.length>0 && args[0].equals(PROBE)) { probe(); return; }
+
+        int runs=args.length>0 ? Integer.parseInt(args[0]) : 10;
+        Path archive=Path.of(args.length>1 ? args[1] : "foodchain.jsa");
+        if(runs<1) throw new IllegalArgumentException("runs must be >= 1");
+
+        StartupBenchmark bench=new StartupBenchmark();
+        if(!Files.exists(archive)) {
+            System.out.println("Training AppCDS archive "+archive+" ...");
+            bench.train(archive);
+        }
+
+        // One untimed launch each so the OS file cache is warm for both modes.
+        bench.launch(null);
+        bench.launch("-XX:SharedArchiveFile="+archive);
+
+        List<long[]> plain=new ArrayList<>();
+        List<long[]> cds=new ArrayList<>();
+        for(int i=0;i<runs;i++) {
+            // Alternate so drift in machine load hits both modes equally.
+            plain.add(bench.launch(null));
+            cds.add(bench.launch("-XX:SharedArchiveFile="+archive));
+        }
+        System.out.println(summary("default", plain));
+        System.out.println(summary("appcds", cds));
+    }
+}
@@ -1,7 +1,6 @@
 package foodchain.gui;
 
-import foodchain.core.GameEngine;
-import foodchain.core.GameState;
+import foodchain.core.GameSnapshot;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -59,12 +58,11 @@ public class StatusPanel extends JPanel {
     }
 
     /**
-     * Refreshes all status information from the engine.
-     * @param engine The current game engine.
+     * Refreshes all status information from a published snapshot.
+     * @param st The latest engine snapshot.
      */
-    public void update(GameEngine engine) {
-        GameState st=engine.getState();
-        roundLabel.setText("Round: "+engine.getTurnManager().getRound()+" / "+engine.getTurnManager().getTotalRounds());
+    public void update(GameSnapshot st) {
+        roundLabel.setText("Round: "+st.getRound()+" / "+st.getTotalRounds());
         eraLabel.setText("Era: "+st.getEra());
 
         apexCard.update("Apex Predator", st.getApex(), true);
@@ -0,0 +1,184 @@
+package foodchain.gui;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import foodchain.board.Terrain;
+import foodchain.model.Era;
+import foodchain.model.Role;
+
+/**
+ * The look of the board shared by the Swing board and the replay export:
+ * the cell colours and the round tokens with the animal pictures.
+ * Safe to use from several threads.
+ */
+final class TokenArt {
+
+    static final Color GRID_LINE=new Color(245,245,245);
+    static final Color FOOD=new Color(230,230,230);
+
+    private static final Color[] ROLE_COLORS=new Color[Role.values().length];
+    static {
+        ROLE_COLORS[Role.PREY.ordinal()]=new Color(205,225,255);
+        ROLE_COLORS[Role.PREDATOR.ordinal()]=new Color(255,235,200);
+        ROLE_COLORS[Role.APEX.ordinal()]=new Color(255,215,215);
+    }
+
+    // Pixels kept for pictures and tokens: "foodchain.images.budgetMB" (default 16),
+    // held softly if "foodchain.images.soft" is set
+    private static final ImageCache cache=new ImageCache(Long.getLong("foodchain.images.budgetMB", 16L)<<20,
+            Boolean.getBoolean("foodchain.images.soft"));
+    private static final Set<String> missing=ConcurrentHashMap.newKeySet();
+
+    private TokenArt() {}
+
+    /**
+     * Returns the circle colour of a token.
+     * @param role The role, or null for the food.
+     * @return The colour.
+     */
+    static Color tokenColor(Role role) {
+        return (role==null) ? FOOD : ROLE_COLORS[role.ordinal()];
+    }
+
+    /**
+     * Returns the letter shown when a token picture is missing.
+     * @param role The role, or null for the food.
+     * @return Y, P, A or F.
+     */
+    static String fallbackText(Role role) {
+        if(role==null) return "F";
+        if(role==Role.PREY) return "Y";
+        return (role==Role.PREDATOR) ? "P" : "A";
+    }
+
+    /**
+     * Returns the unhighlighted colour of a cell.
+     * @param t The terrain of the cell.
+     * @return The colour.
+     */
+    static Color ground(Terrain t) {
+        if(t==Terrain.WATER) return new Color(200,225,245);
+        if(t==Terrain.ROCK) return new Color(200,195,185);
+        if(t==Terrain.WALL) return new Color(95,95,100);
+        return Color.WHITE;
+    }
+
+    /**
+     * Loads an animal or food picture, decoded at a little more than the size it is drawn at.
+     * @param name The asset name.
+     * @param minSize The smallest width and height needed.
+     * @param era The era it is shown in, or null.
+     * @return The picture, or null if it is missing.
+     */
+    static BufferedImage picture(String name, int minSize, Era era) {
+        if(missing.contains(name)) return null;
+        String key=name+"@"+minSize;
+        BufferedImage img=cache.get(key, era);
+        if(img!=null) return img;
+        img=read(name, minSize);
+        if(img==null) {
+            if(missing.add(name)) System.err.println("ICON NOT FOUND: "+name);
+            return null;
+        }
+        cache.put(key, era, img);
+        return img;
+    }
+
+    private static BufferedImage read(String name, int minSize) {
+        try(InputStream in=TokenArt.class.getResourceAsStream("/assets/"+name+".png")) {
+            if(in==null) return null;
+            // ImageIO would copy the stream to a temporary file first
+            ImageInputStream iis=new MemoryCacheImageInputStream(new BufferedInputStream(in, 1<<16));
+            Iterator<ImageReader> readers=ImageIO.getImageReaders(iis);
+            if(!readers.hasNext()) return null;
+            ImageReader reader=readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                // Skip source pixels so the decoded picture is just above the drawn size, not 2816 wide
+                int step=Math.max(1, Math.min(reader.getWidth(0), reader.getHeight(0))/Math.max(1, minSize));
+                ImageReadParam param=reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        } catch(IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Drops the pictures and tokens shown only in an era.
+     * @param era The era that ended.
+     */
+    static void unloadEra(Era era) {
+        cache.unloadEra(era);
+    }
+
+    /**
+     * @return A one-line summary of the image cache.
+     */
+    static String cacheStats() {
+        return cache.toString();
+    }
+
+    /**
+     * Returns a token: a circle in the token colour with the picture inside.
+     * Tokens are drawn once per size and colour while they stay in the cache; do not modify them.
+     * @param name The asset name of the picture.
+     * @param cellSize The size of the token's square.
+     * @param circleColor The circle colour, or null for the picture alone.
+     * @param era The era it is shown in, or null.
+     * @return A cellSize square image, or null if the picture is missing.
+     */
+    static BufferedImage token(String name, int cellSize, Color circleColor, Era era) {
+        String key=name+"@"+cellSize+"#"+((circleColor==null) ? "-" : Integer.toHexString(circleColor.getRGB()));
+        BufferedImage token=cache.get(key, era);
+        if(token!=null) return token;
+        token=draw(name, cellSize, circleColor, era);
+        if(token!=null) cache.put(key, era, token);
+        return token;
+    }
+
+    private static BufferedImage draw(String name, int cellSize, Color circleColor, Era era) {
+        int padding=5;
+        int circleSize=cellSize-(padding*2);
+        int imgSize=(int)(circleSize*0.85);
+
+        BufferedImage picture=picture(name, imgSize, era);
+        if(picture==null) return null;
+
+        BufferedImage token=new BufferedImage(cellSize,cellSize,BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2=token.createGraphics();
+
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+
+        if(circleColor!=null) {
+            g2.setColor(circleColor);
+            g2.fillOval(padding,padding,circleSize,circleSize);
+            g2.setColor(Color.BLACK);
+            g2.setStroke(new BasicStroke(0.8f));
+            g2.drawOval(padding,padding,circleSize,circleSize);
+        }
+
+        int centerOffset=(cellSize-imgSize)/2;
+
+        g2.drawImage(picture,centerOffset,centerOffset,imgSize,imgSize,null);
+        g2.dispose();
+        return token;
+    }
+}
@@ -0,0 +1,7 @@
+/**
+ * Swing front end. The only module that needs java.desktop.
+ */
+module comp132real {
+	requires comp132real.core;
+	requires java.desktop;
+}
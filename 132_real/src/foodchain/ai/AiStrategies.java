@@ -0,0 +1,128 @@
+package foodchain.ai;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+import foodchain.core.GameEngine;
+import foodchain.model.Pos;
+import foodchain.model.Role;
+
+/**
+ * Discovers AI strategies through {@link ServiceLoader} and runs them under a time budget.
+ * The strategy used by the GUI for each role can be picked with the system properties
+ * "foodchain.ai.apex", "foodchain.ai.predator" and "foodchain.ai.prey".
+ */
+public final class AiStrategies {
+
+    /** Default per-decision budget, overridable with "foodchain.ai.budgetMs". */
+    public static final long DEFAULT_BUDGET_NANOS=Long.getLong("foodchain.ai.budgetMs", 250L)*1_000_000L;
+
+    /** How late a move may still arrive, overridable with "foodchain.ai.graceMs". */
+    public static final long GRACE_NANOS=Long.getLong("foodchain.ai.graceMs", 20L)*1_000_000L;
+
+    /**
+     * A budget that never runs out, for reproducible headless games. Deadlines are compared as
+     * nanoTime differences, so it never expires; strategies must finish on their own.
+     */
+    public static final long UNBOUNDED=Long.MAX_VALUE;
+
+    private AiStrategies() {}
+
+    /**
+     * Returns a factory for every strategy that can play a role, keyed by name.
+     * Built-in strategies are always present even if the service files are missing.
+     * @param role The role to look up.
+     * @return Factories in discovery order.
+     */
+    public static Map<String, Supplier<AiStrategy>> available(Role role) {
+        Map<String, Supplier<AiStrategy>> out=new LinkedHashMap<>();
+        addBuiltIns(role, out);
+        for(ServiceLoader.Provider<? extends AiStrategy> p : ServiceLoader.load(serviceType(role)).stream().toList()) {
+            String name=p.get().getName();
+            out.putIfAbsent(name, p::get);
+        }
+        return out;
+    }
+
+    /**
+     * Creates the strategy configured for a role, or the built-in default.
+     * @param role The role to play.
+     * @return A fresh strategy instance.
+     * @throws IllegalArgumentException If the configured name is unknown.
+     */
+    public static AiStrategy forRole(Role role) {
+        return configured(role).get();
+    }
+
+    /**
+     * Returns the factory of the strategy configured for a role, or the built-in default.
+     * @param role The role to play.
+     * @return A factory creating a fresh instance per call.
+     * @throws IllegalArgumentException If the configured name is unknown.
+     */
+    public static Supplier<AiStrategy> configured(Role role) {
+        String wanted=System.getProperty("foodchain.ai."+role.name().toLowerCase(Locale.ROOT));
+        Map<String, Supplier<AiStrategy>> all=available(role);
+        if(wanted==null || wanted.isBlank()) return all.values().iterator().next();
+        Supplier<AiStrategy> s=all.get(wanted.trim());
+        if(s==null) throw new IllegalArgumentException("Unknown "+role+" strategy: "+wanted+" (known: "+all.keySet()+")");
+        return s;
+    }
+
+    /**
+     * Runs one decision with a time budget.
+     * A strategy stops searching once the deadline passes and returns its best move so far,
+     * so a move is still accepted up to {@link #GRACE_NANOS} late. Later moves are forfeited.
+     * @param s The strategy to ask.
+     * @param engine The engine holding the current game.
+     * @param role The role to move.
+     * @param budgetNanos The time allowed for the decision.
+     * @return The chosen destination, or null if the strategy passed or overran the grace margin.
+     */
+    public static Pos decide(AiStrategy s, GameEngine engine, Role role, long budgetNanos) {
+        long start=System.nanoTime();
+        long deadline=start+budgetNanos;
+        Pos to=s.chooseMove(engine, role, deadline);
+        if(System.nanoTime()-deadline>GRACE_NANOS) return null;
+        return to;
+    }
+
+    /**
+     * Runs one decision of a game someone is playing or watching. Unlike {@link #decide}, a move
+     * that arrives late is still played: the strategy returns its best move so far once the
+     * deadline passes, and a GC or JIT pause must not cost the AI its turn.
+     * Forfeiting late moves is only for the arena and the tuner.
+     * @param s The strategy to ask.
+     * @param engine The engine holding the current game.
+     * @param role The role to move.
+     * @param budgetNanos The time allowed for the decision.
+     * @return The chosen destination, or null if the strategy passed.
+     */
+    public static Pos decideLive(AiStrategy s, GameEngine engine, Role role, long budgetNanos) {
+        return s.chooseMove(engine, role, System.nanoTime()+budgetNanos);
+    }
+
+    /**
+     * Seeds a strategy's random choices for one game, so that seeded games can be replayed.
+     * Each role gets its own stream, the same in every game played with that seed.
+     * @param s The strategy.
+     * @param role The role it plays.
+     * @param gameSeed The seed of the game.
+     */
+    public static void seed(AiStrategy s, Role role, long gameSeed) {
+        s.setSeed(gameSeed*31+role.ordinal());
+    }
+
+    private static Class<? extends AiStrategy> serviceType(Role role) {
+        if(role==Role.APEX) return ApexStrategy.class;
+        if(role==Role.PREDATOR) return PredatorStrategy.class;
+        return PreyStrategy.class;
+    }
+
+    private static void addBuiltIns(Role role, Map<String, Supplier<AiStrategy>> out) {
+        if(role==Role.APEX) out.put("greedy-apex", GreedyApexStrategy::new);
+        else if(role==Role.PREDATOR) out.put("greedy-predator", GreedyPredatorStrategy::new);
+        else out.put("safety-prey", SafetyPreyStrategy::new);
+        out.put("random", RandomMoveStrategy::new);
+    }
+}
@@ -0,0 +1,45 @@
+package foodchain.ai;
+
+import foodchain.core.GameEngine;
+import foodchain.model.Pos;
+import foodchain.model.Role;
+
+/**
+ * Common contract of all pluggable AI move strategies.
+ * Implementations are discovered through {@link java.util.ServiceLoader} using one
+ * of the role interfaces ({@link ApexStrategy}, {@link PredatorStrategy}, {@link PreyStrategy}).
+ * A fresh instance is created per game, so implementations may keep per-game state.
+ */
+public interface AiStrategy {
+
+    /**
+     * Returns a short unique name used in configuration and arena reports.
+     * @return The strategy name.
+     */
+    String getName();
+
+    /**
+     * Chooses the destination for the role whose turn it is.
+     * Implementations should check the deadline while searching and return
+     * the best move found so far once it has passed; {@link AiStrategies#decide}
+     * accepts it if it arrives within {@link AiStrategies#GRACE_NANOS}.
+     * @param engine The engine holding the current game.
+     * @param role The role to move.
+     * @param deadlineNanos The System.nanoTime() value by which a decision is due.
+     * @return The destination, or null to pass the turn.
+     */
+    Pos chooseMove(GameEngine engine, Role role, long deadlineNanos);
+
+    /**
+     * Number of legal moves looked at by the last decision, for diagnostics.
+     * @return The candidate count, or -1 if the strategy does not track it.
+     */
+    default int getLastCandidates() { return -1; }
+
+    /**
+     * Seeds the random choices of the strategy for the current game.
+     * Strategies without random choices ignore it.
+     * @param seed The seed.
+     */
+    default void setSeed(long seed) {}
+}
@@ -0,0 +1,158 @@
+package foodchain.ai;
+
+import java.util.*;
+
+import foodchain.model.Role;
+
+/**
+ * Immutable set of the heuristic weights used by the default Prey and Apex strategies.
+ *
+ * The Prey scores a destination as
+ * -food*dist(food) + predatorDistance*dist(predator) + apexDistance*dist(apex)
+ * - predatorAdjacent (if next to the Predator) - apexAdjacent (if next to the Apex)
+ * + foodBonus (if it reaches the food).
+ * The Apex scores a destination as -chase*min(dist(prey), dist(predator)) + capture (if it captures).
+ * Distances are Chebyshev distances. The defaults are the original hard-coded values.
+ */
+public final class AiWeights {
+
+    /**
+     * One tunable weight.
+     */
+    public enum Key {
+        PREY_FOOD(Role.PREY, "prey.food", 20),
+        PREY_PREDATOR_DISTANCE(Role.PREY, "prey.predatorDistance", 6),
+        PREY_APEX_DISTANCE(Role.PREY, "prey.apexDistance", 4),
+        PREY_PREDATOR_ADJACENT(Role.PREY, "prey.predatorAdjacent", 200),
+        PREY_APEX_ADJACENT(Role.PREY, "prey.apexAdjacent", 200),
+        PREY_FOOD_BONUS(Role.PREY, "prey.foodBonus", 1000),
+        APEX_CHASE(Role.APEX, "apex.chase", 1),
+        APEX_CAPTURE(Role.APEX, "apex.capture", 1000);
+
+        private final Role role;
+        private final String fileKey;
+        private final double defaultValue;
+
+        Key(Role role, String fileKey, double defaultValue) {
+            this.role=role;
+            this.fileKey=fileKey;
+            this.defaultValue=defaultValue;
+        }
+
+        public Role getRole() { return role; }
+        public String getFileKey() { return fileKey; }
+        public double getDefaultValue() { return defaultValue; }
+    }
+
+    private static final Key[] KEYS=Key.values();
+
+    /** The original weights. */
+    public static final AiWeights DEFAULT;
+    static {
+        double[] v=new double[KEYS.length];
+        for(Key k : KEYS) v[k.ordinal()]=k.defaultValue;
+        DEFAULT=new AiWeights(v);
+    }
+
+    private final double[] values;
+
+    private AiWeights(double[] values) {
+        this.values=values;
+    }
+
+    /**
+     * Returns a weight.
+     * @param key The weight to read.
+     * @return Its value.
+     */
+    public double get(Key key) {
+        return values[key.ordinal()];
+    }
+
+    /**
+     * Returns a copy with one weight replaced.
+     * @param key The weight to change.
+     * @param value The new value.
+     * @return The new weight set.
+     */
+    public AiWeights with(Key key, double value) {
+        if(Double.isNaN(value) || Double.isInfinite(value)) throw new IllegalArgumentException("Weight "+key.fileKey+" must be finite");
+        double[] v=values.clone();
+        v[key.ordinal()]=value;
+        return new AiWeights(v);
+    }
+
+    /**
+     * Lists the weights that steer a role.
+     * @param role The role.
+     * @return The keys in declaration order; empty for roles without weights.
+     */
+    public static List<Key> keys(Role role) {
+        List<Key> out=new ArrayList<>();
+        for(Key k : KEYS) {
+            if(k.role==role) out.add(k);
+        }
+        return out;
+    }
+
+    /**
+     * Parses a weight file. Keys that are not listed keep their default value.
+     * Each non-blank line is "key value"; '#' starts a comment.
+     * @param lines The file contents.
+     * @param source The file name for error messages.
+     * @return The weight set.
+     * @throws IllegalArgumentException If a line is malformed or names an unknown key.
+     */
+    public static AiWeights parse(List<String> lines, String source) {
+        AiWeights w=DEFAULT;
+        for(String raw : lines) {
+            int hash=raw.indexOf('#');
+            String line=(hash>=0 ? raw.substring(0, hash) : raw).trim();
+            if(line.isEmpty()) continue;
+            String[] t=line.split("\\s+");
+            Key key=(t.length==2) ? byFileKey(t[0]) : null;
+            if(key==null) throw new IllegalArgumentException("Invalid weight in "+source+": "+line);
+            try {
+                w=w.with(key, Double.parseDouble(t[1]));
+            } catch(NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid weight in "+source+": "+line, e);
+            }
+        }
+        return w;
+    }
+
+    /**
+     * Formats the weights in the file syntax read by {@link #parse}.
+     * @return One line per weight.
+     */
+    public List<String> format() {
+        List<String> out=new ArrayList<>();
+        for(Key k : KEYS) out.add(k.fileKey+" "+String.format(Locale.ROOT, "%.4f", values[k.ordinal()]));
+        return out;
+    }
+
+    private static Key byFileKey(String s) {
+        for(Key k : KEYS) {
+            if(k.fileKey.equals(s)) return k;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return (o instanceof AiWeights) && Arrays.equals(values, ((AiWeights)o).values);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(values); }
+
+    @Override
+    public String toString() {
+        StringBuilder sb=new StringBuilder();
+        for(Key k : KEYS) {
+            if(sb.length()>0) sb.append(", ");
+            sb.append(k.fileKey).append('=').append(String.format(Locale.ROOT, "%.2f", values[k.ordinal()]));
+        }
+        return sb.toString();
+    }
+}
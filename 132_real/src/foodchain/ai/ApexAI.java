@@ -1,24 +1,38 @@
 package foodchain.ai;
 import foodchain.core.GameEngine;
-import foodchain.core.GameState;
 import foodchain.core.TurnManager;
+import foodchain.jfr.AiDecisionEvent;
+import foodchain.metrics.Metrics;
 import foodchain.model.Pos;
 import foodchain.model.Role;
 
 /**
  * Artificial Intelligence for the Apex player.
- * Calculates optimal moves to catch prey or predators.
+ * Delegates the move choice to a pluggable {@link AiStrategy}.
  */
 public class ApexAI {
     private final GameEngine engine;
+    private final AiStrategy strategy;
 
     /**
-     * Creates an AI controller for the Apex role.
+     * Creates an AI controller for the Apex role using the configured strategy.
      * @param engine The main game engine instance.
      */
     public ApexAI(GameEngine engine) {
+        this(engine, AiStrategies.forRole(Role.APEX));
+    }
+
+    /**
+     * Creates an AI controller for the Apex role with an explicit strategy.
+     * @param engine The main game engine instance.
+     * @param strategy The strategy that picks moves.
+     */
+    public ApexAI(GameEngine engine, AiStrategy strategy) {
         this.engine=engine;
+        this.strategy=strategy;
     }
+
+    public AiStrategy getStrategy() { return strategy; }
     
     /**
      * Executes the turn for the Apex player.
@@ -29,43 +43,50 @@ public class ApexAI {
         TurnManager tm=engine.getTurnManager();
         if(tm.isGameOver()) return false;
         if(tm.getCurrentTurn()!=Role.APEX) return false;
-        Pos to=pickBestApexMove();
-        if(to==null) { engine.getTurnManager().endTurn(); return false; }
-        return engine.move(Role.APEX, to);
+        long t0=Metrics.start();
+        AiDecisionEvent ev=new AiDecisionEvent();
+        ev.begin();
+        Pos to=null;
+        try {
+            to=AiStrategies.decideLive(strategy, engine, Role.APEX, AiStrategies.DEFAULT_BUDGET_NANOS);
+            if(to==null) { engine.endTurn(); return false; }
+            return engine.move(Role.APEX, to);
+        } finally {
+            Metrics.AI_APEX_TURN.stop(t0);
+            ev.end();
+            if(ev.shouldCommit()) {
+                ev.role=Role.APEX.name();
+                ev.candidates=strategy.getLastCandidates();
+                ev.chosen=String.valueOf(to);
+                ev.commit();
+            }
+        }
     }
 
     /**
-     * Evaluates all possible moves on the board.
-     * Prioritizes moves that are closer to targets (Prey/Predator).
-     * @return The best position to move to, or null if no move is possible.
+     * Plays a move decided ahead of time, such as a {@link Ponderer} reply,
+     * and records it in the metrics and the Flight Recorder like a decision of this turn.
+     * @param to The destination.
+     * @return True if the move was made.
      */
-    private Pos pickBestApexMove() {
-        GameState st=engine.getState();
-        int n=st.getBoard().getSize();
-        Pos preyPos=st.getPrey().getPos();
-        Pos predPos=st.getPredator().getPos();
-        
-        Pos best=null;
-        int bestScore=Integer.MIN_VALUE;
-
-        for(int r=0;r<n;r++) for(int c=0;c<n;c++) {
-            Pos to=new Pos(r,c);
-            if(!engine.canMove(Role.APEX, to)) continue;
-
-            int d1=cheb(to,preyPos);
-            int d2=cheb(to,predPos);
-            int score=-Math.min(d1, d2);
-            if(to.equals(preyPos)||to.equals(predPos)) score+=1000;
-
-            if(score>bestScore) {
-                bestScore=score;
-                best=to;
+    public boolean play(Pos to) {
+        TurnManager tm=engine.getTurnManager();
+        if(tm==null || tm.isGameOver() || tm.getCurrentTurn()!=Role.APEX) return false;
+        long t0=Metrics.start();
+        AiDecisionEvent ev=new AiDecisionEvent();
+        ev.begin();
+        try {
+            return engine.move(Role.APEX, to);
+        } finally {
+            Metrics.AI_APEX_TURN.stop(t0);
+            ev.end();
+            if(ev.shouldCommit()) {
+                ev.role=Role.APEX.name();
+                ev.candidates=0;
+                ev.chosen=String.valueOf(to);
+                ev.pondered=true;
+                ev.commit();
             }
         }
-        return best;
-    }
-
-    private int cheb(Pos a, Pos b) {
-        return Math.max(Math.abs(a.getRow()-b.getRow()), Math.abs(a.getCol()-b.getCol()));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,7 @@
+package foodchain.ai;
+
+/**
+ * Service interface for strategies that can play the APEX role.
+ */
+public interface ApexStrategy extends AiStrategy {
+}
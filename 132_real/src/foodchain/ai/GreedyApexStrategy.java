@@ -0,0 +1,86 @@
+package foodchain.ai;
+
+import foodchain.core.GameEngine;
+import foodchain.core.GameState;
+import foodchain.model.Pos;
+import foodchain.model.Role;
+
+import static foodchain.ai.AiWeights.Key.*;
+
+/**
+ * Default Apex strategy: greedy chase minimizing Chebyshev distance to the
+ * nearest Prey or Predator, with a large bonus for an immediate capture.
+ * The weights come from the {@link WeightBook} entry of the game's era and size
+ * unless fixed weights are given. On terrain maps the distances are walking routes
+ * found by the {@link PathFinder}.
+ */
+public class GreedyApexStrategy implements ApexStrategy {
+    private final AiWeights fixed;
+    private int lastCandidates;
+    private PathFinder paths;
+
+    /**
+     * Creates the strategy with the weights tuned for each game's era and grid size.
+     */
+    public GreedyApexStrategy() {
+        this(null);
+    }
+
+    /**
+     * Creates the strategy with fixed weights.
+     * @param weights The weights to play with, or null to look them up per game.
+     */
+    public GreedyApexStrategy(AiWeights weights) {
+        this.fixed=weights;
+    }
+
+    @Override
+    public String getName() { return "greedy-apex"; }
+
+    @Override
+    public int getLastCandidates() { return lastCandidates; }
+
+    /**
+     * Evaluates all possible moves on the board.
+     * Prioritizes moves that are closer to targets (Prey/Predator).
+     * @return The best position to move to, or null if no move is possible.
+     */
+    @Override
+    public Pos chooseMove(GameEngine engine, Role role, long deadlineNanos) {
+        GameState st=engine.getState();
+        int n=st.getBoard().getSize();
+        Pos preyPos=st.getPrey().getPos();
+        Pos predPos=st.getPredator().getPos();
+        AiWeights w=(fixed!=null) ? fixed : WeightBook.getDefault().weights(st.getEra(), n);
+        double chase=w.get(APEX_CHASE), capture=w.get(APEX_CAPTURE);
+
+        paths=PathFinder.forGame(paths, engine, role);
+        PathFinder.Plan toPrey=(paths!=null) ? paths.plan(engine, preyPos, deadlineNanos) : null;
+        PathFinder.Plan toPred=(paths!=null) ? paths.plan(engine, predPos, deadlineNanos) : null;
+        
+        Pos best=null;
+        double bestScore=Double.NEGATIVE_INFINITY;
+        int candidates=0;
+
+        for(Pos to : engine.legalMoves()) {
+            if(best!=null && System.nanoTime()-deadlineNanos>0) break;
+            candidates++;
+
+            int d1=(toPrey!=null) ? toPrey.turnsAfter(to) : cheb(to,preyPos);
+            int d2=(toPred!=null) ? toPred.turnsAfter(to) : cheb(to,predPos);
+            double score=-chase*Math.min(d1, d2);
+            if(to.equals(preyPos)||to.equals(predPos)) score+=capture;
+
+            if(score>bestScore) {
+                bestScore=score;
+                best=to;
+            }
+        }
+        lastCandidates=candidates;
+        return best;
+    }
+
+    private int cheb(Pos a, Pos b) {
+        return Math.max(Math.abs(a.getRow()-b.getRow()), Math.abs(a.getCol()-b.getCol()));
+    }
+}
@@ -0,0 +1,57 @@
+package foodchain.ai;
+
+import foodchain.core.GameEngine;
+import foodchain.core.GameState;
+import foodchain.model.Pos;
+import foodchain.model.Role;
+
+/**
+ * Stand-in for the human Predator in headless play: chases the Prey and
+ * avoids ending next to the Apex. On terrain maps the distance to the Prey is a
+ * walking route found by the {@link PathFinder}.
+ */
+public class GreedyPredatorStrategy implements PredatorStrategy {
+    private int lastCandidates;
+    private PathFinder paths;
+
+    @Override
+    public String getName() { return "greedy-predator"; }
+
+    @Override
+    public int getLastCandidates() { return lastCandidates; }
+
+    @Override
+    public Pos chooseMove(GameEngine engine, Role role, long deadlineNanos) {
+        GameState st=engine.getState();
+        Pos preyPos=st.getPrey().getPos();
+        Pos apexPos=st.getApex().getPos();
+
+        paths=PathFinder.forGame(paths, engine, role);
+        PathFinder.Plan toPrey=(paths!=null) ? paths.plan(engine, preyPos, deadlineNanos) : null;
+
+        Pos best=null;
+        int bestScore=Integer.MIN_VALUE;
+        int candidates=0;
+
+        for(Pos to : engine.legalMoves()) {
+            if(best!=null && System.nanoTime()-deadlineNanos>0) break;
+            if(!engine.canMove(role, to)) continue;
+            candidates++;
+
+            int score=-10*((toPrey!=null) ? toPrey.turnsAfter(to) : cheb(to, preyPos));
+            if(cheb(to, apexPos)<=1) score-=200;
+            if(to.equals(preyPos)) score+=1000;
+
+            if(score>bestScore) {
+                bestScore=score;
+                best=to;
+            }
+        }
+        lastCandidates=candidates;
+        return best;
+    }
+
+    private int cheb(Pos a, Pos b) {
+        return Math.max(Math.abs(a.getRow()-b.getRow()), Math.abs(a.getCol()-b.getCol()));
+    }
+}
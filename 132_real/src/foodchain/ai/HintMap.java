@@ -0,0 +1,239 @@
+package foodchain.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+import foodchain.batch.BatchEngine;
+import foodchain.core.GameEngine;
+import foodchain.model.Pos;
+import foodchain.model.Role;
+
+/**
+ * Estimates how much each legal Predator move is worth, for a hint overlay on the board.
+ *
+ * For every destination, many playouts start from a {@link BatchEngine} copy of the position,
+ * play that move, and continue with random moves for all three sides for a few rounds.
+ * The estimate is the Predator's mean score gain. Random replies make it a ranking of the moves
+ * rather than a forecast of the real game.
+ *
+ * Playouts run in waves on a fork-join pool, one task per destination and wave.
+ * After each wave the estimates so far are handed to the listener, so they sharpen while
+ * the player thinks. {@link #cancel} stops them after the current tasks.
+ * "foodchain.ai.hintRounds" sets how many rounds a playout looks ahead (default 5),
+ * "foodchain.ai.hintPlayouts" the playouts per destination before stopping (default 4096).
+ */
+public final class HintMap {
+
+    private static final int ROUNDS=Integer.getInteger("foodchain.ai.hintRounds", 5);
+    private static final int PLAYOUTS=Integer.getInteger("foodchain.ai.hintPlayouts", 4096);
+    private static final int FIRST_WAVE=32;
+    private static final int MAX_WAVE=512;
+
+    /**
+     * The estimates of one position after some number of playouts. Immutable.
+     */
+    public static final class Heat {
+        private final Object run;
+        private final int size;
+        private final double[] mean;
+        private final int[] playouts;
+        private final boolean done;
+
+        private Heat(Object run, int size, double[] mean, int[] playouts, boolean done) {
+            this.run=run;
+            this.size=size;
+            this.mean=mean;
+            this.playouts=playouts;
+            this.done=done;
+        }
+
+        public int getSize() { return size; }
+
+        /** @return True if the cell is a legal destination. */
+        public boolean isMove(int row, int col) { return playouts[row*size+col]>0; }
+
+        /** @return The mean Predator score gain after moving to the cell, or 0 if it is not a destination. */
+        public double getMean(int row, int col) { return mean[row*size+col]; }
+
+        /** @return How many playouts the estimate of the cell rests on. */
+        public int getPlayouts(int row, int col) { return playouts[row*size+col]; }
+
+        /** @return True if no more playouts will follow. */
+        public boolean isDone() { return done; }
+
+        /** @return The lowest estimate among the destinations. */
+        public double getMin() {
+            double m=Double.POSITIVE_INFINITY;
+            for(int i=0;i<mean.length;i++) if(playouts[i]>0) m=Math.min(m, mean[i]);
+            return m;
+        }
+
+        /** @return The highest estimate among the destinations. */
+        public double getMax() {
+            double m=Double.NEGATIVE_INFINITY;
+            for(int i=0;i<mean.length;i++) if(playouts[i]>0) m=Math.max(m, mean[i]);
+            return m;
+        }
+    }
+
+    private final GameEngine engine;
+    private final ForkJoinPool pool;
+    private final Consumer<Heat> listener;
+
+    // Caller thread only
+    private Run running;
+    private long position=-1;
+
+    /**
+     * Creates a hint map for a game, estimating on the common fork-join pool.
+     * @param engine The game the human is playing.
+     * @param listener Receives the estimates after every wave, on a pool thread.
+     */
+    public HintMap(GameEngine engine, Consumer<Heat> listener) {
+        this(engine, ForkJoinPool.commonPool(), listener);
+    }
+
+    /**
+     * Creates a hint map for a game.
+     * @param engine The game the human is playing.
+     * @param pool The pool the playouts run on.
+     * @param listener Receives the estimates after every wave, on a pool thread.
+     */
+    public HintMap(GameEngine engine, ForkJoinPool pool, Consumer<Heat> listener) {
+        if(engine==null) throw new IllegalArgumentException("engine cannot be null");
+        this.engine=engine;
+        this.pool=pool;
+        this.listener=listener;
+    }
+
+    /**
+     * Starts estimating the current position if it is the Predator's turn.
+     * Does nothing if this position is already being estimated.
+     * Must be called from the thread that moves the engine, between moves.
+     */
+    public void start() {
+        if(engine.isGameOver() || engine.getTurnManager().getCurrentTurn()!=Role.PREDATOR) return;
+        long version=engine.getSnapshot().getVersion();
+        if(running!=null && version==position) return;
+        cancel();
+        position=version;
+
+        int total=engine.getTurnManager().getTotalRounds();
+        int horizon=Math.min(total, engine.getTurnManager().getRound()+ROUNDS-1);
+        BatchEngine base=BatchEngine.fork(engine, horizon);
+        List<Pos> moves=engine.legalMoves();
+        running=new Run(base, moves, engine.getState().getBoard().getSize(),
+                engine.getState().getPredator().getScore());
+        pool.execute(running);
+    }
+
+    /**
+     * Stops estimating after the tasks already running. No more estimates are handed out.
+     */
+    public void cancel() {
+        if(running!=null) running.cancelled=true;
+        running=null;
+        position=-1;
+    }
+
+    /**
+     * Reports whether estimates belong to the position being estimated now.
+     * @param heat Estimates handed to the listener.
+     * @return False once the position was left or the estimate cancelled.
+     */
+    public boolean isCurrent(Heat heat) {
+        return heat!=null && running!=null && heat.run==running;
+    }
+
+    /**
+     * All playouts of one position.
+     */
+    private final class Run extends RecursiveAction {
+        private final BatchEngine base;
+        private final List<Pos> moves;
+        private final int size;
+        private final int startScore;
+        // Per destination: summed gain and number of playouts
+        private final AtomicLongArray gain;
+        private final AtomicLongArray count;
+        private final SplittableRandom seeds=new SplittableRandom();
+        volatile boolean cancelled;
+
+        Run(BatchEngine base, List<Pos> moves, int size, int startScore) {
+            this.base=base;
+            this.moves=moves;
+            this.size=size;
+            this.startScore=startScore;
+            this.gain=new AtomicLongArray(moves.size());
+            this.count=new AtomicLongArray(moves.size());
+        }
+
+        @Override
+        protected void compute() {
+            int wave=FIRST_WAVE;
+            for(int played=0;played<PLAYOUTS && !cancelled;played+=wave, wave=Math.min(MAX_WAVE, wave*2)) {
+                int games=Math.min(wave, PLAYOUTS-played);
+                List<ForkJoinTask<?>> tasks=new ArrayList<>(moves.size());
+                for(int m=0;m<moves.size();m++) {
+                    tasks.add(new Playouts(this, m, games, seeds.split()));
+                }
+                ForkJoinTask.invokeAll(tasks);
+                if(cancelled) return;
+                listener.accept(heat(played+games>=PLAYOUTS));
+            }
+        }
+
+        private Heat heat(boolean done) {
+            double[] mean=new double[size*size];
+            int[] playouts=new int[size*size];
+            for(int m=0;m<moves.size();m++) {
+                int cell=moves.get(m).getRow()*size+moves.get(m).getCol();
+                long n=count.get(m);
+                playouts[cell]=(int)n;
+                mean[cell]=(n==0) ? 0 : gain.get(m)/(double)n;
+            }
+            return new Heat(this, size, mean, playouts, done);
+        }
+    }
+
+    /**
+     * One wave of playouts after one Predator move, played side by side in a batch.
+     */
+    private static final class Playouts extends RecursiveAction {
+        private final Run run;
+        private final int move;
+        private final int games;
+        private final SplittableRandom rng;
+
+        Playouts(Run run, int move, int games, SplittableRandom rng) {
+            this.run=run;
+            this.move=move;
+            this.games=games;
+            this.rng=rng;
+        }
+
+        @Override
+        protected void compute() {
+            if(run.cancelled) return;
+            long[] seeds=new long[games], policySeeds=new long[games];
+            for(int g=0;g<games;g++) {
+                seeds[g]=rng.nextLong();
+                policySeeds[g]=rng.nextLong();
+            }
+            BatchEngine b=run.base.replicate(0, seeds, policySeeds);
+            Pos to=run.moves.get(move);
+            for(int g=0;g<games;g++) b.play(g, to);
+            b.runToEnd();
+            long sum=0;
+            for(int g=0;g<games;g++) sum+=b.getScore(g, Role.PREDATOR)-run.startScore;
+            run.gain.addAndGet(move, sum);
+            run.count.addAndGet(move, games);
+        }
+    }
+}
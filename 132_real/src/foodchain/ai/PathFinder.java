@@ -0,0 +1,536 @@
+package foodchain.ai;
+
+import java.io.IOException;
+import java.util.*;
+
+import foodchain.board.Board;
+import foodchain.board.Terrain;
+import foodchain.board.TerrainMap;
+import foodchain.core.GameEngine;
+import foodchain.core.GameState;
+import foodchain.model.Era;
+import foodchain.model.Pos;
+import foodchain.model.Role;
+import foodchain.rules.EraRules;
+import foodchain.rules.RuleBook;
+
+/**
+ * Finds walking routes for one role across a terrain map.
+ *
+ * Walks are planned with jump point search: an A* over the 8-connected grid that skips the
+ * symmetric runs of open ground and only stops at cells where a route can bend.
+ * A walk is a king step that takes one turn in any direction, so every step costs 1 and routes
+ * are shortest in turns; the heuristic is the Chebyshev distance.
+ * Only the terrain is planned around; the pieces are left to the engine's move check.
+ * The connected areas of the map are labelled once, so a target in another area is
+ * rejected without a search.
+ *
+ * {@link #plan} also weighs the role's ability jumps, and keeps the last few routes.
+ * While a target stays put and the mover is still on its route, the next step is read
+ * from the route instead of searching again. Where several routes are equally short, a kept
+ * route may differ from the one a fresh search would find, but never in length.
+ *
+ * Usage: PathFinder [bench|verify] [size] [queries] [seed]
+ */
+public final class PathFinder {
+
+    private static final int CACHED_ROUTES=4;
+    private static final int[] DIRS={-1,-1, -1,0, -1,1, 0,-1, 0,1, 1,-1, 1,0, 1,1};
+
+    /**
+     * The first move toward a target and the turns the whole way takes.
+     */
+    public static final class Plan {
+        private final Pos target;
+        private final Pos step;
+        private final int turns;
+
+        Plan(Pos target, Pos step, int turns) {
+            this.target=target;
+            this.step=step;
+            this.turns=turns;
+        }
+
+        public Pos getTarget() { return target; }
+        public Pos getStep() { return step; }
+        /** @return The turns to reach the target, the step included. */
+        public int getTurns() { return turns; }
+
+        /**
+         * Estimates the turns left after moving to a cell. The planned step gains a turn;
+         * any other cell is counted as gaining nothing, or as its straight distance if that is larger.
+         * @param to A cell the mover could move to.
+         * @return The estimated turns to the target from there.
+         */
+        public int turnsAfter(Pos to) {
+            return to.equals(step) ? turns-1 : Math.max(turns, cheb(to, target));
+        }
+    }
+
+    private final TerrainMap terrain;
+    private final EraRules rules;
+    private final Role role;
+    private final int n;
+    // Cells are numbered row-major on a grid one cell wider on every side, so neighbours need no bounds checks.
+    private final int w;
+    private final boolean[] free;
+    private final boolean[] walk;
+    private final int[] area;
+
+    // Search scratch, valid where the stamp arrays hold the current search or goal set.
+    private final int[] g;
+    private final int[] parent;
+    private final int[] seen;
+    private final int[] closed;
+    private final int[] goal;
+    private int search;
+    private int goals;
+    private int start;
+    private long[] heap=new long[256];
+    private int heapSize;
+    private long expanded;
+
+    private final Map<Pos, int[]> routes=new LinkedHashMap<>(8, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Pos, int[]> e) { return size()>CACHED_ROUTES; }
+    };
+
+    /**
+     * Creates a path finder for one role on one map.
+     * @param terrain The map.
+     * @param rules The era rules, which say what ground the role may stand on.
+     * @param role The role that walks.
+     */
+    public PathFinder(TerrainMap terrain, EraRules rules, Role role) {
+        this.terrain=terrain;
+        this.rules=rules;
+        this.role=role;
+        this.n=terrain.getSize();
+        this.w=n+2;
+        this.free=new boolean[w*w];
+        for(int r=0;r<n;r++) {
+            for(int c=0;c<n;c++) free[(r+1)*w+c+1]=rules.canStand(role, terrain.get(r, c));
+        }
+        this.walk=free.clone();
+        this.area=label();
+        this.g=new int[w*w];
+        this.parent=new int[w*w];
+        this.seen=new int[w*w];
+        this.closed=new int[w*w];
+        this.goal=new int[w*w];
+    }
+
+    /**
+     * Returns a path finder for the board of a game, reusing the given one when it still fits.
+     * @param current The path finder used so far, or null.
+     * @param engine The game.
+     * @param role The role that walks.
+     * @return A path finder, or null if the board has no terrain.
+     */
+    public static PathFinder forGame(PathFinder current, GameEngine engine, Role role) {
+        Board board=engine.getState().getBoard();
+        if(!board.hasTerrain()) return null;
+        if(current!=null && current.terrain==board.getTerrainMap() && current.rules==engine.getRules() && current.role==role) return current;
+        return new PathFinder(board.getTerrainMap(), engine.getRules(), role);
+    }
+
+    /** @return The number of nodes expanded by all searches so far. */
+    public long getExpanded() { return expanded; }
+
+    /**
+     * Finds a shortest walking route.
+     * @param from The start cell.
+     * @param to The target cell; it counts as walkable even if the role may not stand there.
+     * @param deadlineNanos The System.nanoTime() value by which the search must end.
+     * @return The cells of the route from start to target, both included, or null if there is none or time ran out.
+     */
+    public List<Pos> find(Pos from, Pos to, long deadlineNanos) {
+        int[] route=route(index(from), index(to), deadlineNanos);
+        if(route==null) return null;
+        List<Pos> out=new ArrayList<>(route.length);
+        for(int i : route) out.add(pos(i));
+        return out;
+    }
+
+    /**
+     * Plans the mover's next move toward a target for the side to move.
+     * A walk along the shortest route is compared with the legal ability jumps and dashes;
+     * a jump wins if the route from its landing cell is shorter by at least a turn.
+     * @param engine The game; it must be the role's turn.
+     * @param target The cell to reach.
+     * @param deadlineNanos The System.nanoTime() value by which planning must end.
+     * @return The plan, or null if no legal move makes progress in time.
+     */
+    public Plan plan(GameEngine engine, Pos target, long deadlineNanos) {
+        Pos from=animalPos(engine.getState());
+        if(from.equals(target)) return null;
+        int s=index(from), t=index(target);
+
+        Plan step=null;
+        int[] route=routes.get(target);
+        int k=(route==null) ? -1 : indexOf(route, s);
+        if(k<0) {
+            route=route(s, t, deadlineNanos);
+            if(route!=null) routes.put(target, route);
+            k=0;
+        }
+        if(route!=null) {
+            Pos next=pos(route[k+1]);
+            if(engine.canMove(role, next)) step=new Plan(target, next, route.length-1-k);
+        }
+
+        int bound=(step!=null) ? step.turns : Integer.MAX_VALUE;
+        List<Pos> jumps=new ArrayList<>();
+        for(Pos to : engine.legalMoves()) {
+            if(cheb(from, to)>=2 && cheb(to, target)+1<bound && touches(t, area[index(to)])) jumps.add(to);
+        }
+        if(jumps.isEmpty() || System.nanoTime()-deadlineNanos>0) return step;
+
+        int slack=0;
+        int[] cells=new int[jumps.size()];
+        for(int j=0;j<cells.length;j++) {
+            cells[j]=index(jumps.get(j));
+            slack=Math.max(slack, steps(s, cells[j]));
+        }
+        int reached=search(t, cells, s, slack, deadlineNanos);
+        if(reached<0) return step;
+        int turns=steps(reached)+1;
+        return (turns<bound) ? new Plan(target, pos(reached), turns) : step;
+    }
+
+    private Pos animalPos(GameState st) {
+        if(role==Role.PREY) return st.getPrey().getPos();
+        if(role==Role.PREDATOR) return st.getPredator().getPos();
+        return st.getApex().getPos();
+    }
+
+    /**
+     * Numbers the 8-connected areas of ground the role may stand on, from 1; blocked cells get 0.
+     */
+    private int[] label() {
+        int[] out=new int[w*w];
+        int[] queue=new int[w*w];
+        int next=0;
+        for(int i=0;i<w*w;i++) {
+            if(!free[i] || out[i]!=0) continue;
+            out[i]=++next;
+            int head=0, tail=0;
+            queue[tail++]=i;
+            while(head<tail) {
+                int cur=queue[head++];
+                for(int d=0;d<DIRS.length;d+=2) {
+                    int j=cur+DIRS[d]*w+DIRS[d+1];
+                    if(free[j] && out[j]==0) {
+                        out[j]=next;
+                        queue[tail++]=j;
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Checks if a cell can be walked to from an area: it lies in the area or, if the role
+     * may not stand on it, next to it.
+     */
+    private boolean touches(int cell, int from) {
+        if(area[cell]!=0) return area[cell]==from;
+        for(int d=0;d<DIRS.length;d+=2) {
+            if(area[cell+DIRS[d]*w+DIRS[d+1]]==from) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Runs a single-target search and expands the result into every cell of the route.
+     */
+    private int[] route(int s, int t, long deadlineNanos) {
+        if(!touches(t, area[s])) return null;
+        int reached=search(s, new int[]{t}, t, 0, deadlineNanos);
+        if(reached<0) return null;
+        int[] out=new int[steps(reached)+1];
+        int at=out.length-1;
+        for(int jp=reached;jp!=s;jp=parent[jp]) {
+            int p=parent[jp];
+            int d=Integer.signum(jp/w-p/w)*w+Integer.signum(jp%w-p%w);
+            for(int i=jp;i!=p;i-=d) out[at--]=i;
+        }
+        out[0]=s;
+        return out;
+    }
+
+    /**
+     * Counts the single steps from the search start to a reached node.
+     */
+    private int steps(int node) {
+        int steps=0;
+        for(int jp=node;jp!=start;jp=parent[jp]) {
+            steps+=steps(jp, parent[jp]);
+        }
+        return steps;
+    }
+
+    /**
+     * A* with jump point pruning from s until the first goal cell is taken off the open list.
+     * The start and the goals count as walkable for the search.
+     * The heuristic is the Chebyshev distance to a reference cell minus a slack that covers how far
+     * the goals lie from it, which keeps it admissible and consistent for every goal.
+     * @return The goal reached, or -1 if none is reachable or the deadline passed.
+     */
+    private int search(int s, int[] targets, int ref, int slack, long deadlineNanos) {
+        search++;
+        goals++;
+        start=s;
+        walk[s]=true;
+        for(int t : targets) {
+            goal[t]=goals;
+            walk[t]=true;
+        }
+        try {
+            return expand(s, ref, slack, deadlineNanos);
+        } finally {
+            walk[s]=free[s];
+            for(int t : targets) walk[t]=free[t];
+        }
+    }
+
+    private int expand(int s, int ref, int slack, long deadlineNanos) {
+        heapSize=0;
+        g[s]=0;
+        parent[s]=s;
+        seen[s]=search;
+        push(h(s, ref, slack), s);
+
+        int pops=0;
+        while(heapSize>0) {
+            int cur=(int)pop();
+            if(closed[cur]==search) continue;
+            closed[cur]=search;
+            expanded++;
+            if(goal[cur]==goals) return cur;
+            if((++pops&63)==0 && System.nanoTime()-deadlineNanos>0) return -1;
+
+            if(cur==s) {
+                for(int d=0;d<DIRS.length;d+=2) relax(cur, DIRS[d], DIRS[d+1], ref, slack);
+                continue;
+            }
+            int p=parent[cur];
+            int dr=Integer.signum(cur/w-p/w), dc=Integer.signum(cur%w-p%w);
+            if(dr!=0 && dc!=0) {
+                if(walk[cur+dr*w]) relax(cur, dr, 0, ref, slack);
+                if(walk[cur+dc]) relax(cur, 0, dc, ref, slack);
+                if(walk[cur+dr*w+dc]) relax(cur, dr, dc, ref, slack);
+                if(!walk[cur-dc]) relax(cur, dr, -dc, ref, slack);
+                if(!walk[cur-dr*w]) relax(cur, -dr, dc, ref, slack);
+            } else if(dr!=0) {
+                if(walk[cur+dr*w]) relax(cur, dr, 0, ref, slack);
+                if(!walk[cur+1]) relax(cur, dr, 1, ref, slack);
+                if(!walk[cur-1]) relax(cur, dr, -1, ref, slack);
+            } else {
+                if(walk[cur+dc]) relax(cur, 0, dc, ref, slack);
+                if(!walk[cur+w]) relax(cur, 1, dc, ref, slack);
+                if(!walk[cur-w]) relax(cur, -1, dc, ref, slack);
+            }
+        }
+        return -1;
+    }
+
+    private void relax(int cur, int dr, int dc, int ref, int slack) {
+        int jp=(dr!=0 && dc!=0) ? jumpDiagonal(cur+dr*w+dc, dr, dc) : jumpStraight(cur+dr*w+dc, dr*w+dc);
+        if(jp<0 || closed[jp]==search) return;
+        int ng=g[cur]+steps(cur, jp);
+        if(seen[jp]==search && g[jp]<=ng) return;
+        seen[jp]=search;
+        g[jp]=ng;
+        parent[jp]=cur;
+        push(ng+h(jp, ref, slack), jp);
+    }
+
+    /**
+     * Walks straight from cell i by d (one of +-1, +-w) until a cell where the route may have to bend.
+     * @return That cell, or -1 if the walk runs into blocked ground.
+     */
+    private int jumpStraight(int i, int d) {
+        // The two sides of the line, as offsets from the current cell.
+        int side=(d==1 || d==-1) ? w : 1;
+        while(true) {
+            if(!walk[i]) return -1;
+            if(goal[i]==goals) return i;
+            if((walk[i+d+side] && !walk[i+side]) || (walk[i+d-side] && !walk[i-side])) return i;
+            i+=d;
+        }
+    }
+
+    /**
+     * Walks diagonally from cell i until a cell where the route may have to bend,
+     * or from which a straight walk finds one.
+     * @return That cell, or -1 if the walk runs into blocked ground.
+     */
+    private int jumpDiagonal(int i, int dr, int dc) {
+        int v=dr*w, d=v+dc;
+        while(true) {
+            if(!walk[i]) return -1;
+            if(goal[i]==goals) return i;
+            if((walk[i+v-dc] && !walk[i-dc]) || (walk[i-v+dc] && !walk[i-v])) return i;
+            if(jumpStraight(i+v, v)>=0 || jumpStraight(i+dc, dc)>=0) return i;
+            i+=d;
+        }
+    }
+
+    private int h(int i, int ref, int slack) {
+        return Math.max(0, steps(i, ref)-slack);
+    }
+
+    /**
+     * Counts the king steps between two cells, which is the turns a walk between them takes on open ground.
+     */
+    private int steps(int a, int b) {
+        return Math.max(Math.abs(a/w-b/w), Math.abs(a%w-b%w));
+    }
+
+    private void push(int f, int node) {
+        if(heapSize==heap.length) heap=Arrays.copyOf(heap, heapSize*2);
+        long v=((long)f<<32)|node;
+        int i=heapSize++;
+        while(i>0) {
+            int up=(i-1)>>1;
+            if(heap[up]<=v) break;
+            heap[i]=heap[up];
+            i=up;
+        }
+        heap[i]=v;
+    }
+
+    private long pop() {
+        long top=heap[0];
+        long last=heap[--heapSize];
+        int i=0;
+        while(true) {
+            int child=2*i+1;
+            if(child>=heapSize) break;
+            if(child+1<heapSize && heap[child+1]<heap[child]) child++;
+            if(last<=heap[child]) break;
+            heap[i]=heap[child];
+            i=child;
+        }
+        heap[i]=last;
+        return top;
+    }
+
+    private int index(Pos p) { return (p.getRow()+1)*w+p.getCol()+1; }
+    private Pos pos(int i) { return new Pos(i/w-1, i%w-1); }
+
+    private static int indexOf(int[] route, int cell) {
+        for(int i=0;i<route.length-1;i++) {
+            if(route[i]==cell) return i;
+        }
+        return -1;
+    }
+
+    private static int cheb(Pos a, Pos b) {
+        return Math.max(Math.abs(a.getRow()-b.getRow()), Math.abs(a.getCol()-b.getCol()));
+    }
+
+    /**
+     * Plain breadth-first search over every cell, for checking the jump point search.
+     * @return The turns of the shortest walk, or -1 if there is none.
+     */
+    private int reference(int s, int t) {
+        int[] dist=new int[w*w];
+        Arrays.fill(dist, -1);
+        int[] queue=new int[w*w];
+        int head=0, tail=0;
+        dist[s]=0;
+        queue[tail++]=s;
+        while(head<tail) {
+            int cur=queue[head++];
+            if(cur==t) return dist[cur];
+            for(int d=0;d<DIRS.length;d+=2) {
+                int j=cur+DIRS[d]*w+DIRS[d+1];
+                if((!free[j] && j!=t) || dist[j]>=0) continue;
+                dist[j]=dist[cur]+1;
+                queue[tail++]=j;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return The turns a route takes, or -1 if it leaves the walkable ground or skips a cell.
+     */
+    private int turns(int[] route, int t) {
+        for(int i=1;i<route.length;i++) {
+            if(steps(route[i-1], route[i])!=1 || (!free[route[i]] && route[i]!=t)) return -1;
+        }
+        return route.length-1;
+    }
+
+    /**
+     * Builds a random map with scattered rocks and water and long wall segments with a few gaps.
+     * @param size The map size.
+     * @param seed The random seed.
+     * @return The map.
+     */
+    static TerrainMap randomMap(int size, long seed) {
+        Random rng=new Random(seed);
+        Terrain[][] grid=new Terrain[size][size];
+        for(Terrain[] row : grid) Arrays.fill(row, Terrain.OPEN);
+        for(int i=0;i<size*size/8;i++) grid[rng.nextInt(size)][rng.nextInt(size)]=(rng.nextInt(3)==0) ? Terrain.WATER : Terrain.ROCK;
+        for(int w=0;w<size/4;w++) {
+            int r=rng.nextInt(size), c=rng.nextInt(size), len=size/8+rng.nextInt(size/4+1);
+            boolean across=rng.nextBoolean();
+            for(int k=0;k<len;k++) {
+                int rr=across ? r : r+k, cc=across ? c+k : c;
+                if(rr<size && cc<size && rng.nextInt(24)!=0) grid[rr][cc]=Terrain.WALL;
+            }
+        }
+        return TerrainMap.of("random-"+size, grid);
+    }
+
+    public static void main(String[] args) throws IOException {
+        String mode=args.length>0 ? args[0].toLowerCase(Locale.ROOT) : "bench";
+        int size=args.length>1 ? Integer.parseInt(args[1]) : 500;
+        int queries=args.length>2 ? Integer.parseInt(args[2]) : 200;
+        long seed=args.length>3 ? Long.parseLong(args[3]) : 132L;
+
+        TerrainMap map=randomMap(size, seed);
+        PathFinder pf=new PathFinder(map, RuleBook.getDefault().rules(Era.PRESENT), Role.PREY);
+        Random rng=new Random(seed+1);
+        // The first queries warm up the JIT and are not timed.
+        int warmup=Math.min(50, queries);
+        long[] times=new long[queries];
+        int found=0, mismatches=0;
+        for(int q=-warmup;q<queries;q++) {
+            int s, t;
+            do { s=pf.index(new Pos(rng.nextInt(size), rng.nextInt(size))); } while(!pf.free[s]);
+            do { t=pf.index(new Pos(rng.nextInt(size), rng.nextInt(size))); } while(!pf.free[t]);
+            if(q==0) pf.expanded=0;
+            long e0=pf.expanded, t0=System.nanoTime();
+            int[] route=pf.route(s, t, Long.MAX_VALUE);
+            long took=System.nanoTime()-t0;
+            if(q<0) continue;
+            times[found]=took;
+            if(route!=null) found++;
+            else pf.expanded=e0;
+            if(mode.equals("verify")) {
+                int want=pf.reference(s, t);
+                int got=(route==null) ? -1 : pf.turns(route, t);
+                if(want!=got) {
+                    mismatches++;
+                    System.out.println("MISMATCH "+pf.pos(s)+" -> "+pf.pos(t)+": jps="+got+" bfs="+want);
+                }
+            }
+        }
+        times=Arrays.copyOf(times, Math.max(found, 1));
+        Arrays.sort(times);
+        System.out.printf(Locale.ROOT, "%dx%d map, %d queries, %d routes found, %d expansions per route%n",
+                size, size, queries, found, pf.expanded/Math.max(found, 1));
+        System.out.printf(Locale.ROOT, "time per route: median %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                times[times.length/2]/1e6, times[times.length*99/100]/1e6, times[times.length-1]/1e6);
+        if(mode.equals("verify")) {
+            System.out.println(mismatches==0 ? "all routes optimal" : mismatches+" routes differ from BFS");
+            if(mismatches>0) System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package foodchain.ai;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import foodchain.board.Board;
+import foodchain.core.GameEngine;
+import foodchain.core.GameState;
+import foodchain.core.TurnManager;
+import foodchain.model.Pos;
+import foodchain.model.Role;
+
+/**
+ * Thinks ahead on a background thread while the human Predator chooses a move.
+ *
+ * For the likeliest Predator moves, ranked like {@link GreedyPredatorStrategy} ranks them,
+ * a silent copy of the game plays the move, the Apex and Prey replies, and records
+ * the highlight masks of the next Predator turn. Every result is keyed by the exact position
+ * it was computed for. A reply is only handed out when the real game reaches the same position,
+ * so a respawn that came out differently in the copy just means a miss and a normal AI turn.
+ *
+ * Only replies found within the decision budget are kept; a pass or an overrun is left to the
+ * live AI, which then decides with its full budget.
+ *
+ * Pondered replies come from separate strategy instances. They match the live AI for strategies
+ * whose choice depends only on the position, like the built-in ones; a random strategy draws anew.
+ * Pondering can be turned off with "foodchain.ai.ponder=false"; "foodchain.ai.ponderWidth"
+ * sets how many Predator moves are looked at (default 8).
+ */
+public final class Ponderer implements AutoCloseable {
+
+    private static final int WIDTH=Integer.getInteger("foodchain.ai.ponderWidth", 8);
+
+    /**
+     * Reports whether pondering is enabled.
+     * @return False if "foodchain.ai.ponder" is set to false.
+     */
+    public static boolean enabled() {
+        return !"false".equalsIgnoreCase(System.getProperty("foodchain.ai.ponder"));
+    }
+
+    /**
+     * A pondered decision: the destination of the side to move.
+     */
+    public static final class Reply {
+        private final Pos to;
+
+        private Reply(Pos to) { this.to=to; }
+
+        public Pos getTo() { return to; }
+    }
+
+    /**
+     * The move and ability cells of a Predator turn, as the GUI highlights them.
+     */
+    public static final class Masks {
+        private final boolean[][] walk;
+        private final boolean[][] ability;
+
+        private Masks(boolean[][] walk, boolean[][] ability) {
+            this.walk=walk;
+            this.ability=ability;
+        }
+
+        public boolean[][] getWalk() { return walk; }
+        public boolean[][] getAbility() { return ability; }
+    }
+
+    private final GameEngine engine;
+    private final AiStrategy apex;
+    private final AiStrategy prey;
+    private final ExecutorService worker;
+    private final Map<Key, Reply> replies=new ConcurrentHashMap<>();
+    private final Map<Key, Masks> masks=new ConcurrentHashMap<>();
+
+    // Caller thread only
+    private Key pondering;
+    private Future<?> task;
+
+    /**
+     * Creates a ponderer for a game using the configured Apex and Prey strategies.
+     * @param engine The game the human is playing.
+     */
+    public Ponderer(GameEngine engine) {
+        this(engine, AiStrategies.configured(Role.APEX), AiStrategies.configured(Role.PREY));
+    }
+
+    /**
+     * Creates a ponderer for a game with explicit strategies.
+     * @param engine The game the human is playing.
+     * @param apex Creates the strategy that answers for the Apex.
+     * @param prey Creates the strategy that answers for the Prey.
+     */
+    public Ponderer(GameEngine engine, Supplier<AiStrategy> apex, Supplier<AiStrategy> prey) {
+        if(engine==null) throw new IllegalArgumentException("engine cannot be null");
+        this.engine=engine;
+        this.apex=apex.get();
+        this.prey=prey.get();
+        this.worker=Executors.newSingleThreadExecutor(r->{
+            Thread t=new Thread(r, "foodchain-ponder");
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+    }
+
+    /**
+     * Starts pondering the current position if it is the Predator's turn.
+     * Does nothing if this position is already being pondered.
+     * Must be called from the thread that moves the engine, between moves.
+     */
+    public void ponder() {
+        if(engine.isGameOver() || engine.getTurnManager().getCurrentTurn()!=Role.PREDATOR) return;
+        Key key=Key.of(engine);
+        if(key.equals(pondering)) return;
+        cancel();
+        replies.clear();
+        masks.clear();
+        pondering=key;
+
+        GameEngine base=engine.copyForSearch(new Random());
+        List<Pos> moves=rank(base);
+        task=worker.submit(()->run(base, moves));
+    }
+
+    /**
+     * Stops pondering after the current step. Results found so far stay available.
+     */
+    public void cancel() {
+        if(task!=null) task.cancel(true);
+        task=null;
+        pondering=null;
+    }
+
+    /**
+     * Looks up the pondered decision for the side to move.
+     * @return The reply, or null if this position was not pondered.
+     */
+    public Reply reply() {
+        if(engine.isGameOver()) return null;
+        return replies.get(Key.of(engine));
+    }
+
+    /**
+     * Looks up the pondered highlight masks of the Predator turn.
+     * @return The masks, or null if this position was not pondered.
+     */
+    public Masks masks() {
+        if(engine.isGameOver()) return null;
+        return masks.get(Key.of(engine));
+    }
+
+    @Override
+    public void close() {
+        cancel();
+        worker.shutdownNow();
+    }
+
+    /**
+     * Orders the Predator's legal moves from likeliest to least likely, keeping at most the ponder width.
+     */
+    private static List<Pos> rank(GameEngine e) {
+        GameState st=e.getState();
+        Pos preyPos=st.getPrey().getPos();
+        Pos apexPos=st.getApex().getPos();
+        List<Pos> moves=e.legalMoves();
+        Map<Pos, Integer> score=new HashMap<>();
+        for(Pos to : moves) {
+            int s=-10*cheb(to, preyPos);
+            if(cheb(to, apexPos)<=1) s-=200;
+            if(to.equals(preyPos)) s+=1000;
+            score.put(to, s);
+        }
+        moves.sort(Comparator.comparing(score::get, Comparator.reverseOrder()));
+        return moves.subList(0, Math.min(WIDTH, moves.size()));
+    }
+
+    private void run(GameEngine base, List<Pos> moves) {
+        for(Pos m : moves) {
+            if(Thread.currentThread().isInterrupted()) return;
+            GameEngine child=base.copyForSearch(new Random());
+            if(!child.move(Role.PREDATOR, m)) continue;
+            while(!child.isGameOver() && child.getTurnManager().getCurrentTurn()!=Role.PREDATOR) {
+                if(Thread.currentThread().isInterrupted()) return;
+                Role turn=child.getTurnManager().getCurrentTurn();
+                Key key=Key.of(child);
+                Reply r=replies.get(key);
+                if(r==null) {
+                    AiStrategy s=(turn==Role.APEX) ? apex : prey;
+                    long t0=System.nanoTime();
+                    r=new Reply(AiStrategies.decideLive(s, child, turn, AiStrategies.DEFAULT_BUDGET_NANOS));
+                    // This thread shares the cores with everything else; a slow answer is not what the live AI would say
+                    if(r.to!=null && System.nanoTime()-t0<=AiStrategies.DEFAULT_BUDGET_NANOS) replies.put(key, r);
+                }
+                if(r.to==null || !child.move(turn, r.to)) child.endTurn();
+            }
+            if(!child.isGameOver()) masks.computeIfAbsent(Key.of(child), k->highlight(child));
+        }
+    }
+
+    private static Masks highlight(GameEngine e) {
+        int n=e.getState().getBoard().getSize();
+        boolean[][] walk=new boolean[n][n];
+        boolean[][] ability=new boolean[n][n];
+        for(int r=0;r<n;r++) {
+            for(int c=0;c<n;c++) {
+                GameEngine.MoveKind k=e.getMoveKind(Role.PREDATOR, new Pos(r, c));
+                if(k==GameEngine.MoveKind.WALK) walk[r][c]=true;
+                else if(k==GameEngine.MoveKind.ABILITY) ability[r][c]=true;
+            }
+        }
+        return new Masks(walk, ability);
+    }
+
+    private static int cheb(Pos a, Pos b) {
+        return Math.max(Math.abs(a.getRow()-b.getRow()), Math.abs(a.getCol()-b.getCol()));
+    }
+
+    /**
+     * Everything a decision can depend on: the turn, the rounds, the cells, the cooldowns and the scores.
+     */
+    private static final class Key {
+        private final int[] v;
+        private final int hash;
+
+        private Key(int[] v) {
+            this.v=v;
+            this.hash=Arrays.hashCode(v);
+        }
+
+        static Key of(GameEngine e) {
+            GameState st=e.getState();
+            TurnManager tm=e.getTurnManager();
+            Board b=st.getBoard();
+            int n=b.getSize();
+            int[] v=new int[9+n*n];
+            v[0]=tm.getCurrentTurn().ordinal();
+            v[1]=tm.getRound();
+            v[8]=tm.getTotalRounds();
+            v[2]=st.getPrey().getAbilityCooldown();
+            v[3]=st.getPredator().getAbilityCooldown();
+            v[4]=st.getApex().getAbilityCooldown();
+            v[5]=st.getPrey().getScore();
+            v[6]=st.getPredator().getScore();
+            v[7]=st.getApex().getScore();
+            for(int r=0;r<n;r++) {
+                for(int c=0;c<n;c++) v[9+r*n+c]=b.get(new Pos(r, c)).ordinal();
+            }
+            return new Key(v);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && ((Key)o).hash==hash && Arrays.equals(((Key)o).v, v);
+        }
+
+        @Override
+        public int hashCode() { return hash; }
+    }
+}
@@ -0,0 +1,7 @@
+package foodchain.ai;
+
+/**
+ * Service interface for strategies that can play the PREDATOR role.
+ */
+public interface PredatorStrategy extends AiStrategy {
+}
@@ -1,30 +1,40 @@
 package foodchain.ai;
 
 import foodchain.core.GameEngine;
-import foodchain.core.GameState;
 import foodchain.core.TurnManager;
+import foodchain.jfr.AiDecisionEvent;
+import foodchain.metrics.Metrics;
 import foodchain.model.Pos;
 import foodchain.model.Role;
 
 /**
  * Artificial Intelligence for the Prey player.
- * Focuses on survival and finding food.
+ * Delegates the move choice to a pluggable {@link AiStrategy}.
  */
 public class PreyAI {
     private final GameEngine engine;
+    private final AiStrategy strategy;
 
     /**
-     * Creates an AI controller for the Prey role.
+     * Creates an AI controller for the Prey role using the configured strategy.
      * @param engine The main game engine instance.
      */
     public PreyAI(GameEngine engine) {
-        this.engine=engine;
+        this(engine, AiStrategies.forRole(Role.PREY));
     }
-    
-    private int cheb(Pos a, Pos b) {
-        return Math.max(Math.abs(a.getRow()-b.getRow()), Math.abs(a.getCol()-b.getCol()));
+
+    /**
+     * Creates an AI controller for the Prey role with an explicit strategy.
+     * @param engine The main game engine instance.
+     * @param strategy The strategy that picks moves.
+     */
+    public PreyAI(GameEngine engine, AiStrategy strategy) {
+        this.engine=engine;
+        this.strategy=strategy;
     }
 
+    public AiStrategy getStrategy() { return strategy; }
+
     /**
      * Executes the turn for the Prey player.
      * Calculates danger from predators and distance to food.
@@ -35,55 +45,53 @@ public class PreyAI {
         if(tm==null||tm.isGameOver()) return false;
         if(tm.getCurrentTurn()!=Role.PREY) return false;
 
-        Pos best=pickBestPreyMove();
-        if(best==null) {
-            tm.endTurn(); 
-            return true;
+        long t0=Metrics.start();
+        AiDecisionEvent ev=new AiDecisionEvent();
+        ev.begin();
+        Pos best=null;
+        try {
+            best=AiStrategies.decideLive(strategy, engine, Role.PREY, AiStrategies.DEFAULT_BUDGET_NANOS);
+            if(best==null) {
+                engine.endTurn();
+                return true;
+            }
+            return engine.move(Role.PREY, best);
+        } finally {
+            Metrics.AI_PREY_TURN.stop(t0);
+            ev.end();
+            if(ev.shouldCommit()) {
+                ev.role=Role.PREY.name();
+                ev.candidates=strategy.getLastCandidates();
+                ev.chosen=String.valueOf(best);
+                ev.commit();
+            }
         }
-        return engine.move(Role.PREY, best);
     }
 
     /**
-     * Scans the board to find the safest and most rewarding move.
-     * Avoids Apex and Predator while trying to reach Food.
-     * @return The optimal position to move to.
+     * Plays a move decided ahead of time, such as a {@link Ponderer} reply,
+     * and records it in the metrics and the Flight Recorder like a decision of this turn.
+     * @param to The destination.
+     * @return True if the move was made.
      */
-    private Pos pickBestPreyMove() {
-        GameState st=engine.getState();
-        int n=st.getBoard().getSize();
-
-        Pos food=st.getFood().getPos();
-        Pos predator=st.getPredator().getPos();
-        Pos apex=st.getApex().getPos();
-
-        Pos best=null;
-        int bestScore=Integer.MIN_VALUE;
-
-        for(int r=0;r<n;r++) {
-            for(int c=0;c<n;c++) {
-                Pos to=new Pos(r, c);
-            
-                if(!engine.canMove(Role.PREY, to)) continue;
-
-                int distFood=cheb(to, food);
-                int distPred=cheb(to, predator);
-                int distApex=cheb(to, apex);
-                
-                int score=0;
-                score+=200-20*distFood;
-                score+=6*distPred+4*distApex;
-
-                if(distPred<=1) score-=200;
-                if(distApex<=1) score-=200;
-                
-                if(to.equals(food)) score+=1000;
-
-                if(score>bestScore) {
-                    bestScore=score;
-                    best=to;
-                }
+    public boolean play(Pos to) {
+        TurnManager tm=engine.getTurnManager();
+        if(tm==null || tm.isGameOver() || tm.getCurrentTurn()!=Role.PREY) return false;
+        long t0=Metrics.start();
+        AiDecisionEvent ev=new AiDecisionEvent();
+        ev.begin();
+        try {
+            return engine.move(Role.PREY, to);
+        } finally {
+            Metrics.AI_PREY_TURN.stop(t0);
+            ev.end();
+            if(ev.shouldCommit()) {
+                ev.role=Role.PREY.name();
+                ev.candidates=0;
+                ev.chosen=String.valueOf(to);
+                ev.pondered=true;
+                ev.commit();
             }
         }
-        return best;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,7 @@
+package foodchain.ai;
+
+/**
+ * Service interface for strategies that can play the PREY role.
+ */
+public interface PreyStrategy extends AiStrategy {
+}
@@ -0,0 +1,52 @@
+package foodchain.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import foodchain.core.GameEngine;
+import foodchain.core.GameState;
+import foodchain.model.Pos;
+import foodchain.model.Role;
+
+/**
+ * Baseline strategy for every role: picks a uniformly random legal move.
+ * Useful as the floor of arena ratings. Draws come from {@link #setSeed}, or an unseeded source.
+ */
+public class RandomMoveStrategy implements ApexStrategy, PredatorStrategy, PreyStrategy {
+    private Random rng=new Random();
+    private int lastCandidates;
+
+    @Override
+    public String getName() { return "random"; }
+
+    @Override
+    public int getLastCandidates() { return lastCandidates; }
+
+    @Override
+    public void setSeed(long seed) { rng=new Random(seed); }
+
+    @Override
+    public Pos chooseMove(GameEngine engine, Role role, long deadlineNanos) {
+        int n=engine.getState().getBoard().getSize();
+        Pos from=animalPos(engine.getState(), role);
+        // No move reaches beyond the era's reach, so only that window is scanned, as on a world board it must be
+        int reach=engine.getRules().getReach();
+        List<Pos> legal=new ArrayList<>();
+        for(int r=Math.max(0, from.getRow()-reach);r<=Math.min(n-1, from.getRow()+reach);r++) {
+            for(int c=Math.max(0, from.getCol()-reach);c<=Math.min(n-1, from.getCol()+reach);c++) {
+                Pos to=new Pos(r, c);
+                if(engine.canMove(role, to)) legal.add(to);
+            }
+        }
+        lastCandidates=legal.size();
+        if(legal.isEmpty()) return null;
+        return legal.get(rng.nextInt(legal.size()));
+    }
+
+    private static Pos animalPos(GameState st, Role role) {
+        if(role==Role.PREY) return st.getPrey().getPos();
+        if(role==Role.PREDATOR) return st.getPredator().getPos();
+        return st.getApex().getPos();
+    }
+}
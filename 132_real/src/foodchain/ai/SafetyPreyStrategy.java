@@ -0,0 +1,96 @@
+package foodchain.ai;
+
+import foodchain.core.GameEngine;
+import foodchain.core.GameState;
+import foodchain.model.Pos;
+import foodchain.model.Role;
+
+import static foodchain.ai.AiWeights.Key.*;
+
+/**
+ * Default Prey strategy: heuristic safety scoring that keeps away from the
+ * Apex and Predator while heading for the Food.
+ * The weights come from the {@link WeightBook} entry of the game's era and size
+ * unless fixed weights are given. On terrain maps the distance to the Food is a
+ * walking route found by the {@link PathFinder}.
+ */
+public class SafetyPreyStrategy implements PreyStrategy {
+    private final AiWeights fixed;
+    private int lastCandidates;
+    private PathFinder paths;
+
+    /**
+     * Creates the strategy with the weights tuned for each game's era and grid size.
+     */
+    public SafetyPreyStrategy() {
+        this(null);
+    }
+
+    /**
+     * Creates the strategy with fixed weights.
+     * @param weights The weights to play with, or null to look them up per game.
+     */
+    public SafetyPreyStrategy(AiWeights weights) {
+        this.fixed=weights;
+    }
+
+    @Override
+    public String getName() { return "safety-prey"; }
+
+    @Override
+    public int getLastCandidates() { return lastCandidates; }
+
+    /**
+     * Scans the board to find the safest and most rewarding move.
+     * Avoids Apex and Predator while trying to reach Food.
+     * @return The optimal position to move to.
+     */
+    @Override
+    public Pos chooseMove(GameEngine engine, Role role, long deadlineNanos) {
+        GameState st=engine.getState();
+        int n=st.getBoard().getSize();
+
+        Pos food=st.getFood().getPos();
+        Pos predator=st.getPredator().getPos();
+        Pos apex=st.getApex().getPos();
+        AiWeights w=(fixed!=null) ? fixed : WeightBook.getDefault().weights(st.getEra(), n);
+        double foodPull=w.get(PREY_FOOD), predDist=w.get(PREY_PREDATOR_DISTANCE), apexDist=w.get(PREY_APEX_DISTANCE);
+        double predAdj=w.get(PREY_PREDATOR_ADJACENT), apexAdj=w.get(PREY_APEX_ADJACENT), foodBonus=w.get(PREY_FOOD_BONUS);
+
+        paths=PathFinder.forGame(paths, engine, role);
+        PathFinder.Plan toFood=(paths!=null) ? paths.plan(engine, food, deadlineNanos) : null;
+
+        Pos best=null;
+        double bestScore=Double.NEGATIVE_INFINITY;
+        int candidates=0;
+
+        for(Pos to : engine.legalMoves()) {
+            if(best!=null && System.nanoTime()-deadlineNanos>0) break;
+            candidates++;
+
+            int distFood=(toFood!=null) ? toFood.turnsAfter(to) : cheb(to, food);
+            int distPred=cheb(to, predator);
+            int distApex=cheb(to, apex);
+            
+            double score=0;
+            score-=foodPull*distFood;
+            score+=predDist*distPred+apexDist*distApex;
+
+            if(distPred<=1) score-=predAdj;
+            if(distApex<=1) score-=apexAdj;
+            
+            if(to.equals(food)) score+=foodBonus;
+
+            if(score>bestScore) {
+                bestScore=score;
+                best=to;
+            }
+        }
+        lastCandidates=candidates;
+        return best;
+    }
+
+    private int cheb(Pos a, Pos b) {
+        return Math.max(Math.abs(a.getRow()-b.getRow()), Math.abs(a.getCol()-b.getCol()));
+    }
+}
@@ -0,0 +1,107 @@
+package foodchain.ai;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import foodchain.model.Era;
+import foodchain.model.GridSize;
+
+/**
+ * Loads the tuned AI weights of each era and grid size (data/weights/present-small.weights etc.).
+ * Each file is read once per process, the first time a game of that era and size asks for it.
+ * A missing file means the defaults.
+ */
+public final class WeightBook {
+
+    private static final int SIZES=GridSize.values().length;
+    private static final WeightBook DEFAULT=new WeightBook(Path.of("data", "weights"));
+
+    private final Path dir;
+    private final AtomicReferenceArray<AiWeights> loaded=new AtomicReferenceArray<>(Era.values().length*SIZES);
+
+    /**
+     * Creates a weight book reading from the given directory.
+     * @param dir The directory holding the .weights files.
+     */
+    public WeightBook(Path dir) {
+        this.dir=dir;
+    }
+
+    /**
+     * Returns the weight book that reads from "data/weights".
+     * @return The shared weight book.
+     */
+    public static WeightBook getDefault() { return DEFAULT; }
+
+    /**
+     * Returns the file holding the weights of an era and grid size.
+     * @param era The era.
+     * @param size The grid size.
+     * @return The path, which may not exist.
+     */
+    public Path fileFor(Era era, GridSize size) {
+        return dir.resolve(era.name().toLowerCase(Locale.ROOT)+"-"+size.name().toLowerCase(Locale.ROOT)+".weights");
+    }
+
+    /**
+     * Returns the weights for a game, loading them on first use.
+     * An unreadable or malformed file is reported on stderr and the defaults are used,
+     * so a bad tuning run cannot stop a game from starting.
+     * @param era The era of the game.
+     * @param boardSize The board size in cells.
+     * @return The weights.
+     */
+    public AiWeights weights(Era era, int boardSize) {
+        GridSize size;
+        try {
+            size=GridSize.fromSize(boardSize);
+        } catch(IllegalArgumentException e) {
+            return AiWeights.DEFAULT;
+        }
+        int slot=era.ordinal()*SIZES+size.ordinal();
+        AiWeights w=loaded.get(slot);
+        if(w!=null) return w;
+        try {
+            w=load(era, size);
+        } catch(IOException | IllegalArgumentException e) {
+            System.err.println("Using default AI weights for "+era+" "+size+": "+e.getMessage());
+            w=AiWeights.DEFAULT;
+        }
+        if(!loaded.compareAndSet(slot, null, w)) return loaded.get(slot);
+        return w;
+    }
+
+    /**
+     * Reads the weight file of an era and grid size.
+     * @param era The era.
+     * @param size The grid size.
+     * @return The weights, or the defaults if there is no file.
+     * @throws IOException If the file cannot be read.
+     * @throws IllegalArgumentException If the file is malformed.
+     */
+    public AiWeights load(Era era, GridSize size) throws IOException {
+        Path file=fileFor(era, size);
+        if(!Files.exists(file)) return AiWeights.DEFAULT;
+        return AiWeights.parse(Files.readAllLines(file), file.getFileName().toString());
+    }
+
+    /**
+     * Writes the weights of an era and grid size and uses them for later games in this process.
+     * @param era The era.
+     * @param size The grid size.
+     * @param weights The weights to store.
+     * @throws IOException If the file cannot be written.
+     */
+    public void save(Era era, GridSize size, AiWeights weights) throws IOException {
+        Files.createDirectories(dir);
+        Path file=fileFor(era, size);
+        Path tmp=file.resolveSibling(file.getFileName()+".tmp");
+        Files.write(tmp, weights.format());
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        loaded.set(era.ordinal()*SIZES+size.ordinal(), weights);
+    }
+}
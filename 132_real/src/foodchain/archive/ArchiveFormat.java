@@ -0,0 +1,88 @@
+package foodchain.archive;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+
+/**
+ * Layout of a game-record archive file. All numbers are little-endian.
+ *
+ * <pre>
+ * header   int magic, int version, int columnCount, int 0
+ * chunks   for each chunk, each column in Column order: bit-packed words
+ * footer   int chunkCount
+ *          per chunk: int rows, then per column: long offset, int length, long min, long max, byte bits
+ *          int dictionarySize, per entry: int length, UTF-8 bytes
+ * trailer  long footerOffset, long rowCount, int magic
+ * </pre>
+ *
+ * A column chunk stores value-min in the given number of bits per row (frame of reference).
+ * A chunk where the column is constant takes no space at all.
+ */
+final class ArchiveFormat {
+
+    static final int MAGIC=0x46434152; // "FCAR"
+    static final int VERSION=1;
+    static final int HEADER_BYTES=16;
+    static final int TRAILER_BYTES=20;
+    static final int CHUNK_ROWS=1<<16;
+
+    private ArchiveFormat() {}
+
+    /**
+     * Returns the number of bits needed for values in [min, max].
+     */
+    static int bitsFor(long min, long max) {
+        long range=max-min;
+        return (range<0) ? 64 : 64-Long.numberOfLeadingZeros(range);
+    }
+
+    /**
+     * Returns the size in bytes of a packed column chunk.
+     */
+    static int packedBytes(int rows, int bits) {
+        return (int)(((long)rows*bits+63)/64)*8;
+    }
+
+    /**
+     * Packs values-min into consecutive little-endian words.
+     */
+    static void pack(long[] values, int rows, long min, int bits, ByteBuffer out) {
+        if(bits==0) return;
+        long word=0;
+        int used=0;
+        for(int i=0;i<rows;i++) {
+            long v=values[i]-min;
+            word|=v<<used;
+            int free=64-used;
+            if(bits>=free) {
+                out.putLong(word);
+                word=(free==64) ? 0 : v>>>free;
+                used=bits-free;
+            } else {
+                used+=bits;
+            }
+        }
+        if(used>0) out.putLong(word);
+    }
+
+    /**
+     * Unpacks a column chunk written by {@link #pack}.
+     */
+    static void unpack(LongBuffer words, int rows, long min, int bits, long[] out) {
+        if(bits==0) {
+            Arrays.fill(out, 0, rows, min);
+            return;
+        }
+        long mask=(bits==64) ? -1L : (1L<<bits)-1;
+        long bitPos=0;
+        for(int i=0;i<rows;i++) {
+            int w=(int)(bitPos>>>6);
+            int sh=(int)(bitPos&63);
+            long v=words.get(w)>>>sh;
+            if(sh+bits>64) v|=words.get(w+1)<<(64-sh);
+            out[i]=min+(v&mask);
+            bitPos+=bits;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package foodchain.archive;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
+import foodchain.batch.BatchEngine;
+import foodchain.io.FoodChainRegistry;
+import foodchain.model.Era;
+import foodchain.model.GridSize;
+import foodchain.model.Role;
+import foodchain.rules.RuleBook;
+
+/**
+ * Command line tool for game-record archives.
+ *
+ * Usage:
+ * ArchiveMain write file games [rounds,rounds,...]  simulates random-move games with the batch engine
+ *                                                  over every era, grid size and round count and archives them;
+ * ArchiveMain query file                           prints a few standard breakdowns with their timings.
+ */
+public class ArchiveMain {
+
+    private static final int BATCH=1<<16;
+
+    public static void main(String[] args) throws IOException {
+        if(args.length<2) {
+            System.err.println("Usage: ArchiveMain write <file> <games> [rounds,...] | query <file>");
+            System.exit(2);
+        }
+        Path file=Path.of(args[1]);
+        switch(args[0].toLowerCase(Locale.ROOT)) {
+            case "write": {
+                long games=Long.parseLong(args[2]);
+                int[] rounds=Arrays.stream((args.length>3 ? args[3] : "10,20,30").split(",")).mapToInt(Integer::parseInt).toArray();
+                long t0=System.nanoTime();
+                write(file, games, rounds);
+                System.out.printf(Locale.ROOT, "wrote %d games to %s in %.1f s%n", games, file, (System.nanoTime()-t0)/1e9);
+                break;
+            }
+            case "query":
+                query(file);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown command: "+args[0]);
+        }
+    }
+
+    /**
+     * Simulates games in batches, cycling through eras, grid sizes and round counts.
+     */
+    static void write(Path file, long games, int[] rounds) throws IOException {
+        Random seeds=new Random(132L);
+        Era[] eras=Era.values();
+        GridSize[] sizes=GridSize.values();
+        int[] scores=new int[3], captures=new int[3], abilities=new int[3];
+        try(ArchiveWriter w=ArchiveWriter.create(file)) {
+            for(int b=0;w.getRowCount()<games;b++) {
+                Era era=eras[b%eras.length];
+                GridSize size=sizes[(b/eras.length)%sizes.length];
+                int r=rounds[(b/(eras.length*sizes.length))%rounds.length];
+                int n=(int)Math.min(BATCH, games-w.getRowCount());
+                long[] s=new long[n], p=new long[n];
+                for(int g=0;g<n;g++) { s[g]=seeds.nextLong(); p[g]=seeds.nextLong(); }
+
+                BatchEngine batch=new BatchEngine(RuleBook.getDefault().rules(era), FoodChainRegistry.getDefault().count(era),
+                        size, r, s, p);
+                batch.runToEnd();
+                for(int g=0;g<n;g++) {
+                    for(Role role : Role.values()) {
+                        scores[role.ordinal()]=batch.getScore(g, role);
+                        captures[role.ordinal()]=batch.getCaptures(g, role);
+                        abilities[role.ordinal()]=batch.getAbilityUses(g, role);
+                    }
+                    String chain=FoodChainRegistry.getDefault().chain(era, batch.getChain(g)).toString();
+                    w.append(new GameRecord(era, size, r, s[g], chain, scores, captures, abilities));
+                }
+            }
+        }
+    }
+
+    static void query(Path file) throws IOException {
+        try(ArchiveReader r=ArchiveReader.open(file)) {
+            System.out.printf(Locale.ROOT, "%d games in %d chunks, %d chains%n", r.getRowCount(), r.getChunkCount(), r.getChains().size());
+
+            long t0=System.nanoTime();
+            SortedMap<Long, Summary> byEra=r.query().summarizeBy(Column.ERA, Column.PREY_SCORE);
+            report("prey score by era", t0);
+            byEra.forEach((k, v)->System.out.println("  "+Era.values()[k.intValue()]+": "+v));
+
+            t0=System.nanoTime();
+            SortedMap<Long, Summary> byChain=r.query().whereEra(Era.PRESENT).whereGridSize(GridSize.LARGE)
+                    .summarizeBy(Column.CHAIN, Column.APEX_SCORE);
+            report("apex score by chain, Present on Large", t0);
+            byChain.forEach((k, v)->System.out.println("  "+r.getChains().get(k.intValue())+": "+v));
+
+            for(Role role : Role.values()) {
+                t0=System.nanoTime();
+                long wins=r.query().whereWinner(role).where(Column.ROUNDS, 10, Integer.MAX_VALUE).count();
+                report(role+" wins (alone or tied) in games of 10+ rounds: "+wins, t0);
+            }
+
+            t0=System.nanoTime();
+            Summary dash=r.query().whereEra(Era.PRESENT).where(Column.PREDATOR_ABILITIES, 1, Long.MAX_VALUE)
+                    .summarize(Column.PREDATOR_CAPTURES);
+            report("predator captures when it used its ability, Present: "+dash, t0);
+        }
+    }
+
+    private static void report(String what, long t0) {
+        System.out.printf(Locale.ROOT, "%s (%.1f ms)%n", what, (System.nanoTime()-t0)/1e6);
+    }
+}
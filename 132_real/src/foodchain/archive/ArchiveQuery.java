@@ -0,0 +1,277 @@
+package foodchain.archive;
+
+import java.io.IOException;
+import java.util.*;
+
+import foodchain.model.Era;
+import foodchain.model.GridSize;
+import foodchain.model.Role;
+
+import static foodchain.archive.ArchiveFormat.CHUNK_ROWS;
+
+/**
+ * A filtered scan over an archive. Filters are combined with AND.
+ *
+ * Chunks whose zone map (the chunk's min and max of a column) rules out a filter
+ * are skipped without being read. A filter that every row of a chunk passes is not evaluated there.
+ * Only the columns used by the filters, the grouping and the aggregated value are decoded.
+ */
+public final class ArchiveQuery {
+
+    /** Group columns whose values in a chunk span at most this many values are aggregated in arrays. */
+    private static final int DENSE_GROUPS=4096;
+
+    private final ArchiveReader reader;
+    private final List<Filter> filters=new ArrayList<>();
+
+    ArchiveQuery(ArchiveReader reader) {
+        this.reader=reader;
+    }
+
+    private static final class Filter {
+        final Column column;
+        final long lo;
+        final long hi;
+        final long[] set;
+        // Bit i stands for lo+i; used when the set spans fewer than 64 values.
+        final long bitmap;
+
+        Filter(Column column, long lo, long hi, long[] set) {
+            this.column=column;
+            this.lo=lo;
+            this.hi=hi;
+            this.set=set;
+            long b=0;
+            if(set!=null && hi-lo>=0 && hi-lo<64) {
+                for(long v : set) b|=1L<<(v-lo);
+            }
+            this.bitmap=b;
+        }
+
+        boolean matches(long v) {
+            if(v<lo || v>hi) return false;
+            if(set==null) return true;
+            if(bitmap!=0) return ((bitmap>>>(v-lo))&1)!=0;
+            return Arrays.binarySearch(set, v)>=0;
+        }
+
+        boolean excludes(long min, long max) {
+            if(max<lo || min>hi) return true;
+            if(set==null) return false;
+            for(long v : set) {
+                if(v>=min && v<=max) return false;
+            }
+            return true;
+        }
+
+        boolean covers(long min, long max) {
+            if(set==null) return min>=lo && max<=hi;
+            return min==max && matches(min);
+        }
+    }
+
+    /**
+     * Keeps rows whose column value lies in [lo, hi].
+     * @param c The column.
+     * @param lo The lower bound, inclusive.
+     * @param hi The upper bound, inclusive.
+     * @return This query.
+     */
+    public ArchiveQuery where(Column c, long lo, long hi) {
+        filters.add(new Filter(c, lo, hi, null));
+        return this;
+    }
+
+    /**
+     * Keeps rows whose column value equals v.
+     * @param c The column.
+     * @param v The value.
+     * @return This query.
+     */
+    public ArchiveQuery whereEquals(Column c, long v) {
+        return where(c, v, v);
+    }
+
+    /**
+     * Keeps rows whose column value is one of the given values.
+     * @param c The column.
+     * @param values The accepted values.
+     * @return This query.
+     */
+    public ArchiveQuery whereIn(Column c, long... values) {
+        long[] set=values.clone();
+        Arrays.sort(set);
+        if(set.length==0) return where(c, 1, 0);
+        filters.add(new Filter(c, set[0], set[set.length-1], set));
+        return this;
+    }
+
+    public ArchiveQuery whereEra(Era era) { return whereEquals(Column.ERA, era.ordinal()); }
+    public ArchiveQuery whereGridSize(GridSize size) { return whereEquals(Column.GRID_SIZE, size.ordinal()); }
+
+    /**
+     * Keeps games played with a chain. A chain the archive never saw matches nothing.
+     * @param chain The chain as FoodChain.toString() prints it.
+     * @return This query.
+     */
+    public ArchiveQuery whereChain(String chain) {
+        int code=reader.chainCode(chain);
+        return code<0 ? where(Column.CHAIN, 1, 0) : whereEquals(Column.CHAIN, code);
+    }
+
+    /**
+     * Keeps games a role won, alone or tied.
+     * @param role The winner.
+     * @return This query.
+     */
+    public ArchiveQuery whereWinner(Role role) {
+        long bit=Column.winnerBit(role);
+        List<Long> masks=new ArrayList<>();
+        for(long m=1;m<8;m++) {
+            if((m&bit)!=0) masks.add(m);
+        }
+        return whereIn(Column.WINNER, masks.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    /**
+     * Counts the selected rows.
+     * @return The number of rows.
+     * @throws IOException If the archive cannot be read.
+     */
+    public long count() throws IOException {
+        return run(null, null).getOrDefault(0L, new Summary()).getCount();
+    }
+
+    /**
+     * Aggregates a column over the selected rows.
+     * @param value The column to aggregate, or null to only count the rows.
+     * @return The summary.
+     * @throws IOException If the archive cannot be read.
+     */
+    public Summary summarize(Column value) throws IOException {
+        return run(null, value).getOrDefault(0L, new Summary());
+    }
+
+    /**
+     * Aggregates a column over the selected rows, grouped by another column.
+     * @param group The column whose values form the groups.
+     * @param value The column to aggregate, or null to only count the rows of each group.
+     * @return Summaries keyed by group value, in ascending order.
+     * @throws IOException If the archive cannot be read.
+     */
+    public SortedMap<Long, Summary> summarizeBy(Column group, Column value) throws IOException {
+        return run(group, value);
+    }
+
+    private SortedMap<Long, Summary> run(Column group, Column value) throws IOException {
+        SortedMap<Long, Summary> out=new TreeMap<>();
+        long[][] cols=new long[Column.ALL.length][];
+        int[] decodedChunk=new int[Column.ALL.length];
+        int[] sel=new int[CHUNK_ROWS];
+        List<Filter> active=new ArrayList<>();
+
+        for(int k=0;k<reader.getChunkCount();k++) {
+            int n=reader.chunkRows(k);
+            active.clear();
+            boolean skip=false;
+            for(Filter f : filters) {
+                long lo=reader.min(k, f.column), hi=reader.max(k, f.column);
+                if(f.excludes(lo, hi)) { skip=true; break; }
+                if(!f.covers(lo, hi)) active.add(f);
+            }
+            if(skip) continue;
+
+            int selected=n;
+            boolean all=active.isEmpty();
+            if(!all) {
+                selected=0;
+                long[] v=column(k, active.get(0).column, cols, decodedChunk);
+                Filter first=active.get(0);
+                for(int i=0;i<n;i++) {
+                    if(first.matches(v[i])) sel[selected++]=i;
+                }
+                for(int a=1;a<active.size() && selected>0;a++) {
+                    Filter f=active.get(a);
+                    long[] w=column(k, f.column, cols, decodedChunk);
+                    int kept=0;
+                    for(int s=0;s<selected;s++) {
+                        if(f.matches(w[sel[s]])) sel[kept++]=sel[s];
+                    }
+                    selected=kept;
+                }
+                if(selected==0) continue;
+            }
+
+            if(group==null && value==null) {
+                out.computeIfAbsent(0L, x->new Summary()).add(selected, 0, 0, 0);
+                continue;
+            }
+            if(group==null || reader.min(k, group)==reader.max(k, group)) {
+                long key=(group==null) ? 0L : reader.min(k, group);
+                aggregateAll(k, value, all, sel, selected, cols, decodedChunk, out.computeIfAbsent(key, x->new Summary()));
+                continue;
+            }
+
+            long[] g=column(k, group, cols, decodedChunk);
+            long[] v=(value==null) ? null : column(k, value, cols, decodedChunk);
+            long gmin=reader.min(k, group), range=reader.max(k, group)-gmin;
+            if(range>=0 && range<DENSE_GROUPS) {
+                int m=(int)range+1;
+                long[] cnt=new long[m], sum=new long[m], lo=new long[m], hi=new long[m];
+                Arrays.fill(lo, Long.MAX_VALUE);
+                Arrays.fill(hi, Long.MIN_VALUE);
+                for(int s=0;s<selected;s++) {
+                    int i=all ? s : sel[s];
+                    int slot=(int)(g[i]-gmin);
+                    long x=(v==null) ? 0 : v[i];
+                    cnt[slot]++;
+                    sum[slot]+=x;
+                    if(x<lo[slot]) lo[slot]=x;
+                    if(x>hi[slot]) hi[slot]=x;
+                }
+                for(int slot=0;slot<m;slot++) {
+                    if(cnt[slot]>0) out.computeIfAbsent(gmin+slot, x->new Summary()).add(cnt[slot], sum[slot], lo[slot], hi[slot]);
+                }
+            } else {
+                for(int s=0;s<selected;s++) {
+                    int i=all ? s : sel[s];
+                    out.computeIfAbsent(g[i], x->new Summary()).add((v==null) ? 0 : v[i]);
+                }
+            }
+        }
+        return out;
+    }
+
+    private void aggregateAll(int k, Column value, boolean all, int[] sel, int selected,
+                              long[][] cols, int[] decodedChunk, Summary into) throws IOException {
+        if(value==null) {
+            into.add(selected, 0, 0, 0);
+            return;
+        }
+        long[] v=column(k, value, cols, decodedChunk);
+        long sum=0, lo=Long.MAX_VALUE, hi=Long.MIN_VALUE;
+        for(int s=0;s<selected;s++) {
+            long x=v[all ? s : sel[s]];
+            sum+=x;
+            if(x<lo) lo=x;
+            if(x>hi) hi=x;
+        }
+        into.add(selected, sum, lo, hi);
+    }
+
+    /**
+     * Returns a column of a chunk, decoding it at most once per chunk.
+     */
+    private long[] column(int k, Column c, long[][] cols, int[] decodedChunk) throws IOException {
+        int i=c.ordinal();
+        if(cols[i]==null) {
+            cols[i]=new long[CHUNK_ROWS];
+            decodedChunk[i]=-1;
+        }
+        if(decodedChunk[i]!=k) {
+            reader.decode(k, c, cols[i]);
+            decodedChunk[i]=k;
+        }
+        return cols[i];
+    }
+}
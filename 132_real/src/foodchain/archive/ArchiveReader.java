@@ -0,0 +1,162 @@
+package foodchain.archive;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+import static foodchain.archive.ArchiveFormat.*;
+
+/**
+ * Read-only view of an archive written by {@link ArchiveWriter}.
+ * Opening reads only the footer. Column chunks are memory-mapped when a query first
+ * needs them, so a query touches only the columns and chunks it uses.
+ * A reader may be queried from one thread at a time.
+ */
+public final class ArchiveReader implements Closeable {
+    private static final int COLUMNS=Column.ALL.length;
+
+    private final FileChannel channel;
+    private final long rowCount;
+    private final int[] chunkRows;
+    private final long[] offset;
+    private final int[] length;
+    private final long[] min;
+    private final long[] max;
+    private final byte[] bits;
+    private final List<String> chains;
+    private final Map<String, Integer> chainCodes=new HashMap<>();
+    private final LongBuffer[] mapped;
+
+    private ArchiveReader(FileChannel channel) throws IOException {
+        this.channel=channel;
+        long size=channel.size();
+        if(size<HEADER_BYTES+TRAILER_BYTES) throw new IOException("Not a game archive (too short)");
+
+        ByteBuffer header=read(0, HEADER_BYTES);
+        if(header.getInt()!=MAGIC) throw new IOException("Not a game archive");
+        int version=header.getInt();
+        if(version!=VERSION) throw new IOException("Unsupported archive version "+version);
+        if(header.getInt()!=COLUMNS) throw new IOException("Archive has a different column set");
+
+        ByteBuffer trailer=read(size-TRAILER_BYTES, TRAILER_BYTES);
+        long footerOffset=trailer.getLong();
+        this.rowCount=trailer.getLong();
+        if(trailer.getInt()!=MAGIC) throw new IOException("Archive is incomplete (not closed by its writer)");
+
+        ByteBuffer f=read(footerOffset, (int)(size-TRAILER_BYTES-footerOffset));
+        int chunks=f.getInt();
+        chunkRows=new int[chunks];
+        offset=new long[chunks*COLUMNS];
+        length=new int[chunks*COLUMNS];
+        min=new long[chunks*COLUMNS];
+        max=new long[chunks*COLUMNS];
+        bits=new byte[chunks*COLUMNS];
+        for(int k=0;k<chunks;k++) {
+            chunkRows[k]=f.getInt();
+            for(int c=0;c<COLUMNS;c++) {
+                int i=k*COLUMNS+c;
+                offset[i]=f.getLong();
+                length[i]=f.getInt();
+                min[i]=f.getLong();
+                max[i]=f.getLong();
+                bits[i]=f.get();
+            }
+        }
+        int dict=f.getInt();
+        List<String> names=new ArrayList<>(dict);
+        for(int d=0;d<dict;d++) {
+            byte[] b=new byte[f.getInt()];
+            f.get(b);
+            String s=new String(b, StandardCharsets.UTF_8);
+            names.add(s);
+            chainCodes.put(s, d);
+        }
+        this.chains=Collections.unmodifiableList(names);
+        this.mapped=new LongBuffer[chunks*COLUMNS];
+    }
+
+    /**
+     * Opens an archive file.
+     * @param file The file.
+     * @return The reader.
+     * @throws IOException If the file cannot be read or is not a complete archive.
+     */
+    public static ArchiveReader open(Path file) throws IOException {
+        FileChannel ch=FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new ArchiveReader(ch);
+        } catch(IOException | RuntimeException e) {
+            ch.close();
+            throw e;
+        }
+    }
+
+    private ByteBuffer read(long at, int n) throws IOException {
+        ByteBuffer b=ByteBuffer.allocate(n).order(ByteOrder.LITTLE_ENDIAN);
+        while(b.hasRemaining()) {
+            if(channel.read(b, at+b.position())<0) throw new IOException("Archive is truncated");
+        }
+        return b.flip();
+    }
+
+    public long getRowCount() { return rowCount; }
+    public int getChunkCount() { return chunkRows.length; }
+
+    /**
+     * Returns the chain dictionary; a CHAIN value is an index into it.
+     * @return The chain names in code order.
+     */
+    public List<String> getChains() { return chains; }
+
+    /**
+     * Looks up the CHAIN value of a chain name.
+     * @param chain The name as FoodChain.toString() prints it.
+     * @return The code, or -1 if no archived game used that chain.
+     */
+    public int chainCode(String chain) {
+        Integer c=chainCodes.get(chain);
+        return c==null ? -1 : c;
+    }
+
+    /**
+     * Starts a query over all rows.
+     * @return A query with no filters.
+     */
+    public ArchiveQuery query() {
+        return new ArchiveQuery(this);
+    }
+
+    int chunkRows(int chunk) { return chunkRows[chunk]; }
+    long min(int chunk, Column c) { return min[chunk*COLUMNS+c.ordinal()]; }
+    long max(int chunk, Column c) { return max[chunk*COLUMNS+c.ordinal()]; }
+
+    /**
+     * Decodes one column chunk into out.
+     */
+    void decode(int chunk, Column c, long[] out) throws IOException {
+        int i=chunk*COLUMNS+c.ordinal();
+        LongBuffer words=null;
+        if(bits[i]!=0) {
+            words=mapped[i];
+            if(words==null) {
+                MappedByteBuffer m=channel.map(FileChannel.MapMode.READ_ONLY, offset[i], length[i]);
+                words=m.order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+                mapped[i]=words;
+            }
+        }
+        unpack(words, chunkRows[chunk], min[i], bits[i], out);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
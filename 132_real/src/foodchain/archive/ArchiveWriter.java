@@ -0,0 +1,150 @@
+package foodchain.archive;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+import static foodchain.archive.ArchiveFormat.*;
+
+/**
+ * Writes game records to a new archive file, {@value ArchiveFormat#CHUNK_ROWS} rows per chunk.
+ * Rows are buffered in memory and written column by column when a chunk is full.
+ * The footer with the zone maps and the chain dictionary is written by {@link #close()};
+ * a file that was not closed cannot be read.
+ */
+public final class ArchiveWriter implements Closeable {
+    private static final int COLUMNS=Column.ALL.length;
+
+    private final FileChannel channel;
+    private final long[][] rowsBuffer=new long[COLUMNS][CHUNK_ROWS];
+    private final Map<String, Integer> dictionary=new LinkedHashMap<>();
+    private final List<long[]> chunkMeta=new ArrayList<>();
+    private int buffered;
+    private long rowCount;
+    private boolean closed;
+
+    private ArchiveWriter(FileChannel channel) {
+        this.channel=channel;
+    }
+
+    /**
+     * Creates or truncates an archive file.
+     * @param file The file to write.
+     * @return The writer.
+     * @throws IOException If the file cannot be opened.
+     */
+    public static ArchiveWriter create(Path file) throws IOException {
+        FileChannel ch=FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        ByteBuffer header=ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(COLUMNS).putInt(0).flip();
+        writeFully(ch, header);
+        return new ArchiveWriter(ch);
+    }
+
+    /**
+     * Adds one game.
+     * @param r The record.
+     * @throws IOException If a full chunk cannot be written.
+     */
+    public void append(GameRecord r) throws IOException {
+        if(closed) throw new IllegalStateException("Archive is closed");
+        for(Column c : Column.ALL) {
+            rowsBuffer[c.ordinal()][buffered]=(c==Column.CHAIN) ? chainCode(r.getChain()) : r.value(c);
+        }
+        buffered++;
+        rowCount++;
+        if(buffered==CHUNK_ROWS) flushChunk();
+    }
+
+    public long getRowCount() { return rowCount; }
+
+    private int chainCode(String chain) {
+        Integer code=dictionary.get(chain);
+        if(code==null) {
+            code=dictionary.size();
+            dictionary.put(chain, code);
+        }
+        return code;
+    }
+
+    private void flushChunk() throws IOException {
+        if(buffered==0) return;
+        // Per chunk: rows, then offset, length, min, max, bits for every column.
+        long[] meta=new long[1+COLUMNS*5];
+        meta[0]=buffered;
+        for(int c=0;c<COLUMNS;c++) {
+            long[] v=rowsBuffer[c];
+            long min=v[0], max=v[0];
+            for(int i=1;i<buffered;i++) {
+                if(v[i]<min) min=v[i];
+                if(v[i]>max) max=v[i];
+            }
+            int bits=bitsFor(min, max);
+            int bytes=packedBytes(buffered, bits);
+            long offset=channel.position();
+            if(bytes>0) {
+                ByteBuffer out=ByteBuffer.allocate(bytes).order(ByteOrder.LITTLE_ENDIAN);
+                pack(v, buffered, min, bits, out);
+                out.flip();
+                writeFully(channel, out);
+            }
+            int m=1+c*5;
+            meta[m]=offset;
+            meta[m+1]=bytes;
+            meta[m+2]=min;
+            meta[m+3]=max;
+            meta[m+4]=bits;
+        }
+        chunkMeta.add(meta);
+        buffered=0;
+    }
+
+    /**
+     * Writes the last chunk and the footer, then closes the file.
+     * @throws IOException If writing fails.
+     */
+    @Override
+    public void close() throws IOException {
+        if(closed) return;
+        closed=true;
+        try {
+            flushChunk();
+            long footerOffset=channel.position();
+            List<byte[]> names=new ArrayList<>();
+            int dictBytes=0;
+            for(String s : dictionary.keySet()) {
+                byte[] b=s.getBytes(StandardCharsets.UTF_8);
+                names.add(b);
+                dictBytes+=4+b.length;
+            }
+            int size=4+chunkMeta.size()*(4+COLUMNS*29)+4+dictBytes+TRAILER_BYTES;
+            ByteBuffer f=ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+            f.putInt(chunkMeta.size());
+            for(long[] meta : chunkMeta) {
+                f.putInt((int)meta[0]);
+                for(int c=0;c<COLUMNS;c++) {
+                    int m=1+c*5;
+                    f.putLong(meta[m]).putInt((int)meta[m+1]).putLong(meta[m+2]).putLong(meta[m+3]).put((byte)meta[m+4]);
+                }
+            }
+            f.putInt(names.size());
+            for(byte[] b : names) f.putInt(b.length).put(b);
+            f.putLong(footerOffset).putLong(rowCount).putInt(MAGIC);
+            f.flip();
+            writeFully(channel, f);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private static void writeFully(FileChannel ch, ByteBuffer b) throws IOException {
+        while(b.hasRemaining()) ch.write(b);
+    }
+}
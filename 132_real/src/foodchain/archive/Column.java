@@ -0,0 +1,57 @@
+package foodchain.archive;
+
+import foodchain.model.Role;
+
+/**
+ * The columns of a game-record archive. Every value is stored as a long.
+ */
+public enum Column {
+    /** Era ordinal. */
+    ERA,
+    /** GridSize ordinal. */
+    GRID_SIZE,
+    /** Configured number of rounds. */
+    ROUNDS,
+    /** Seed of the engine's random source. */
+    SEED,
+    /** Index of the chain name in the archive's dictionary. */
+    CHAIN,
+    /** Bit set of the top scorers: 1 for the Prey, 2 for the Predator, 4 for the Apex. */
+    WINNER,
+    PREY_SCORE,
+    PREDATOR_SCORE,
+    APEX_SCORE,
+    PREY_CAPTURES,
+    PREDATOR_CAPTURES,
+    APEX_CAPTURES,
+    PREY_ABILITIES,
+    PREDATOR_ABILITIES,
+    APEX_ABILITIES;
+
+    static final Column[] ALL=values();
+
+    /**
+     * @param role The role.
+     * @return The role's final score column.
+     */
+    public static Column score(Role role) { return ALL[PREY_SCORE.ordinal()+role.ordinal()]; }
+
+    /**
+     * @param role The role.
+     * @return The column counting the role's moves onto an occupied cell.
+     */
+    public static Column captures(Role role) { return ALL[PREY_CAPTURES.ordinal()+role.ordinal()]; }
+
+    /**
+     * @param role The role.
+     * @return The column counting the role's ability moves.
+     */
+    public static Column abilities(Role role) { return ALL[PREY_ABILITIES.ordinal()+role.ordinal()]; }
+
+    /**
+     * Returns the WINNER bit of a role.
+     * @param role The role.
+     * @return 1, 2 or 4.
+     */
+    public static long winnerBit(Role role) { return 1L<<role.ordinal(); }
+}
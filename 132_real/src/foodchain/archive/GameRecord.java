@@ -0,0 +1,92 @@
+package foodchain.archive;
+
+import foodchain.model.Era;
+import foodchain.model.GridSize;
+import foodchain.model.Role;
+
+/**
+ * The result of one finished game, as stored in one archive row.
+ */
+public final class GameRecord {
+    private static final int ROLES=Role.values().length;
+
+    private final Era era;
+    private final GridSize gridSize;
+    private final int rounds;
+    private final long seed;
+    private final String chain;
+    private final int[] scores;
+    private final int[] captures;
+    private final int[] abilities;
+
+    /**
+     * Creates a record. The arrays are indexed by Role.ordinal() and copied.
+     * @param era The era played.
+     * @param gridSize The grid size.
+     * @param rounds The configured number of rounds.
+     * @param seed The seed of the engine's random source.
+     * @param chain The food chain, as FoodChain.toString() prints it.
+     * @param scores Final scores.
+     * @param captures Moves onto an occupied cell (a capture or eating the food).
+     * @param abilities Ability moves.
+     */
+    public GameRecord(Era era, GridSize gridSize, int rounds, long seed, String chain,
+                      int[] scores, int[] captures, int[] abilities) {
+        if(scores.length!=ROLES || captures.length!=ROLES || abilities.length!=ROLES) {
+            throw new IllegalArgumentException("Per-role arrays must have "+ROLES+" entries");
+        }
+        this.era=era;
+        this.gridSize=gridSize;
+        this.rounds=rounds;
+        this.seed=seed;
+        this.chain=chain;
+        this.scores=scores.clone();
+        this.captures=captures.clone();
+        this.abilities=abilities.clone();
+    }
+
+    public Era getEra() { return era; }
+    public GridSize getGridSize() { return gridSize; }
+    public int getRounds() { return rounds; }
+    public long getSeed() { return seed; }
+    public String getChain() { return chain; }
+    public int getScore(Role role) { return scores[role.ordinal()]; }
+    public int getCaptures(Role role) { return captures[role.ordinal()]; }
+    public int getAbilities(Role role) { return abilities[role.ordinal()]; }
+
+    /**
+     * Returns the top scorers, with the same tie rule as GameEngine.resultText.
+     * @return A bit set of {@link Column#winnerBit(Role)} values.
+     */
+    public int getWinners() {
+        int max=Math.max(scores[0], Math.max(scores[1], scores[2]));
+        int mask=0;
+        for(int r=0;r<ROLES;r++) {
+            if(scores[r]==max) mask|=1<<r;
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the stored value of a column. CHAIN is not numeric here and is encoded by the writer.
+     * @param c The column.
+     * @return The value.
+     */
+    long value(Column c) {
+        switch(c) {
+            case ERA: return era.ordinal();
+            case GRID_SIZE: return gridSize.ordinal();
+            case ROUNDS: return rounds;
+            case SEED: return seed;
+            case WINNER: return getWinners();
+            case PREY_SCORE: case PREDATOR_SCORE: case APEX_SCORE:
+                return scores[c.ordinal()-Column.PREY_SCORE.ordinal()];
+            case PREY_CAPTURES: case PREDATOR_CAPTURES: case APEX_CAPTURES:
+                return captures[c.ordinal()-Column.PREY_CAPTURES.ordinal()];
+            case PREY_ABILITIES: case PREDATOR_ABILITIES: case APEX_ABILITIES:
+                return abilities[c.ordinal()-Column.PREY_ABILITIES.ordinal()];
+            default:
+                throw new IllegalArgumentException("No direct value for "+c);
+        }
+    }
+}
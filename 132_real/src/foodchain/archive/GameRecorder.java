@@ -0,0 +1,62 @@
+package foodchain.archive;
+
+import java.util.Arrays;
+
+import foodchain.board.CellContent;
+import foodchain.core.GameConfig;
+import foodchain.core.GameEngine.MoveKind;
+import foodchain.events.GameEvent;
+import foodchain.events.GameEventListener;
+import foodchain.model.Role;
+
+/**
+ * Listens to one engine and turns its finished game into a {@link GameRecord}.
+ * Attach it before startGame so it sees the chosen chain.
+ */
+public class GameRecorder implements GameEventListener {
+    private static final int ROLES=Role.values().length;
+
+    private final GameConfig config;
+    private final long seed;
+    private final int[] captures=new int[ROLES];
+    private final int[] abilities=new int[ROLES];
+    private String chain;
+    private GameRecord record;
+
+    /**
+     * @param config The settings the game is started with.
+     * @param seed The seed of the engine's random source, stored with the record.
+     */
+    public GameRecorder(GameConfig config, long seed) {
+        this.config=config;
+        this.seed=seed;
+    }
+
+    @Override
+    public void onEvent(GameEvent e) {
+        if(e instanceof GameEvent.GameStarted) {
+            chain=((GameEvent.GameStarted)e).chain().toString();
+            Arrays.fill(captures, 0);
+            Arrays.fill(abilities, 0);
+            record=null;
+        } else if(e instanceof GameEvent.Moved) {
+            GameEvent.Moved m=(GameEvent.Moved)e;
+            if(m.kind()==MoveKind.ABILITY) abilities[m.role().ordinal()]++;
+            if(m.kind()!=MoveKind.SKIP && m.target()!=CellContent.EMPTY) captures[m.role().ordinal()]++;
+        } else if(e instanceof GameEvent.GameOver) {
+            GameEvent.GameOver g=(GameEvent.GameOver)e;
+            int[] scores=new int[ROLES];
+            scores[Role.PREY.ordinal()]=g.preyScore();
+            scores[Role.PREDATOR.ordinal()]=g.predatorScore();
+            scores[Role.APEX.ordinal()]=g.apexScore();
+            record=new GameRecord(config.getEra(), config.getGridSize(), config.getTotalRounds(), seed, chain,
+                    scores, captures, abilities);
+        }
+    }
+
+    /**
+     * Returns the record of the finished game.
+     * @return The record, or null while the game is still running.
+     */
+    public GameRecord getRecord() { return record; }
+}
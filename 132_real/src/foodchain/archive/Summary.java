@@ -0,0 +1,45 @@
+package foodchain.archive;
+
+import java.util.Locale;
+
+/**
+ * Count, sum, minimum and maximum of a column over the rows a query selected.
+ */
+public final class Summary {
+    private long count;
+    private long sum;
+    private long min=Long.MAX_VALUE;
+    private long max=Long.MIN_VALUE;
+
+    Summary() {}
+
+    void add(long v) {
+        count++;
+        sum+=v;
+        if(v<min) min=v;
+        if(v>max) max=v;
+    }
+
+    void add(long n, long s, long lo, long hi) {
+        if(n==0) return;
+        count+=n;
+        sum+=s;
+        if(lo<min) min=lo;
+        if(hi>max) max=hi;
+    }
+
+    public long getCount() { return count; }
+    public long getSum() { return sum; }
+    /** @return The smallest value, or Long.MAX_VALUE if no row was selected. */
+    public long getMin() { return min; }
+    /** @return The largest value, or Long.MIN_VALUE if no row was selected. */
+    public long getMax() { return max; }
+    /** @return The mean, or NaN if no row was selected. */
+    public double getMean() { return count==0 ? Double.NaN : (double)sum/count; }
+
+    @Override
+    public String toString() {
+        if(count==0) return "count=0";
+        return String.format(Locale.ROOT, "count=%d mean=%.3f min=%d max=%d", count, getMean(), min, max);
+    }
+}
@@ -0,0 +1,33 @@
+package foodchain.arena;
+
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+import foodchain.model.Role;
+
+/**
+ * Command line entry point for the strategy arena.
+ * Usage: ArenaMain [ROLE|ALL] [rounds] [maxGamesPerPairing]
+ */
+public class ArenaMain {
+
+    public static void main(String[] args) {
+        String which=args.length>0 ? args[0].toUpperCase(Locale.ROOT) : "ALL";
+        int rounds=args.length>1 ? Integer.parseInt(args[1]) : 20;
+        int maxGames=args.length>2 ? Integer.parseInt(args[2]) : 400;
+
+        ForkJoinPool pool=new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try {
+            for(Role role : Role.values()) {
+                if(!which.equals("ALL") && !which.equals(role.name())) continue;
+                long t0=System.nanoTime();
+                StrategyArena arena=new StrategyArena(role, rounds).setMaxGames(maxGames);
+                arena.run(pool);
+                System.out.print(arena.report());
+                System.out.printf(Locale.ROOT, "(%.1f s)%n%n", (System.nanoTime()-t0)/1e9);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package foodchain.arena;
+
+import java.util.*;
+
+/**
+ * Incrementally updated Elo ratings for the strategies of one role.
+ */
+public final class EloTable {
+    private static final double INITIAL=1500.0;
+
+    private final double k;
+    private final Map<String, Double> ratings=new HashMap<>();
+    private final Map<String, Integer> games=new HashMap<>();
+
+    /**
+     * Creates an empty table.
+     * @param k The K-factor applied to each result.
+     */
+    public EloTable(double k) {
+        this.k=k;
+    }
+
+    /**
+     * Applies one game result.
+     * @param a The first strategy.
+     * @param b The second strategy.
+     * @param scoreA 1 for a win of a, 0.5 for a draw, 0 for a loss.
+     */
+    public synchronized void update(String a, String b, double scoreA) {
+        double ra=rating(a), rb=rating(b);
+        double expectedA=1.0/(1.0+Math.pow(10.0, (rb-ra)/400.0));
+        double delta=k*(scoreA-expectedA);
+        ratings.put(a, ra+delta);
+        ratings.put(b, rb-delta);
+        games.merge(a, 1, Integer::sum);
+        games.merge(b, 1, Integer::sum);
+    }
+
+    public synchronized double rating(String name) {
+        return ratings.getOrDefault(name, INITIAL);
+    }
+
+    public synchronized int games(String name) {
+        return games.getOrDefault(name, 0);
+    }
+
+    /**
+     * Returns the strategy names sorted by rating, best first.
+     * @return A new list of names.
+     */
+    public synchronized List<String> ranking() {
+        List<String> names=new ArrayList<>(ratings.keySet());
+        names.sort((x,y)->Double.compare(ratings.get(y), ratings.get(x)));
+        return names;
+    }
+}
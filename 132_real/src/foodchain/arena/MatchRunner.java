@@ -0,0 +1,57 @@
+package foodchain.arena;
+
+import java.io.IOException;
+import java.util.Random;
+
+import foodchain.ai.AiStrategies;
+import foodchain.ai.AiStrategy;
+import foodchain.core.GameConfig;
+import foodchain.core.GameEngine;
+import foodchain.entities.Animal;
+import foodchain.model.Pos;
+import foodchain.model.Role;
+
+/**
+ * Plays complete headless games where every role is driven by a strategy.
+ */
+public final class MatchRunner {
+
+    private MatchRunner() {}
+
+    /**
+     * Plays one seeded game without logging.
+     * @param cfg The game settings.
+     * @param seed The seed for chain choice, placement, respawns and the strategies' random choices.
+     * @param apex Strategy for the Apex.
+     * @param predator Strategy for the Predator.
+     * @param prey Strategy for the Prey.
+     * @param budgetNanos Time allowed per decision; overruns forfeit the move.
+     * @return Final scores indexed by Role.ordinal().
+     * @throws IOException If the era file cannot be loaded.
+     */
+    public static int[] play(GameConfig cfg, long seed, AiStrategy apex, AiStrategy predator, AiStrategy prey,
+                             long budgetNanos) throws IOException {
+        GameEngine engine=new GameEngine(new Random(seed), null);
+        engine.startGame(cfg);
+        AiStrategies.seed(apex, Role.APEX, seed);
+        AiStrategies.seed(predator, Role.PREDATOR, seed);
+        AiStrategies.seed(prey, Role.PREY, seed);
+        while(!engine.isGameOver()) {
+            Role turn=engine.getTurnManager().getCurrentTurn();
+            AiStrategy s=(turn==Role.APEX) ? apex : (turn==Role.PREDATOR) ? predator : prey;
+            Pos to=AiStrategies.decide(s, engine, turn, budgetNanos);
+            if(to==null || !engine.move(turn, to)) {
+                engine.move(turn, animal(engine, turn).getPos());
+            }
+        }
+        int[] scores=new int[Role.values().length];
+        for(Role r : Role.values()) scores[r.ordinal()]=animal(engine, r).getScore();
+        return scores;
+    }
+
+    private static Animal animal(GameEngine engine, Role role) {
+        if(role==Role.APEX) return engine.getState().getApex();
+        if(role==Role.PREDATOR) return engine.getState().getPredator();
+        return engine.getState().getPrey();
+    }
+}
@@ -0,0 +1,80 @@
+package foodchain.arena;
+
+/**
+ * Running win/draw/loss record of one strategy pairing with a Wilson confidence interval.
+ */
+public final class PairingStats {
+    private static final double Z95=1.959964;
+
+    private final String a;
+    private final String b;
+    private int winsA;
+    private int winsB;
+    private int draws;
+
+    public PairingStats(String a, String b) {
+        this.a=a;
+        this.b=b;
+    }
+
+    /**
+     * Records one paired comparison.
+     * @param scoreA 1 if a won, 0.5 for a draw, 0 if b won.
+     */
+    public synchronized void record(double scoreA) {
+        if(scoreA>0.5) winsA++;
+        else if(scoreA<0.5) winsB++;
+        else draws++;
+    }
+
+    public synchronized int games() { return winsA+winsB+draws; }
+
+    /**
+     * Fraction of points won by a, counting draws as half.
+     * @return The score rate in [0,1].
+     */
+    public synchronized double scoreRate() {
+        int n=games();
+        return n==0 ? 0.5 : (winsA+0.5*draws)/n;
+    }
+
+    /**
+     * Wilson score interval of a's score rate at 95% confidence.
+     * @return {lower, upper}.
+     */
+    public synchronized double[] interval() {
+        int n=games();
+        if(n==0) return new double[] {0.0, 1.0};
+        double p=scoreRate();
+        double z2=Z95*Z95;
+        double denom=1+z2/n;
+        double centre=(p+z2/(2*n))/denom;
+        double half=Z95*Math.sqrt(p*(1-p)/n+z2/(4.0*n*n))/denom;
+        return new double[] {Math.max(0, centre-half), Math.min(1, centre+half)};
+    }
+
+    /**
+     * Checks whether more games would change the verdict.
+     * The pairing is decided once the interval excludes 0.5, or once it is
+     * narrower than the given width while still containing it (a practical tie).
+     * @param minGames Games to play before any early stop.
+     * @param tieWidth Interval width below which the pairing counts as even.
+     * @return True if the pairing can stop.
+     */
+    public synchronized boolean isDecided(int minGames, double tieWidth) {
+        if(games()<minGames) return false;
+        double[] ci=interval();
+        if(ci[0]>0.5 || ci[1]<0.5) return true;
+        return ci[1]-ci[0]<tieWidth;
+    }
+
+    public String getA() { return a; }
+    public String getB() { return b; }
+
+    @Override
+    public synchronized String toString() {
+        double[] ci=interval();
+        return String.format(java.util.Locale.ROOT, "%s vs %s: %d-%d-%d (%.1f%%, 95%% CI %.1f-%.1f%%)",
+                a, b, winsA, winsB, draws, 100*scoreRate(), 100*ci[0], 100*ci[1]);
+    }
+}
@@ -0,0 +1,166 @@
+package foodchain.arena;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+import foodchain.ai.AiStrategies;
+import foodchain.ai.AiStrategy;
+import foodchain.core.GameConfig;
+import foodchain.model.Era;
+import foodchain.model.GridSize;
+import foodchain.model.Role;
+
+/**
+ * Round-robin tournament between the strategies of one role.
+ * Each pairing plays the same seeded game twice, once with each strategy in the
+ * tested role and the default strategies in the other roles, and compares the
+ * tested role's final score. Pairings run in parallel on a fork-join pool and
+ * stop early once their confidence interval settles the result.
+ */
+public class StrategyArena {
+
+    private final Role role;
+    private final Map<String, Supplier<AiStrategy>> contenders;
+    private final List<GameConfig> configs=new ArrayList<>();
+    private final EloTable elo=new EloTable(16.0);
+    private final List<PairingStats> pairings=new ArrayList<>();
+    private final Map<Role, Supplier<AiStrategy>> baseline=new EnumMap<>(Role.class);
+
+    private long baseSeed=1L;
+    private int batchSize=8;
+    private int minGames=24;
+    private int maxGames=400;
+    private double tieWidth=0.10;
+    private long budgetNanos=AiStrategies.DEFAULT_BUDGET_NANOS;
+
+    /**
+     * Creates an arena for every strategy discovered for a role, on all eras and grid sizes.
+     * @param role The role whose strategies compete.
+     * @param rounds Rounds per game.
+     */
+    public StrategyArena(Role role, int rounds) {
+        this(role, AiStrategies.available(role), rounds);
+    }
+
+    /**
+     * Creates an arena for an explicit set of strategies.
+     * @param role The role whose strategies compete.
+     * @param contenders Strategy factories keyed by name.
+     * @param rounds Rounds per game.
+     */
+    public StrategyArena(Role role, Map<String, Supplier<AiStrategy>> contenders, int rounds) {
+        if(contenders.size()<2) throw new IllegalArgumentException("Need at least two strategies for "+role);
+        this.role=role;
+        this.contenders=new LinkedHashMap<>(contenders);
+        for(Role r : Role.values()) baseline.put(r, AiStrategies.configured(r));
+        for(Era e : Era.values()) {
+            for(GridSize gs : GridSize.values()) configs.add(new GameConfig(e, gs, rounds));
+        }
+    }
+
+    public StrategyArena setBaseSeed(long seed) { this.baseSeed=seed; return this; }
+    public StrategyArena setBatchSize(int n) { this.batchSize=Math.max(1, n); return this; }
+    public StrategyArena setMinGames(int n) { this.minGames=n; return this; }
+    public StrategyArena setMaxGames(int n) { this.maxGames=n; return this; }
+    public StrategyArena setTieWidth(double w) { this.tieWidth=w; return this; }
+    public StrategyArena setBudgetNanos(long n) { this.budgetNanos=n; return this; }
+
+    public EloTable getElo() { return elo; }
+    public List<PairingStats> getPairings() { return Collections.unmodifiableList(pairings); }
+
+    /**
+     * Runs every pairing to completion on the given pool.
+     * @param pool The fork-join pool to run games on.
+     */
+    public void run(ForkJoinPool pool) {
+        List<String> names=new ArrayList<>(contenders.keySet());
+        List<PairingTask> tasks=new ArrayList<>();
+        for(int i=0;i<names.size();i++) {
+            for(int j=i+1;j<names.size();j++) {
+                PairingStats ps=new PairingStats(names.get(i), names.get(j));
+                pairings.add(ps);
+                tasks.add(new PairingTask(ps));
+            }
+        }
+        pool.invoke(new RecursiveAction() {
+            @Override protected void compute() { invokeAll(tasks); }
+        });
+    }
+
+    private final class PairingTask extends RecursiveAction {
+        private final PairingStats stats;
+
+        PairingTask(PairingStats stats) {
+            this.stats=stats;
+        }
+
+        @Override
+        protected void compute() {
+            int played=0;
+            while(played<maxGames && !stats.isDecided(minGames, tieWidth)) {
+                int n=Math.min(batchSize, maxGames-played);
+                List<PairedGame> batch=new ArrayList<>(n);
+                for(int k=0;k<n;k++) batch.add(new PairedGame(stats.getA(), stats.getB(), played+k));
+                invokeAll(batch);
+                for(PairedGame g : batch) {
+                    double s=g.join();
+                    stats.record(s);
+                    elo.update(stats.getA(), stats.getB(), s);
+                }
+                played+=n;
+            }
+        }
+    }
+
+    private final class PairedGame extends RecursiveTask<Double> {
+        private final String a;
+        private final String b;
+        private final int index;
+
+        PairedGame(String a, String b, int index) {
+            this.a=a;
+            this.b=b;
+            this.index=index;
+        }
+
+        @Override
+        protected Double compute() {
+            // The same seed for both games gives identical chains and start positions.
+            GameConfig cfg=configs.get(index%configs.size());
+            long seed=baseSeed+index;
+            int sa=scoreOf(contenders.get(a).get(), cfg, seed);
+            int sb=scoreOf(contenders.get(b).get(), cfg, seed);
+            return sa>sb ? 1.0 : sa<sb ? 0.0 : 0.5;
+        }
+
+        private int scoreOf(AiStrategy tested, GameConfig cfg, long seed) {
+            AiStrategy apex=(role==Role.APEX) ? tested : baseline.get(Role.APEX).get();
+            AiStrategy pred=(role==Role.PREDATOR) ? tested : baseline.get(Role.PREDATOR).get();
+            AiStrategy prey=(role==Role.PREY) ? tested : baseline.get(Role.PREY).get();
+            try {
+                return MatchRunner.play(cfg, seed, apex, pred, prey, budgetNanos)[role.ordinal()];
+            } catch(IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Formats the ratings and pairing records as a text report.
+     * @return The report.
+     */
+    public String report() {
+        StringBuilder sb=new StringBuilder();
+        sb.append("== ").append(role).append(" ==").append(System.lineSeparator());
+        for(String name : elo.ranking()) {
+            sb.append(String.format(Locale.ROOT, "%-20s elo=%7.1f games=%d%n", name, elo.rating(name), elo.games(name)));
+        }
+        for(PairingStats ps : pairings) sb.append(ps).append(System.lineSeparator());
+        return sb.toString();
+    }
+}
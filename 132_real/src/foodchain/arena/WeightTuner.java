@@ -0,0 +1,265 @@
+package foodchain.arena;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+import foodchain.ai.AiStrategies;
+import foodchain.ai.AiStrategy;
+import foodchain.ai.AiWeights;
+import foodchain.ai.GreedyApexStrategy;
+import foodchain.ai.SafetyPreyStrategy;
+import foodchain.ai.WeightBook;
+import foodchain.core.GameConfig;
+import foodchain.model.Era;
+import foodchain.model.GridSize;
+import foodchain.model.Role;
+
+/**
+ * Tunes the Prey or Apex heuristic weights of one era and grid size with SPSA
+ * (simultaneous perturbation stochastic approximation) over headless self-play.
+ *
+ * Each iteration perturbs every weight of the role at once by +-c (relative to its default),
+ * plays the same seeded games with both perturbed sets, and steps along the estimated gradient
+ * of the role's mean score. Every few iterations the current point races the best set so far
+ * on fresh common seeds; the race stops as soon as the paired score difference is clearly
+ * negative or clearly positive, and only a clear win replaces the best set.
+ * Games run in parallel on a fork-join pool. Decisions get an unbounded time budget, so a game
+ * depends only on its seed and the weights, however busy the cores are; this is what makes
+ * the common-seed pairing compare like with like.
+ *
+ * Usage: WeightTuner [PREY|APEX|ALL] [ERA|ALL] [SIZE|ALL] [iterations] [gamesPerSide] [rounds]
+ */
+public class WeightTuner {
+
+    private static final double Z95=1.959964;
+
+    private final Role role;
+    private final GameConfig cfg;
+    private final List<AiWeights.Key> keys;
+    private final Map<Role, Supplier<AiStrategy>> baseline=new EnumMap<>(Role.class);
+
+    private long baseSeed=1L;
+    private int iterations=40;
+    private int gamesPerSide=48;
+    private int raceEvery=5;
+    private int raceBatch=32;
+    private int raceMaxGames=256;
+    private double stepSize=0.2;
+    private double perturbation=0.15;
+    private long budgetNanos=AiStrategies.UNBOUNDED;
+
+    private AiWeights best;
+    private double bestGain;
+    private int gamesPlayed;
+
+    /**
+     * Creates a tuner starting from the weights currently stored for the era and size.
+     * @param role PREY or APEX.
+     * @param cfg The era, grid size and round count of the self-play games.
+     * @throws IllegalArgumentException If the role has no tunable weights.
+     */
+    public WeightTuner(Role role, GameConfig cfg) {
+        this.keys=AiWeights.keys(role);
+        if(keys.isEmpty()) throw new IllegalArgumentException("No tunable weights for "+role);
+        this.role=role;
+        this.cfg=cfg;
+        this.best=WeightBook.getDefault().weights(cfg.getEra(), cfg.getGridSize().getSize());
+        for(Role r : Role.values()) baseline.put(r, AiStrategies.configured(r));
+    }
+
+    public WeightTuner setBaseSeed(long seed) { this.baseSeed=seed; return this; }
+    public WeightTuner setIterations(int n) { this.iterations=n; return this; }
+    public WeightTuner setGamesPerSide(int n) { this.gamesPerSide=Math.max(1, n); return this; }
+    public WeightTuner setRaceEvery(int n) { this.raceEvery=Math.max(1, n); return this; }
+    public WeightTuner setRaceMaxGames(int n) { this.raceMaxGames=n; return this; }
+    public WeightTuner setStart(AiWeights w) { this.best=w; return this; }
+    /** Sets a per-decision budget for strategies that search until their deadline; overruns forfeit the move. */
+    public WeightTuner setBudgetNanos(long n) { this.budgetNanos=n; return this; }
+
+    public AiWeights getBest() { return best; }
+    /** @return Mean score gained per game by the best set over the starting set, as measured by the races. */
+    public double getBestGain() { return bestGain; }
+    public int getGamesPlayed() { return gamesPlayed; }
+
+    /**
+     * Runs the optimisation.
+     * @param pool The pool to play games on.
+     * @return The best weight set found.
+     */
+    public AiWeights run(ForkJoinPool pool) {
+        int dim=keys.size();
+        double[] x=toUnits(best);
+        double[] bestX=x.clone();
+        Random coin=new Random(baseSeed);
+        long seed=baseSeed;
+
+        for(int k=0;k<iterations;k++) {
+            double a=stepSize/Math.pow(k+1+iterations/10.0, 0.602);
+            double c=perturbation/Math.pow(k+1, 0.101);
+            double[] delta=new double[dim];
+            double[] plus=new double[dim], minus=new double[dim];
+            for(int i=0;i<dim;i++) {
+                delta[i]=coin.nextBoolean() ? 1 : -1;
+                // Reflect at 0 rather than clamp, so plus stays above minus exactly when it would without the bound.
+                plus[i]=Math.abs(x[i]+c*delta[i]);
+                minus[i]=Math.abs(x[i]-c*delta[i]);
+            }
+            double[] diff=pairedScores(pool, fromUnits(plus), fromUnits(minus), seed, gamesPerSide);
+            seed+=gamesPerSide;
+            double slope=mean(diff)/(2*c);
+
+            // Normalised step: the size is set by a, the direction by the perturbation.
+            if(slope!=0) {
+                double s=Math.signum(slope)*a;
+                for(int i=0;i<dim;i++) x[i]=Math.max(0, x[i]+s*delta[i]);
+            }
+
+            if((k+1)%raceEvery==0 || k==iterations-1) {
+                double gain=race(pool, fromUnits(x), fromUnits(bestX), seed);
+                seed+=raceMaxGames;
+                if(gain>0) {
+                    bestX=x.clone();
+                    bestGain+=gain;
+                } else {
+                    x=bestX.clone();
+                }
+            }
+        }
+        best=fromUnits(bestX);
+        return best;
+    }
+
+    /**
+     * Plays a candidate against the incumbent on common seeds in batches.
+     * @return The mean paired score difference once it is clearly positive or negative, or 0 if the race stays undecided.
+     */
+    private double race(ForkJoinPool pool, AiWeights candidate, AiWeights incumbent, long seed) {
+        if(candidate.equals(incumbent)) return 0;
+        List<Double> diffs=new ArrayList<>();
+        while(diffs.size()<raceMaxGames) {
+            int n=Math.min(raceBatch, raceMaxGames-diffs.size());
+            for(double d : pairedScores(pool, candidate, incumbent, seed+diffs.size(), n)) diffs.add(d);
+            double m=mean(diffs), half=Z95*stdErr(diffs, m);
+            // Clearly worse: stop and keep the incumbent. Clearly better: stop and switch.
+            if(m+half<0 || m-half>0) return m;
+        }
+        return 0;
+    }
+
+    /**
+     * Plays the same seeded games with two weight sets for the tuned role.
+     * @return Per game, the tuned role's score with a minus its score with b.
+     */
+    private double[] pairedScores(ForkJoinPool pool, AiWeights a, AiWeights b, long seed, int games) {
+        List<PairedGame> tasks=new ArrayList<>(games);
+        for(int g=0;g<games;g++) tasks.add(new PairedGame(a, b, seed+g));
+        pool.invoke(new RecursiveTask<Void>() {
+            @Override protected Void compute() { invokeAll(tasks); return null; }
+        });
+        double[] out=new double[games];
+        for(int g=0;g<games;g++) out[g]=tasks.get(g).join();
+        gamesPlayed+=2*games;
+        return out;
+    }
+
+    private final class PairedGame extends RecursiveTask<Double> {
+        private final AiWeights a;
+        private final AiWeights b;
+        private final long seed;
+
+        PairedGame(AiWeights a, AiWeights b, long seed) {
+            this.a=a;
+            this.b=b;
+            this.seed=seed;
+        }
+
+        @Override
+        protected Double compute() {
+            return (double)(scoreOf(a)-scoreOf(b));
+        }
+
+        private int scoreOf(AiWeights w) {
+            AiStrategy tested=(role==Role.APEX) ? new GreedyApexStrategy(w) : new SafetyPreyStrategy(w);
+            AiStrategy apex=(role==Role.APEX) ? tested : baseline.get(Role.APEX).get();
+            AiStrategy prey=(role==Role.PREY) ? tested : baseline.get(Role.PREY).get();
+            try {
+                return MatchRunner.play(cfg, seed, apex, baseline.get(Role.PREDATOR).get(), prey, budgetNanos)[role.ordinal()];
+            } catch(IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // Weights are searched in units of their default value so every dimension has a similar scale.
+    private double[] toUnits(AiWeights w) {
+        double[] x=new double[keys.size()];
+        for(int i=0;i<x.length;i++) x[i]=w.get(keys.get(i))/keys.get(i).getDefaultValue();
+        return x;
+    }
+
+    private AiWeights fromUnits(double[] x) {
+        AiWeights w=best;
+        for(int i=0;i<x.length;i++) w=w.with(keys.get(i), x[i]*keys.get(i).getDefaultValue());
+        return w;
+    }
+
+    private static double mean(double[] v) {
+        double s=0;
+        for(double d : v) s+=d;
+        return v.length==0 ? 0 : s/v.length;
+    }
+
+    private static double mean(List<Double> v) {
+        double s=0;
+        for(double d : v) s+=d;
+        return v.isEmpty() ? 0 : s/v.size();
+    }
+
+    private static double stdErr(List<Double> v, double m) {
+        int n=v.size();
+        if(n<2) return Double.POSITIVE_INFINITY;
+        double ss=0;
+        for(double d : v) ss+=(d-m)*(d-m);
+        return Math.sqrt(ss/(n-1)/n);
+    }
+
+    public static void main(String[] args) throws IOException {
+        String which=args.length>0 ? args[0].toUpperCase(Locale.ROOT) : "ALL";
+        String eraArg=args.length>1 ? args[1].toUpperCase(Locale.ROOT) : "ALL";
+        String sizeArg=args.length>2 ? args[2].toUpperCase(Locale.ROOT) : "ALL";
+        int iterations=args.length>3 ? Integer.parseInt(args[3]) : 40;
+        int games=args.length>4 ? Integer.parseInt(args[4]) : 48;
+        int rounds=args.length>5 ? Integer.parseInt(args[5]) : 20;
+
+        ForkJoinPool pool=new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try {
+            for(Era era : Era.values()) {
+                if(!eraArg.equals("ALL") && !eraArg.equals(era.name())) continue;
+                for(GridSize size : GridSize.values()) {
+                    if(!sizeArg.equals("ALL") && !sizeArg.equals(size.name())) continue;
+                    for(Role role : new Role[] {Role.PREY, Role.APEX}) {
+                        if(!which.equals("ALL") && !which.equals(role.name())) continue;
+                        long t0=System.nanoTime();
+                        WeightTuner t=new WeightTuner(role, new GameConfig(era, size, rounds))
+                                .setIterations(iterations).setGamesPerSide(games);
+                        AiWeights start=t.getBest();
+                        AiWeights tuned=t.run(pool);
+                        String verdict="kept";
+                        if(!tuned.equals(start)) {
+                            WeightBook.getDefault().save(era, size, tuned);
+                            verdict="wrote "+WeightBook.getDefault().fileFor(era, size);
+                        }
+                        System.out.printf(Locale.ROOT, "%s %s %s: %+.3f score/game, %d games, %.1f s, %s%n  %s%n",
+                                era, size, role, t.getBestGain(), t.getGamesPlayed(), (System.nanoTime()-t0)/1e9, verdict, tuned);
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,744 @@
+package foodchain.batch;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import foodchain.board.Board;
+import foodchain.board.CellContent;
+import foodchain.board.Terrain;
+import foodchain.board.TerrainMap;
+import foodchain.core.GameConfig;
+import foodchain.core.GameEngine;
+import foodchain.core.GameState;
+import foodchain.core.GameEngine.MoveKind;
+import foodchain.entities.Animal;
+import foodchain.events.GameEvent;
+import foodchain.io.FoodChainRegistry;
+import foodchain.io.TerrainBook;
+import foodchain.model.Era;
+import foodchain.model.GridSize;
+import foodchain.model.Pos;
+import foodchain.model.Role;
+import foodchain.rules.EraRules;
+import foodchain.rules.RuleBook;
+
+/**
+ * Plays many games of one era and grid size side by side for balance studies.
+ *
+ * All game state lives in flat primitive arrays indexed by game: a packed board,
+ * the cell index of each piece, scores, cooldowns, whose turn it is and the round.
+ * Each {@link #step()} advances every running game by one turn in two passes over
+ * the arrays: one generates the legal destinations of every game, the next picks one
+ * per game and applies it.
+ *
+ * The rules, the respawn draws and the start positions are those of {@link GameEngine}:
+ * a batch game seeded with s plays exactly like new GameEngine(new Random(s), null)
+ * whose moves are picked the same way. {@link #verify} checks this.
+ * Every game picks a legal destination uniformly at random from its own policy seed.
+ * Games on a terrain map follow its standing and jumping rules, like GameEngine.
+ *
+ * A batch can also start from a running game: {@link #fork} copies its position into a
+ * one-game batch, and {@link #replicate} copies that game into as many as needed.
+ *
+ * Usage: BatchEngine [verify|bench] [era|ALL] [size|map] [games] [rounds]
+ */
+public final class BatchEngine {
+
+    private static final int ROLES=3;
+    private static final int TARGETS=CellContent.values().length;
+    private static final int SLOTS=4;
+    private static final int FOOD_SLOT=3;
+
+    private static final byte EMPTY=(byte)CellContent.EMPTY.ordinal();
+    private static final byte FOOD=(byte)CellContent.FOOD.ordinal();
+    private static final int PREY=Role.PREY.ordinal();
+    private static final int PREDATOR=Role.PREDATOR.ordinal();
+    private static final int APEX=Role.APEX.ordinal();
+    private static final byte[] ROLE_CELL=new byte[ROLES];
+    private static final int[] CELL_ROLE=new int[TARGETS];
+    static {
+        ROLE_CELL[PREY]=(byte)CellContent.PREY.ordinal();
+        ROLE_CELL[PREDATOR]=(byte)CellContent.PREDATOR.ordinal();
+        ROLE_CELL[APEX]=(byte)CellContent.APEX.ordinal();
+        Arrays.fill(CELL_ROLE, -1);
+        for(int r=0;r<ROLES;r++) CELL_ROLE[ROLE_CELL[r]]=r;
+    }
+
+    private static final int KIND_NONE=0;
+    private static final int KIND_WALK=1;
+    private static final int KIND_ABILITY=2;
+    private static final int KIND_SKIP=3;
+
+    private static final long MULTIPLIER=0x5DEECE66DL;
+    private static final long ADDEND=0xBL;
+    private static final long MASK=(1L<<48)-1;
+
+    private final EraRules rules;
+    private final TerrainMap terrain;
+    private final int games;
+    private final int n;
+    private final int cells;
+    private final int totalRounds;
+
+    // Game state, indexed by game (and by slot or cell within a game).
+    private final byte[] board;
+    private final int[] pos;
+    private final int[] score;
+    private final int[] cooldown;
+    private final int[] captures;
+    private final int[] abilityUses;
+    private final int[] chain;
+    private final byte[] turn;
+    private final int[] round;
+    private final boolean[] over;
+    private final long[] rng;
+    private final long[] policy;
+
+    // Rules, flattened from EraRules.
+    private final int reach;
+    private final int width;
+    private final byte[] code;
+    private final boolean[] enter;
+    private final int[] abilityCooldown;
+    private final int[] scoreSelf;
+    private final int[] scoreVictim;
+    private final boolean predatorDash;
+    private final int dashCondition;
+
+    // Terrain of each cell, or null on an open board; stand is indexed by role and terrain.
+    private final byte[] ground;
+    private final boolean[] stand;
+    private final boolean[] jumpOver;
+
+    // Scratch for the generation pass; window is the search radius per role, as in GameEngine.legalMoves.
+    private final int[] window;
+    private final int maxCandidates;
+    private final int[] candidateCount;
+    private final int[] candidates;
+    private int running;
+    private long turnsPlayed;
+
+    /**
+     * Sets up a batch of games, each started like {@link GameEngine#startGame}.
+     * @param rules The compiled rules of the era.
+     * @param chainCount Number of food chains of the era, as drawn at game start.
+     * @param size The grid size of every game.
+     * @param totalRounds The round limit of every game.
+     * @param seeds Per-game seed of the engine's random source; its length is the batch size.
+     * @param policySeeds Per-game seed of the move picker.
+     */
+    public BatchEngine(EraRules rules, int chainCount, GridSize size, int totalRounds, long[] seeds, long[] policySeeds) {
+        this(rules, null, size.getSize(), totalRounds, seeds, policySeeds);
+        startAll(chainCount);
+    }
+
+    /**
+     * Sets up a batch of games on a terrain map, each started like {@link GameEngine#startGame}.
+     * @param rules The compiled rules of the era.
+     * @param chainCount Number of food chains of the era, as drawn at game start.
+     * @param terrain The map every game is played on.
+     * @param totalRounds The round limit of every game.
+     * @param seeds Per-game seed of the engine's random source; its length is the batch size.
+     * @param policySeeds Per-game seed of the move picker.
+     */
+    public BatchEngine(EraRules rules, int chainCount, TerrainMap terrain, int totalRounds, long[] seeds, long[] policySeeds) {
+        this(rules, terrain, terrain.getSize(), totalRounds, seeds, policySeeds);
+        startAll(chainCount);
+    }
+
+    /**
+     * Allocates a batch and flattens the rules; the games are not placed yet.
+     */
+    private BatchEngine(EraRules rules, TerrainMap terrain, int n, int totalRounds, long[] seeds, long[] policySeeds) {
+        if(seeds.length!=policySeeds.length) throw new IllegalArgumentException("seeds and policySeeds differ in length");
+        if(totalRounds<=0) throw new IllegalArgumentException("totalRounds must be > 0");
+
+        this.rules=rules;
+        this.terrain=terrain;
+        this.games=seeds.length;
+        this.n=n;
+        this.cells=n*n;
+        this.totalRounds=totalRounds;
+
+        board=new byte[games*cells];
+        pos=new int[games*SLOTS];
+        score=new int[games*ROLES];
+        captures=new int[games*ROLES];
+        abilityUses=new int[games*ROLES];
+        chain=new int[games];
+        cooldown=new int[games*ROLES];
+        turn=new byte[games];
+        round=new int[games];
+        over=new boolean[games];
+        rng=new long[games];
+        policy=new long[games];
+
+        reach=rules.getReach();
+        width=2*reach+1;
+        code=new byte[ROLES*width*width*TARGETS];
+        enter=new boolean[ROLES*TARGETS];
+        abilityCooldown=new int[ROLES];
+        scoreSelf=new int[ROLES*TARGETS];
+        scoreVictim=new int[ROLES*TARGETS];
+        CellContent[] contents=CellContent.values();
+        for(Role role : Role.values()) {
+            int r=role.ordinal();
+            abilityCooldown[r]=rules.cooldown(role);
+            for(CellContent t : contents) {
+                enter[r*TARGETS+t.ordinal()]=rules.canEnter(role, t);
+                scoreSelf[r*TARGETS+t.ordinal()]=rules.scoreSelf(role, t);
+                scoreVictim[r*TARGETS+t.ordinal()]=rules.scoreVictim(role, t);
+                for(int dr=-reach;dr<=reach;dr++) {
+                    for(int dc=-reach;dc<=reach;dc++) {
+                        code[codeIndex(r, dr, dc, t.ordinal())]=(byte)rules.code(role, dr, dc, t);
+                    }
+                }
+            }
+        }
+        predatorDash=rules.hasDash(Role.PREDATOR);
+        Role cond=rules.dashCondition(Role.PREDATOR);
+        dashCondition=(cond==null) ? 0 : cond.ordinal()+1;
+
+        Terrain[] grounds=Terrain.values();
+        stand=new boolean[ROLES*grounds.length];
+        jumpOver=new boolean[grounds.length];
+        for(Terrain t : grounds) {
+            jumpOver[t.ordinal()]=t.canJumpOver();
+            for(Role role : Role.values()) stand[role.ordinal()*grounds.length+t.ordinal()]=rules.canStand(role, t);
+        }
+        if(terrain!=null) {
+            ground=new byte[cells];
+            for(int i=0;i<cells;i++) ground[i]=(byte)terrain.get(i/n, i%n).ordinal();
+        } else {
+            ground=null;
+        }
+
+        window=new int[ROLES];
+        int widest=0;
+        for(Role role : Role.values()) {
+            window[role.ordinal()]=Math.max(reach, rules.hasDash(role) ? 2 : 1);
+            widest=Math.max(widest, window[role.ordinal()]);
+        }
+        maxCandidates=Math.min(cells, (2*widest+1)*(2*widest+1));
+        candidateCount=new int[games];
+        candidates=new int[games*maxCandidates];
+
+        for(int g=0;g<games;g++) {
+            rng[g]=(seeds[g]^MULTIPLIER)&MASK;
+            policy[g]=(policySeeds[g]^MULTIPLIER)&MASK;
+        }
+        running=games;
+    }
+
+    private void startAll(int chainCount) {
+        if(chainCount<=0) throw new IllegalArgumentException("chainCount must be > 0");
+        for(int g=0;g<games;g++) start(g, chainCount);
+    }
+
+    /**
+     * Copies the position of a running game into a one-game batch.
+     * Must be called from the thread that moves the engine, between moves.
+     * The forked game's chain index is -1.
+     * @param engine The game to copy.
+     * @param totalRounds The round limit of the copy; at least the game's current round.
+     * @return The batch.
+     * @throws IllegalArgumentException If the game has not started, is over, or totalRounds is too low.
+     */
+    public static BatchEngine fork(GameEngine engine, int totalRounds) {
+        GameState st=engine.getState();
+        if(st==null || engine.isGameOver()) throw new IllegalArgumentException("No running game to fork");
+        int round=engine.getTurnManager().getRound();
+        if(totalRounds<round) throw new IllegalArgumentException("totalRounds must be at least the current round "+round);
+
+        Board board=st.getBoard();
+        BatchEngine b=new BatchEngine(engine.getRules(), board.getTerrainMap(), board.getSize(), totalRounds,
+                new long[1], new long[1]);
+        for(int r=0;r<b.n;r++) {
+            for(int c=0;c<b.n;c++) b.board[r*b.n+c]=(byte)board.get(new Pos(r, c)).ordinal();
+        }
+        for(Animal a : new Animal[]{st.getPrey(), st.getPredator(), st.getApex()}) {
+            int role=a.getRole().ordinal();
+            b.pos[role]=a.getPos().getRow()*b.n+a.getPos().getCol();
+            b.score[role]=a.getScore();
+            b.cooldown[role]=a.getAbilityCooldown();
+        }
+        b.pos[FOOD_SLOT]=st.getFood().getPos().getRow()*b.n+st.getFood().getPos().getCol();
+        b.chain[0]=-1;
+        b.turn[0]=(byte)engine.getTurnManager().getCurrentTurn().ordinal();
+        b.round[0]=round;
+        return b;
+    }
+
+    /**
+     * Creates a batch whose games all start from one game of this batch.
+     * Only reads this batch, so several threads may replicate the same one.
+     * @param g The game to copy; it must still be running.
+     * @param seeds Per-game seed of the respawn draws; its length is the batch size.
+     * @param policySeeds Per-game seed of the move picker.
+     * @return The new batch.
+     */
+    public BatchEngine replicate(int g, long[] seeds, long[] policySeeds) {
+        if(over[g]) throw new IllegalArgumentException("game "+g+" is over");
+        BatchEngine b=new BatchEngine(rules, terrain, n, totalRounds, seeds, policySeeds);
+        for(int k=0;k<b.games;k++) {
+            System.arraycopy(board, g*cells, b.board, k*cells, cells);
+            System.arraycopy(pos, g*SLOTS, b.pos, k*SLOTS, SLOTS);
+            System.arraycopy(score, g*ROLES, b.score, k*ROLES, ROLES);
+            System.arraycopy(cooldown, g*ROLES, b.cooldown, k*ROLES, ROLES);
+            b.chain[k]=chain[g];
+            b.turn[k]=turn[g];
+            b.round[k]=round[g];
+        }
+        return b;
+    }
+
+    private int codeIndex(int role, int dr, int dc, int target) {
+        return ((role*width+dr+reach)*width+dc+reach)*TARGETS+target;
+    }
+
+    /**
+     * Places the pieces with the same draws as GameEngine.startGame.
+     */
+    private void start(int g, int chainCount) {
+        int base=g*cells;
+        int[] placed=new int[SLOTS];
+        for(int s=0;s<SLOTS;s++) {
+            while(true) {
+                int r=nextInt(rng, g, n);
+                int c=nextInt(rng, g, n);
+                int cell=r*n+c;
+                boolean used=!open(cell);
+                for(int k=0;k<s;k++) used|=(placed[k]==cell);
+                if(!used) { placed[s]=cell; break; }
+            }
+        }
+        chain[g]=nextInt(rng, g, chainCount);
+        // startGame draws prey, predator, apex, food in that order.
+        pos[g*SLOTS+PREY]=placed[0];
+        pos[g*SLOTS+PREDATOR]=placed[1];
+        pos[g*SLOTS+APEX]=placed[2];
+        pos[g*SLOTS+FOOD_SLOT]=placed[3];
+        for(int r=0;r<ROLES;r++) board[base+pos[g*SLOTS+r]]=ROLE_CELL[r];
+        board[base+pos[g*SLOTS+FOOD_SLOT]]=FOOD;
+        turn[g]=(byte)PREY;
+        round[g]=1;
+    }
+
+    /**
+     * Advances every running game by one turn.
+     * @return The number of games still running afterwards.
+     */
+    public int step() {
+        for(int g=0;g<games;g++) {
+            if(!over[g]) generate(g);
+        }
+        for(int g=0;g<games;g++) {
+            if(over[g]) continue;
+            int k=nextInt(policy, g, candidateCount[g]);
+            apply(g, turn[g], candidates[g*maxCandidates+k]);
+            turnsPlayed++;
+            if(over[g]) running--;
+        }
+        return running;
+    }
+
+    /**
+     * Plays a chosen move in one game instead of a random one.
+     * @param g The game index.
+     * @param to The destination, as GameEngine.move takes it.
+     * @return False if the game is over or the move is not legal.
+     */
+    public boolean play(int g, Pos to) {
+        if(over[g]) return false;
+        if(to.getRow()<0 || to.getRow()>=n || to.getCol()<0 || to.getCol()>=n) return false;
+        int role=turn[g];
+        int from=pos[g*SLOTS+role];
+        int cell=to.getRow()*n+to.getCol();
+        if(!(role==PREDATOR && dashMid(g, from, cell)>=0) && kind(g, role, from, cell)==KIND_NONE) return false;
+        apply(g, role, cell);
+        turnsPlayed++;
+        if(over[g]) running--;
+        return true;
+    }
+
+    /**
+     * Steps until every game has ended.
+     * @return The total number of turns played by the batch.
+     */
+    public long runToEnd() {
+        while(running>0) step();
+        return turnsPlayed;
+    }
+
+    private void generate(int g) {
+        int role=turn[g];
+        int from=pos[g*SLOTS+role];
+        int fr=from/n, fc=from%n;
+        int rr=window[role];
+        int out=g*maxCandidates;
+        int count=0;
+        for(int r=Math.max(0, fr-rr);r<=Math.min(n-1, fr+rr);r++) {
+            for(int c=Math.max(0, fc-rr);c<=Math.min(n-1, fc+rr);c++) {
+                int to=r*n+c;
+                if((role==PREDATOR && dashMid(g, from, to)>=0) || kind(g, role, from, to)!=KIND_NONE) {
+                    candidates[out+count++]=to;
+                }
+            }
+        }
+        candidateCount[g]=count;
+    }
+
+    /**
+     * Same decision as GameEngine.getMoveKind for a running game.
+     */
+    private int kind(int g, int role, int from, int to) {
+        if(from==to) return KIND_SKIP;
+        int dr=to/n-from/n, dc=to%n-from%n;
+        if(dr<-reach || dr>reach || dc<-reach || dc>reach) return KIND_NONE;
+        int c=code[codeIndex(role, dr, dc, board[g*cells+to])];
+        int k=c&3;
+        if(k==KIND_NONE || !canStand(role, to)) return KIND_NONE;
+        if(k==KIND_WALK) return KIND_WALK;
+        if(k!=KIND_ABILITY) return KIND_NONE;
+        if(cooldown[g*ROLES+role]>0) return KIND_NONE;
+        int cond=c>>2;
+        if(cond!=0 && cheb(from, pos[g*SLOTS+cond-1])!=1) return KIND_NONE;
+        if(!jumpClear(from, to)) return KIND_NONE;
+        return KIND_ABILITY;
+    }
+
+    private boolean canStand(int role, int cell) {
+        return ground==null || stand[role*jumpOver.length+ground[cell]];
+    }
+
+    private boolean open(int cell) {
+        return ground==null || ground[cell]==Terrain.OPEN.ordinal();
+    }
+
+    /**
+     * Same line as Board.isJumpClear: no wall on the cells passed over.
+     */
+    private boolean jumpClear(int from, int to) {
+        if(ground==null) return true;
+        int fr=from/n, fc=from%n;
+        int dr=to/n-fr, dc=to%n-fc;
+        int d=Math.max(Math.abs(dr), Math.abs(dc));
+        for(int k=1;k<d;k++) {
+            int r=fr+Math.round((float)(k*dr)/d);
+            int c=fc+Math.round((float)(k*dc)/d);
+            if(!jumpOver[ground[r*n+c]]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Same search as GameEngine.dashMid: the first enterable neighbour next to the destination.
+     */
+    private int dashMid(int g, int from, int to) {
+        if(!predatorDash || cheb(from, to)!=2) return -1;
+        if(dashCondition!=0 && cheb(from, pos[g*SLOTS+dashCondition-1])!=1) return -1;
+        int base=g*cells;
+        int fr=from/n, fc=from%n;
+        for(int dr=-1;dr<=1;dr++) {
+            for(int dc=-1;dc<=1;dc++) {
+                if(dr==0 && dc==0) continue;
+                int mr=fr+dr, mc=fc+dc;
+                if(mr<0 || mr>=n || mc<0 || mc>=n) continue;
+                int mid=mr*n+mc;
+                if(enter[PREDATOR*TARGETS+board[base+mid]] && canStand(PREDATOR, mid)
+                        && cheb(mid, to)==1 && enter[PREDATOR*TARGETS+board[base+to]] && canStand(PREDATOR, to)) return mid;
+            }
+        }
+        return -1;
+    }
+
+    private void apply(int g, int role, int to) {
+        if(role==PREDATOR) {
+            int mid=dashMid(g, pos[g*SLOTS+PREDATOR], to);
+            if(mid>=0) {
+                step(g, PREDATOR, mid, KIND_WALK, false);
+                int k=kind(g, PREDATOR, mid, to);
+                // As in GameEngine, a second step that became illegal leaves the turn unfinished.
+                if(k!=KIND_NONE) step(g, PREDATOR, to, k, true);
+                return;
+            }
+        }
+        step(g, role, to, kind(g, role, pos[g*SLOTS+role], to), true);
+    }
+
+    private void step(int g, int role, int to, int kind, boolean endTurn) {
+        if(kind!=KIND_SKIP) {
+            int base=g*cells;
+            int from=pos[g*SLOTS+role];
+            byte target=board[base+to];
+            board[base+from]=EMPTY;
+            pos[g*SLOTS+role]=to;
+            board[base+to]=ROLE_CELL[role];
+            if(kind==KIND_ABILITY) abilityUses[g*ROLES+role]++;
+            if(target!=EMPTY) {
+                captures[g*ROLES+role]++;
+                score[g*ROLES+role]+=scoreSelf[role*TARGETS+target];
+                if(target==FOOD) {
+                    respawn(g, FOOD_SLOT, FOOD);
+                } else {
+                    int victim=CELL_ROLE[target];
+                    score[g*ROLES+victim]+=scoreVictim[role*TARGETS+target];
+                    respawn(g, victim, ROLE_CELL[victim]);
+                }
+            }
+        }
+        if(!endTurn) return;
+
+        boolean roundEnded=endTurn(g);
+        if(roundEnded) {
+            for(int r=0;r<ROLES;r++) {
+                if(cooldown[g*ROLES+r]>0) cooldown[g*ROLES+r]--;
+            }
+        }
+        if(kind==KIND_ABILITY && abilityCooldown[role]>0) cooldown[g*ROLES+role]=abilityCooldown[role];
+    }
+
+    private boolean endTurn(int g) {
+        if(turn[g]<2) {
+            turn[g]++;
+            return false;
+        }
+        turn[g]=0;
+        if(round[g]>=totalRounds) {
+            over[g]=true;
+            return true;
+        }
+        round[g]++;
+        return true;
+    }
+
+    private void respawn(int g, int slot, byte content) {
+        int base=g*cells;
+        while(true) {
+            int r=nextInt(rng, g, n);
+            int c=nextInt(rng, g, n);
+            int cell=r*n+c;
+            if(board[base+cell]==EMPTY && open(cell)) {
+                pos[g*SLOTS+slot]=cell;
+                board[base+cell]=content;
+                return;
+            }
+        }
+    }
+
+    private int cheb(int a, int b) {
+        return Math.max(Math.abs(a/n-b/n), Math.abs(a%n-b%n));
+    }
+
+    /**
+     * java.util.Random.nextInt(bound) on a state kept in an array.
+     */
+    private static int nextInt(long[] state, int g, int bound) {
+        int r=next31(state, g);
+        int m=bound-1;
+        if((bound&m)==0) return (int)((bound*(long)r)>>31);
+        for(int u=r;u-(r=u%bound)+m<0;u=next31(state, g));
+        return r;
+    }
+
+    private static int next31(long[] state, int g) {
+        long s=(state[g]*MULTIPLIER+ADDEND)&MASK;
+        state[g]=s;
+        return (int)(s>>>17);
+    }
+
+    public int getGames() { return games; }
+    public int getRunning() { return running; }
+    public long getTurnsPlayed() { return turnsPlayed; }
+    public boolean isOver(int g) { return over[g]; }
+    public int getRound(int g) { return round[g]; }
+    public Role getTurn(int g) { return Role.values()[turn[g]]; }
+    public int getScore(int g, Role role) { return score[g*ROLES+role.ordinal()]; }
+    public int getCooldown(int g, Role role) { return cooldown[g*ROLES+role.ordinal()]; }
+    /** @return The index of the game's food chain in the era file. */
+    public int getChain(int g) { return chain[g]; }
+    /** @return The number of moves onto an occupied cell (a capture or eating the food). */
+    public int getCaptures(int g, Role role) { return captures[g*ROLES+role.ordinal()]; }
+    public int getAbilityUses(int g, Role role) { return abilityUses[g*ROLES+role.ordinal()]; }
+
+    /**
+     * Returns where a piece of a game stands.
+     * @param g The game index.
+     * @param role The animal's role, or null for the food.
+     * @return The position.
+     */
+    public Pos getPos(int g, Role role) {
+        int cell=pos[g*SLOTS+(role==null ? FOOD_SLOT : role.ordinal())];
+        return new Pos(cell/n, cell%n);
+    }
+
+    /**
+     * Reads a board cell of a game.
+     * @param g The game index.
+     * @param row The row.
+     * @param col The column.
+     * @return The cell content.
+     */
+    public CellContent get(int g, int row, int col) {
+        return CellContent.values()[board[g*cells+row*n+col]];
+    }
+
+    /**
+     * Plays a batch and the same games on GameEngine side by side and compares them after every turn.
+     * @param era The era to play.
+     * @param size The grid size.
+     * @param rounds The round limit.
+     * @param games The number of games.
+     * @param seed Seed from which the per-game seeds are derived.
+     * @return The number of turns compared.
+     * @throws IOException If the era or rule file cannot be loaded.
+     * @throws IllegalStateException At the first difference.
+     */
+    public static long verify(Era era, GridSize size, int rounds, int games, long seed) throws IOException {
+        return verify(era, size, null, rounds, games, seed);
+    }
+
+    /**
+     * Plays a batch on a terrain map and the same games on GameEngine side by side and compares them after every turn.
+     * @param era The era to play.
+     * @param size The grid size.
+     * @param terrain The terrain map, or null for open ground.
+     * @param rounds The round limit.
+     * @param games The number of games.
+     * @param seed Seed from which the per-game seeds are derived.
+     * @return The number of turns compared.
+     * @throws IOException If the era or rule file cannot be loaded.
+     * @throws IllegalStateException At the first difference.
+     */
+    public static long verify(Era era, GridSize size, TerrainMap terrain, int rounds, int games, long seed) throws IOException {
+        long[] seeds=new long[games], policySeeds=new long[games];
+        Random r=new Random(seed);
+        for(int g=0;g<games;g++) { seeds[g]=r.nextLong(); policySeeds[g]=r.nextLong(); }
+
+        EraRules rules=RuleBook.getDefault().rules(era);
+        int chainCount=FoodChainRegistry.getDefault().count(era);
+        BatchEngine batch=(terrain!=null) ? new BatchEngine(rules, chainCount, terrain, rounds, seeds, policySeeds)
+                : new BatchEngine(rules, chainCount, size, rounds, seeds, policySeeds);
+        GameEngine[] ref=new GameEngine[games];
+        Random[] picks=new Random[games];
+        int[] counts=new int[games*2*ROLES];
+        String[] chains=new String[games];
+        for(int g=0;g<games;g++) {
+            ref[g]=new GameEngine(new Random(seeds[g]), null);
+            int game=g;
+            ref[g].addListener(ev->{
+                if(ev instanceof GameEvent.GameStarted) {
+                    chains[game]=((GameEvent.GameStarted)ev).chain().toString();
+                } else if(ev instanceof GameEvent.Moved) {
+                    GameEvent.Moved m=(GameEvent.Moved)ev;
+                    if(m.kind()==MoveKind.ABILITY) counts[game*2*ROLES+m.role().ordinal()]++;
+                    if(m.kind()!=MoveKind.SKIP && m.target()!=CellContent.EMPTY) counts[game*2*ROLES+ROLES+m.role().ordinal()]++;
+                }
+            });
+            ref[g].startGame(new GameConfig(era, size, rounds, terrain));
+            picks[g]=new Random(policySeeds[g]);
+            compare(batch, g, ref[g], 0);
+            if(!FoodChainRegistry.getDefault().chain(era, batch.getChain(g)).toString().equals(chains[g])) {
+                throw new IllegalStateException("game "+g+": chain differs");
+            }
+        }
+
+        long compared=0;
+        int turnNo=0;
+        while(batch.getRunning()>0) {
+            batch.step();
+            turnNo++;
+            for(int g=0;g<games;g++) {
+                GameEngine e=ref[g];
+                if(e.isGameOver()) continue;
+                List<Pos> moves=e.legalMoves();
+                e.move(e.getTurnManager().getCurrentTurn(), moves.get(picks[g].nextInt(moves.size())));
+                compare(batch, g, e, turnNo);
+                compared++;
+            }
+        }
+        for(int g=0;g<games;g++) {
+            for(Role role : Role.values()) {
+                if(batch.getAbilityUses(g, role)!=counts[g*2*ROLES+role.ordinal()]
+                        || batch.getCaptures(g, role)!=counts[g*2*ROLES+ROLES+role.ordinal()]) {
+                    throw new IllegalStateException("game "+g+": "+role+" ability or capture count differs");
+                }
+            }
+        }
+        return compared;
+    }
+
+    private static void compare(BatchEngine b, int g, GameEngine e, int turnNo) {
+        GameState st=e.getState();
+        String where="game "+g+" turn "+turnNo+": ";
+        if(b.isOver(g)!=e.isGameOver()) throw new IllegalStateException(where+"game over differs");
+        if(b.getRound(g)!=e.getTurnManager().getRound()) throw new IllegalStateException(where+"round differs");
+        if(b.getTurn(g)!=e.getTurnManager().getCurrentTurn()) throw new IllegalStateException(where+"turn differs");
+        for(Animal a : new Animal[]{st.getPrey(), st.getPredator(), st.getApex()}) {
+            Role role=a.getRole();
+            if(!b.getPos(g, role).equals(a.getPos())) throw new IllegalStateException(where+role+" position differs");
+            if(b.getScore(g, role)!=a.getScore()) throw new IllegalStateException(where+role+" score differs");
+            if(b.getCooldown(g, role)!=a.getAbilityCooldown()) throw new IllegalStateException(where+role+" cooldown differs");
+        }
+        if(!b.getPos(g, null).equals(st.getFood().getPos())) throw new IllegalStateException(where+"food position differs");
+        int size=st.getBoard().getSize();
+        for(int r=0;r<size;r++) {
+            for(int c=0;c<size;c++) {
+                if(b.get(g, r, c)!=st.getBoard().get(new Pos(r, c))) throw new IllegalStateException(where+"cell "+r+","+c+" differs");
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        String mode=args.length>0 ? args[0].toLowerCase(Locale.ROOT) : "bench";
+        String eraArg=args.length>1 ? args[1] : "PRESENT";
+        List<Era> eras=eraArg.equalsIgnoreCase("ALL") ? List.of(Era.values()) : List.of(Era.valueOf(eraArg.toUpperCase(Locale.ROOT)));
+        // The size may also name a terrain map, which sets the size
+        String sizeArg=args.length>2 ? args[2] : "SMALL";
+        TerrainMap terrain=null;
+        GridSize size;
+        try {
+            size=GridSize.valueOf(sizeArg.toUpperCase(Locale.ROOT));
+        } catch(IllegalArgumentException e) {
+            terrain=TerrainBook.getDefault().map(sizeArg);
+            size=GridSize.fromSize(terrain.getSize());
+        }
+        String label=(terrain!=null) ? terrain.getName() : size.toString();
+        int games=args.length>3 ? Integer.parseInt(args[3]) : (mode.equals("verify") ? 2_000 : 100_000);
+        int rounds=args.length>4 ? Integer.parseInt(args[4]) : 100;
+
+        if(!mode.equals("verify") && !mode.equals("bench")) throw new IllegalArgumentException("Unknown mode: "+mode);
+        for(Era era : eras) {
+            if(mode.equals("verify")) {
+                long turns=verify(era, size, terrain, rounds, games, 132L);
+                System.out.println(era+" "+label+": "+games+" games, "+turns+" turns identical to GameEngine");
+            } else {
+                bench(era, size, terrain, label, games, rounds);
+            }
+        }
+    }
+
+    private static void bench(Era era, GridSize size, TerrainMap terrain, String label, int games, int rounds) throws IOException {
+        EraRules rules=RuleBook.getDefault().rules(era);
+        int chains=FoodChainRegistry.getDefault().count(era);
+        long[] seeds=new long[games], policySeeds=new long[games];
+        Random r=new Random(132L);
+        for(int g=0;g<games;g++) { seeds[g]=r.nextLong(); policySeeds[g]=r.nextLong(); }
+
+        for(int rep=0;rep<3;rep++) {
+            long t0=System.nanoTime();
+            BatchEngine b=(terrain!=null) ? new BatchEngine(rules, chains, terrain, rounds, seeds, policySeeds)
+                    : new BatchEngine(rules, chains, size, rounds, seeds, policySeeds);
+            long turns=b.runToEnd();
+            double secs=(System.nanoTime()-t0)/1e9;
+            long[] total=new long[ROLES];
+            for(int g=0;g<games;g++) for(Role role : Role.values()) total[role.ordinal()]+=b.getScore(g, role);
+            System.out.printf(Locale.ROOT, "%s %s: %d games, %d turns in %.2fs = %.2fM turns/s | mean score prey=%.2f predator=%.2f apex=%.2f%n",
+                    era, label, games, turns, secs, turns/secs/1e6,
+                    total[PREY]/(double)games, total[PREDATOR]/(double)games, total[APEX]/(double)games);
+        }
+    }
+}
@@ -0,0 +1,566 @@
+package foodchain.batch;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import foodchain.board.TerrainMap;
+import foodchain.io.FoodChainRegistry;
+import foodchain.io.TerrainBook;
+import foodchain.model.Era;
+import foodchain.model.FoodChain;
+import foodchain.model.GridSize;
+import foodchain.model.Role;
+import foodchain.rules.RuleBook;
+
+/**
+ * Runs a balance sweep too large for one JVM on several worker JVMs of the same host.
+ *
+ * The sweep (eras x sizes or maps x seed blocks) is split into units of {@link BatchEngine} games.
+ * The coordinator starts the workers itself and hands them one unit at a time over a loopback socket.
+ * Each unit is seeded from the sweep seed and its key alone, so it plays the same games in any worker.
+ * Food chains are drawn per game as in {@link foodchain.core.GameEngine}; results are kept per chain.
+ *
+ * Every finished unit is appended to a journal file. Its header names the sweep and every era's chains,
+ * since results are kept by chain index. Running the same sweep on the same journal again skips the units
+ * already in it, so an interrupted run resumes where it stopped; a journal whose header differs is refused.
+ * A unit whose worker dies or exceeds "foodchain.farm.unitTimeoutSec" (default 600) is handed out
+ * again, for at most three attempts per unit, and the worker is restarted. A worker that dies three times
+ * in a row before taking a unit fails the sweep. "foodchain.farm.jvmArgs" adds options to
+ * the worker JVMs, e.g. "-Xmx256m".
+ *
+ * Usage: SimulationFarm journal [workers] [eras|ALL] [sizes] [games] [rounds] [unitGames] [seed]
+ * e.g. SimulationFarm sweep.farm 8 ALL SMALL,LARGE,canyon 1000000 100. Lists are comma-separated;
+ * a size may name a terrain map.
+ */
+public final class SimulationFarm {
+
+    private static final String WORKER="--worker";
+    private static final String HEADER="# foodchain farm 2 ";
+    private static final int MAX_ATTEMPTS=3;
+    private static final int ROLES=3;
+    /** Per chain: games, then per role the summed score, wins, captures and ability uses. */
+    private static final int STATS=1+4*ROLES;
+    private static final long UNIT_TIMEOUT_MS=TimeUnit.SECONDS.toMillis(Long.getLong("foodchain.farm.unitTimeoutSec", 600L));
+
+    /**
+     * One block of games of an era and size. Its key is "era size block".
+     */
+    private static final class Unit {
+        final Era era;
+        final String size;
+        final int block;
+        final int games;
+        int attempts;
+
+        Unit(Era era, String size, int block, int games) {
+            this.era=era;
+            this.size=size;
+            this.block=block;
+            this.games=games;
+        }
+
+        String key() { return era+" "+size+" "+block; }
+    }
+
+    /**
+     * A worker JVM, restarted in place when it dies.
+     */
+    private static final class Slot {
+        final int id;
+        Process process;
+        // Exits since the worker last took a unit; deaths while playing are charged to the unit
+        int idleExits;
+
+        Slot(int id) { this.id=id; }
+    }
+
+    private final Path journal;
+    private final List<Era> eras;
+    private final List<String> sizes;
+    private final long games;
+    private final int rounds;
+    private final int unitGames;
+    private final long seed;
+    private final List<String> launcher;
+    private final String mainClass;
+
+    // Guarded by this
+    private final ArrayDeque<Unit> queue=new ArrayDeque<>();
+    private final Map<String, long[]> results=new TreeMap<>();
+    private final Slot[] slots;
+    private Writer out;
+    private int remaining;
+    private boolean started;
+    private long turns;
+    private long played;
+    private int retries;
+    private String failure;
+    private boolean closing;
+
+    /**
+     * Describes a sweep; nothing runs until {@link #run}.
+     * @param journal The file finished units are appended to.
+     * @param workers The number of worker JVMs.
+     * @param eras The eras to play.
+     * @param sizes Grid size or terrain map names.
+     * @param games The number of games per era and size.
+     * @param rounds The round limit of every game.
+     * @param unitGames The number of games per unit.
+     * @param seed The seed all unit seeds are derived from.
+     */
+    public SimulationFarm(Path journal, int workers, List<Era> eras, List<String> sizes, long games, int rounds, int unitGames, long seed) {
+        if(workers<=0) throw new IllegalArgumentException("workers must be > 0");
+        if(eras.isEmpty() || sizes.isEmpty()) throw new IllegalArgumentException("eras and sizes cannot be empty");
+        if(games<=0 || rounds<=0 || unitGames<=0) throw new IllegalArgumentException("games, rounds and unitGames must be > 0");
+        for(String s : sizes) {
+            if(s.isEmpty() || s.contains(" ")) throw new IllegalArgumentException("Bad size: '"+s+"'");
+        }
+        this.journal=journal;
+        this.eras=List.copyOf(eras);
+        this.sizes=List.copyOf(sizes);
+        this.games=games;
+        this.rounds=rounds;
+        this.unitGames=unitGames;
+        this.seed=seed;
+        this.slots=new Slot[workers];
+        for(int i=0;i<workers;i++) slots[i]=new Slot(i);
+
+        List<String> cmd=new ArrayList<>();
+        cmd.add(ProcessHandle.current().info().command().orElse("java"));
+        String opts=System.getProperty("foodchain.farm.jvmArgs", "").trim();
+        if(!opts.isEmpty()) cmd.addAll(Arrays.asList(opts.split("\\s+")));
+        String modulePath=System.getProperty("jdk.module.path");
+        Module module=SimulationFarm.class.getModule();
+        if(modulePath!=null && module.isNamed()) {
+            cmd.add("-p");
+            cmd.add(modulePath);
+            mainClass=module.getName()+"/"+SimulationFarm.class.getName();
+        } else {
+            cmd.add("-cp");
+            cmd.add(System.getProperty("java.class.path"));
+            mainClass=SimulationFarm.class.getName();
+        }
+        this.launcher=cmd;
+    }
+
+    /**
+     * @return The journal's header lines: the sweep, then one line per chain of each era.
+     */
+    private List<String> header() throws IOException {
+        List<String> lines=new ArrayList<>();
+        StringBuilder eraList=new StringBuilder();
+        for(Era e : eras) eraList.append(eraList.length()==0 ? "" : ",").append(e);
+        lines.add(HEADER+"eras="+eraList+" sizes="+String.join(",", sizes)+" games="+games+" rounds="+rounds
+                +" unit="+unitGames+" seed="+seed);
+        for(Era e : eras) {
+            List<FoodChain> chains=FoodChainRegistry.getDefault().chains(e);
+            for(int c=0;c<chains.size();c++) lines.add("# chain "+e+" "+c+" "+chains.get(c));
+        }
+        return lines;
+    }
+
+    /**
+     * Runs every unit not yet in the journal and merges all results.
+     * @return The merged results, keyed by "era size chain"; see {@link #print}.
+     * @throws IOException If the journal belongs to another sweep, or a unit failed too often.
+     * @throws InterruptedException If interrupted while waiting for the workers.
+     */
+    public Map<String, long[]> run() throws IOException, InterruptedException {
+        List<String> header=header();
+        Set<String> done=load(header);
+        for(Era era : eras) {
+            for(String size : sizes) {
+                for(long first=0, block=0;first<games;first+=unitGames, block++) {
+                    Unit u=new Unit(era, size, (int)block, (int)Math.min(unitGames, games-first));
+                    if(!done.contains(u.key())) queue.add(u);
+                }
+            }
+        }
+        remaining=queue.size();
+        if(!done.isEmpty()) System.out.println("Resuming: "+done.size()+" units in the journal, "+remaining+" to play");
+
+        out=Files.newBufferedWriter(journal, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        try(ServerSocket server=new ServerSocket(0, slots.length, InetAddress.getLoopbackAddress())) {
+            if(!started) {
+                for(String line : header) out.write(line+"\n");
+                out.flush();
+            }
+            if(remaining==0) return results;
+            Thread acceptor=new Thread(()->accept(server), "foodchain-farm");
+            acceptor.setDaemon(true);
+            acceptor.start();
+            for(Slot s : slots) start(s, server.getLocalPort());
+            synchronized(this) {
+                while(remaining>0 && failure==null) wait();
+                closing=true;
+                notifyAll();
+            }
+        } finally {
+            synchronized(this) {
+                closing=true;
+                notifyAll();
+                out.close();
+            }
+            for(Slot s : slots) stop(s);
+        }
+        if(failure!=null) throw new IOException(failure);
+        return results;
+    }
+
+    /**
+     * Reads the journal, dropping a torn last line.
+     * @param header The header this sweep writes.
+     * @return The keys of the units already done.
+     */
+    private Set<String> load(List<String> header) throws IOException {
+        Set<String> done=new HashSet<>();
+        if(!Files.exists(journal)) return done;
+        byte[] bytes=Files.readAllBytes(journal);
+        int end=bytes.length;
+        while(end>0 && bytes[end-1]!='\n') end--;
+        if(end<bytes.length) {
+            try(FileChannel ch=FileChannel.open(journal, StandardOpenOption.WRITE)) {
+                ch.truncate(end);
+            }
+        }
+        List<String> lines=new String(bytes, 0, end, StandardCharsets.UTF_8).lines().toList();
+        if(lines.isEmpty()) return done;
+        started=true;
+        if(!lines.get(0).equals(header.get(0))) {
+            throw new IOException("Journal "+journal+" belongs to another sweep: "+lines.get(0));
+        }
+        int n=0;
+        while(n<lines.size() && lines.get(n).startsWith("#")) n++;
+        if(!lines.subList(0, n).equals(header)) {
+            throw new IOException("Journal "+journal+" was played with other food chains; the era files have changed");
+        }
+        for(String line : lines.subList(n, lines.size())) {
+            String key=merge(line);
+            if(!done.add(key)) throw new IOException("Unit in journal twice: "+key);
+        }
+        return done;
+    }
+
+    /**
+     * Adds a unit's result line to the totals.
+     * @return The unit's key.
+     */
+    private String merge(String line) {
+        String[] f=line.split(" ");
+        String key=f[0]+" "+f[1]+" "+f[2];
+        turns+=Long.parseLong(f[3]);
+        int chains=(f.length-4)/STATS;
+        for(int c=0;c<chains;c++) {
+            long[] total=results.computeIfAbsent(f[0]+" "+f[1]+" "+c, k->new long[STATS]);
+            for(int i=0;i<STATS;i++) total[i]+=Long.parseLong(f[4+c*STATS+i]);
+        }
+        return key;
+    }
+
+    private void start(Slot s, int port) {
+        List<String> cmd=new ArrayList<>(launcher);
+        if(mainClass.contains("/")) { cmd.add("-m"); cmd.add(mainClass); }
+        else cmd.add(mainClass);
+        cmd.add(WORKER);
+        cmd.add(Integer.toString(port));
+        cmd.add(Integer.toString(s.id));
+        try {
+            Process p;
+            // Held until the process is recorded, so its HELLO cannot overtake it
+            synchronized(this) {
+                p=new ProcessBuilder(cmd).inheritIO().start();
+                s.process=p;
+            }
+            p.onExit().thenRun(()->exited(s, p, port));
+        } catch(IOException e) {
+            fail("Cannot start worker "+s.id+": "+e.getMessage());
+        }
+    }
+
+    /**
+     * Restarts a worker that died while units were left; its connection hands its unit out again.
+     */
+    private void exited(Slot s, Process p, int port) {
+        synchronized(this) {
+            if(closing || s.process!=p) return;
+            if(p.exitValue()!=0) System.err.println("Worker "+s.id+" exited with code "+p.exitValue());
+            if(remaining==0) return;
+            if(++s.idleExits>=MAX_ATTEMPTS) {
+                fail("Worker "+s.id+" died "+s.idleExits+" times without taking a unit");
+                return;
+            }
+        }
+        start(s, port);
+    }
+
+    private void stop(Slot s) throws InterruptedException {
+        Process p;
+        synchronized(this) { p=s.process; }
+        if(p==null) return;
+        if(!p.waitFor(5, TimeUnit.SECONDS)) p.destroyForcibly().waitFor();
+    }
+
+    private void accept(ServerSocket server) {
+        try {
+            while(true) {
+                Socket socket=server.accept();
+                Thread t=new Thread(()->serve(socket), "foodchain-farm-worker");
+                t.setDaemon(true);
+                t.start();
+            }
+        } catch(IOException e) {
+            // Closed at the end of the run
+        }
+    }
+
+    /**
+     * Hands units to one worker connection until the sweep is done or the worker is lost.
+     */
+    private void serve(Socket socket) {
+        Slot slot=null;
+        Process process=null;
+        Unit u=null;
+        try(socket;
+            BufferedReader in=new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            PrintWriter w=new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true)) {
+            socket.setSoTimeout((int)Math.min(Integer.MAX_VALUE, UNIT_TIMEOUT_MS));
+            String hello=in.readLine();
+            if(hello==null || !hello.startsWith("HELLO ")) return;
+            int id=Integer.parseInt(hello.substring(6));
+            if(id<0 || id>=slots.length) return;
+            synchronized(this) {
+                slot=slots[id];
+                process=slot.process;
+            }
+            while(true) {
+                u=take(slot);
+                if(u==null) {
+                    w.println("DONE");
+                    return;
+                }
+                w.println("UNIT "+u.key()+" "+u.games+" "+rounds+" "+unitSeed(u));
+                String line=in.readLine();
+                if(line==null) throw new SocketException("worker hung up");
+                if(!line.startsWith(u.key()+" ")) throw new IOException("unexpected reply: "+line);
+                finish(line);
+                u=null;
+            }
+        } catch(SocketTimeoutException e) {
+            lost(slot, process, u, "timed out");
+        } catch(IOException | RuntimeException e) {
+            lost(slot, process, u, e.getMessage());
+        }
+    }
+
+    private synchronized Unit take(Slot slot) {
+        try {
+            while(queue.isEmpty() && remaining>0 && !closing) wait();
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        if(closing || remaining==0) return null;
+        slot.idleExits=0;
+        return queue.poll();
+    }
+
+    private synchronized void finish(String line) throws IOException {
+        if(closing) return;
+        long before=turns;
+        merge(line);
+        played+=turns-before;
+        out.write(line+"\n");
+        out.flush();
+        if(--remaining==0) notifyAll();
+    }
+
+    /**
+     * Puts the unit of a lost worker back in the queue and makes sure its process goes away.
+     */
+    private void lost(Slot slot, Process p, Unit u, String why) {
+        if(slot==null) return;
+        synchronized(this) {
+            if(u!=null && !closing) {
+                System.err.println("Worker "+slot.id+" lost unit "+u.key()+": "+why);
+                if(++u.attempts>=MAX_ATTEMPTS) {
+                    fail("Unit "+u.key()+" failed "+u.attempts+" times");
+                } else {
+                    retries++;
+                    queue.addFirst(u);
+                    notifyAll();
+                }
+            }
+        }
+        if(p!=null && p.isAlive()) p.destroyForcibly();
+    }
+
+    private synchronized void fail(String why) {
+        if(failure==null) failure=why;
+        notifyAll();
+    }
+
+    private long unitSeed(Unit u) {
+        // Depends only on the sweep seed and the unit's key, never on which worker plays it
+        long h=mix(seed);
+        for(byte b : u.key().getBytes(StandardCharsets.UTF_8)) h=mix(h^(b&0xff));
+        return h;
+    }
+
+    /**
+     * SplitMix64's step and finalizer: every input bit affects every output bit.
+     */
+    private static long mix(long z) {
+        z+=0x9E3779B97F4A7C15L;
+        z=(z^(z>>>30))*0xBF58476D1CE4E5B9L;
+        z=(z^(z>>>27))*0x94D049BB133111EBL;
+        return z^(z>>>31);
+    }
+
+    /** @return The turns of all units in the journal. */
+    public synchronized long getTurns() { return turns; }
+    /** @return The turns played by this run's workers. */
+    public synchronized long getTurnsPlayed() { return played; }
+    /** @return How many times a unit was handed out again after its worker was lost. */
+    public synchronized int getRetries() { return retries; }
+
+    /**
+     * Worker side: plays the units the coordinator sends until it says DONE.
+     */
+    private static void work(int port, int id) throws IOException {
+        try(Socket socket=new Socket(InetAddress.getLoopbackAddress(), port);
+            BufferedReader in=new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            PrintWriter w=new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true)) {
+            w.println("HELLO "+id);
+            String line;
+            while((line=in.readLine())!=null && line.startsWith("UNIT ")) {
+                String[] f=line.split(" ");
+                w.println(play(Era.valueOf(f[1]), f[2], Integer.parseInt(f[3]), Integer.parseInt(f[4]),
+                        Integer.parseInt(f[5]), Long.parseLong(f[6])));
+            }
+        }
+    }
+
+    /**
+     * Plays one unit.
+     * @return Its journal line: the key, the turns played, then {@link #STATS} numbers per chain.
+     */
+    private static String play(Era era, String size, int block, int games, int rounds, long seed) throws IOException {
+        long[] seeds=new long[games], policySeeds=new long[games];
+        Random r=new Random(seed);
+        for(int g=0;g<games;g++) { seeds[g]=r.nextLong(); policySeeds[g]=r.nextLong(); }
+        int chains=FoodChainRegistry.getDefault().count(era);
+        TerrainMap terrain=terrain(size);
+        BatchEngine b=(terrain!=null) ? new BatchEngine(RuleBook.getDefault().rules(era), chains, terrain, rounds, seeds, policySeeds)
+                : new BatchEngine(RuleBook.getDefault().rules(era), chains, GridSize.valueOf(size), rounds, seeds, policySeeds);
+        long turns=b.runToEnd();
+
+        long[] stats=new long[chains*STATS];
+        for(int g=0;g<games;g++) {
+            int base=b.getChain(g)*STATS;
+            stats[base]++;
+            int max=Integer.MIN_VALUE;
+            for(Role role : Role.values()) max=Math.max(max, b.getScore(g, role));
+            for(Role role : Role.values()) {
+                int i=base+1+role.ordinal()*4;
+                stats[i]+=b.getScore(g, role);
+                if(b.getScore(g, role)==max) stats[i+1]++;
+                stats[i+2]+=b.getCaptures(g, role);
+                stats[i+3]+=b.getAbilityUses(g, role);
+            }
+        }
+        StringBuilder sb=new StringBuilder();
+        sb.append(era).append(' ').append(size).append(' ').append(block).append(' ').append(turns);
+        for(long v : stats) sb.append(' ').append(v);
+        return sb.toString();
+    }
+
+    /**
+     * @return The terrain map a size names, or null for a plain grid size.
+     */
+    private static TerrainMap terrain(String size) throws IOException {
+        try {
+            GridSize.valueOf(size);
+            return null;
+        } catch(IllegalArgumentException e) {
+            return TerrainBook.getDefault().map(size);
+        }
+    }
+
+    /**
+     * Prints merged results, one line per era, size and chain.
+     * @param results Results as returned by {@link #run}.
+     * @throws IOException If a chain name cannot be loaded.
+     */
+    public static void print(Map<String, long[]> results) throws IOException {
+        for(Map.Entry<String, long[]> e : results.entrySet()) {
+            String[] k=e.getKey().split(" ");
+            long[] s=e.getValue();
+            if(s[0]==0) continue;
+            Era era=Era.valueOf(k[0]);
+            StringBuilder sb=new StringBuilder(String.format(Locale.ROOT, "%-7s %-7s %-32s games=%-9d",
+                    era, k[1], FoodChainRegistry.getDefault().chain(era, Integer.parseInt(k[2])), s[0]));
+            for(Role role : Role.values()) {
+                int i=1+role.ordinal()*4;
+                sb.append(String.format(Locale.ROOT, " | %s score=%.2f win=%.1f%% capt=%.2f abil=%.2f",
+                        role.toString().toLowerCase(Locale.ROOT), s[i]/(double)s[0], 100.0*s[i+1]/s[0],
+                        s[i+2]/(double)s[0], s[i+3]/(double)s[0]));
+            }
+            System.out.println(sb);
+        }
+    }
+
+    private static List<String> list(String arg) {
+        List<String> l=new ArrayList<>();
+        for(String s : arg.split(",")) if(!s.isBlank()) l.add(s.trim());
+        return l;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if(args.length==3 && args[0].equals(WORKER)) {
+            work(Integer.parseInt(args[1]), Integer.parseInt(args[2]));
+            return;
+        }
+        if(args.length==0) throw new IllegalArgumentException("Usage: SimulationFarm journal [workers] [eras|ALL] [sizes] [games] [rounds] [unitGames] [seed]");
+        Path journal=Path.of(args[0]);
+        int workers=args.length>1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        List<Era> eras=new ArrayList<>();
+        String eraArg=args.length>2 ? args[2] : "ALL";
+        if(eraArg.equalsIgnoreCase("ALL")) eras.addAll(Arrays.asList(Era.values()));
+        else for(String e : list(eraArg)) eras.add(Era.valueOf(e.toUpperCase(Locale.ROOT)));
+        List<String> sizes=new ArrayList<>();
+        for(String s : list(args.length>3 ? args[3] : "SMALL")) {
+            // Grid sizes are matched case-insensitively, map names as given
+            String upper=s.toUpperCase(Locale.ROOT);
+            sizes.add(Arrays.stream(GridSize.values()).anyMatch(g->g.name().equals(upper)) ? upper : s);
+        }
+        for(String s : sizes) terrain(s);
+        long games=args.length>4 ? Long.parseLong(args[4]) : 1_000_000L;
+        int rounds=args.length>5 ? Integer.parseInt(args[5]) : 100;
+        int unitGames=args.length>6 ? Integer.parseInt(args[6]) : 20_000;
+        long seed=args.length>7 ? Long.parseLong(args[7]) : 132L;
+
+        SimulationFarm farm=new SimulationFarm(journal, workers, eras, sizes, games, rounds, unitGames, seed);
+        long t0=System.nanoTime();
+        Map<String, long[]> results=farm.run();
+        double secs=(System.nanoTime()-t0)/1e9;
+        print(results);
+        System.out.printf(Locale.ROOT, "%d workers: %d turns in %.2fs = %.2fM turns/s, %d units retried, %d turns in journal%n",
+                workers, farm.getTurnsPlayed(), secs, farm.getTurnsPlayed()/secs/1e6, farm.getRetries(), farm.getTurns());
+    }
+}
@@ -1,21 +1,77 @@
 package foodchain.board;
 
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicLong;
+
 import foodchain.model.Pos;
 
 /**
  * Represents the game board as a 2D grid.
  * Stores the content of each cell.
+ *
+ * Every change bumps the board's version and is recorded in a small reusable journal,
+ * so consumers can replay what changed since a version they have seen instead of
+ * re-reading the whole grid.
+ *
+ * A board may lie on a {@link TerrainMap}. The terrain never changes during a game and is not journaled.
+ *
+ * A sparse board, made by {@link #sparse}, stores only its occupied cells in a hash map and reads
+ * every other cell as EMPTY, so its memory grows with the pieces on it and not with its area.
+ * It can be far larger than a grid could be, but has no terrain and no row snapshots.
  */
 public class Board {
+    /** Number of changes the journal keeps; a few turns' worth. Must be a power of two. */
+    public static final int JOURNAL_CAPACITY=64;
+
+    private static final CellContent[] CONTENTS=CellContent.values();
+    private static final AtomicLong IDS=new AtomicLong();
+
+    private final long id=IDS.incrementAndGet();
     private final int size;
     private final CellContent[][] grid;
+    private final CellMap occupied;
+    private final TerrainMap terrain;
+    private final BitSet dirtyRows=new BitSet();
+    private final long[] journalCell=new long[JOURNAL_CAPACITY];
+    private final byte[] journalOld=new byte[JOURNAL_CAPACITY];
+    private final byte[] journalNew=new byte[JOURNAL_CAPACITY];
+    private long version;
+
+    /**
+     * Receives one recorded change.
+     */
+    @FunctionalInterface
+    public interface ChangeVisitor {
+        /**
+         * Called for each change, oldest first.
+         * @param row The row of the changed cell.
+         * @param col The column of the changed cell.
+         * @param before The content before the change.
+         * @param after The content after the change.
+         */
+        void changed(int row, int col, CellContent before, CellContent after);
+    }
     
     /**
      * Initializes an empty board with the specified size.
      * @param size The dimension of the square grid.
      */
     public Board(int size) {
+        this(size, null);
+    }
+
+    /**
+     * Initializes an empty board on a terrain map, with the map's size.
+     * @param terrain The terrain.
+     */
+    public Board(TerrainMap terrain) {
+        this(terrain.getSize(), terrain);
+    }
+
+    private Board(int size, TerrainMap terrain) {
         this.size=size;
+        this.terrain=terrain;
+        this.occupied=null;
         this.grid=new CellContent[size][size];
         for(int r=0;r<size;r++) {
             for(int c=0;c<size;c++) {
@@ -24,6 +80,38 @@ public class Board {
         }
     }
 
+    private Board(CellMap occupied, int size) {
+        this.size=size;
+        this.terrain=null;
+        this.grid=null;
+        this.occupied=occupied;
+    }
+
+    /**
+     * Creates an empty sparse board, which stores only its occupied cells.
+     * @param size The dimension of the square board.
+     * @return The board.
+     * @throws IllegalArgumentException If size is not positive.
+     */
+    public static Board sparse(int size) {
+        if(size<=0) throw new IllegalArgumentException("Board size must be positive: "+size);
+        return new Board(new CellMap(), size);
+    }
+
+    /**
+     * Creates an empty board of the same kind, size and terrain.
+     * @return The new board.
+     */
+    public Board emptyCopy() {
+        if(occupied!=null) return new Board(new CellMap(), size);
+        return (terrain!=null) ? new Board(terrain) : new Board(size);
+    }
+
+    /**
+     * @return True if the board stores only its occupied cells.
+     */
+    public boolean isSparse() { return occupied!=null; }
+
     /**
      * Checks if a position is within the board limits.
      * @param p The position to check.
@@ -39,8 +127,7 @@ public class Board {
      * @return True if the cell contains CellContent.EMPTY.
      */
     public boolean isEmpty(Pos p) {
-        requireInBounds(p);
-        return grid[p.getRow()][p.getCol()]==CellContent.EMPTY;
+        return get(p)==CellContent.EMPTY;
     }
 
     private void requireInBounds(Pos p) {
@@ -55,8 +142,53 @@ public class Board {
      * @param cc The new content for the cell.
      */
     public void set(Pos p, CellContent cc) {
-        requireInBounds(p);
-        grid[p.getRow()][p.getCol()]=cc;
+        CellContent old=get(p);
+        if(old==cc) return;
+        long cell=cell(p);
+        if(occupied!=null) {
+            if(cc==CellContent.EMPTY) occupied.remove(cell);
+            else occupied.put(cell, (byte)cc.ordinal());
+        } else {
+            grid[p.getRow()][p.getCol()]=cc;
+            dirtyRows.set(p.getRow());
+        }
+
+        int i=(int)(version&(JOURNAL_CAPACITY-1));
+        journalCell[i]=cell;
+        journalOld[i]=(byte)old.ordinal();
+        journalNew[i]=(byte)cc.ordinal();
+        version++;
+    }
+
+    /**
+     * Returns the number of changes made to this board so far.
+     * @return The current version.
+     */
+    public long getVersion() { return version; }
+
+    /**
+     * Returns an id unique to this board instance within the process,
+     * so consumers can tell a new game's board from the one they tracked.
+     * @return The board id.
+     */
+    public long getId() { return id; }
+
+    /**
+     * Replays the changes made after a given version, oldest first.
+     * @param since A version previously read from {@link #getVersion()}.
+     * @param visitor Receives each change.
+     * @return False if the journal no longer holds all of them; the caller must then re-read the board.
+     * @throws IllegalArgumentException If since is negative or newer than the board.
+     */
+    public boolean changesSince(long since, ChangeVisitor visitor) {
+        if(since<0 || since>version) throw new IllegalArgumentException("Unknown board version: "+since+" current="+version);
+        if(version-since>JOURNAL_CAPACITY) return false;
+        for(long v=since;v<version;v++) {
+            int i=(int)(v&(JOURNAL_CAPACITY-1));
+            long cell=journalCell[i];
+            visitor.changed((int)(cell/size), (int)(cell%size), CONTENTS[journalOld[i]], CONTENTS[journalNew[i]]);
+        }
+        return true;
     }
 
     /**
@@ -66,8 +198,75 @@ public class Board {
      */
     public CellContent get(Pos p) {
         requireInBounds(p);
-        return grid[p.getRow()][p.getCol()];
+        return (grid!=null) ? grid[p.getRow()][p.getCol()] : getSparse(p);
+    }
+
+    private CellContent getSparse(Pos p) {
+        int v=occupied.get(cell(p));
+        return (v<0) ? CellContent.EMPTY : CONTENTS[v];
+    }
+
+    private long cell(Pos p) {
+        return (long)p.getRow()*size+p.getCol();
     }
     
     public int getSize() { return size; }
+
+    /**
+     * Checks if the board has a terrain map. Boards without one are open ground everywhere.
+     * @return True if a terrain map is set.
+     */
+    public boolean hasTerrain() { return terrain!=null; }
+
+    /**
+     * @return The terrain map, or null for an all-open board.
+     */
+    public TerrainMap getTerrainMap() { return terrain; }
+
+    /**
+     * Returns the terrain of a cell.
+     * @param p The position to query.
+     * @return The terrain; OPEN on boards without a terrain map.
+     */
+    public Terrain getTerrain(Pos p) {
+        requireInBounds(p);
+        return terrain==null ? Terrain.OPEN : terrain.get(p);
+    }
+
+    /**
+     * Checks that no wall lies between two cells, along the straight line an ability jump flies.
+     * The end cells themselves are not checked.
+     * @param from The start of the jump.
+     * @param to The landing cell.
+     * @return True if the jump is not blocked.
+     */
+    public boolean isJumpClear(Pos from, Pos to) {
+        if(terrain==null) return true;
+        int dr=to.getRow()-from.getRow(), dc=to.getCol()-from.getCol();
+        int d=Math.max(Math.abs(dr), Math.abs(dc));
+        for(int k=1;k<d;k++) {
+            int r=from.getRow()+Math.round((float)(k*dr)/d);
+            int c=from.getCol()+Math.round((float)(k*dc)/d);
+            if(!terrain.get(r, c).canJumpOver()) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Produces row arrays for an immutable snapshot.
+     * Rows unchanged since the previous call are taken from the previous result
+     * instead of being copied.
+     * @param previous The rows returned by the previous call for this board, or null.
+     * @return Row arrays that are never modified afterwards.
+     * @throws UnsupportedOperationException On a sparse board.
+     */
+    public CellContent[][] snapshotRows(CellContent[][] previous) {
+        if(occupied!=null) throw new UnsupportedOperationException("A sparse board has no row snapshots");
+        CellContent[][] out=new CellContent[size][];
+        for(int r=0;r<size;r++) {
+            out[r]=(previous!=null && !dirtyRows.get(r)) ? previous[r] : grid[r].clone();
+        }
+        dirtyRows.clear();
+        return out;
+    }
 }
\ No newline at end of file
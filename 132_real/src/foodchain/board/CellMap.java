@@ -0,0 +1,110 @@
+package foodchain.board;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from a cell index to a byte, for boards that store only their occupied cells.
+ * Keys are non-negative; probing is linear and removal shifts later entries back, so there are no tombstones.
+ * Not thread-safe.
+ */
+final class CellMap {
+
+    private static final long FREE=-1L;
+    private static final int MIN_CAPACITY=16;
+
+    private long[] keys;
+    private byte[] values;
+    private int mask;
+    private int count;
+
+    CellMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * @param key The cell index.
+     * @return The value, or -1 if the cell is not in the map.
+     */
+    int get(long key) {
+        for(int i=slot(key);;i=(i+1)&mask) {
+            long k=keys[i];
+            if(k==key) return values[i];
+            if(k==FREE) return -1;
+        }
+    }
+
+    /**
+     * Adds or replaces a value.
+     * @param key The cell index; must not be negative.
+     * @param value The value.
+     */
+    void put(long key, byte value) {
+        int i=slot(key);
+        for(;;i=(i+1)&mask) {
+            long k=keys[i];
+            if(k==key) {
+                values[i]=value;
+                return;
+            }
+            if(k==FREE) break;
+        }
+        keys[i]=key;
+        values[i]=value;
+        // Kept at most half full, so probe runs stay short
+        if(++count*2>keys.length) rehash(keys.length*2);
+    }
+
+    /**
+     * Removes a cell if it is in the map.
+     * @param key The cell index.
+     */
+    void remove(long key) {
+        int i=slot(key);
+        for(;;i=(i+1)&mask) {
+            long k=keys[i];
+            if(k==FREE) return;
+            if(k==key) break;
+        }
+        // Move back every later entry of the run whose home slot the hole now cuts off
+        int hole=i;
+        for(int j=(hole+1)&mask;keys[j]!=FREE;j=(j+1)&mask) {
+            int home=slot(keys[j]);
+            if(((j-home)&mask)>=((j-hole)&mask)) {
+                keys[hole]=keys[j];
+                values[hole]=values[j];
+                hole=j;
+            }
+        }
+        keys[hole]=FREE;
+        count--;
+    }
+
+    int size() { return count; }
+
+    private int slot(long key) {
+        // MurmurHash3's 64-bit finalizer, so neighbouring cells land far apart
+        long h=(key^(key>>>33))*0xff51afd7ed558ccdL;
+        h=(h^(h>>>33))*0xc4ceb9fe1a85ec53L;
+        return (int)(h^(h>>>33))&mask;
+    }
+
+    private void allocate(int capacity) {
+        keys=new long[capacity];
+        Arrays.fill(keys, FREE);
+        values=new byte[capacity];
+        mask=capacity-1;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys=keys;
+        byte[] oldValues=values;
+        allocate(capacity);
+        for(int i=0;i<oldKeys.length;i++) {
+            if(oldKeys[i]==FREE) continue;
+            int j=slot(oldKeys[i]);
+            while(keys[j]!=FREE) j=(j+1)&mask;
+            keys[j]=oldKeys[i];
+            values[j]=oldValues[i];
+        }
+    }
+}
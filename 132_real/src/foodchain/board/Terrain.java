@@ -0,0 +1,44 @@
+package foodchain.board;
+
+/**
+ * Ground types of a terrain map, each drawn as one character in a .map file.
+ * Which ground a role may stand on beyond OPEN is set per era in the rule files;
+ * nobody may stand on a WALL.
+ */
+public enum Terrain {
+    OPEN('.'),
+    WATER('~'),
+    ROCK('^'),
+    WALL('#');
+
+    private static final Terrain[] VALUES=values();
+
+    private final char symbol;
+
+    Terrain(char symbol) {
+        this.symbol=symbol;
+    }
+
+    public char getSymbol() { return symbol; }
+
+    /**
+     * Checks if an ability jump may fly over this ground.
+     * @return False for walls.
+     */
+    public boolean canJumpOver() { return this!=WALL; }
+
+    /**
+     * Looks up the terrain drawn with a character.
+     * @param c The map character.
+     * @return The terrain.
+     * @throws IllegalArgumentException If no terrain uses the character.
+     */
+    public static Terrain fromSymbol(char c) {
+        for(Terrain t : VALUES) {
+            if(t.symbol==c) return t;
+        }
+        throw new IllegalArgumentException("Unknown terrain symbol: '"+c+"'");
+    }
+
+    static Terrain of(int ordinal) { return VALUES[ordinal]; }
+}
@@ -0,0 +1,114 @@
+package foodchain.board;
+
+import java.util.List;
+
+import foodchain.model.Pos;
+
+/**
+ * An immutable square grid of {@link Terrain}, shared by every board and copy that plays on it.
+ *
+ * In a .map file each line is one row and each character one cell:
+ * '.' open ground, '~' water, '^' rock and '#' wall.
+ */
+public final class TerrainMap {
+    private final String name;
+    private final int size;
+    private final byte[] cells;
+
+    private TerrainMap(String name, int size, byte[] cells) {
+        this.name=name;
+        this.size=size;
+        this.cells=cells;
+    }
+
+    /**
+     * Builds a map from a grid.
+     * @param name The map name.
+     * @param grid The rows of the map; must be square.
+     * @return The map.
+     * @throws IllegalArgumentException If the grid is empty, not square or holds nulls.
+     */
+    public static TerrainMap of(String name, Terrain[][] grid) {
+        int n=grid.length;
+        if(n==0) throw new IllegalArgumentException("Terrain map "+name+" is empty");
+        byte[] cells=new byte[n*n];
+        for(int r=0;r<n;r++) {
+            if(grid[r].length!=n) throw new IllegalArgumentException("Terrain map "+name+" is not square at row "+r);
+            for(int c=0;c<n;c++) {
+                if(grid[r][c]==null) throw new IllegalArgumentException("Terrain map "+name+" has no terrain at "+r+","+c);
+                cells[r*n+c]=(byte)grid[r][c].ordinal();
+            }
+        }
+        return new TerrainMap(name, n, cells);
+    }
+
+    /**
+     * Parses the lines of a .map file. Trailing whitespace and blank lines are ignored.
+     * @param name The map name.
+     * @param lines The file content.
+     * @param source Where the lines came from, for error messages.
+     * @return The map.
+     * @throws IllegalArgumentException If a symbol is unknown or the grid is not square.
+     */
+    public static TerrainMap parse(String name, List<String> lines, String source) {
+        List<String> rows=lines.stream().map(String::stripTrailing).filter(s->!s.isEmpty()).toList();
+        Terrain[][] grid=new Terrain[rows.size()][];
+        for(int r=0;r<rows.size();r++) {
+            String row=rows.get(r);
+            grid[r]=new Terrain[row.length()];
+            for(int c=0;c<row.length();c++) {
+                try {
+                    grid[r][c]=Terrain.fromSymbol(row.charAt(c));
+                } catch(IllegalArgumentException e) {
+                    throw new IllegalArgumentException(source+": line "+(r+1)+": "+e.getMessage(), e);
+                }
+            }
+        }
+        try {
+            return of(name, grid);
+        } catch(IllegalArgumentException e) {
+            throw new IllegalArgumentException(source+": "+e.getMessage(), e);
+        }
+    }
+
+    public String getName() { return name; }
+    public int getSize() { return size; }
+
+    /**
+     * Returns the terrain of a cell.
+     * @param row The row, in bounds.
+     * @param col The column, in bounds.
+     * @return The terrain.
+     */
+    public Terrain get(int row, int col) {
+        return Terrain.of(cells[row*size+col]);
+    }
+
+    public Terrain get(Pos p) { return get(p.getRow(), p.getCol()); }
+
+    /**
+     * Counts the cells of one terrain.
+     * @param t The terrain.
+     * @return The number of cells.
+     */
+    public int count(Terrain t) {
+        int n=0;
+        for(byte b : cells) {
+            if(b==t.ordinal()) n++;
+        }
+        return n;
+    }
+
+    /**
+     * Formats the map in the .map file syntax.
+     * @return One line per row.
+     */
+    public String format() {
+        StringBuilder sb=new StringBuilder(size*(size+1));
+        for(int r=0;r<size;r++) {
+            for(int c=0;c<size;c++) sb.append(get(r, c).getSymbol());
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
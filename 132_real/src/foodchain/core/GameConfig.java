@@ -1,5 +1,7 @@
 package foodchain.core;
 
+import foodchain.board.Terrain;
+import foodchain.board.TerrainMap;
 import foodchain.model.Era;
 import foodchain.model.GridSize;
 import foodchain.model.Role;
@@ -11,6 +13,9 @@ public class GameConfig {
     private final Era era;
     private final GridSize gridSize;
     private final int totalRounds;
+    private final TerrainMap terrain;
+    // Side of a sparse world board, or 0 for a grid of gridSize
+    private final int worldSize;
 
     /**
      * Creates a new game configuration.
@@ -20,6 +25,26 @@ public class GameConfig {
      * @param playerRole The role controlled by the human player.
      */
     public GameConfig(Era era, GridSize gridSize, int totalRounds) {
+        this(era, gridSize, totalRounds, null);
+    }
+
+    /**
+     * Creates a new game configuration played on a terrain map.
+     * @param era The time period of the game (Past, Present, Future).
+     * @param gridSize The size of the board; must match the map.
+     * @param totalRounds Total number of rounds to play.
+     * @param terrain The terrain map, or null for open ground.
+     * @throws IllegalArgumentException If the map has another size or too little open ground to place the pieces.
+     */
+    public GameConfig(Era era, GridSize gridSize, int totalRounds, TerrainMap terrain) {
+        if(terrain!=null) {
+            if(terrain.getSize()!=gridSize.getSize()) {
+                throw new IllegalArgumentException("Terrain map "+terrain.getName()+" is "+terrain.getSize()+"x"+terrain.getSize()
+                        +", not "+gridSize.getSize()+"x"+gridSize.getSize());
+            }
+            if(terrain.count(Terrain.OPEN)<5) throw new IllegalArgumentException("Terrain map "+terrain.getName()+" needs at least 5 open cells");
+        }
+        this.terrain=terrain;
         this.era=era;
         this.gridSize=gridSize;
         if(totalRounds<=0) {
@@ -27,9 +52,36 @@ public class GameConfig {
         }
 
         this.totalRounds=totalRounds;
-        
+        this.worldSize=0;
+    }
+
+    private GameConfig(Era era, int worldSize, int totalRounds) {
+        if(worldSize<5) throw new IllegalArgumentException("worldSize must be at least 5");
+        if(totalRounds<=0) throw new IllegalArgumentException("totalRounds must be > 0");
+        this.era=era;
+        this.gridSize=null;
+        this.totalRounds=totalRounds;
+        this.terrain=null;
+        this.worldSize=worldSize;
+    }
+
+    /**
+     * Creates a configuration for a headless game on a sparse board of any size.
+     * Such a game publishes no snapshots, so it cannot be shown, saved or recorded.
+     * @param era The time period of the game.
+     * @param worldSize The side of the square board.
+     * @param totalRounds Total number of rounds to play.
+     * @return The configuration; its grid size is null.
+     * @throws IllegalArgumentException If worldSize is below 5 or totalRounds is not positive.
+     */
+    public static GameConfig world(Era era, int worldSize, int totalRounds) {
+        return new GameConfig(era, worldSize, totalRounds);
     }
     public Era getEra() { return era; }
     public GridSize getGridSize() { return gridSize; }
     public int getTotalRounds() { return totalRounds; }
+    /** @return The terrain map, or null for open ground. */
+    public TerrainMap getTerrain() { return terrain; }
+    /** @return The side of the sparse world board, or 0 if the game is played on a grid. */
+    public int getWorldSize() { return worldSize; }
 }
\ No newline at end of file
@@ -9,24 +9,127 @@ import foodchain.ai.ApexAI;
 import foodchain.ai.PreyAI;
 import foodchain.board.Board;
 import foodchain.board.CellContent;
+import foodchain.board.Terrain;
 import foodchain.entities.Animal;
+import foodchain.entities.Entity;
 import foodchain.entities.Food;
-import foodchain.io.FoodChainLoader;
+import foodchain.events.GameEvent;
+import foodchain.events.GameEventListener;
+import foodchain.io.FoodChainRegistry;
 import foodchain.io.GameLogger;
+import foodchain.jfr.TurnEvent;
+import foodchain.metrics.GameStats;
+import foodchain.metrics.Metrics;
 import foodchain.model.*;
+import foodchain.rules.EraRules;
+import foodchain.rules.RuleBook;
 
 /**
  * Core engine that controls the game logic, movement rules, and scoring.
  */
 public class GameEngine {
 
-    private final SecureRandom rng=new SecureRandom();
+    private final Random rng;
     private GameState state;
     private TurnManager tm;
-    private final GameLogger logger=new GameLogger(Path.of("data/log.txt"));
+    private volatile GameEventListener[] listeners=NO_LISTENERS;
+    private GameStats stats=new GameStats();
+    private EraRules rules;
+    private volatile GameSnapshot snapshot;
+    private long version;
+    private boolean publishing=true;
+    // Every published snapshot of the current game, when recording is on
+    private List<GameSnapshot> recording;
+    private final long[] deltaScratch=new long[Board.JOURNAL_CAPACITY];
+    private int deltaLength;
+
+    private static final GameEventListener[] NO_LISTENERS=new GameEventListener[0];
+    private static final Role[] SCORE_ORDER={Role.APEX, Role.PREDATOR, Role.PREY};
+    private static final CellContent[] ROLE_CELLS=new CellContent[Role.values().length];
+    private static final Role[] CELL_ROLES=new Role[CellContent.values().length];
+    static {
+        ROLE_CELLS[Role.PREY.ordinal()]=CellContent.PREY;
+        ROLE_CELLS[Role.PREDATOR.ordinal()]=CellContent.PREDATOR;
+        ROLE_CELLS[Role.APEX.ordinal()]=CellContent.APEX;
+        for(Role r : Role.values()) CELL_ROLES[ROLE_CELLS[r.ordinal()].ordinal()]=r;
+    }
+
+    /**
+     * Creates an engine with a secure random source that logs to data/log.txt.
+     */
+    public GameEngine() {
+        this(new SecureRandom(), new GameLogger(Path.of("data/log.txt")));
+    }
+
+    /**
+     * Creates an engine with an explicit random source and logger.
+     * Headless callers pass a seeded Random for reproducible games.
+     * @param rng The source used for chain selection, placement and respawns.
+     * @param logger The log to write events to, or null to disable logging.
+     */
+    public GameEngine(Random rng, GameLogger logger) {
+        if(rng==null) throw new IllegalArgumentException("rng cannot be null");
+        this.rng=rng;
+        if(logger!=null) addListener(logger);
+    }
+
+    /**
+     * Registers a listener for the events of this engine's games.
+     * @param l The listener to add.
+     */
+    public synchronized void addListener(GameEventListener l) {
+        if(l==null) throw new IllegalArgumentException("listener cannot be null");
+        GameEventListener[] cur=listeners;
+        GameEventListener[] next=Arrays.copyOf(cur, cur.length+1);
+        next[cur.length]=l;
+        listeners=next;
+    }
+
+    /**
+     * Unregisters a listener. Does nothing if it was not registered.
+     * @param l The listener to remove.
+     */
+    public synchronized void removeListener(GameEventListener l) {
+        List<GameEventListener> next=new ArrayList<>(Arrays.asList(listeners));
+        if(next.remove(l)) listeners=next.toArray(NO_LISTENERS);
+    }
 
     public TurnManager getTurnManager() { return tm; }
+    public GameStats getStats() { return stats; }
     public GameState getState() { return state; }
+    public EraRules getRules() { return rules; }
+
+    /**
+     * Returns the state as of the last completed turn.
+     * Safe to call from any thread while the engine is running.
+     * @return The latest published snapshot, or null before a game starts and in world games.
+     */
+    public GameSnapshot getSnapshot() { return snapshot; }
+
+    /**
+     * Turns keeping every published snapshot on or off. Snapshots share unchanged board rows,
+     * so a recording costs about one board row per turn. Starting or loading a game clears it.
+     * @param on True to record from the current snapshot on.
+     */
+    public synchronized void setRecording(boolean on) {
+        if(!on) {
+            recording=null;
+            return;
+        }
+        if(recording==null) {
+            recording=new ArrayList<>();
+            if(snapshot!=null) recording.add(snapshot);
+        }
+    }
+
+    /**
+     * Returns the recorded snapshots, oldest first.
+     * Safe to call from any thread while the engine is running.
+     * @return A copy of the recording; empty if recording is off.
+     */
+    public synchronized List<GameSnapshot> getRecording() {
+        return (recording==null) ? List.of() : List.copyOf(recording);
+    }
     public boolean isGameOver() { return tm.isGameOver(); }
 
     /**
@@ -36,11 +139,18 @@ public class GameEngine {
      * @throws IOException If loading data fails.
      */
     public GameState startGame(GameConfig config) throws IOException {
+        rules=RuleBook.getDefault().rules(config.getEra());
         tm=new TurnManager(config.getTotalRounds());
- 
+        stats=new GameStats();
+        Metrics.track(stats);
 
-        Board board=new Board(config.getGridSize().getSize());
+        Board board;
+        if(config.getWorldSize()>0) board=Board.sparse(config.getWorldSize());
+        else if(config.getTerrain()!=null) board=new Board(config.getTerrain());
+        else board=new Board(config.getGridSize().getSize());
         state=new GameState(config.getEra(), board, config.getTotalRounds());
+        // Snapshots copy every row, which a world board does not have
+        publishing=!board.isSparse();
 
         Set<Pos> used=new HashSet<>();
         Pos preyPos=pickRandomEmpty(board, used);
@@ -48,7 +158,7 @@ public class GameEngine {
         Pos apexPos=pickRandomEmpty(board, used);
         Pos foodPos=pickRandomEmpty(board, used);
 
-        List<FoodChain> options=FoodChainLoader.load(config.getEra());
+        List<FoodChain> options=FoodChainRegistry.getDefault().chains(config.getEra());
         FoodChain chosen=options.get(rng.nextInt(options.size()));
 
         Animal prey=new Animal(chosen.getPreyName(), Role.PREY, preyPos);
@@ -57,8 +167,9 @@ public class GameEngine {
         Food food=new Food(chosen.getFoodName(), foodPos);
 
         state.initEntities(prey, predator, apex, food);
-        logger.log("GAME START era="+config.getEra()+" chain="+chosen);
-        logger.log("ROUND BEGIN round="+tm.getRound());
+        if(observed()) emit(new GameEvent.GameStarted(config.getEra(), chosen, tm.getRound()));
+        snapshot=null;
+        publish();
 
         return state;
     }
@@ -71,27 +182,87 @@ public class GameEngine {
      * @return True if the move was successful.
      */
     public boolean move(Role role, Pos to) {
-        if(role==Role.PREDATOR && state.getEra()==Era.PRESENT) {
-            Pos from=state.getPredator().getPos();
-            if(cheb(from, to)==2 && isAdjacent(from, state.getApex().getPos())) {
-                Pos mid=findPresentDashMid(from, to);
+        long t0=Metrics.start();
+        try {
+            if(role==Role.PREDATOR) {
+                Pos mid=dashMid(to);
                 if(mid!=null) return dashPredator(mid, to);
             }
+            return moveInternal(role, to, true);
+        } finally {
+            Metrics.ENGINE_MOVE.stop(t0);
+        }
+    }
+
+    /**
+     * Finds the cell a Predator move to the given destination would dash through.
+     * @param to The destination.
+     * @return The intermediate cell, or null if the move is not a dash.
+     */
+    Pos dashMid(Pos to) {
+        if(!rules.hasDash(Role.PREDATOR)) return null;
+        Pos from=state.getPredator().getPos();
+        if(cheb(from, to)!=2 || !meetsCondition(from, rules.dashCondition(Role.PREDATOR))) return null;
+        return findPresentDashMid(from, to);
+    }
+
+    /**
+     * Lists every destination the side to move may choose, in row-major order.
+     * Includes staying in place (SKIP) and, where the era has one, the Predator dash.
+     * @return The legal destinations; empty when the game is over.
+     */
+    public List<Pos> legalMoves() {
+        List<Pos> out=new ArrayList<>();
+        if(tm==null || tm.isGameOver()) return out;
+
+        Role role=tm.getCurrentTurn();
+        Pos from=getAnimal(role).getPos();
+        int n=state.getBoard().getSize();
+        int reach=Math.max(rules.getReach(), rules.hasDash(role) ? 2 : 1);
+        for(int r=Math.max(0, from.getRow()-reach);r<=Math.min(n-1, from.getRow()+reach);r++) {
+            for(int c=Math.max(0, from.getCol()-reach);c<=Math.min(n-1, from.getCol()+reach);c++) {
+                Pos to=new Pos(r, c);
+                if((role==Role.PREDATOR && dashMid(to)!=null) || getMoveKind(role, to)!=MoveKind.NONE) out.add(to);
+            }
         }
-        return moveInternal(role, to, true);
+        return out;
     }
 
     /**
-     * Executes the specific dash ability for the Predator.
+     * Counts the leaf nodes of the game tree below the current position.
+     * @param depth The number of turns to expand.
+     * @return The number of move sequences of that length.
+     */
+    public long perft(int depth) {
+        return Perft.perft(this, depth);
+    }
+
+    /**
+     * Creates a silent copy of this engine for searching: it has its own state,
+     * no listeners, and publishes no snapshots.
+     * @param rng The random source for respawns in the copy.
+     * @return The copy.
+     */
+    public GameEngine copyForSearch(Random rng) {
+        GameEngine c=new GameEngine(rng, null);
+        c.rules=rules;
+        c.state=state.copy();
+        c.tm=new TurnManager(tm.getTotalRounds(), tm.getCurrentTurn(), tm.getRound());
+        c.publishing=false;
+        return c;
+    }
+
+    /**
+     * Executes the dash ability for the Predator, where the era rules allow it.
      * @param mid The intermediate position jumped over.
      * @param to The final destination.
      * @return True if successful.
      */
     public boolean dashPredator(Pos mid, Pos to) {
         if(tm.isGameOver()) return false;
-        if(state.getEra()!=Era.PRESENT) return false;
+        if(!rules.hasDash(Role.PREDATOR)) return false;
         if(tm.getCurrentTurn()!=Role.PREDATOR) return false;
-        if(!isAdjacent(state.getPredator().getPos(), state.getApex().getPos())) return false;
+        if(!meetsCondition(state.getPredator().getPos(), rules.dashCondition(Role.PREDATOR))) return false;
         if(!moveInternal(Role.PREDATOR, mid, false)) return false;
         return moveInternal(Role.PREDATOR, to, true);
     }
@@ -113,11 +284,7 @@ public class GameEngine {
      * @return True if entry is allowed according to food chain rules.
      */
     public boolean canEnter(Role mover, CellContent target) {
-        if(target==CellContent.EMPTY) return true;
-        if(target==CellContent.FOOD) return mover==Role.PREY;
-        if(target==CellContent.PREY) return mover==Role.PREDATOR || mover==Role.APEX;
-        if(target==CellContent.PREDATOR) return mover==Role.APEX;
-        return false;
+        return rules.canEnter(mover, target);
     }
 
     public enum MoveKind { NONE, WALK, ABILITY, SKIP }
@@ -142,26 +309,24 @@ public class GameEngine {
         Board board=state.getBoard();
         if(!board.inBounds(to)) return MoveKind.NONE;
 
-        int d=cheb(from, to);
-        if(d==0) return MoveKind.NONE;
-
-        CellContent target=board.get(to);
-
-        if(d==1) {
-            if(!canEnter(role, target)) return MoveKind.NONE;
-            return MoveKind.WALK;
-        }
+        int code=rules.code(role, to.getRow()-from.getRow(), to.getCol()-from.getCol(), board.get(to));
+        int kind=EraRules.kind(code);
+        if(kind==EraRules.NONE || !canStand(role, to)) return MoveKind.NONE;
+        if(kind==EraRules.WALK) return MoveKind.WALK;
 
         if(mover.getAbilityCooldown()>0) return MoveKind.NONE;
-        if(!isAbilityMoveOk(state.getEra(), role, from, to)) return MoveKind.NONE;
-
-        if(state.getEra()==Era.FUTURE && role==Role.PREY && target==CellContent.FOOD) {
-            return MoveKind.NONE;
-        }
+        if(!meetsCondition(from, EraRules.condition(code))) return MoveKind.NONE;
+        if(!board.isJumpClear(from, to)) return MoveKind.NONE;
+        return MoveKind.ABILITY;
+    }
 
-        if(!canEnter(role, target)) return MoveKind.NONE;
+    private boolean canStand(Role role, Pos p) {
+        Board board=state.getBoard();
+        return !board.hasTerrain() || rules.canStand(role, board.getTerrain(p));
+    }
 
-        return MoveKind.ABILITY;
+    private boolean meetsCondition(Pos from, Role adjacentTo) {
+        return adjacentTo==null || isAdjacent(from, getAnimal(adjacentTo).getPos());
     }
 
     private boolean moveInternal(Role moverRole, Pos to, boolean endTurn) {
@@ -171,113 +336,101 @@ public class GameEngine {
         MoveKind kind=getMoveKind(moverRole, to);
         if(kind==MoveKind.NONE) return false;
 
-        if(kind==MoveKind.SKIP) {
-            logger.log("SKIP TURN role="+moverRole);
-            if(endTurn) {
-                boolean roundEnded=tm.endTurn();
-                if(roundEnded) cooldownTick();
-                if(roundEnded) {
-                    logger.log("ROUND END");
-                    if(!tm.isGameOver()) logger.log("ROUND BEGIN round="+tm.getRound());
-                }
-                if(tm.isGameOver()) logger.log("GAME OVER "+getWinnerText());
+        TurnEvent ev=new TurnEvent();
+        ev.begin();
+        int round=tm.getRound();
+        Pos from=getAnimal(moverRole).getPos();
+        CellContent target=state.getBoard().get(to);
+
+        if(kind==MoveKind.SKIP) applySkip(moverRole, from, target, round, endTurn);
+        else applyMove(moverRole, kind, from, to, target, round, endTurn);
+        if(endTurn) publish();
+
+        ev.end();
+        if(ev.shouldCommit()) {
+            ev.role=moverRole.name();
+            ev.kind=kind.name();
+            ev.from=from.toString();
+            ev.to=to.toString();
+            ev.target=target.name();
+            ev.round=round;
+            ev.commit();
+        }
+        return true;
+    }
+
+    private void applySkip(Role moverRole, Pos from, CellContent target, int round, boolean endTurn) {
+        boolean observed=observed();
+        if(observed) emit(new GameEvent.Moved(moverRole, MoveKind.SKIP, from, from, target, round));
+        if(endTurn) {
+            boolean roundEnded=tm.endTurn();
+            if(roundEnded) cooldownTick();
+            if(roundEnded) {
+                stats.roundEnded();
+                if(observed) emit(new GameEvent.RoundEnded(round, tm.isGameOver()));
             }
-            return true;
+            if(observed && tm.isGameOver()) emitGameOver();
         }
+    }
 
+    private void applyMove(Role moverRole, MoveKind kind, Pos from, Pos to, CellContent target, int round, boolean endTurn) {
         Animal mover=getAnimal(moverRole);
-        Pos from=mover.getPos();
-        CellContent target=state.getBoard().get(to);
         Board board=state.getBoard();
         board.set(from, CellContent.EMPTY);
 
-        int deltaApex=0, deltaPred=0, deltaPrey=0;
-
-        if(target==CellContent.EMPTY) {
-            mover.moveTo(to);
-            board.set(to, toCell(moverRole));
-        } else if(moverRole==Role.PREY && target==CellContent.FOOD) {
-            mover.addScore(3); deltaPrey+=3;
-            mover.moveTo(to);
-            board.set(to, CellContent.PREY);
-            respawnFood();
-        } else if(moverRole==Role.PREDATOR && target==CellContent.PREY) {
-            mover.addScore(3); deltaPred+=3;
-            mover.moveTo(to);
-            board.set(to, CellContent.PREDATOR);
-            state.getPrey().addScore(-1); deltaPrey-=1;
-            respawnAnimal(state.getPrey());
-        } else if(moverRole==Role.APEX && (target==CellContent.PREDATOR || target==CellContent.PREY)) {
-            mover.addScore(1); deltaApex+=1;
-            mover.moveTo(to);
-            board.set(to, CellContent.APEX);
-            if(target==CellContent.PREDATOR) {
-                state.getPredator().addScore(-1); deltaPred-=1;
-                respawnAnimal(state.getPredator());
+        int[] delta=new int[Role.values().length];
+        Entity respawned=null;
+
+        mover.moveTo(to);
+        board.set(to, toCell(moverRole));
+        if(target!=CellContent.EMPTY) {
+            int self=rules.scoreSelf(moverRole, target);
+            mover.addScore(self);
+            delta[moverRole.ordinal()]+=self;
+            if(target==CellContent.FOOD) {
+                respawnFood();
+                respawned=state.getFood();
             } else {
-                state.getPrey().addScore(-1); deltaPrey-=1;
-                respawnAnimal(state.getPrey());
+                Animal victim=getAnimal(CELL_ROLES[target.ordinal()]);
+                int lost=rules.scoreVictim(moverRole, target);
+                victim.addScore(lost);
+                delta[victim.getRole().ordinal()]+=lost;
+                stats.captured();
+                respawnAnimal(victim);
+                respawned=victim;
             }
         }
 
-        logger.log("MOVE role="+moverRole+" from="+from+" to="+to+" target="+target);
-        if(deltaApex!=0) logger.log("SCORE role=APEX delta="+formatDelta(deltaApex));
-        if(deltaPred!=0) logger.log("SCORE role=PREDATOR delta="+formatDelta(deltaPred));
-        if(deltaPrey!=0) logger.log("SCORE role=PREY delta="+formatDelta(deltaPrey));
+        stats.moved();
+        boolean observed=observed();
+        if(observed) {
+            emit(new GameEvent.Moved(moverRole, kind, from, to, target, round));
+            for(Role r : SCORE_ORDER) {
+                if(delta[r.ordinal()]!=0) emit(new GameEvent.Scored(r, delta[r.ordinal()]));
+            }
+            if(respawned!=null) {
+                Role role=(respawned instanceof Animal) ? ((Animal)respawned).getRole() : null;
+                emit(new GameEvent.Respawned(respawned.getName(), role, respawned.getPos()));
+            }
+        }
 
         if(endTurn) {
             boolean roundEnded=tm.endTurn();
             if(roundEnded) cooldownTick();
             if(kind==MoveKind.ABILITY) {
-                int cd=abilityCooldownFor(state.getEra(), moverRole);
+                stats.abilityUsed();
+                int cd=rules.cooldown(moverRole);
                 if(cd>0) {
                     mover.setAbilityCooldown(cd);
-                    logger.log("COOLDOWN role="+moverRole+" set="+cd);
+                    if(observed) emit(new GameEvent.CooldownSet(moverRole, cd));
                 }
             }
             if(roundEnded) {
-                logger.log("ROUND END");
-                if(!tm.isGameOver()) logger.log("ROUND BEGIN round="+tm.getRound());
+                stats.roundEnded();
+                if(observed) emit(new GameEvent.RoundEnded(round, tm.isGameOver()));
             }
-            if(tm.isGameOver()) logger.log("GAME OVER "+getWinnerText());
+            if(observed && tm.isGameOver()) emitGameOver();
         }
-        return true;
-    }
-
-    private boolean isAbilityMoveOk(Era era, Role role, Pos from, Pos to) {
-        int dr=Math.abs(to.getRow()-from.getRow());
-        int dc=Math.abs(to.getCol()-from.getCol());
-        int d=cheb(from, to);
-
-        boolean isLinearOrDiagonal=(dr==0 || dc==0 || dr==dc);
-
-        switch(era) {
-            case PAST:
-                if(role==Role.APEX) return d==2 && ((dr==0 || dc==0) || (dr==2 && dc==2));
-                if(role==Role.PREDATOR) return d==2 && (dr==0 || dc==0);
-                if(role==Role.PREY) return d==2;
-                return false;
-
-            case PRESENT:
-                if(role==Role.APEX) return d>=2 && d<=3;
-                if(role==Role.PREY) return d==2;
-                
-                if(role==Role.PREDATOR) {
-                    return d==2 && (dr==0 || dc==0) && isAdjacent(from, state.getApex().getPos());
-                }
-                return false;
-
-            case FUTURE:
-                if(role==Role.APEX) return d>=2 && d<=3;
-                
-                if(role==Role.PREDATOR) {
-                    return d==2 && isLinearOrDiagonal;
-                }
-                
-                if(role==Role.PREY) return d==3;
-                return false;
-        }
-        return false;
     }
 
     private boolean isAdjacent(Pos a, Pos b) { return cheb(a, b)==1; }
@@ -288,8 +441,8 @@ public class GameEngine {
             for(int dc=-1; dc<=1; dc++) {
                 if(dr==0 && dc==0) continue;
                 Pos mid=from.add(dr, dc);
-                if(board.inBounds(mid) && canEnter(Role.PREDATOR, board.get(mid))) {
-                     if(cheb(mid, to)==1 && canEnter(Role.PREDATOR, board.get(to))) return mid;
+                if(board.inBounds(mid) && canEnter(Role.PREDATOR, board.get(mid)) && canStand(Role.PREDATOR, mid)) {
+                     if(cheb(mid, to)==1 && canEnter(Role.PREDATOR, board.get(to)) && canStand(Role.PREDATOR, to)) return mid;
                 }
             }
         }
@@ -310,14 +463,70 @@ public class GameEngine {
         else if(tm.getCurrentTurn()==Role.PREY) preyAI.playTurn();
     }
 
-    public void loadFrom(GameState loadedState, TurnManager loadedTurnManager) {
+    /**
+     * Replaces the running game with a loaded one.
+     * @param loadedState The restored game state.
+     * @param loadedTurnManager The restored turn order.
+     * @throws IOException If the rules of the loaded era cannot be read.
+     */
+    public void loadFrom(GameState loadedState, TurnManager loadedTurnManager) throws IOException {
+        this.rules=RuleBook.getDefault().rules(loadedState.getEra());
         this.state=loadedState; this.tm=loadedTurnManager;
+        this.snapshot=null;
+        publish();
+        this.stats=new GameStats();
+        Metrics.track(stats);
+    }
+
+    /**
+     * Passes the current turn without moving, as the AIs do when they find no move.
+     * Unlike a SKIP move this does not tick cooldowns at the end of a round.
+     * @return True if the round has ended.
+     */
+    public boolean endTurn() {
+        boolean roundEnded=tm.endTurn();
+        publish();
+        return roundEnded;
+    }
+
+    /**
+     * Publishes an immutable snapshot of the current state for readers on other threads.
+     */
+    private void publish() {
+        if(!publishing) return;
+        GameSnapshot prev=snapshot;
+        Board board=state.getBoard();
+        CellContent[][] rows=board.snapshotRows(prev==null ? null : prev.rows());
+
+        long deltaBase=-1;
+        long[] delta=null;
+        if(prev!=null && prev.getBoardId()==board.getId()) {
+            deltaLength=0;
+            if(board.changesSince(prev.getBoardVersion(), this::recordDelta)) {
+                deltaBase=prev.getBoardVersion();
+                delta=Arrays.copyOf(deltaScratch, deltaLength);
+            }
+        }
+        snapshot=new GameSnapshot(++version, state, tm, rows, deltaBase, delta);
+        if(recording!=null) record(snapshot, prev==null);
+    }
+
+    private synchronized void record(GameSnapshot st, boolean restart) {
+        if(recording==null) return;
+        if(restart) recording.clear();
+        recording.add(st);
+    }
+
+    private void recordDelta(int row, int col, CellContent before, CellContent after) {
+        // A long, since the cell index of a board wider than 2896 no longer fits in 23 bits
+        long cell=(long)row*state.getBoard().getSize()+col;
+        deltaScratch[deltaLength++]=(cell<<8)|(before.ordinal()<<4)|after.ordinal();
     }
 
     private Pos pickRandomEmpty(Board board, Set<Pos> used) {
         while(true) {
             Pos p=new Pos(rng.nextInt(board.getSize()), rng.nextInt(board.getSize()));
-            if(board.isEmpty(p) && !used.contains(p)) { used.add(p); return p; }
+            if(board.isEmpty(p) && board.getTerrain(p)==Terrain.OPEN && !used.contains(p)) { used.add(p); return p; }
         }
     }
 
@@ -327,39 +536,49 @@ public class GameEngine {
         return state.getApex();
     }
 
-    private CellContent toCell(Role role) { return CellContent.valueOf(role.name()); }
+    private CellContent toCell(Role role) { return ROLE_CELLS[role.ordinal()]; }
     private int cheb(Pos a, Pos b) { return Math.max(Math.abs(a.getRow()-b.getRow()), Math.abs(a.getCol()-b.getCol())); }
     
     private void respawnFood() {
         Pos newPos=pickRandomEmpty(state.getBoard(), new HashSet<>());
         state.getFood().moveTo(newPos);
+        stats.respawned();
         state.getBoard().set(newPos, CellContent.FOOD);
     }
 
     private void respawnAnimal(Animal a) {
         Pos newPos=pickRandomEmpty(state.getBoard(), new HashSet<>());
         a.moveTo(newPos);
+        stats.respawned();
         state.getBoard().set(newPos, toCell(a.getRole()));
     }
 
-    private int abilityCooldownFor(Era era, Role role) {
-        if(era==Era.PAST) return 2; 
-        if(era==Era.PRESENT) { if(role==Role.APEX) return 3; if(role==Role.PREY) return 3; if(role==Role.PREDATOR) return 0; }
-        if(era==Era.FUTURE) { if(role==Role.APEX) return 3; if(role==Role.PREDATOR) return 2; if(role==Role.PREY) return 2; }
-        return 0;
+    private boolean observed() { return listeners.length!=0; }
+
+    private void emit(GameEvent e) {
+        for(GameEventListener l : listeners) l.onEvent(e);
     }
 
-    private String formatDelta(int d) { return (d>0 ? "+" : "")+d; }
+    private void emitGameOver() {
+        emit(new GameEvent.GameOver(state.getPrey().getScore(), state.getPredator().getScore(), state.getApex().getScore()));
+    }
 
     /**
      * Generates a string describing the winner and scores.
      * @return The game result text.
      */
     public String getWinnerText() {
-        int prey=state.getPrey().getScore();
-        int pred=state.getPredator().getScore();
-        int apex=state.getApex().getScore();
-        
+        return resultText(state.getPrey().getScore(), state.getPredator().getScore(), state.getApex().getScore());
+    }
+
+    /**
+     * Describes the winner for a set of final scores.
+     * @param prey The prey's score.
+     * @param pred The predator's score.
+     * @param apex The apex's score.
+     * @return The game result text.
+     */
+    public static String resultText(int prey, int pred, int apex) {
         int max=Math.max(apex, Math.max(prey, pred));
         
         List<String> winners=new ArrayList<>();
@@ -0,0 +1,208 @@
+package foodchain.core;
+
+import foodchain.board.Board;
+import foodchain.board.CellContent;
+import foodchain.board.TerrainMap;
+import foodchain.entities.Animal;
+import foodchain.entities.Entity;
+import foodchain.model.Era;
+import foodchain.model.Pos;
+import foodchain.model.Role;
+
+/**
+ * Immutable view of a game after a completed turn.
+ * The engine publishes one per turn through a volatile reference, so any thread
+ * can read a consistent state without locking. Board rows that did not change
+ * are shared with the previous snapshot.
+ */
+public final class GameSnapshot {
+
+    /**
+     * Immutable copy of one entity.
+     */
+    public static final class Piece {
+        private final String name;
+        private final Role role;
+        private final Pos pos;
+        private final int score;
+        private final int cooldown;
+
+        Piece(Entity e) {
+            this.name=e.getName();
+            this.pos=e.getPos();
+            if(e instanceof Animal) {
+                Animal a=(Animal)e;
+                this.role=a.getRole();
+                this.score=a.getScore();
+                this.cooldown=a.getAbilityCooldown();
+            } else {
+                this.role=null;
+                this.score=0;
+                this.cooldown=0;
+            }
+        }
+
+        Piece(String name, Role role, Pos pos, int score, int cooldown) {
+            this.name=name;
+            this.role=role;
+            this.pos=pos;
+            this.score=score;
+            this.cooldown=cooldown;
+        }
+
+        public String getName() { return name; }
+        /** @return The role, or null for the food. */
+        public Role getRole() { return role; }
+        public Pos getPos() { return pos; }
+        public int getScore() { return score; }
+        public int getAbilityCooldown() { return cooldown; }
+    }
+
+    private final long version;
+    private final Era era;
+    private final int size;
+    private final int round;
+    private final int totalRounds;
+    private final Role turn;
+    private final boolean gameOver;
+    private final Piece apex;
+    private final Piece predator;
+    private final Piece prey;
+    private final Piece food;
+    private final CellContent[][] rows;
+    private final TerrainMap terrain;
+    private final long boardId;
+    private final long boardVersion;
+    private final long deltaBase;
+    private final long[] delta;
+
+    /**
+     * @param delta Board changes since board version deltaBase, packed as cell&lt;&lt;8|before&lt;&lt;4|after, or null.
+     */
+    GameSnapshot(long version, GameState st, TurnManager tm, CellContent[][] rows, long deltaBase, long[] delta) {
+        this.version=version;
+        this.era=st.getEra();
+        this.size=st.getBoard().getSize();
+        this.round=tm.getRound();
+        this.totalRounds=tm.getTotalRounds();
+        this.turn=tm.getCurrentTurn();
+        this.gameOver=tm.isGameOver();
+        this.apex=new Piece(st.getApex());
+        this.predator=new Piece(st.getPredator());
+        this.prey=new Piece(st.getPrey());
+        this.food=new Piece(st.getFood());
+        this.rows=rows;
+        this.terrain=st.getBoard().getTerrainMap();
+        this.boardId=st.getBoard().getId();
+        this.boardVersion=st.getBoard().getVersion();
+        this.deltaBase=deltaBase;
+        this.delta=delta;
+    }
+
+    /**
+     * Rebuilds a snapshot decoded by {@link SnapshotCodec}.
+     * @param pieces The Prey, Predator, Apex and food, in that order.
+     */
+    GameSnapshot(long version, Era era, int round, int totalRounds, Role turn, boolean gameOver, Piece[] pieces,
+                 CellContent[][] rows, TerrainMap terrain, long boardId, long boardVersion, long deltaBase, long[] delta) {
+        this.version=version;
+        this.era=era;
+        this.size=rows.length;
+        this.round=round;
+        this.totalRounds=totalRounds;
+        this.turn=turn;
+        this.gameOver=gameOver;
+        this.prey=pieces[0];
+        this.predator=pieces[1];
+        this.apex=pieces[2];
+        this.food=pieces[3];
+        this.rows=rows;
+        this.terrain=terrain;
+        this.boardId=boardId;
+        this.boardVersion=boardVersion;
+        this.deltaBase=deltaBase;
+        this.delta=delta;
+    }
+
+    /**
+     * Sequence number of this snapshot; increases with every published turn.
+     * @return The version.
+     */
+    public long getVersion() { return version; }
+    public Era getEra() { return era; }
+    public int getSize() { return size; }
+    public int getRound() { return round; }
+    public int getTotalRounds() { return totalRounds; }
+    public Role getTurn() { return turn; }
+    public boolean isGameOver() { return gameOver; }
+    public Piece getApex() { return apex; }
+    public Piece getPredator() { return predator; }
+    public Piece getPrey() { return prey; }
+    public Piece getFood() { return food; }
+
+    /**
+     * Returns the piece playing a role.
+     * @param role The role to look up.
+     * @return The matching piece.
+     */
+    public Piece getAnimal(Role role) {
+        if(role==Role.APEX) return apex;
+        if(role==Role.PREDATOR) return predator;
+        return prey;
+    }
+
+    /**
+     * Generates a string describing the winner and scores.
+     * @return The game result text.
+     */
+    public String getWinnerText() {
+        return GameEngine.resultText(prey.getScore(), predator.getScore(), apex.getScore());
+    }
+
+    /**
+     * Reads a board cell as it was when the snapshot was taken.
+     * @param row The row index.
+     * @param col The column index.
+     * @return The cell content.
+     */
+    public CellContent get(int row, int col) {
+        return rows[row][col];
+    }
+
+    /** @return The terrain map of the board, or null for open ground. */
+    public TerrainMap getTerrain() { return terrain; }
+
+    public long getBoardId() { return boardId; }
+    public long getBoardVersion() { return boardVersion; }
+
+    /**
+     * Replays the board changes between an older snapshot and this one.
+     * Works when the older snapshot is the one published just before this one.
+     * @param older A snapshot the caller has already processed.
+     * @param visitor Receives each change, oldest first.
+     * @return False if the changes are not known; the caller must then re-read the board.
+     */
+    public boolean changesSince(GameSnapshot older, Board.ChangeVisitor visitor) {
+        if(older==null || older.boardId!=boardId) return false;
+        if(older.boardVersion==boardVersion) return true;
+        if(delta==null || older.boardVersion!=deltaBase) return false;
+        CellContent[] contents=CellContent.values();
+        for(long d : delta) {
+            long cell=d>>>8;
+            visitor.changed((int)(cell/size), (int)(cell%size), contents[(int)(d>>4)&15], contents[(int)d&15]);
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a board row is physically shared with another snapshot.
+     * @param other The other snapshot.
+     * @param row The row index.
+     * @return True if both snapshots reference the same row array.
+     */
+    public boolean sharesRow(GameSnapshot other, int row) {
+        return other!=null && other.size==size && other.rows[row]==rows[row];
+    }
+
+    CellContent[][] rows() { return rows; }
+}
@@ -47,6 +47,25 @@ public class GameState {
     public Animal getApex() { return apex; }
     public Food getFood() { return food; }
     
+    /**
+     * Creates an independent copy with its own board and entities.
+     * Used by searches that explore moves without touching the running game.
+     * @return The copy.
+     */
+    GameState copy() {
+        GameState c=new GameState(era, board.emptyCopy(), totalRounds);
+        c.round=round;
+        c.initEntities(copyOf(prey), copyOf(predator), copyOf(apex), new Food(food.getName(), food.getPos()));
+        return c;
+    }
+
+    private static Animal copyOf(Animal a) {
+        Animal c=new Animal(a.getName(), a.getRole(), a.getPos());
+        c.addScore(a.getScore());
+        c.setAbilityCooldown(a.getAbilityCooldown());
+        return c;
+    }
+
     /**
      * Places entities on the board and initializes their state.
      * @param prey The Prey entity.
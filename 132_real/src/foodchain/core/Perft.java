@@ -0,0 +1,220 @@
+package foodchain.core;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import foodchain.model.Era;
+import foodchain.model.GridSize;
+import foodchain.model.Pos;
+import foodchain.model.Role;
+
+/**
+ * Counts the leaves of the game tree to verify move generation and measure its speed.
+ *
+ * One ply is one turn. Every destination the side to move may choose is expanded:
+ * walks, abilities, SKIP (staying in place) and the Predator dash where the era has one.
+ * A respawn is resolved with a random source seeded from the position and the move,
+ * so the counts do not depend on traversal order or thread scheduling.
+ * A finished game has no moves.
+ *
+ * Usage: Perft [ERA|ALL] [depth] [verify|divide|parallel]
+ */
+public final class Perft {
+
+    /** Seed of the standard start positions. */
+    public static final long START_SEED=132L;
+    /** Round limit of the standard start positions. */
+    public static final int START_ROUNDS=10;
+
+    /**
+     * Reference leaf counts from {@link #standardStart(Era)}, indexed by era ordinal, then depth-1.
+     */
+    private static final long[][] REFERENCE={
+        { 20L, 220L, 2_420L, 30_237L, 316_476L, 3_183_907L },
+        { 20L, 380L, 10_260L, 128_214L, 1_394_090L, 18_709_165L },
+        { 19L, 247L, 6_669L, 90_521L, 1_080_013L, 14_256_999L },
+    };
+
+    private Perft() {}
+
+    /**
+     * Starts the reference game of an era: a Small board, {@value #START_ROUNDS} rounds,
+     * and chain and placement drawn from a Random seeded with {@value #START_SEED}.
+     * @param era The era to set up.
+     * @return A started engine without logging.
+     * @throws IOException If the era or rule file cannot be loaded.
+     */
+    public static GameEngine standardStart(Era era) throws IOException {
+        GameEngine e=new GameEngine(new Random(START_SEED), null);
+        e.startGame(new GameConfig(era, GridSize.SMALL, START_ROUNDS));
+        return e;
+    }
+
+    /**
+     * Returns the published leaf count of an era's standard start position.
+     * @param era The era.
+     * @param depth The depth, starting at 1.
+     * @return The expected count, or -1 if none is recorded for that depth.
+     */
+    public static long reference(Era era, int depth) {
+        long[] row=REFERENCE[era.ordinal()];
+        return (depth>=1 && depth<=row.length) ? row[depth-1] : -1;
+    }
+
+    /**
+     * Counts leaf nodes on the calling thread. The engine is not modified.
+     * @param engine The position to search from.
+     * @param depth The number of turns to expand.
+     * @return The leaf count.
+     */
+    public static long perft(GameEngine engine, int depth) {
+        if(depth<0) throw new IllegalArgumentException("depth must be >= 0");
+        return count(engine, depth);
+    }
+
+    /**
+     * Counts leaf nodes below each legal move of the side to move.
+     * @param engine The position to search from.
+     * @param depth The number of turns to expand, including the listed move.
+     * @return Leaf counts keyed by "KIND row,col", in generation order.
+     */
+    public static Map<String, Long> divide(GameEngine engine, int depth) {
+        if(depth<1) throw new IllegalArgumentException("depth must be >= 1");
+        Map<String, Long> out=new LinkedHashMap<>();
+        for(Pos to : engine.legalMoves()) {
+            out.put(label(engine, to), count(play(engine, to), depth-1));
+        }
+        return out;
+    }
+
+    /**
+     * Counts leaf nodes with a fork-join pool. Gives the same result as {@link #perft}.
+     * @param engine The position to search from.
+     * @param depth The number of turns to expand.
+     * @param pool The pool to run on.
+     * @return The leaf count.
+     */
+    public static long parallelPerft(GameEngine engine, int depth, ForkJoinPool pool) {
+        if(depth<0) throw new IllegalArgumentException("depth must be >= 0");
+        return pool.invoke(new Task(engine, depth));
+    }
+
+    /**
+     * Subtrees at least this deep are split across workers; smaller ones run inline.
+     */
+    private static final int SPLIT_DEPTH=3;
+
+    private static final class Task extends RecursiveTask<Long> {
+        private final GameEngine engine;
+        private final int depth;
+
+        Task(GameEngine engine, int depth) {
+            this.engine=engine;
+            this.depth=depth;
+        }
+
+        @Override
+        protected Long compute() {
+            if(depth<SPLIT_DEPTH) return count(engine, depth);
+            List<Task> subtasks=new ArrayList<>();
+            for(Pos to : engine.legalMoves()) subtasks.add(new Task(play(engine, to), depth-1));
+            long n=0;
+            for(Task t : invokeAll(subtasks)) n+=t.join();
+            return n;
+        }
+    }
+
+    private static long count(GameEngine engine, int depth) {
+        if(depth==0) return 1;
+        List<Pos> moves=engine.legalMoves();
+        if(depth==1) return moves.size();
+        long n=0;
+        for(Pos to : moves) n+=count(play(engine, to), depth-1);
+        return n;
+    }
+
+    private static String label(GameEngine engine, Pos to) {
+        Role role=engine.getTurnManager().getCurrentTurn();
+        String kind=(role==Role.PREDATOR && engine.dashMid(to)!=null) ? "DASH" : engine.getMoveKind(role, to).name();
+        return kind+" "+to.getRow()+","+to.getCol();
+    }
+
+    private static GameEngine play(GameEngine parent, Pos to) {
+        GameEngine child=parent.copyForSearch(new Random(seed(parent, to)));
+        Role role=parent.getTurnManager().getCurrentTurn();
+        if(!child.move(role, to)) {
+            throw new IllegalStateException("Generated move rejected by the engine: "+role+" "+label(parent, to));
+        }
+        return child;
+    }
+
+    /**
+     * Derives the respawn seed from everything that decides the position, plus the move.
+     */
+    private static long seed(GameEngine e, Pos to) {
+        GameState st=e.getState();
+        TurnManager tm=e.getTurnManager();
+        long h=START_SEED;
+        h=mix(h, st.getPrey().getPos().hashCode());
+        h=mix(h, st.getPredator().getPos().hashCode());
+        h=mix(h, st.getApex().getPos().hashCode());
+        h=mix(h, st.getFood().getPos().hashCode());
+        h=mix(h, st.getPrey().getAbilityCooldown()*31+st.getPredator().getAbilityCooldown()*7+st.getApex().getAbilityCooldown());
+        h=mix(h, tm.getRound()*3+tm.getCurrentTurn().ordinal());
+        return mix(h, to.getRow()*64+to.getCol());
+    }
+
+    private static long mix(long h, int v) {
+        h=(h^v)*0x9E3779B97F4A7C15L;
+        return h^(h>>>29);
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<Era> eras=(args.length>0 && !args[0].equalsIgnoreCase("ALL"))
+                ? List.of(Era.valueOf(args[0].toUpperCase(Locale.ROOT))) : List.of(Era.values());
+        int depth=args.length>1 ? Integer.parseInt(args[1]) : 5;
+        String mode=args.length>2 ? args[2].toLowerCase(Locale.ROOT) : "verify";
+
+        boolean failed=false;
+        ForkJoinPool pool=new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        for(Era era : eras) {
+            GameEngine e=standardStart(era);
+            switch(mode) {
+                case "divide": {
+                    long total=0;
+                    for(Map.Entry<String, Long> d : divide(e, depth).entrySet()) {
+                        System.out.println(d.getKey()+": "+d.getValue());
+                        total+=d.getValue();
+                    }
+                    System.out.println(era+" total="+total);
+                    break;
+                }
+                case "parallel": {
+                    long t0=System.nanoTime();
+                    long nodes=parallelPerft(e, depth, pool);
+                    double secs=(System.nanoTime()-t0)/1e9;
+                    System.out.printf(Locale.ROOT, "%-8s depth=%d nodes=%d %.2fs %.0f nodes/s (%d threads)%n",
+                            era, depth, nodes, secs, nodes/secs, pool.getParallelism());
+                    break;
+                }
+                case "verify": {
+                    for(int d=1;d<=depth;d++) {
+                        long t0=System.nanoTime();
+                        long nodes=perft(e, d);
+                        double secs=(System.nanoTime()-t0)/1e9;
+                        long ref=reference(era, d);
+                        String status=(ref<0) ? "no reference" : (ref==nodes) ? "ok" : "MISMATCH expected "+ref;
+                        if(ref>=0 && ref!=nodes) failed=true;
+                        System.out.printf(Locale.ROOT, "%-8s depth=%d nodes=%d %.0f nodes/s %s%n", era, d, nodes, nodes/Math.max(secs, 1e-9), status);
+                    }
+                    break;
+                }
+                default:
+                    throw new IllegalArgumentException("Unknown mode: "+mode);
+            }
+        }
+        if(failed) System.exit(1);
+    }
+}
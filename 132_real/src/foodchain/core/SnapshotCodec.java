@@ -0,0 +1,285 @@
+package foodchain.core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+import foodchain.board.CellContent;
+import foodchain.board.Terrain;
+import foodchain.board.TerrainMap;
+import foodchain.model.Era;
+import foodchain.model.Pos;
+import foodchain.model.Role;
+
+/**
+ * Binary encoding of snapshots for following a game from another process.
+ *
+ * A keyframe holds a whole snapshot: the pieces, the board and its terrain.
+ * A delta holds only what changed between two snapshots of the same board: the turn and round,
+ * the pieces that moved, respawned, scored or changed cooldown, and the changed cells.
+ * A delta applies only on top of the snapshot it was computed from; the receiver checks this.
+ * Changed cells are sent as an int row*size+col, so any board a keyframe can carry fits.
+ */
+public final class SnapshotCodec {
+
+    /** First byte of a keyframe message. */
+    public static final byte KEYFRAME=1;
+    /** First byte of a delta message. */
+    public static final byte DELTA=2;
+
+    private static final int POS=1;
+    private static final int SCORE=2;
+    private static final int COOLDOWN=4;
+    private static final int NAME=8;
+
+    private static final Era[] ERAS=Era.values();
+    private static final Role[] ROLES=Role.values();
+    private static final CellContent[] CONTENTS=CellContent.values();
+    private static final Terrain[] TERRAINS=Terrain.values();
+
+    // Decoded boards get ids of their own, below the ids of real boards
+    private static final AtomicLong remoteBoards=new AtomicLong();
+
+    private SnapshotCodec() {}
+
+    /**
+     * Encodes a whole snapshot.
+     * @param st The snapshot.
+     * @return The message.
+     * @throws IllegalArgumentException If the board is wider than {@link Short#MAX_VALUE}.
+     */
+    public static byte[] keyframe(GameSnapshot st) {
+        if(st.getSize()>Short.MAX_VALUE) throw new IllegalArgumentException("Board too large to stream: "+st.getSize());
+        ByteArrayOutputStream bytes=new ByteArrayOutputStream(64+2*st.getSize()*st.getSize());
+        DataOutputStream out=new DataOutputStream(bytes);
+        try {
+            int n=st.getSize();
+            out.writeByte(KEYFRAME);
+            out.writeLong(st.getVersion());
+            out.writeByte(st.getEra().ordinal());
+            out.writeShort(n);
+            out.writeShort(st.getRound());
+            out.writeShort(st.getTotalRounds());
+            out.writeByte(st.getTurn().ordinal());
+            out.writeBoolean(st.isGameOver());
+            TerrainMap terrain=st.getTerrain();
+            out.writeBoolean(terrain!=null);
+            if(terrain!=null) {
+                writeString(out, terrain.getName());
+                for(int r=0;r<n;r++) {
+                    for(int c=0;c<n;c++) out.writeByte(terrain.get(r, c).ordinal());
+                }
+            }
+            for(GameSnapshot.Piece p : pieces(st)) {
+                writeString(out, p.getName());
+                writePos(out, p.getPos());
+                out.writeInt(p.getScore());
+                out.writeByte(p.getAbilityCooldown());
+            }
+            for(int r=0;r<n;r++) {
+                for(int c=0;c<n;c++) out.writeByte(st.get(r, c).ordinal());
+            }
+        } catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Encodes the changes from one snapshot to a later one.
+     * @param from The snapshot the receiver holds.
+     * @param to The newer snapshot.
+     * @return The message, or null if the two are of different games and a keyframe is needed.
+     */
+    public static byte[] delta(GameSnapshot from, GameSnapshot to) {
+        if(from.getBoardId()!=to.getBoardId() || from.getSize()!=to.getSize() || from.getEra()!=to.getEra()) return null;
+        ByteArrayOutputStream bytes=new ByteArrayOutputStream(64);
+        DataOutputStream out=new DataOutputStream(bytes);
+        try {
+            out.writeByte(DELTA);
+            out.writeLong(from.getVersion());
+            out.writeLong(to.getVersion());
+            out.writeShort(to.getRound());
+            out.writeByte(to.getTurn().ordinal());
+            out.writeBoolean(to.isGameOver());
+
+            GameSnapshot.Piece[] a=pieces(from), b=pieces(to);
+            int[] flags=new int[4];
+            int mask=0;
+            for(int i=0;i<4;i++) {
+                if(!a[i].getName().equals(b[i].getName())) flags[i]|=NAME;
+                if(!same(a[i].getPos(), b[i].getPos())) flags[i]|=POS;
+                if(a[i].getScore()!=b[i].getScore()) flags[i]|=SCORE;
+                if(a[i].getAbilityCooldown()!=b[i].getAbilityCooldown()) flags[i]|=COOLDOWN;
+                if(flags[i]!=0) mask|=1<<i;
+            }
+            out.writeByte(mask);
+            for(int i=0;i<4;i++) {
+                if(flags[i]==0) continue;
+                out.writeByte(flags[i]);
+                if((flags[i]&NAME)!=0) writeString(out, b[i].getName());
+                if((flags[i]&POS)!=0) writePos(out, b[i].getPos());
+                if((flags[i]&SCORE)!=0) out.writeInt(b[i].getScore());
+                if((flags[i]&COOLDOWN)!=0) out.writeByte(b[i].getAbilityCooldown());
+            }
+
+            int n=to.getSize();
+            ByteArrayOutputStream cells=new ByteArrayOutputStream();
+            DataOutputStream cellOut=new DataOutputStream(cells);
+            int changed=0;
+            for(int r=0;r<n;r++) {
+                if(to.sharesRow(from, r)) continue;
+                for(int c=0;c<n;c++) {
+                    if(to.get(r, c)==from.get(r, c)) continue;
+                    cellOut.writeInt(r*n+c);
+                    cellOut.writeByte(to.get(r, c).ordinal());
+                    changed++;
+                }
+            }
+            out.writeInt(changed);
+            cells.writeTo(out);
+        } catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Applies a message.
+     * @param msg A keyframe or delta, from its first byte to its end.
+     * @param current The snapshot decoded last, or null.
+     * @return The new snapshot, or null if the message is a delta that does not follow current.
+     * @throws IllegalArgumentException If the message is malformed.
+     */
+    public static GameSnapshot decode(ByteBuffer msg, GameSnapshot current) {
+        try {
+            byte type=msg.get();
+            if(type==KEYFRAME) return decodeKeyframe(msg, current);
+            if(type==DELTA) return decodeDelta(msg, current);
+            throw new IllegalArgumentException("Unknown message type "+type);
+        } catch(BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated or malformed message", e);
+        }
+    }
+
+    private static GameSnapshot decodeKeyframe(ByteBuffer in, GameSnapshot current) {
+        long version=in.getLong();
+        Era era=ERAS[in.get()];
+        int n=in.getShort();
+        if(n<=0) throw new IllegalArgumentException("Bad board size "+n);
+        int round=in.getShort();
+        int totalRounds=in.getShort();
+        Role turn=ROLES[in.get()];
+        boolean gameOver=in.get()!=0;
+        TerrainMap terrain=null;
+        if(in.get()!=0) {
+            String name=readString(in);
+            Terrain[][] grid=new Terrain[n][n];
+            for(int r=0;r<n;r++) {
+                for(int c=0;c<n;c++) grid[r][c]=TERRAINS[in.get()];
+            }
+            terrain=TerrainMap.of(name, grid);
+            // Keep the map object of an unchanged board, so viewers need not rebuild it
+            TerrainMap old=(current==null) ? null : current.getTerrain();
+            if(old!=null && old.getName().equals(name) && old.format().equals(terrain.format())) terrain=old;
+        }
+        GameSnapshot.Piece[] pieces=new GameSnapshot.Piece[4];
+        for(int i=0;i<4;i++) {
+            String name=readString(in);
+            Pos pos=readPos(in);
+            int score=in.getInt();
+            int cooldown=in.get();
+            pieces[i]=new GameSnapshot.Piece(name, roleOf(i), pos, score, cooldown);
+        }
+        CellContent[][] rows=new CellContent[n][n];
+        for(int r=0;r<n;r++) {
+            for(int c=0;c<n;c++) rows[r][c]=CONTENTS[in.get()];
+        }
+        return new GameSnapshot(version, era, round, totalRounds, turn, gameOver, pieces, rows, terrain,
+                remoteBoards.decrementAndGet(), 0, -1, null);
+    }
+
+    private static GameSnapshot decodeDelta(ByteBuffer in, GameSnapshot current) {
+        long base=in.getLong();
+        if(current==null || current.getVersion()!=base) return null;
+        long version=in.getLong();
+        int round=in.getShort();
+        Role turn=ROLES[in.get()];
+        boolean gameOver=in.get()!=0;
+
+        GameSnapshot.Piece[] pieces=pieces(current).clone();
+        int mask=in.get();
+        for(int i=0;i<4;i++) {
+            if((mask&(1<<i))==0) continue;
+            int flags=in.get();
+            GameSnapshot.Piece p=pieces[i];
+            String name=((flags&NAME)!=0) ? readString(in) : p.getName();
+            Pos pos=((flags&POS)!=0) ? readPos(in) : p.getPos();
+            int score=((flags&SCORE)!=0) ? in.getInt() : p.getScore();
+            int cooldown=((flags&COOLDOWN)!=0) ? in.get() : p.getAbilityCooldown();
+            pieces[i]=new GameSnapshot.Piece(name, p.getRole(), pos, score, cooldown);
+        }
+
+        int n=current.getSize();
+        CellContent[][] rows=current.rows().clone();
+        boolean[] copied=new boolean[n];
+        int changed=in.getInt();
+        if(changed<0 || changed>in.remaining()) throw new IllegalArgumentException("Bad cell count "+changed);
+        long[] delta=new long[changed];
+        for(int k=0;k<changed;k++) {
+            int cell=in.getInt();
+            if(cell<0 || cell>=n*n) throw new IllegalArgumentException("Bad cell "+cell);
+            CellContent after=CONTENTS[in.get()];
+            int r=cell/n, c=cell%n;
+            if(!copied[r]) {
+                rows[r]=rows[r].clone();
+                copied[r]=true;
+            }
+            delta[k]=((long)cell<<8)|(rows[r][c].ordinal()<<4)|after.ordinal();
+            rows[r][c]=after;
+        }
+        return new GameSnapshot(version, current.getEra(), round, current.getTotalRounds(), turn, gameOver, pieces, rows,
+                current.getTerrain(), current.getBoardId(), current.getBoardVersion()+changed, current.getBoardVersion(), delta);
+    }
+
+    private static GameSnapshot.Piece[] pieces(GameSnapshot st) {
+        return new GameSnapshot.Piece[]{st.getPrey(), st.getPredator(), st.getApex(), st.getFood()};
+    }
+
+    private static Role roleOf(int piece) {
+        if(piece==0) return Role.PREY;
+        if(piece==1) return Role.PREDATOR;
+        return (piece==2) ? Role.APEX : null;
+    }
+
+    private static boolean same(Pos a, Pos b) {
+        return (a==null) ? b==null : a.equals(b);
+    }
+
+    private static void writePos(DataOutputStream out, Pos p) throws IOException {
+        out.writeShort(p==null ? -1 : p.getRow());
+        out.writeShort(p==null ? -1 : p.getCol());
+    }
+
+    private static Pos readPos(ByteBuffer in) {
+        int r=in.getShort(), c=in.getShort();
+        return (r<0) ? null : new Pos(r, c);
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] b=s.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(b.length);
+        out.write(b);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] b=new byte[in.getShort()&0xFFFF];
+        in.get(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,71 @@
+package foodchain.events;
+
+import foodchain.board.CellContent;
+import foodchain.core.GameEngine.MoveKind;
+import foodchain.model.Era;
+import foodchain.model.FoodChain;
+import foodchain.model.Pos;
+import foodchain.model.Role;
+
+/**
+ * Something that happened in a game, as reported by the engine to its listeners.
+ * Events are only created while at least one listener is attached.
+ */
+public sealed interface GameEvent {
+
+    /**
+     * A new game was set up and its first round begins.
+     * @param era The era being played.
+     * @param chain The food chain drawn for this game.
+     * @param round The first round number.
+     */
+    record GameStarted(Era era, FoodChain chain, int round) implements GameEvent {}
+
+    /**
+     * A role finished its move. A skip has kind SKIP and from equal to to.
+     * @param role The role that moved.
+     * @param kind How it moved.
+     * @param from Where it started.
+     * @param to Where it ended.
+     * @param target What occupied the destination before the move.
+     * @param round The round the move was made in.
+     */
+    record Moved(Role role, MoveKind kind, Pos from, Pos to, CellContent target, int round) implements GameEvent {}
+
+    /**
+     * A role's score changed.
+     * @param role The role whose score changed.
+     * @param delta The amount added, negative for a loss.
+     */
+    record Scored(Role role, int delta) implements GameEvent {}
+
+    /**
+     * A role used its ability and must wait before using it again.
+     * @param role The role that used the ability.
+     * @param cooldown The number of rounds until it is ready.
+     */
+    record CooldownSet(Role role, int cooldown) implements GameEvent {}
+
+    /**
+     * A round ended.
+     * @param round The round that ended.
+     * @param last True if no further round follows.
+     */
+    record RoundEnded(int round, boolean last) implements GameEvent {}
+
+    /**
+     * The game ended.
+     * @param preyScore Final score of the prey.
+     * @param predatorScore Final score of the predator.
+     * @param apexScore Final score of the apex.
+     */
+    record GameOver(int preyScore, int predatorScore, int apexScore) implements GameEvent {}
+
+    /**
+     * A captured animal or eaten food reappeared elsewhere.
+     * @param name The name of the piece.
+     * @param role The role of the animal, or null for the food.
+     * @param pos The new position.
+     */
+    record Respawned(String name, Role role, Pos pos) implements GameEvent {}
+}
@@ -0,0 +1,14 @@
+package foodchain.events;
+
+/**
+ * Receives the events of a game. Called on the thread that drives the engine.
+ */
+@FunctionalInterface
+public interface GameEventListener {
+
+    /**
+     * Handles one event.
+     * @param e The event.
+     */
+    void onEvent(GameEvent e);
+}
@@ -2,6 +2,7 @@ package foodchain.io;
 
 import foodchain.model.Era;
 import foodchain.model.FoodChain;
+import foodchain.metrics.Metrics;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -17,15 +18,43 @@ public class FoodChainLoader {
     /**
      * Parses the era-specific text file to create a list of valid food chains.
      * Expects files named like "past.txt", "present.txt".
+     * Callers that start many games should prefer {@link FoodChainRegistry}.
      * @param era The game era to load data for.
      * @return A list of FoodChain objects containing animal names.
      * @throws IOException If the file is missing or cannot be read.
      */
     public static List<FoodChain> load(Era era) throws IOException {
+        return new ArrayList<>(Arrays.asList(parse(fileFor(Path.of("data"), era))));
+    }
+
+    /**
+     * Resolves the text file that holds the chains of an era.
+     * @param dir The data directory.
+     * @param era The era to look up.
+     * @return The path of the era file (it may not exist).
+     */
+    static Path fileFor(Path dir, Era era) {
+        return dir.resolve(era.name().toLowerCase(Locale.ROOT)+".txt");
+    }
+
+    /**
+     * Parses a single era file into an array of food chains.
+     * @param file The era file to read.
+     * @return The chains in file order.
+     * @throws IOException If the file is missing or cannot be read.
+     */
+    static FoodChain[] parse(Path file) throws IOException {
+        long t0=Metrics.start();
+        try {
+            return readChains(file);
+        } finally {
+            Metrics.CHAIN_LOAD.stop(t0);
+        }
+    }
+
+    private static FoodChain[] readChains(Path file) throws IOException {
         List<FoodChain> list=new ArrayList<>();
-        
-        String filename=era.name().toLowerCase(Locale.ROOT)+".txt";
-        Path file=Path.of("data", filename);
+        String filename=file.getFileName().toString();
 
         if(!Files.exists(file)) {
             throw new IOException("File not found for era: "+filename);
@@ -35,7 +64,7 @@ public class FoodChainLoader {
             line=line.trim();
             if(line.isEmpty()) continue;
             
-            if(line.toLowerCase(Locale.ROOT).startsWith("food chain")) {
+            if(line.regionMatches(true, 0, "food chain", 0, 10)) {
                 String content=line.substring(line.indexOf(':')+1).trim();
                 String[] parts=content.split(",");
 
@@ -52,6 +81,6 @@ public class FoodChainLoader {
                 list.add(fc);
             }
         }
-        return list;
+        return list.toArray(new FoodChain[0]);
     }
-}
\ No newline at end of file
+}
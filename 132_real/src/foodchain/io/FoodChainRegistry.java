@@ -0,0 +1,201 @@
+package foodchain.io;
+
+import foodchain.model.Era;
+import foodchain.model.FoodChain;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Process-wide cache of the food chains defined in the era files.
+ * Each file is parsed once; a background watcher re-parses it when it changes on disk.
+ * Readers never lock: every era is published as one immutable snapshot.
+ */
+public final class FoodChainRegistry {
+
+    private static final FoodChainRegistry DEFAULT=new FoodChainRegistry(Path.of("data"));
+
+    private final Path dir;
+    private final AtomicReferenceArray<EraChains> eras=new AtomicReferenceArray<>(Era.values().length);
+    private volatile Thread watcher;
+
+    /**
+     * Creates a registry reading era files from the given directory.
+     * @param dir The data directory holding past.txt, present.txt and future.txt.
+     */
+    public FoodChainRegistry(Path dir) {
+        this.dir=dir;
+    }
+
+    /**
+     * Returns the shared registry that reads from the "data" directory.
+     * @return The process-wide registry.
+     */
+    public static FoodChainRegistry getDefault() { return DEFAULT; }
+
+    /**
+     * Returns the chains of an era, loading the era file on first use.
+     * @param era The era to look up.
+     * @return An unmodifiable list of chains in file order.
+     * @throws IOException If the era file is missing or cannot be read.
+     */
+    public List<FoodChain> chains(Era era) throws IOException {
+        return Collections.unmodifiableList(Arrays.asList(snapshot(era).chains));
+    }
+
+    /**
+     * Returns the number of chains defined for an era.
+     * @param era The era to look up.
+     * @return The chain count.
+     * @throws IOException If the era file is missing or cannot be read.
+     */
+    public int count(Era era) throws IOException {
+        return snapshot(era).chains.length;
+    }
+
+    /**
+     * Returns a single chain by its index in the era file.
+     * @param era The era to look up.
+     * @param index The zero-based chain index.
+     * @return The chain at that index.
+     * @throws IOException If the era file is missing or cannot be read.
+     */
+    public FoodChain chain(Era era, int index) throws IOException {
+        return snapshot(era).chains[index];
+    }
+
+    /**
+     * Finds the chain that contains an entity name (apex, predator, prey or food).
+     * @param era The era to look up.
+     * @param name The entity name, case-insensitive.
+     * @return The chain index, or -1 if no chain of the era uses that name.
+     * @throws IOException If the era file is missing or cannot be read.
+     */
+    public int indexOf(Era era, String name) throws IOException {
+        Integer i=snapshot(era).byName.get(name.toLowerCase(Locale.ROOT));
+        return i==null ? -1 : i;
+    }
+
+    /**
+     * Drops every cached era so the next access parses the files again.
+     */
+    public void invalidate() {
+        for(int i=0;i<eras.length();i++) eras.set(i, null);
+    }
+
+    private EraChains snapshot(Era era) throws IOException {
+        EraChains ec=eras.get(era.ordinal());
+        if(ec!=null) return ec;
+
+        ensureWatching();
+        ec=new EraChains(FoodChainLoader.parse(FoodChainLoader.fileFor(dir, era)));
+        // Another thread may have parsed the same file concurrently; keep whichever won.
+        if(!eras.compareAndSet(era.ordinal(), null, ec)) {
+            EraChains other=eras.get(era.ordinal());
+            if(other!=null) return other;
+        }
+        return ec;
+    }
+
+    /**
+     * Starts the watcher. The directory is registered here, before the caller reads a file,
+     * so a change made during the first parse is still reported.
+     */
+    private void ensureWatching() {
+        if(watcher!=null) return;
+        synchronized(this) {
+            if(watcher!=null || !Files.isDirectory(dir)) return;
+            WatchService ws;
+            try {
+                ws=register();
+            } catch(IOException e) {
+                System.err.println("Food chain watcher not started: "+e.getMessage());
+                return;
+            }
+            Thread t=new Thread(()->watchLoop(ws), "foodchain-registry-watch");
+            t.setDaemon(true);
+            watcher=t;
+            t.start();
+        }
+    }
+
+    private WatchService register() throws IOException {
+        WatchService ws=dir.getFileSystem().newWatchService();
+        try {
+            dir.register(ws, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            return ws;
+        } catch(IOException e) {
+            ws.close();
+            throw e;
+        }
+    }
+
+    private void watchLoop(WatchService ws) {
+        try(ws) {
+            while(true) {
+                WatchKey key=ws.take();
+                for(WatchEvent<?> ev : key.pollEvents()) {
+                    if(ev.kind()==StandardWatchEventKinds.OVERFLOW) { invalidate(); continue; }
+                    Path changed=(Path)ev.context();
+                    Era era=eraOf(changed);
+                    if(era!=null) reload(era);
+                }
+                if(!key.reset()) break;
+            }
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch(IOException e) {
+            System.err.println("Food chain watcher stopped: "+e.getMessage());
+        } finally {
+            watcher=null;
+        }
+    }
+
+    private void reload(Era era) {
+        Path file=FoodChainLoader.fileFor(dir, era);
+        if(!Files.exists(file)) {
+            eras.set(era.ordinal(), null);
+            return;
+        }
+        try {
+            eras.set(era.ordinal(), new EraChains(FoodChainLoader.parse(file)));
+        } catch(IOException | IllegalArgumentException e) {
+            // Editors often save in several steps; keep serving the last good version.
+            System.err.println("Keeping previous chains for "+era+": "+e.getMessage());
+        }
+    }
+
+    private static Era eraOf(Path fileName) {
+        String s=fileName.toString();
+        if(!s.endsWith(".txt")) return null;
+        String base=s.substring(0, s.length()-4).toUpperCase(Locale.ROOT);
+        for(Era e : Era.values()) {
+            if(e.name().equals(base)) return e;
+        }
+        return null;
+    }
+
+    /**
+     * Immutable parsed form of one era file.
+     */
+    private static final class EraChains {
+        final FoodChain[] chains;
+        final Map<String,Integer> byName;
+
+        EraChains(FoodChain[] chains) {
+            this.chains=chains;
+            Map<String,Integer> m=new HashMap<>();
+            for(int i=0;i<chains.length;i++) {
+                FoodChain fc=chains[i];
+                m.putIfAbsent(fc.getApexName().toLowerCase(Locale.ROOT), i);
+                m.putIfAbsent(fc.getPredatorName().toLowerCase(Locale.ROOT), i);
+                m.putIfAbsent(fc.getPreyName().toLowerCase(Locale.ROOT), i);
+                m.putIfAbsent(fc.getFoodName().toLowerCase(Locale.ROOT), i);
+            }
+            this.byName=Map.copyOf(m);
+        }
+    }
+}
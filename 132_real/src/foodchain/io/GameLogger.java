@@ -2,12 +2,21 @@ package foodchain.io;
 
 import java.io.IOException;
 import java.nio.file.*;
+import java.util.function.Consumer;
+
+import foodchain.core.GameEngine;
+import foodchain.core.GameEngine.MoveKind;
+import foodchain.events.GameEvent;
+import foodchain.events.GameEventListener;
+import foodchain.jfr.LogFlushEvent;
+import foodchain.metrics.Metrics;
 
 /**
  * Handles writing game events to a log file.
  * Appends new entries to the end of the file.
+ * Registered as an engine listener, it turns typed events into text only when they arrive.
  */
-public class GameLogger {
+public class GameLogger implements GameEventListener {
     private final Path file;
 
     /**
@@ -18,15 +27,61 @@ public class GameLogger {
         this.file=file;
     }
 
+    @Override
+    public void onEvent(GameEvent e) {
+        format(e, this::log);
+    }
+
+    /**
+     * Turns an event into log lines. Respawns are not part of the text log.
+     * @param e The event to describe.
+     * @param out Receives each line.
+     */
+    public static void format(GameEvent e, Consumer<String> out) {
+        if(e instanceof GameEvent.Moved) {
+            GameEvent.Moved m=(GameEvent.Moved)e;
+            if(m.kind()==MoveKind.SKIP) out.accept("SKIP TURN role="+m.role());
+            else out.accept("MOVE role="+m.role()+" from="+m.from()+" to="+m.to()+" target="+m.target());
+        } else if(e instanceof GameEvent.Scored) {
+            GameEvent.Scored s=(GameEvent.Scored)e;
+            out.accept("SCORE role="+s.role()+" delta="+(s.delta()>0 ? "+" : "")+s.delta());
+        } else if(e instanceof GameEvent.CooldownSet) {
+            GameEvent.CooldownSet c=(GameEvent.CooldownSet)e;
+            out.accept("COOLDOWN role="+c.role()+" set="+c.cooldown());
+        } else if(e instanceof GameEvent.RoundEnded) {
+            GameEvent.RoundEnded r=(GameEvent.RoundEnded)e;
+            out.accept("ROUND END");
+            if(!r.last()) out.accept("ROUND BEGIN round="+(r.round()+1));
+        } else if(e instanceof GameEvent.GameOver) {
+            GameEvent.GameOver g=(GameEvent.GameOver)e;
+            out.accept("GAME OVER "+GameEngine.resultText(g.preyScore(), g.predatorScore(), g.apexScore()));
+        } else if(e instanceof GameEvent.GameStarted) {
+            GameEvent.GameStarted g=(GameEvent.GameStarted)e;
+            out.accept("GAME START era="+g.era()+" chain="+g.chain());
+            out.accept("ROUND BEGIN round="+g.round());
+        }
+    }
+
     /**
      * Writes a message to the log file followed by a new line.
      * @param msg The message to record.
      */
     public void log(String msg) {
-                try {
+        long t0=Metrics.start();
+        LogFlushEvent ev=new LogFlushEvent();
+        ev.begin();
+        try {
             Files.writeString(file,msg+System.lineSeparator(),StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
         } catch (IOException e) {
             throw new RuntimeException(e);
+        } finally {
+            Metrics.LOG_WRITE.stop(t0);
+            ev.end();
+            if(ev.shouldCommit()) {
+                ev.path=file.toString();
+                ev.characters=msg.length()+System.lineSeparator().length();
+                ev.commit();
+            }
         }
     }
 }
\ No newline at end of file
@@ -8,11 +8,15 @@ import java.nio.file.Path;
 import java.util.*;
 
 import foodchain.board.Board;
+import foodchain.board.TerrainMap;
 import foodchain.core.GameEngine;
+import foodchain.core.GameSnapshot;
 import foodchain.core.GameState;
 import foodchain.core.TurnManager;
 import foodchain.entities.Animal;
 import foodchain.entities.Food;
+import foodchain.jfr.PersistenceEvent;
+import foodchain.metrics.Metrics;
 import foodchain.model.Era;
 import foodchain.model.GridSize;
 import foodchain.model.Pos;
@@ -32,18 +36,41 @@ public class GameStateSerializer {
      * @throws IOException If writing fails.
      */
     public static void save(Path file, GameEngine engine) throws IOException {
+        save(file, engine.getSnapshot());
+    }
+
+    /**
+     * Saves a published snapshot to a file.
+     * Does not touch the engine, so it can run on a background thread while play continues.
+     * @param file The destination file path.
+     * @param snap The snapshot to save.
+     * @throws IOException If writing fails.
+     */
+    public static void save(Path file, GameSnapshot snap) throws IOException {
+        long t0=Metrics.start();
+        PersistenceEvent ev=new PersistenceEvent();
+        ev.begin();
+        boolean ok=false;
+        try {
+            write(file, snap);
+            ok=true;
+        } finally {
+            Metrics.SAVE.stop(t0);
+            commit(ev, "save", file, ok);
+        }
+    }
+
+    private static void write(Path file, GameSnapshot st) throws IOException {
         Path parent=file.getParent();
         if(parent!=null) Files.createDirectories(parent);
 
         try(BufferedWriter w=Files.newBufferedWriter(file)) {
-            GameState st=engine.getState();
-            TurnManager tm=engine.getTurnManager();
-
             w.write("ERA="+st.getEra()); w.newLine();
-            w.write("GRIDSIZE="+GridSize.fromSize(st.getBoard().getSize())); w.newLine();
-            w.write("TOTALROUNDS="+tm.getTotalRounds()); w.newLine();
-            w.write("TURN="+tm.getCurrentTurn()); w.newLine();
-            w.write("ROUND="+tm.getRound()); w.newLine();
+            w.write("GRIDSIZE="+GridSize.fromSize(st.getSize())); w.newLine();
+            w.write("TOTALROUNDS="+st.getTotalRounds()); w.newLine();
+            w.write("TURN="+st.getTurn()); w.newLine();
+            w.write("ROUND="+st.getRound()); w.newLine();
+            if(st.getTerrain()!=null) { w.write("TERRAIN="+st.getTerrain().getName()); w.newLine(); }
 
             writeAnimal(w, st.getApex());
             writeAnimal(w, st.getPredator());
@@ -61,6 +88,30 @@ public class GameStateSerializer {
      * @throws InvalidSaveFormatException If the file content is corrupted.
      */
     public static void load(Path file, GameEngine engine) throws IOException {
+        long t0=Metrics.start();
+        PersistenceEvent ev=new PersistenceEvent();
+        ev.begin();
+        boolean ok=false;
+        try {
+            read(file, engine);
+            ok=true;
+        } finally {
+            Metrics.LOAD.stop(t0);
+            commit(ev, "load", file, ok);
+        }
+    }
+
+    private static void commit(PersistenceEvent ev, String op, Path file, boolean ok) {
+        ev.end();
+        if(ev.shouldCommit()) {
+            ev.operation=op;
+            ev.path=file.toString();
+            ev.success=ok;
+            ev.commit();
+        }
+    }
+
+    private static void read(Path file, GameEngine engine) throws IOException {
         List<String> lines;
         try {
             lines=Files.readAllLines(file);
@@ -88,6 +139,17 @@ public class GameStateSerializer {
         int round=parseInt(require(header,"ROUND"),"ROUND");
 
         Board board=new Board(gs.getSize());
+        String terrainName=header.get("TERRAIN");
+        if(terrainName!=null) {
+            TerrainMap terrain;
+            try {
+                terrain=TerrainBook.getDefault().map(terrainName);
+            } catch(IOException | IllegalArgumentException e) {
+                throw new InvalidSaveFormatException("Cannot load terrain map "+terrainName+": "+e.getMessage(), e);
+            }
+            if(terrain.getSize()!=gs.getSize()) throw new InvalidSaveFormatException("Terrain map "+terrainName+" does not fit GRIDSIZE="+gs);
+            board=new Board(terrain);
+        }
         GameState st=new GameState(era, board, totalRounds);
 
         Map<String,String> apexM=null,predM=null,preyM=null,foodM=null;
@@ -134,7 +196,7 @@ public class GameStateSerializer {
         catch(Exception e) { throw new InvalidSaveFormatException("Invalid enum for "+where+": "+s, e); }
     }
 
-    private static void writeAnimal(BufferedWriter w, Animal a) throws IOException {
+    private static void writeAnimal(BufferedWriter w, GameSnapshot.Piece a) throws IOException {
         Pos p=a.getPos();
         w.write(a.getRole()+",name="+a.getName()
                 +",score="+a.getScore()
@@ -144,7 +206,7 @@ public class GameStateSerializer {
         w.newLine();
     }
 
-    private static void writeFood(BufferedWriter w, Food f) throws IOException {
+    private static void writeFood(BufferedWriter w, GameSnapshot.Piece f) throws IOException {
         Pos p=f.getPos();
         w.write("FOOD,name="+f.getName()
                 +",row="+p.getRow()
@@ -0,0 +1,400 @@
+package foodchain.io;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import foodchain.model.Era;
+import foodchain.model.Role;
+
+/**
+ * Reads text game logs as written by {@link GameLogger} and gathers {@link LogStats}.
+ *
+ * The file is memory-mapped and cut into chunks that each begin at a "GAME START" line,
+ * so every game is parsed by exactly one worker. Workers copy their chunk block by block into
+ * one reusable byte array and parse it byte by byte without creating a String per line;
+ * a chain name becomes a String only the first time a worker sees it. The per-chunk results are merged at the end.
+ *
+ * Usage: LogAnalyzer [log file] [threads]
+ */
+public final class LogAnalyzer {
+
+    private static final byte[] GAME_START="GAME START ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CHAIN=" chain=".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PREY_SCORE="prey=".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PREDATOR_SCORE="predator=".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] APEX_SCORE="apex=".getBytes(StandardCharsets.US_ASCII);
+
+    private static final long MIN_CHUNK=1L<<20;
+    private static final long MAX_CHUNK=1L<<28;
+    private static final int SEARCH_WINDOW=1<<16;
+    private static final int BLOCK=1<<20;
+
+    private static final int PREY=Role.PREY.ordinal();
+    private static final int PREDATOR=Role.PREDATOR.ordinal();
+    private static final int APEX=Role.APEX.ordinal();
+    private static final int FOOD=-2;
+    private static final int EMPTY=-1;
+
+    private LogAnalyzer() {}
+
+    /**
+     * Analyzes a log file in parallel.
+     * @param file The log file.
+     * @param pool The pool that parses the chunks.
+     * @return The merged statistics.
+     * @throws IOException If the file cannot be read.
+     */
+    public static LogStats analyze(Path file, ForkJoinPool pool) throws IOException {
+        try(FileChannel ch=FileChannel.open(file, StandardOpenOption.READ)) {
+            long size=ch.size();
+            long[] bounds=boundaries(ch, size, pool.getParallelism());
+            List<Callable<LogStats>> tasks=new ArrayList<>();
+            for(int i=0;i+1<bounds.length;i++) {
+                long start=bounds[i], len=bounds[i+1]-bounds[i];
+                if(len>Integer.MAX_VALUE) throw new IOException("No GAME START line within 2 GB after offset "+start);
+                tasks.add(()->{
+                    Parser p=new Parser();
+                    p.parse(ch.map(FileChannel.MapMode.READ_ONLY, start, len));
+                    return p.result();
+                });
+            }
+            LogStats out=new LogStats();
+            for(Future<LogStats> f : pool.invokeAll(tasks)) {
+                try {
+                    out.merge(f.get());
+                } catch(ExecutionException e) {
+                    if(e.getCause() instanceof IOException) throw (IOException)e.getCause();
+                    throw new IllegalStateException("Log analysis failed", e.getCause());
+                }
+            }
+            return out;
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while analyzing "+file, e);
+        }
+    }
+
+    /**
+     * Picks chunk starts: offset 0, then the first GAME START line after each multiple of the target size.
+     */
+    private static long[] boundaries(FileChannel ch, long size, int workers) throws IOException {
+        long target=Math.max(MIN_CHUNK, Math.min(MAX_CHUNK, size/Math.max(1, workers*4L)));
+        List<Long> out=new ArrayList<>();
+        out.add(0L);
+        for(long b=target;b<size;b+=target) {
+            long last=out.get(out.size()-1);
+            if(b<=last) continue;
+            long p=findGameStart(ch, b, size);
+            if(p<0) break;
+            if(p>last) out.add(p);
+        }
+        out.add(size);
+        long[] r=new long[out.size()];
+        for(int i=0;i<r.length;i++) r[i]=out.get(i);
+        return r;
+    }
+
+    /**
+     * Returns the offset of the first line at or after from that starts with "GAME START ", or -1.
+     */
+    private static long findGameStart(FileChannel ch, long from, long size) throws IOException {
+        long at=from;
+        while(at<size) {
+            // Map one byte before the window to see whether its first byte starts a line.
+            long base=at-1;
+            long len=Math.min(size-base, SEARCH_WINDOW+GAME_START.length+1L);
+            MappedByteBuffer m=ch.map(FileChannel.MapMode.READ_ONLY, base, len);
+            int limit=(int)Math.min(len, SEARCH_WINDOW+1L);
+            for(int i=1;i<limit;i++) {
+                if(m.get(i-1)=='\n' && startsWith(m, i, (int)len, GAME_START)) return base+i;
+            }
+            at+=SEARCH_WINDOW;
+        }
+        return -1;
+    }
+
+    private static boolean startsWith(MappedByteBuffer b, int at, int end, byte[] pat) {
+        if(at+pat.length>end) return false;
+        for(int k=0;k<pat.length;k++) {
+            if(b.get(at+k)!=pat[k]) return false;
+        }
+        return true;
+    }
+
+    private static int indexOf(byte[] b, int from, int end, byte[] pat) {
+        outer:
+        for(int i=from;i+pat.length<=end;i++) {
+            for(int k=0;k<pat.length;k++) {
+                if(b[i+k]!=pat[k]) continue outer;
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Parses one chunk. Keeps the state of the game in progress in plain fields.
+     */
+    private static final class Parser {
+        private final LogStats stats=new LogStats();
+        private final ChainNames names=new ChainNames();
+        private final List<LogStats.Group[]> groups=new ArrayList<>();
+
+        private boolean inGame;
+        private int era;
+        private int chain;
+        private int round;
+        private int firstCapture;
+        private int food;
+        private final int[] captures=new int[3];
+        private final int[] abilities=new int[3];
+        // Read position of nextInt
+        private int at;
+
+        void parse(MappedByteBuffer m) {
+            int n=m.limit();
+            byte[] b=new byte[BLOCK];
+            int have=0;
+            int read=0;
+            while(read<n) {
+                if(have==b.length) b=Arrays.copyOf(b, b.length*2); // a line longer than the buffer
+                int k=Math.min(b.length-have, n-read);
+                m.get(read, b, have, k);
+                read+=k;
+                have+=k;
+                int done=lines(b, have, read==n);
+                System.arraycopy(b, done, b, 0, have-done);
+                have-=done;
+            }
+            stats.bytes+=n;
+            if(inGame) stats.unfinished++;
+            inGame=false;
+        }
+
+        /**
+         * Handles every complete line in b[0, n), plus the unterminated tail when last is set.
+         * @return The number of bytes consumed.
+         */
+        private int lines(byte[] b, int n, boolean last) {
+            int i=0;
+            while(i<n) {
+                int eol=i;
+                while(eol<n && b[eol]!='\n') eol++;
+                if(eol==n && !last) break;
+                int end=(eol>i && b[eol-1]=='\r') ? eol-1 : eol;
+                if(end>i) line(b, i, end);
+                i=eol+1;
+            }
+            return Math.min(i, n);
+        }
+
+        LogStats result() { return stats; }
+
+        private void line(byte[] b, int s, int e) {
+            byte c0=b[s];
+            if(c0=='M') {
+                if(!inGame || e-s<16) return;
+                int role=role(b, s+10);
+                // "from=(r,c) to=(r,c)": only an ability moves two or more cells; a dash is logged as two single steps
+                at=s+10;
+                int fr=nextInt(b, e), fc=nextInt(b, e), tr=nextInt(b, e), tc=nextInt(b, e);
+                if(Math.max(Math.abs(tr-fr), Math.abs(tc-fc))>=2) abilities[role]++;
+                int target=target(b, lastEquals(b, s, e)+1);
+                if(target==FOOD) {
+                    food++;
+                } else if(target!=EMPTY) {
+                    captures[role]++;
+                    if(firstCapture<0) firstCapture=round;
+                }
+            } else if(c0=='R') {
+                if(inGame && e-s>18 && b[s+6]=='B') round=parseInt(b, s+18, e);
+            } else if(c0=='G' && e-s>10) {
+                if(b[s+5]=='S') gameStart(b, s, e);
+                else if(b[s+5]=='O' && inGame) gameOver(b, s, e);
+            }
+        }
+
+        private void gameStart(byte[] b, int s, int e) {
+            if(inGame) stats.unfinished++;
+            inGame=false;
+            int p=s+15; // after "GAME START era="
+            if(p>=e) return;
+            byte c=b[p];
+            if(c=='F') era=Era.FUTURE.ordinal();
+            else if(c=='P' && p+1<e && b[p+1]=='A') era=Era.PAST.ordinal();
+            else if(c=='P') era=Era.PRESENT.ordinal();
+            else return;
+            int ch=indexOf(b, p, e, CHAIN);
+            if(ch<0) return;
+            chain=names.code(b, ch+CHAIN.length, e);
+            inGame=true;
+            round=1;
+            firstCapture=-1;
+            food=0;
+            Arrays.fill(captures, 0);
+            Arrays.fill(abilities, 0);
+        }
+
+        private void gameOver(byte[] b, int s, int e) {
+            inGame=false;
+            LogStats.Group g=group(era, chain);
+            g.games++;
+            // Winners: "GAME OVER PREY & APEX wins | ..."
+            int p=s+10;
+            while(p<e && b[p]!='w') {
+                byte c=b[p];
+                if(c=='A') { g.wins[APEX]++; p+=4; }
+                else if(c=='P') { int r=role(b, p); g.wins[r]++; p+=(r==PREY) ? 4 : 8; }
+                else p++;
+            }
+            int y=indexOf(b, p, e, PREY_SCORE);
+            int d=indexOf(b, Math.max(p, y), e, PREDATOR_SCORE);
+            int a=indexOf(b, Math.max(p, d), e, APEX_SCORE);
+            if(y>=0) g.scores[PREY]+=parseInt(b, y+PREY_SCORE.length, e);
+            if(d>=0) g.scores[PREDATOR]+=parseInt(b, d+PREDATOR_SCORE.length, e);
+            if(a>=0) g.scores[APEX]+=parseInt(b, a+APEX_SCORE.length, e);
+            for(int r=0;r<3;r++) {
+                g.captures[r]+=captures[r];
+                g.abilities[r]+=abilities[r];
+            }
+            g.food+=food;
+            if(firstCapture>=0) {
+                g.gamesWithCapture++;
+                g.firstCaptureRoundSum+=firstCapture;
+            }
+        }
+
+        private LogStats.Group group(int era, int chain) {
+            while(groups.size()<=chain) groups.add(new LogStats.Group[Era.values().length]);
+            LogStats.Group[] row=groups.get(chain);
+            if(row[era]==null) row[era]=stats.group(Era.values()[era], names.name(chain));
+            return row[era];
+        }
+
+        private static int role(byte[] b, int p) {
+            if(b[p]=='A') return APEX;
+            return b[p+3]=='Y' ? PREY : PREDATOR;
+        }
+
+        private static int target(byte[] b, int p) {
+            byte c=b[p];
+            if(c=='E') return EMPTY;
+            if(c=='F') return FOOD;
+            return role(b, p);
+        }
+
+        private static int lastEquals(byte[] b, int s, int e) {
+            for(int i=e-1;i>=s;i--) {
+                if(b[i]=='=') return i;
+            }
+            return s;
+        }
+
+        /**
+         * Reads the next run of digits at or after {@link #at} and moves past it.
+         */
+        private int nextInt(byte[] b, int e) {
+            int p=at;
+            while(p<e && (b[p]<'0' || b[p]>'9')) p++;
+            int v=0;
+            for(;p<e && b[p]>='0' && b[p]<='9';p++) v=v*10+(b[p]-'0');
+            at=p;
+            return v;
+        }
+
+        private static int parseInt(byte[] b, int p, int e) {
+            boolean neg=false;
+            if(p<e && (b[p]=='-' || b[p]=='+')) { neg=b[p]=='-'; p++; }
+            int v=0;
+            while(p<e) {
+                byte c=b[p];
+                if(c<'0' || c>'9') break;
+                v=v*10+(c-'0');
+                p++;
+            }
+            return neg ? -v : v;
+        }
+    }
+
+    /**
+     * Maps the bytes of a chain name to a small code without decoding them,
+     * using an open-addressing table keyed by the raw bytes.
+     */
+    private static final class ChainNames {
+        private byte[][] keys=new byte[64][];
+        private int[] codes=new int[64];
+        private final List<String> names=new ArrayList<>();
+
+        int code(byte[] b, int s, int e) {
+            int h=1;
+            for(int i=s;i<e;i++) h=31*h+b[i];
+            int mask=keys.length-1;
+            for(int slot=h&mask;;slot=(slot+1)&mask) {
+                byte[] k=keys[slot];
+                if(k==null) break;
+                if(k.length==e-s && same(k, b, s)) return codes[slot];
+            }
+            byte[] k=new byte[e-s];
+            for(int i=0;i<k.length;i++) k[i]=b[s+i];
+            int code=names.size();
+            names.add(new String(k, StandardCharsets.UTF_8));
+            if(names.size()*2>keys.length) grow();
+            put(k, code);
+            return code;
+        }
+
+        String name(int code) { return names.get(code); }
+
+        private void put(byte[] k, int code) {
+            int h=1;
+            for(byte x : k) h=31*h+x;
+            int mask=keys.length-1;
+            int slot=h&mask;
+            while(keys[slot]!=null) slot=(slot+1)&mask;
+            keys[slot]=k;
+            codes[slot]=code;
+        }
+
+        private void grow() {
+            byte[][] oldKeys=keys;
+            int[] oldCodes=codes;
+            keys=new byte[oldKeys.length*2][];
+            codes=new int[oldKeys.length*2];
+            for(int i=0;i<oldKeys.length;i++) {
+                if(oldKeys[i]!=null) put(oldKeys[i], oldCodes[i]);
+            }
+        }
+
+        private static boolean same(byte[] k, byte[] b, int s) {
+            for(int i=0;i<k.length;i++) {
+                if(k[i]!=b[s+i]) return false;
+            }
+            return true;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path file=Path.of(args.length>0 ? args[0] : "data/log.txt");
+        int threads=args.length>1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        ForkJoinPool pool=new ForkJoinPool(threads);
+        try {
+            long t0=System.nanoTime();
+            LogStats stats=analyze(file, pool);
+            double secs=(System.nanoTime()-t0)/1e9;
+            System.out.print(stats.format());
+            System.out.printf(Locale.ROOT, "%.1f MB in %.2f s (%.0f MB/s, %d threads)%n",
+                    stats.getBytes()/1e6, secs, stats.getBytes()/1e6/secs, threads);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package foodchain.io;
+
+import java.util.*;
+
+import foodchain.model.Era;
+import foodchain.model.Role;
+
+/**
+ * Per-game statistics gathered from text game logs, grouped by era and food chain.
+ * Only games that reached GAME OVER are counted; games cut off earlier are reported as unfinished.
+ */
+public final class LogStats {
+    private static final int ROLES=Role.values().length;
+
+    /**
+     * Totals over the finished games of one era and chain.
+     */
+    public static final class Group {
+        private final Era era;
+        private final String chain;
+        long games;
+        final long[] wins=new long[ROLES];
+        final long[] captures=new long[ROLES];
+        final long[] abilities=new long[ROLES];
+        final long[] scores=new long[ROLES];
+        long food;
+        long gamesWithCapture;
+        long firstCaptureRoundSum;
+
+        Group(Era era, String chain) {
+            this.era=era;
+            this.chain=chain;
+        }
+
+        void merge(Group o) {
+            games+=o.games;
+            for(int r=0;r<ROLES;r++) {
+                wins[r]+=o.wins[r];
+                captures[r]+=o.captures[r];
+                abilities[r]+=o.abilities[r];
+                scores[r]+=o.scores[r];
+            }
+            food+=o.food;
+            gamesWithCapture+=o.gamesWithCapture;
+            firstCaptureRoundSum+=o.firstCaptureRoundSum;
+        }
+
+        public Era getEra() { return era; }
+        public String getChain() { return chain; }
+        public long getGames() { return games; }
+        /** @return Share of games the role won, ties counting as a win for every tied role. */
+        public double winRate(Role role) { return ratio(wins[role.ordinal()], games); }
+        /** @return Animals the role captured per game. */
+        public double capturesPerGame(Role role) { return ratio(captures[role.ordinal()], games); }
+        /** @return Ability uses per game, counted from the MOVE lines that cover two or more cells. */
+        public double abilitiesPerGame(Role role) { return ratio(abilities[role.ordinal()], games); }
+        public double meanScore(Role role) { return ratio(scores[role.ordinal()], games); }
+        /** @return Food eaten by the Prey per game. */
+        public double foodPerGame() { return ratio(food, games); }
+        /** @return Share of games with at least one capture. */
+        public double captureRate() { return ratio(gamesWithCapture, games); }
+        /** @return Mean round of the first capture over games that had one, or NaN. */
+        public double meanFirstCaptureRound() { return gamesWithCapture==0 ? Double.NaN : (double)firstCaptureRoundSum/gamesWithCapture; }
+
+        private static double ratio(long a, long b) { return b==0 ? Double.NaN : (double)a/b; }
+    }
+
+    private final Map<String, Group> groups=new TreeMap<>();
+    long unfinished;
+    long bytes;
+
+    Group group(Era era, String chain) {
+        return groups.computeIfAbsent(era.ordinal()+"|"+chain, k->new Group(era, chain));
+    }
+
+    void merge(LogStats o) {
+        for(Group g : o.groups.values()) group(g.era, g.chain).merge(g);
+        unfinished+=o.unfinished;
+        bytes+=o.bytes;
+    }
+
+    /**
+     * @return The groups, ordered by era and then chain.
+     */
+    public Collection<Group> getGroups() { return Collections.unmodifiableCollection(groups.values()); }
+    public long getUnfinished() { return unfinished; }
+    public long getBytes() { return bytes; }
+
+    /**
+     * Adds up the groups of one era.
+     * @param era The era.
+     * @return A group with an empty chain name.
+     */
+    public Group total(Era era) {
+        Group t=new Group(era, "");
+        for(Group g : groups.values()) {
+            if(g.era==era) t.merge(g);
+        }
+        return t;
+    }
+
+    /**
+     * Formats the statistics as a text table, one line per chain and one total line per era.
+     * @return The report.
+     */
+    public String format() {
+        StringBuilder sb=new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%-8s %-45s %8s | %-17s | %-17s | %-17s | %5s %5s %6s%n",
+                "era", "chain", "games", "win% Y/P/A", "captures Y/P/A", "abilities Y/P/A", "food", "cap%", "first"));
+        for(Era era : Era.values()) {
+            for(Group g : groups.values()) {
+                if(g.era==era) line(sb, g, g.chain);
+            }
+            Group t=total(era);
+            if(t.games>0) line(sb, t, "(all)");
+        }
+        sb.append("unfinished games: ").append(unfinished).append(System.lineSeparator());
+        return sb.toString();
+    }
+
+    private static void line(StringBuilder sb, Group g, String chain) {
+        sb.append(String.format(Locale.ROOT, "%-8s %-45s %8d | %5.1f %5.1f %5.1f | %5.2f %5.2f %5.2f | %5.2f %5.2f %5.2f | %5.2f %5.1f %6.2f%n",
+                g.era, chain, g.games,
+                100*g.winRate(Role.PREY), 100*g.winRate(Role.PREDATOR), 100*g.winRate(Role.APEX),
+                g.capturesPerGame(Role.PREY), g.capturesPerGame(Role.PREDATOR), g.capturesPerGame(Role.APEX),
+                g.abilitiesPerGame(Role.PREY), g.abilitiesPerGame(Role.PREDATOR), g.abilitiesPerGame(Role.APEX),
+                g.foodPerGame(), 100*g.captureRate(), g.meanFirstCaptureRound()));
+    }
+}
@@ -0,0 +1,81 @@
+package foodchain.io;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import foodchain.board.TerrainMap;
+
+/**
+ * Loads terrain maps from the .map files of a directory (data/maps by default).
+ * Each map is parsed once and then shared read-only.
+ */
+public final class TerrainBook {
+
+    private static final TerrainBook DEFAULT=new TerrainBook(Path.of("data", "maps"));
+    private static final String SUFFIX=".map";
+
+    private final Path dir;
+    private final Map<String, TerrainMap> loaded=new ConcurrentHashMap<>();
+
+    /**
+     * Creates a book reading maps from the given directory.
+     * @param dir The directory holding the .map files.
+     */
+    public TerrainBook(Path dir) {
+        this.dir=dir;
+    }
+
+    /**
+     * Returns the book that reads from "data/maps".
+     * @return The shared book.
+     */
+    public static TerrainBook getDefault() { return DEFAULT; }
+
+    /**
+     * Lists the maps in the directory.
+     * @return The map names, sorted; empty if the directory does not exist.
+     * @throws IOException If the directory cannot be read.
+     */
+    public List<String> names() throws IOException {
+        List<String> out=new ArrayList<>();
+        if(!Files.isDirectory(dir)) return out;
+        try(DirectoryStream<Path> ds=Files.newDirectoryStream(dir, "*"+SUFFIX)) {
+            for(Path p : ds) {
+                String f=p.getFileName().toString();
+                out.add(f.substring(0, f.length()-SUFFIX.length()));
+            }
+        }
+        Collections.sort(out);
+        return out;
+    }
+
+    /**
+     * Returns a map by name, loading it on first use.
+     * @param name The file name without ".map".
+     * @return The map.
+     * @throws IOException If the file is missing or cannot be read.
+     * @throws IllegalArgumentException If the name is not a plain file name or the file is malformed.
+     */
+    public TerrainMap map(String name) throws IOException {
+        TerrainMap m=loaded.get(name);
+        if(m!=null) return m;
+        if(name.isEmpty() || name.contains("/") || name.contains("\\") || name.startsWith(".")) {
+            throw new IllegalArgumentException("Invalid terrain map name: "+name);
+        }
+        Path file=dir.resolve(name+SUFFIX);
+        List<String> lines;
+        try {
+            lines=Files.readAllLines(file);
+        } catch(NoSuchFileException e) {
+            throw new IOException("Terrain map not found: "+file, e);
+        }
+        m=TerrainMap.parse(name, lines, file.toString());
+        TerrainMap prev=loaded.putIfAbsent(name, m);
+        return prev!=null ? prev : m;
+    }
+}
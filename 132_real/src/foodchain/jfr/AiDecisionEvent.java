@@ -0,0 +1,19 @@
+package foodchain.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Flight Recorder event for one AI move decision, including the engine move it triggers.
+ */
+@Name("foodchain.AiDecision")
+@Label("AI Decision")
+@Category({"FoodChain", "AI"})
+@Description("A move chosen by an AI controller")
+@Threshold("1 ms")
+@StackTrace(false)
+public final class AiDecisionEvent extends Event {
+    @Label("Role") public String role;
+    @Label("Candidates Evaluated") public int candidates;
+    @Label("Chosen Move") public String chosen;
+    @Label("Pondered") @Description("Decided ahead of time while the human was thinking") public boolean pondered;
+}
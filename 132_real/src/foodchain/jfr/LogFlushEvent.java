@@ -0,0 +1,17 @@
+package foodchain.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Flight Recorder event for a write of game log lines to disk.
+ */
+@Name("foodchain.LogFlush")
+@Label("Log Flush")
+@Category({"FoodChain", "I/O"})
+@Description("Game log lines appended to the log file")
+@Threshold("1 ms")
+@StackTrace(false)
+public final class LogFlushEvent extends Event {
+    @Label("Path") public String path;
+    @Label("Characters") public long characters;
+}
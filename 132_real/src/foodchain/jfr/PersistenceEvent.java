@@ -0,0 +1,18 @@
+package foodchain.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Flight Recorder event for saving or loading a game file.
+ */
+@Name("foodchain.Persistence")
+@Label("Save/Load")
+@Category({"FoodChain", "I/O"})
+@Description("GameStateSerializer save or load")
+@Threshold("0 ms")
+@StackTrace(false)
+public final class PersistenceEvent extends Event {
+    @Label("Operation") public String operation;
+    @Label("Path") public String path;
+    @Label("Success") public boolean success;
+}
@@ -0,0 +1,16 @@
+package foodchain.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Flight Recorder event for a board repaint from a game state.
+ */
+@Name("foodchain.Render")
+@Label("Board Render")
+@Category({"FoodChain", "GUI"})
+@Description("BoardPanel.render of the current game state")
+@Threshold("5 ms")
+@StackTrace(false)
+public final class RenderEvent extends Event {
+    @Label("Board Size") public int boardSize;
+}
@@ -0,0 +1,22 @@
+package foodchain.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Flight Recorder event for a single piece move executed by the engine.
+ * Fields are only filled in when the event is going to be committed.
+ */
+@Name("foodchain.Turn")
+@Label("Turn")
+@Category({"FoodChain", "Engine"})
+@Description("A move executed by GameEngine")
+@Threshold("1 ms")
+@StackTrace(false)
+public final class TurnEvent extends Event {
+    @Label("Role") public String role;
+    @Label("Move Kind") public String kind;
+    @Label("From") public String from;
+    @Label("To") public String to;
+    @Label("Target") public String target;
+    @Label("Round") public int round;
+}
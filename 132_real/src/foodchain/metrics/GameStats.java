@@ -0,0 +1,25 @@
+package foodchain.metrics;
+
+/**
+ * Per-game gauges updated by the engine.
+ * There is a single writer (the engine); JMX readers only see volatile values.
+ */
+public final class GameStats implements GameStatsMXBean {
+    private volatile int roundsPlayed;
+    private volatile int captures;
+    private volatile int abilityUses;
+    private volatile int respawns;
+    private volatile int moves;
+
+    public void roundEnded() { roundsPlayed++; }
+    public void captured() { captures++; }
+    public void abilityUsed() { abilityUses++; }
+    public void respawned() { respawns++; }
+    public void moved() { moves++; }
+
+    @Override public int getRoundsPlayed() { return roundsPlayed; }
+    @Override public int getCaptures() { return captures; }
+    @Override public int getAbilityUses() { return abilityUses; }
+    @Override public int getRespawns() { return respawns; }
+    @Override public int getMoves() { return moves; }
+}
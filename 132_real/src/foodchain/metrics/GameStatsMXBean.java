@@ -0,0 +1,12 @@
+package foodchain.metrics;
+
+/**
+ * JMX view of the gauges of a single game.
+ */
+public interface GameStatsMXBean {
+    int getRoundsPlayed();
+    int getCaptures();
+    int getAbilityUses();
+    int getRespawns();
+    int getMoves();
+}
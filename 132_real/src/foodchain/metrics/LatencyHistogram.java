@@ -0,0 +1,81 @@
+package foodchain.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with power-of-two nanosecond buckets.
+ * Percentiles are reported as the upper edge of the matching bucket.
+ */
+public final class LatencyHistogram implements LatencyMXBean {
+    private static final int BUCKETS=64;
+
+    private final String name;
+    private final AtomicLongArray buckets=new AtomicLongArray(BUCKETS);
+    private final LongAdder count=new LongAdder();
+    private final LongAdder sum=new LongAdder();
+    private final AtomicLong max=new AtomicLong();
+
+    LatencyHistogram(String name) {
+        this.name=name;
+    }
+
+    /**
+     * Records the time elapsed since a {@link Metrics#start()} stamp.
+     * Does nothing if the stamp was taken while metrics were disabled.
+     * @param startNanos The value returned by Metrics.start().
+     */
+    public void stop(long startNanos) {
+        if(startNanos==0L) return;
+        record(System.nanoTime()-startNanos);
+    }
+
+    /**
+     * Records a single latency sample.
+     * @param nanos The measured duration in nanoseconds.
+     */
+    public void record(long nanos) {
+        if(nanos<0) nanos=0;
+        buckets.incrementAndGet(bucketOf(nanos));
+        count.increment();
+        sum.add(nanos);
+        max.accumulateAndGet(nanos, Math::max);
+    }
+
+    private static int bucketOf(long nanos) {
+        return Math.min(BUCKETS-1, 64-Long.numberOfLeadingZeros(nanos));
+    }
+
+    /**
+     * Returns the approximate latency at a quantile.
+     * @param q The quantile in [0,1].
+     * @return The bucket upper bound in nanoseconds.
+     */
+    public long quantileNanos(double q) {
+        long total=count.sum();
+        if(total==0) return 0;
+        long rank=(long)Math.ceil(q*total);
+        long seen=0;
+        for(int i=0;i<BUCKETS;i++) {
+            seen+=buckets.get(i);
+            if(seen>=rank && seen>0) return Math.min(i==0 ? 0 : (1L<<i)-1, max.get());
+        }
+        return max.get();
+    }
+
+    public String getName() { return name; }
+    @Override public long getCount() { return count.sum(); }
+    @Override public double getMeanMicros() { long n=count.sum(); return n==0 ? 0 : sum.sum()/1000.0/n; }
+    @Override public double getP50Micros() { return quantileNanos(0.50)/1000.0; }
+    @Override public double getP99Micros() { return quantileNanos(0.99)/1000.0; }
+    @Override public double getMaxMicros() { return max.get()/1000.0; }
+
+    @Override
+    public void reset() {
+        for(int i=0;i<BUCKETS;i++) buckets.set(i, 0);
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+}
@@ -0,0 +1,17 @@
+package foodchain.metrics;
+
+/**
+ * JMX view of a single latency histogram.
+ */
+public interface LatencyMXBean {
+    long getCount();
+    double getMeanMicros();
+    double getP50Micros();
+    double getP99Micros();
+    double getMaxMicros();
+
+    /**
+     * Clears all recorded samples.
+     */
+    void reset();
+}
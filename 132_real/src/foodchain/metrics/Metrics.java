@@ -0,0 +1,181 @@
+package foodchain.metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Process-wide metrics registry exposed through JMX.
+ * Recording is off unless the "foodchain.metrics" system property is true
+ * or it is switched on through the MetricsControl MBean; while off, timing
+ * calls cost a single volatile read.
+ */
+public final class Metrics {
+
+    private static final String DOMAIN="foodchain";
+    private static final int MAX_TRACKED_GAMES=16;
+
+    private static volatile boolean enabled;
+
+    private static final Map<String, LatencyHistogram> HISTOGRAMS=new LinkedHashMap<>();
+
+    public static final LatencyHistogram ENGINE_MOVE=histogram("engine.move");
+    public static final LatencyHistogram AI_APEX_TURN=histogram("ai.apex.playTurn");
+    public static final LatencyHistogram AI_PREY_TURN=histogram("ai.prey.playTurn");
+    public static final LatencyHistogram LOG_WRITE=histogram("io.logger.log");
+    public static final LatencyHistogram SAVE=histogram("io.serializer.save");
+    public static final LatencyHistogram LOAD=histogram("io.serializer.load");
+    public static final LatencyHistogram CHAIN_LOAD=histogram("io.foodchain.load");
+    public static final LatencyHistogram RENDER=histogram("gui.board.render");
+    public static final LatencyHistogram HIGHLIGHT=histogram("gui.board.highlight");
+
+    private static final AtomicInteger GAME_IDS=new AtomicInteger();
+    private static final Deque<ObjectName> GAME_BEANS=new ArrayDeque<>();
+    private static boolean registered;
+
+    static {
+        if(Boolean.getBoolean("foodchain.metrics")) setEnabled(true);
+    }
+
+    private Metrics() {}
+
+    private static LatencyHistogram histogram(String name) {
+        LatencyHistogram h=new LatencyHistogram(name);
+        HISTOGRAMS.put(name, h);
+        return h;
+    }
+
+    public static boolean isEnabled() { return enabled; }
+
+    /**
+     * Turns recording on or off. The MBeans are registered the first time it is enabled.
+     * @param on True to start recording.
+     */
+    public static void setEnabled(boolean on) {
+        if(on) registerMBeans();
+        enabled=on;
+    }
+
+    /**
+     * Takes a timestamp for a latency measurement.
+     * @return The current nano time, or 0 when recording is disabled.
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Publishes the gauges of a new game as an MBean while recording is on.
+     * Only the most recent games stay registered.
+     * @param stats The gauges of the game.
+     */
+    public static void track(GameStats stats) {
+        if(!enabled) return;
+        try {
+            ObjectName on=new ObjectName(DOMAIN+":type=Game,id="+GAME_IDS.incrementAndGet());
+            MBeanServer mbs=ManagementFactory.getPlatformMBeanServer();
+            synchronized(GAME_BEANS) {
+                mbs.registerMBean(stats, on);
+                GAME_BEANS.addLast(on);
+                while(GAME_BEANS.size()>MAX_TRACKED_GAMES) {
+                    mbs.unregisterMBean(GAME_BEANS.removeFirst());
+                }
+            }
+        } catch(JMException e) {
+            System.err.println("Could not register game metrics: "+e.getMessage());
+        }
+    }
+
+    /**
+     * Returns all latency histograms in registration order.
+     * @return An unmodifiable view of the histograms.
+     */
+    public static Collection<LatencyHistogram> histograms() {
+        return Collections.unmodifiableCollection(HISTOGRAMS.values());
+    }
+
+    /**
+     * Writes a CSV snapshot of every histogram and tracked game.
+     * @param file The destination file.
+     * @throws IOException If writing fails.
+     */
+    public static void exportCsv(Path file) throws IOException {
+        Path parent=file.getParent();
+        if(parent!=null) Files.createDirectories(parent);
+
+        try(BufferedWriter w=Files.newBufferedWriter(file)) {
+            w.write("metric,count,mean_us,p50_us,p99_us,max_us"); w.newLine();
+            for(LatencyHistogram h : HISTOGRAMS.values()) {
+                w.write(h.getName()+","+h.getCount()+","+fmt(h.getMeanMicros())+","+fmt(h.getP50Micros())
+                        +","+fmt(h.getP99Micros())+","+fmt(h.getMaxMicros()));
+                w.newLine();
+            }
+            w.newLine();
+            w.write("game,rounds,captures,ability_uses,respawns,moves"); w.newLine();
+            MBeanServer mbs=ManagementFactory.getPlatformMBeanServer();
+            List<ObjectName> games;
+            synchronized(GAME_BEANS) { games=new ArrayList<>(GAME_BEANS); }
+            for(ObjectName on : games) {
+                try {
+                    w.write(on.getKeyProperty("id")
+                            +","+mbs.getAttribute(on, "RoundsPlayed")
+                            +","+mbs.getAttribute(on, "Captures")
+                            +","+mbs.getAttribute(on, "AbilityUses")
+                            +","+mbs.getAttribute(on, "Respawns")
+                            +","+mbs.getAttribute(on, "Moves"));
+                    w.newLine();
+                } catch(JMException e) {
+                    // Game was evicted while exporting.
+                }
+            }
+        }
+    }
+
+    private static String fmt(double d) {
+        return String.format(Locale.ROOT, "%.3f", d);
+    }
+
+    private static synchronized void registerMBeans() {
+        if(registered) return;
+        registered=true;
+        try {
+            MBeanServer mbs=ManagementFactory.getPlatformMBeanServer();
+            for(LatencyHistogram h : HISTOGRAMS.values()) {
+                mbs.registerMBean(h, new ObjectName(DOMAIN+":type=Latency,name="+h.getName()));
+            }
+            mbs.registerMBean(new Control(), new ObjectName(DOMAIN+":type=MetricsControl"));
+        } catch(JMException e) {
+            System.err.println("Could not register metrics MBeans: "+e.getMessage());
+        }
+    }
+
+    private static final class Control implements MetricsControlMXBean {
+        @Override public boolean isEnabled() { return Metrics.isEnabled(); }
+        @Override public void setEnabled(boolean on) { Metrics.setEnabled(on); }
+
+        @Override
+        public String exportCsv(String path) {
+            Path p=Path.of(path);
+            try {
+                Metrics.exportCsv(p);
+            } catch(IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return p.toAbsolutePath().toString();
+        }
+
+        @Override
+        public void resetAll() {
+            for(LatencyHistogram h : HISTOGRAMS.values()) h.reset();
+        }
+    }
+}
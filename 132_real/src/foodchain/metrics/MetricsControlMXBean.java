@@ -0,0 +1,21 @@
+package foodchain.metrics;
+
+/**
+ * JMX entry point to switch recording on and off and export snapshots.
+ */
+public interface MetricsControlMXBean {
+    boolean isEnabled();
+    void setEnabled(boolean enabled);
+
+    /**
+     * Writes the current metrics to a CSV file.
+     * @param path The destination file path.
+     * @return The absolute path that was written.
+     */
+    String exportCsv(String path);
+
+    /**
+     * Clears every latency histogram.
+     */
+    void resetAll();
+}
@@ -0,0 +1,135 @@
+package foodchain.rules;
+
+import foodchain.board.CellContent;
+import foodchain.board.Terrain;
+import foodchain.model.Era;
+import foodchain.model.Role;
+
+/**
+ * Compiled movement, cooldown and scoring rules of one era.
+ * Moves are validated with a single lookup in a dense table indexed by
+ * (role, row offset, column offset, target content).
+ */
+public final class EraRules {
+
+    /** Move code: the offset/target combination is not allowed. */
+    public static final int NONE=0;
+    /** Move code: a one-step walk. */
+    public static final int WALK=1;
+    /** Move code: an ability move (subject to cooldown and {@link #condition(int)}). */
+    public static final int ABILITY=2;
+
+    private static final int ROLES=Role.values().length;
+    private static final int TARGETS=CellContent.values().length;
+    private static final int TERRAINS=Terrain.values().length;
+
+    private final Era era;
+    private final int reach;
+    private final int width;
+    private final byte[] moves;
+    private final boolean[] enter;
+    private final int[] cooldown;
+    private final int[] scoreSelf;
+    private final int[] scoreVictim;
+    private final boolean[] dash;
+    private final int[] dashCondition;
+    private final boolean[] stand;
+
+    EraRules(Era era, int reach, byte[] moves, boolean[] enter, int[] cooldown,
+             int[] scoreSelf, int[] scoreVictim, boolean[] dash, int[] dashCondition, boolean[] stand) {
+        this.era=era;
+        this.reach=reach;
+        this.width=2*reach+1;
+        this.moves=moves;
+        this.enter=enter;
+        this.cooldown=cooldown;
+        this.scoreSelf=scoreSelf;
+        this.scoreVictim=scoreVictim;
+        this.dash=dash;
+        this.dashCondition=dashCondition;
+        this.stand=stand;
+    }
+
+    static int tableSize(int reach) {
+        int w=2*reach+1;
+        return ROLES*w*w*TARGETS;
+    }
+
+    static int index(int reach, int role, int dr, int dc, int target) {
+        int w=2*reach+1;
+        return ((role*w+dr+reach)*w+dc+reach)*TARGETS+target;
+    }
+
+    public Era getEra() { return era; }
+
+    /**
+     * Returns the largest row or column offset any move can cover.
+     * @return The reach in cells.
+     */
+    public int getReach() { return reach; }
+
+    /**
+     * Looks up the move code for a step.
+     * @param role The mover.
+     * @param dr Row offset of the destination.
+     * @param dc Column offset of the destination.
+     * @param target Content of the destination cell.
+     * @return A code whose {@link #kind(int)} is NONE, WALK or ABILITY.
+     */
+    public int code(Role role, int dr, int dc, CellContent target) {
+        if(dr<-reach || dr>reach || dc<-reach || dc>reach) return NONE;
+        return moves[((role.ordinal()*width+dr+reach)*width+dc+reach)*TARGETS+target.ordinal()];
+    }
+
+    /**
+     * Extracts the move kind from a code.
+     * @param code A value returned by {@link #code}.
+     * @return NONE, WALK or ABILITY.
+     */
+    public static int kind(int code) { return code&3; }
+
+    /**
+     * Extracts the adjacency condition from a code.
+     * @param code A value returned by {@link #code}.
+     * @return The role the mover must stand next to, or null if unconditional.
+     */
+    public static Role condition(int code) {
+        int c=code>>2;
+        return c==0 ? null : Role.values()[c-1];
+    }
+
+    /**
+     * Checks if a role may move onto a cell with the given content.
+     * @param role The mover.
+     * @param target The content of the cell.
+     * @return True if entry is allowed.
+     */
+    public boolean canEnter(Role role, CellContent target) {
+        return enter[role.ordinal()*TARGETS+target.ordinal()];
+    }
+
+    /**
+     * Checks if a role may stand on a kind of ground. OPEN always allows it, WALL never.
+     * @param role The mover.
+     * @param terrain The ground of the cell.
+     * @return True if the role may end a move there.
+     */
+    public boolean canStand(Role role, Terrain terrain) {
+        return stand[role.ordinal()*TERRAINS+terrain.ordinal()];
+    }
+
+    public int cooldown(Role role) { return cooldown[role.ordinal()]; }
+    public int scoreSelf(Role role, CellContent target) { return scoreSelf[role.ordinal()*TARGETS+target.ordinal()]; }
+    public int scoreVictim(Role role, CellContent target) { return scoreVictim[role.ordinal()*TARGETS+target.ordinal()]; }
+    public boolean hasDash(Role role) { return dash[role.ordinal()]; }
+
+    /**
+     * Returns the role a dashing mover must stand next to.
+     * @param role The mover.
+     * @return The required neighbour, or null if the dash is unconditional.
+     */
+    public Role dashCondition(Role role) {
+        int c=dashCondition[role.ordinal()];
+        return c==0 ? null : Role.values()[c-1];
+    }
+}
@@ -0,0 +1,207 @@
+package foodchain.rules;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import foodchain.board.CellContent;
+import foodchain.board.Terrain;
+import foodchain.model.Era;
+import foodchain.model.Role;
+
+/**
+ * Loads the declarative rule files (data/past.rules etc.) and compiles them into {@link EraRules}.
+ * Each era is compiled once per process and then shared read-only.
+ */
+public final class RuleBook {
+
+    private static final RuleBook DEFAULT=new RuleBook(Path.of("data"));
+    private static final int ROLES=Role.values().length;
+    private static final int TARGETS=CellContent.values().length;
+    private static final int TERRAINS=Terrain.values().length;
+
+    private final Path dir;
+    private final AtomicReferenceArray<EraRules> compiled=new AtomicReferenceArray<>(Era.values().length);
+
+    /**
+     * Creates a rule book reading from the given directory.
+     * @param dir The directory holding the .rules files.
+     */
+    public RuleBook(Path dir) {
+        this.dir=dir;
+    }
+
+    /**
+     * Returns the rule book that reads from the "data" directory.
+     * @return The shared rule book.
+     */
+    public static RuleBook getDefault() { return DEFAULT; }
+
+    /**
+     * Returns the compiled rules of an era, compiling them on first use.
+     * @param era The era to look up.
+     * @return The compiled rules.
+     * @throws IOException If the rule file is missing or cannot be read.
+     */
+    public EraRules rules(Era era) throws IOException {
+        EraRules r=compiled.get(era.ordinal());
+        if(r!=null) return r;
+        r=compile(era, dir.resolve(era.name().toLowerCase(Locale.ROOT)+".rules"));
+        if(!compiled.compareAndSet(era.ordinal(), null, r)) return compiled.get(era.ordinal());
+        return r;
+    }
+
+    private static final class Ability {
+        final int role;
+        final String shape;
+        final int min;
+        final int max;
+        final int condition;
+
+        Ability(int role, String shape, int min, int max, int condition) {
+            this.role=role;
+            this.shape=shape;
+            this.min=min;
+            this.max=max;
+            this.condition=condition;
+        }
+
+        boolean matches(int dr, int dc, int d) {
+            if(d<min || d>max) return false;
+            int adr=Math.abs(dr), adc=Math.abs(dc);
+            boolean line=(adr==0 || adc==0);
+            boolean diagonal=(adr==adc);
+            switch(shape) {
+                case "line": return line;
+                case "diagonal": return diagonal;
+                case "star": return line || diagonal;
+                default: return true;
+            }
+        }
+    }
+
+    /**
+     * Parses a rule file and builds the lookup tables.
+     * @param era The era the file describes.
+     * @param file The rule file.
+     * @return The compiled rules.
+     * @throws IOException If the file is missing or cannot be read.
+     * @throws IllegalArgumentException If a line is malformed.
+     */
+    static EraRules compile(Era era, Path file) throws IOException {
+        String filename=file.getFileName().toString();
+        if(!Files.exists(file)) {
+            throw new IOException("Rule file not found for era: "+filename);
+        }
+
+        boolean[] enter=new boolean[ROLES*TARGETS];
+        boolean[] deny=new boolean[ROLES*TARGETS];
+        int[] cooldown=new int[ROLES];
+        int[] scoreSelf=new int[ROLES*TARGETS];
+        int[] scoreVictim=new int[ROLES*TARGETS];
+        boolean[] dash=new boolean[ROLES];
+        int[] dashCondition=new int[ROLES];
+        boolean[] stand=new boolean[ROLES*TERRAINS];
+        List<Ability> abilities=new ArrayList<>();
+        int reach=1;
+
+        for(int r=0;r<ROLES;r++) enter[r*TARGETS+CellContent.EMPTY.ordinal()]=true;
+        for(int r=0;r<ROLES;r++) stand[r*TERRAINS+Terrain.OPEN.ordinal()]=true;
+
+        for(String raw : Files.readAllLines(file)) {
+            int hash=raw.indexOf('#');
+            String line=(hash>=0 ? raw.substring(0, hash) : raw).trim();
+            if(line.isEmpty()) continue;
+            String[] t=line.split("\\s+");
+            try {
+                switch(t[0]) {
+                    case "walk":
+                        for(int i=2;i<t.length;i++) enter[role(t[1])*TARGETS+target(t[i])]=true;
+                        break;
+                    case "ability-deny":
+                        for(int i=2;i<t.length;i++) deny[role(t[1])*TARGETS+target(t[i])]=true;
+                        break;
+                    case "ability": {
+                        String shape=t[2];
+                        if(!Set.of("line", "diagonal", "star", "any").contains(shape)) {
+                            throw new IllegalArgumentException("unknown shape "+shape);
+                        }
+                        String[] range=t[3].split("-");
+                        int min=Integer.parseInt(range[0]);
+                        int max=range.length>1 ? Integer.parseInt(range[1]) : min;
+                        if(min<2 || max<min) throw new IllegalArgumentException("ability distance must be >= 2");
+                        abilities.add(new Ability(role(t[1]), shape, min, max, condition(t, 4)));
+                        reach=Math.max(reach, max);
+                        break;
+                    }
+                    case "cooldown":
+                        cooldown[role(t[1])]=Integer.parseInt(t[2]);
+                        break;
+                    case "dash":
+                        dash[role(t[1])]=true;
+                        dashCondition[role(t[1])]=condition(t, 2);
+                        break;
+                    case "terrain":
+                        for(int i=2;i<t.length;i++) {
+                            Terrain ground=Terrain.valueOf(t[i].toUpperCase(Locale.ROOT));
+                            if(ground==Terrain.WALL) throw new IllegalArgumentException("nobody may stand on a WALL");
+                            stand[role(t[1])*TERRAINS+ground.ordinal()]=true;
+                        }
+                        break;
+                    case "score": {
+                        int idx=role(t[1])*TARGETS+target(t[2]);
+                        scoreSelf[idx]=Integer.parseInt(t[3].replace("+", ""));
+                        if(t.length>4) scoreVictim[idx]=Integer.parseInt(t[4].replace("+", ""));
+                        break;
+                    }
+                    default:
+                        throw new IllegalArgumentException("unknown rule "+t[0]);
+                }
+            } catch(RuntimeException e) {
+                throw new IllegalArgumentException("Invalid rule in "+filename+": "+line+" ("+e.getMessage()+")", e);
+            }
+        }
+
+        byte[] moves=new byte[EraRules.tableSize(reach)];
+        for(int role=0;role<ROLES;role++) {
+            for(int dr=-reach;dr<=reach;dr++) {
+                for(int dc=-reach;dc<=reach;dc++) {
+                    int d=Math.max(Math.abs(dr), Math.abs(dc));
+                    if(d==0) continue;
+                    for(int tg=0;tg<TARGETS;tg++) {
+                        if(!enter[role*TARGETS+tg]) continue;
+                        int code=EraRules.NONE;
+                        if(d==1) {
+                            code=EraRules.WALK;
+                        } else if(!deny[role*TARGETS+tg]) {
+                            for(Ability a : abilities) {
+                                if(a.role!=role || !a.matches(dr, dc, d)) continue;
+                                int c=EraRules.ABILITY|(a.condition<<2);
+                                // An unconditional shape wins over a conditional one.
+                                if(code==EraRules.NONE || a.condition==0) code=c;
+                            }
+                        }
+                        moves[EraRules.index(reach, role, dr, dc, tg)]=(byte)code;
+                    }
+                }
+            }
+        }
+        return new EraRules(era, reach, moves, enter, cooldown, scoreSelf, scoreVictim, dash, dashCondition, stand);
+    }
+
+    private static int condition(String[] t, int at) {
+        if(t.length<=at) return 0;
+        if(!t[at].equals("if-adjacent") || t.length!=at+2) throw new IllegalArgumentException("expected if-adjacent <role>");
+        return role(t[at+1])+1;
+    }
+
+    private static int role(String s) {
+        return Role.valueOf(s.toUpperCase(Locale.ROOT)).ordinal();
+    }
+
+    private static int target(String s) {
+        return CellContent.valueOf(s.toUpperCase(Locale.ROOT)).ordinal();
+    }
+}
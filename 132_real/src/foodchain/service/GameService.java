@@ -0,0 +1,349 @@
+package foodchain.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import foodchain.ai.AiStrategies;
+import foodchain.ai.AiStrategy;
+import foodchain.core.GameConfig;
+import foodchain.model.Era;
+import foodchain.model.GridSize;
+import foodchain.model.Pos;
+import foodchain.model.Role;
+
+/**
+ * Headless HTTP/JSON front end hosting many independent games on the loopback interface.
+ *
+ * Routes (request values come from the query string or a flat JSON body):
+ * POST /games {era,size,rounds,seed,auto} creates a session and, unless auto=false, plays the opening AI turns;
+ * GET /games/{id} returns its state;
+ * POST /games/{id}/move {role,row,col,auto} applies a move and, with auto, answers with the AI turns;
+ * POST /games/{id}/ai plays AI turns until the Predator is to move;
+ * POST /games/{id}/save writes the session's save and log files;
+ * GET /games/{id}/log returns recent log lines;
+ * DELETE /games/{id} ends the session.
+ *
+ * Requests run one per virtual thread when the JVM supports them and on a bounded
+ * pool otherwise. AI turns always run on a separate bounded pool with a bounded queue,
+ * so a burst of slow AI work is rejected with 503 instead of starving cheap requests.
+ * An AI request that times out with 504 is cancelled and plays no further turns.
+ * The AI strategies are looked up once when the service is created.
+ */
+public class GameService {
+
+    private final HttpServer server;
+    private final ExecutorService requestExecutor;
+    private final ThreadPoolExecutor aiPool;
+    private final ScheduledExecutorService reaper;
+    private final Map<String, GameSession> sessions=new ConcurrentHashMap<>();
+    private final AtomicInteger live=new AtomicInteger();
+    private final AtomicLong ids=new AtomicLong();
+    private final Supplier<AiStrategy> apexStrategy;
+    private final Supplier<AiStrategy> preyStrategy;
+    private final Path sessionDir;
+    private final int maxSessions;
+    private final long idleNanos;
+    private final long aiTimeoutMillis;
+
+    /**
+     * Creates a service bound to the loopback interface.
+     * @param port The port to listen on, or 0 for any free port.
+     * @param sessionDir The directory under which each session keeps its files.
+     * @param maxSessions Upper bound of live sessions.
+     * @param aiThreads Size of the AI compute pool.
+     * @throws IOException If the port cannot be bound.
+     * @throws IllegalArgumentException If a configured AI strategy is unknown.
+     */
+    public GameService(int port, Path sessionDir, int maxSessions, int aiThreads) throws IOException {
+        this.sessionDir=sessionDir;
+        this.maxSessions=maxSessions;
+        this.apexStrategy=AiStrategies.configured(Role.APEX);
+        this.preyStrategy=AiStrategies.configured(Role.PREY);
+        this.idleNanos=TimeUnit.MINUTES.toNanos(Long.getLong("foodchain.service.idleMinutes", 30L));
+        this.aiTimeoutMillis=Long.getLong("foodchain.service.aiTimeoutMs", 5000L);
+
+        server=HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        requestExecutor=newRequestExecutor();
+        aiPool=new ThreadPoolExecutor(aiThreads, aiThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(aiThreads*64), daemonFactory("foodchain-ai"));
+        reaper=Executors.newSingleThreadScheduledExecutor(daemonFactory("foodchain-reaper"));
+
+        server.setExecutor(requestExecutor);
+        server.createContext("/games", this::handle);
+    }
+
+    /**
+     * Starts accepting requests and the idle-session reaper.
+     */
+    public void start() {
+        server.start();
+        reaper.scheduleWithFixedDelay(this::evictIdle, 1, 1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Stops the server and its pools.
+     */
+    public void stop() {
+        server.stop(0);
+        reaper.shutdownNow();
+        aiPool.shutdownNow();
+        requestExecutor.shutdownNow();
+    }
+
+    public int getPort() { return server.getAddress().getPort(); }
+    public int getSessionCount() { return sessions.size(); }
+
+    private void handle(HttpExchange ex) {
+        try(ex) {
+            try {
+                route(ex);
+            } catch(IllegalArgumentException e) {
+                send(ex, 400, error(e.getMessage()));
+            } catch(RejectedExecutionException e) {
+                send(ex, 503, error("AI pool is saturated, retry later"));
+            } catch(TimeoutException e) {
+                send(ex, 504, error("AI turn timed out"));
+            } catch(Exception e) {
+                send(ex, 500, error(String.valueOf(e.getMessage())));
+            }
+        } catch(IOException e) {
+            // Client went away; nothing left to report.
+        }
+    }
+
+    private void route(HttpExchange ex) throws Exception {
+        String method=ex.getRequestMethod();
+        String[] parts=ex.getRequestURI().getPath().split("/");
+        // parts[0] is empty, parts[1] is "games"; the context also matches paths like "/gamesX"
+        if(parts.length<2 || parts.length>4 || !parts[1].equals("games")) {
+            send(ex, 404, error("Unknown route: "+method+" "+ex.getRequestURI().getPath()));
+            return;
+        }
+        Map<String,String> params=params(ex);
+
+        if(parts.length==2) {
+            if(!method.equals("POST")) { send(ex, 405, error("Use POST to create a game")); return; }
+            create(ex, params);
+            return;
+        }
+
+        GameSession s=sessions.get(parts[2]);
+        if(s==null) { send(ex, 404, error("No such game: "+parts[2])); return; }
+        s.touch();
+        String action=parts.length>3 ? parts[3] : "";
+
+        if(action.isEmpty() && method.equals("GET")) {
+            send(ex, 200, s.stateJson());
+        } else if(action.isEmpty() && method.equals("DELETE")) {
+            remove(s);
+            send(ex, 200, "{\"deleted\":"+Json.quote(s.getId())+"}");
+        } else if(action.equals("move") && method.equals("POST")) {
+            move(ex, s, params);
+        } else if(action.equals("ai") && method.equals("POST")) {
+            send(ex, 200, runAI(s));
+        } else if(action.equals("save") && method.equals("POST")) {
+            Path file=locked(s, s::save);
+            send(ex, 200, "{\"saved\":"+Json.quote(file.toString())+"}");
+        } else if(action.equals("log") && method.equals("GET")) {
+            StringBuilder sb=new StringBuilder("{\"lines\":[");
+            List<String> lines=s.recentLog();
+            for(int i=0;i<lines.size();i++) {
+                if(i>0) sb.append(',');
+                sb.append(Json.quote(lines.get(i)));
+            }
+            send(ex, 200, sb.append("]}").toString());
+        } else {
+            send(ex, 404, error("Unknown route: "+method+" "+ex.getRequestURI().getPath()));
+        }
+    }
+
+    private void create(HttpExchange ex, Map<String,String> p) throws Exception {
+        Era era=Era.valueOf(optional(p, "era", "PAST").toUpperCase(Locale.ROOT));
+        GridSize gs=GridSize.valueOf(optional(p, "size", "SMALL").toUpperCase(Locale.ROOT));
+        int rounds=Integer.parseInt(optional(p, "rounds", "10"));
+        Random rng=p.containsKey("seed") ? new Random(Long.parseLong(require(p, "seed"))) : new Random(new SecureRandom().nextLong());
+        boolean auto=Boolean.parseBoolean(optional(p, "auto", "true"));
+
+        // Reserve a place first, so concurrent creates cannot overshoot the limit
+        if(live.incrementAndGet()>maxSessions) {
+            live.decrementAndGet();
+            send(ex, 429, error("Session limit reached"));
+            return;
+        }
+        String id=Long.toString(ids.incrementAndGet(), 36);
+        GameSession s;
+        try {
+            s=new GameSession(id, sessionDir.resolve(id), new GameConfig(era, gs, rounds), rng,
+                    apexStrategy.get(), preyStrategy.get());
+        } catch(IOException | RuntimeException e) {
+            live.decrementAndGet();
+            throw e;
+        }
+        sessions.put(id, s);
+        try {
+            // Like the GUI, hand the game to the player once the AI roles have opened it.
+            if(auto) send(ex, 201, runAI(s));
+            else send(ex, 201, locked(s, s::stateJson));
+        } catch(Exception e) {
+            // The client never learns the id of a game that failed to open
+            remove(s);
+            throw e;
+        }
+    }
+
+    private void move(HttpExchange ex, GameSession s, Map<String,String> p) throws Exception {
+        Role role=Role.valueOf(optional(p, "role", "PREDATOR").toUpperCase(Locale.ROOT));
+        Pos to=new Pos(Integer.parseInt(require(p, "row")), Integer.parseInt(require(p, "col")));
+        boolean auto=Boolean.parseBoolean(optional(p, "auto", "false"));
+        boolean ok=locked(s, ()->s.move(role, to));
+        if(!ok) { send(ex, 409, error("Illegal move for "+role+" to "+to)); return; }
+        if(auto) send(ex, 200, runAI(s));
+        else send(ex, 200, locked(s, s::stateJson));
+    }
+
+    /**
+     * Plays the AI turns on the AI pool. The task waits for the session lock only until the
+     * request's deadline, and a task cancelled on timeout stops before its next turn.
+     */
+    private String runAI(GameSession s) throws Exception {
+        long deadline=System.nanoTime()+TimeUnit.MILLISECONDS.toNanos(aiTimeoutMillis);
+        Future<String> f=aiPool.submit(()->{
+            if(!s.lock().tryLock(deadline-System.nanoTime(), TimeUnit.NANOSECONDS)) throw new TimeoutException();
+            try {
+                s.playAI();
+                return s.stateJson();
+            } finally {
+                s.lock().unlock();
+            }
+        });
+        try {
+            return f.get(Math.max(0, deadline-System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch(TimeoutException e) {
+            f.cancel(true);
+            throw e;
+        } catch(ExecutionException e) {
+            Throwable c=e.getCause();
+            if(c instanceof Exception) throw (Exception)c;
+            throw e;
+        }
+    }
+
+    private static <T> T locked(GameSession s, Callable<T> body) throws IOException {
+        s.lock().lock();
+        try {
+            return body.call();
+        } catch(IOException | RuntimeException e) {
+            throw e;
+        } catch(Exception e) {
+            throw new IOException(e);
+        } finally {
+            s.lock().unlock();
+        }
+    }
+
+    private void remove(GameSession s) {
+        if(sessions.remove(s.getId(), s)) live.decrementAndGet();
+    }
+
+    private void evictIdle() {
+        long now=System.nanoTime();
+        for(GameSession s : sessions.values()) {
+            if(now-s.getLastAccess()>idleNanos) remove(s);
+        }
+    }
+
+    private static String require(Map<String,String> p, String key) {
+        String v=p.get(key);
+        if(v==null || v.isBlank()) throw new IllegalArgumentException("Missing parameter: "+key);
+        return v;
+    }
+
+    /**
+     * Returns a parameter, or a default if it is absent. A parameter sent as null or blank is an error.
+     */
+    private static String optional(Map<String,String> p, String key, String def) {
+        return p.containsKey(key) ? require(p, key) : def;
+    }
+
+    private static Map<String,String> params(HttpExchange ex) throws IOException {
+        Map<String,String> out=new HashMap<>();
+        String q=ex.getRequestURI().getRawQuery();
+        if(q!=null) {
+            for(String pair : q.split("&")) {
+                int eq=pair.indexOf('=');
+                if(eq<=0) continue;
+                out.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq+1), StandardCharsets.UTF_8));
+            }
+        }
+        try(InputStream in=ex.getRequestBody()) {
+            String body=new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            out.putAll(Json.parseFlat(body));
+        }
+        return out;
+    }
+
+    private static String error(String msg) {
+        return "{\"error\":"+Json.quote(msg)+"}";
+    }
+
+    private static void send(HttpExchange ex, int status, String json) throws IOException {
+        byte[] body=json.getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        ex.sendResponseHeaders(status, body.length);
+        try(OutputStream out=ex.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Uses one virtual thread per request when the running JVM provides them (Java 21+),
+     * and a bounded platform-thread pool otherwise.
+     */
+    private static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService)Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch(ReflectiveOperationException e) {
+            int n=Math.max(32, Runtime.getRuntime().availableProcessors()*8);
+            return Executors.newFixedThreadPool(n, daemonFactory("foodchain-http"));
+        }
+    }
+
+    private static ThreadFactory daemonFactory(String prefix) {
+        AtomicLong n=new AtomicLong();
+        return r->{
+            Thread t=new Thread(r, prefix+"-"+n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /**
+     * Starts the service. Usage: GameService [port] [maxSessions] [aiThreads]
+     * @param args Command line arguments.
+     * @throws IOException If the port cannot be bound.
+     */
+    public static void main(String[] args) throws IOException {
+        int port=args.length>0 ? Integer.parseInt(args[0]) : 8132;
+        int maxSessions=args.length>1 ? Integer.parseInt(args[1]) : 100_000;
+        int aiThreads=args.length>2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        GameService svc=new GameService(port, Path.of("data", "sessions"), maxSessions, aiThreads);
+        svc.start();
+        System.out.println("FoodChain service listening on http://127.0.0.1:"+svc.getPort()+"/games");
+    }
+}
@@ -0,0 +1,139 @@
+package foodchain.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.locks.ReentrantLock;
+
+import foodchain.ai.AiStrategy;
+import foodchain.ai.ApexAI;
+import foodchain.ai.PreyAI;
+import foodchain.core.GameConfig;
+import foodchain.core.GameEngine;
+import foodchain.core.GameSnapshot;
+import foodchain.core.TurnManager;
+import foodchain.io.GameStateSerializer;
+import foodchain.model.Pos;
+import foodchain.model.Role;
+
+/**
+ * One isolated game hosted by the service.
+ * Mutating access goes through the session lock, so requests for the same game are serialized
+ * while different games proceed in parallel. State reads use the engine's published snapshot
+ * and never take the lock.
+ */
+class GameSession {
+    private final String id;
+    private final Path dir;
+    private final GameEngine engine;
+    private final SessionLog log;
+    private final ApexAI apexAI;
+    private final PreyAI preyAI;
+    private final ReentrantLock lock=new ReentrantLock();
+    private volatile long lastAccess=System.nanoTime();
+
+    /**
+     * Creates and starts a new game.
+     * @param id The session id.
+     * @param dir The directory for this session's log and save files.
+     * @param cfg The game settings.
+     * @param rng The random source of the game.
+     * @param apex The strategy of the Apex.
+     * @param prey The strategy of the Prey.
+     * @throws IOException If the era file cannot be loaded.
+     */
+    GameSession(String id, Path dir, GameConfig cfg, Random rng, AiStrategy apex, AiStrategy prey) throws IOException {
+        this.id=id;
+        this.dir=dir;
+        this.log=new SessionLog(dir.resolve("log.txt"), 256);
+        this.engine=new GameEngine(rng, log);
+        engine.startGame(cfg);
+        this.apexAI=new ApexAI(engine, apex);
+        this.preyAI=new PreyAI(engine, prey);
+    }
+
+    String getId() { return id; }
+    ReentrantLock lock() { return lock; }
+    long getLastAccess() { return lastAccess; }
+    void touch() { lastAccess=System.nanoTime(); }
+
+    /**
+     * Applies a move for a role. Caller must hold the lock.
+     * @param role The role moving.
+     * @param to The destination.
+     * @return True if the engine accepted the move.
+     */
+    boolean move(Role role, Pos to) {
+        return engine.move(role, to);
+    }
+
+    /**
+     * Plays AI turns until it is the Predator's turn or the game ends. Caller must hold the lock.
+     * Stops early, between turns, if the thread is interrupted.
+     * @return The number of AI turns played.
+     */
+    int playAI() {
+        int turns=0;
+        TurnManager tm=engine.getTurnManager();
+        while(!tm.isGameOver() && tm.getCurrentTurn()!=Role.PREDATOR && !Thread.currentThread().isInterrupted()) {
+            Role before=tm.getCurrentTurn();
+            int round=tm.getRound();
+            boolean moved=(before==Role.PREY) ? preyAI.playTurn() : apexAI.playTurn();
+            if(!moved && tm.getCurrentTurn()==before && tm.getRound()==round) {
+                // A stuck AI gives up its turn, as in the GUI.
+                engine.endTurn();
+            }
+            turns++;
+        }
+        return turns;
+    }
+
+    /**
+     * Writes the game to this session's save file and flushes its log. Caller must hold the lock.
+     * @return The save file path.
+     * @throws IOException If writing fails.
+     */
+    Path save() throws IOException {
+        Path file=dir.resolve("save.txt");
+        GameStateSerializer.save(file, engine);
+        log.flush();
+        return file;
+    }
+
+    List<String> recentLog() { return log.recent(); }
+
+    /**
+     * Renders the game as of its last completed turn as a JSON object.
+     * @return The state JSON.
+     */
+    String stateJson() {
+        GameSnapshot st=engine.getSnapshot();
+        StringBuilder sb=new StringBuilder(256);
+        sb.append("{\"id\":").append(Json.quote(id))
+          .append(",\"era\":\"").append(st.getEra()).append('"')
+          .append(",\"size\":").append(st.getSize())
+          .append(",\"round\":").append(st.getRound())
+          .append(",\"totalRounds\":").append(st.getTotalRounds())
+          .append(",\"turn\":\"").append(st.getTurn()).append('"')
+          .append(",\"gameOver\":").append(st.isGameOver());
+        if(st.isGameOver()) sb.append(",\"result\":").append(Json.quote(st.getWinnerText()));
+        sb.append(",\"apex\":"); animal(sb, st.getApex());
+        sb.append(",\"predator\":"); animal(sb, st.getPredator());
+        sb.append(",\"prey\":"); animal(sb, st.getPrey());
+        sb.append(",\"food\":"); entity(sb, st.getFood()); sb.append('}');
+        return sb.append('}').toString();
+    }
+
+    private static void animal(StringBuilder sb, GameSnapshot.Piece a) {
+        entity(sb, a);
+        sb.append(",\"score\":").append(a.getScore())
+          .append(",\"cooldown\":").append(a.getAbilityCooldown()).append('}');
+    }
+
+    private static void entity(StringBuilder sb, GameSnapshot.Piece e) {
+        sb.append("{\"name\":").append(Json.quote(e.getName()))
+          .append(",\"row\":").append(e.getPos().getRow())
+          .append(",\"col\":").append(e.getPos().getCol());
+    }
+}
@@ -0,0 +1,111 @@
+package foodchain.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Minimal JSON helpers for the game service.
+ * Requests are flat objects of strings, numbers and booleans, so no full parser is needed.
+ */
+final class Json {
+
+    private Json() {}
+
+    /**
+     * Quotes and escapes a string value.
+     * @param s The raw string.
+     * @return The JSON string literal, or null for a null input.
+     */
+    static String quote(String s) {
+        if(s==null) return "null";
+        StringBuilder sb=new StringBuilder(s.length()+2).append('"');
+        for(int i=0;i<s.length();i++) {
+            char c=s.charAt(i);
+            switch(c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if(c<0x20) sb.append(String.format("\\u%04x", (int)c));
+                    else sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * Parses a flat JSON object whose values are strings, numbers, booleans or null.
+     * @param body The request body; blank means an empty object.
+     * @return The values as strings, in document order.
+     * @throws IllegalArgumentException If the body is not a flat object.
+     */
+    static Map<String,String> parseFlat(String body) {
+        Map<String,String> out=new LinkedHashMap<>();
+        if(body==null || body.isBlank()) return out;
+        Cursor cur=new Cursor(body.trim());
+        cur.expect('{');
+        cur.skipWs();
+        if(cur.peek()=='}') return out;
+        while(true) {
+            cur.skipWs();
+            String key=cur.string();
+            cur.skipWs();
+            cur.expect(':');
+            cur.skipWs();
+            String value=(cur.peek()=='"') ? cur.string() : cur.bare();
+            out.put(key, value);
+            cur.skipWs();
+            char c=cur.next();
+            if(c=='}') return out;
+            if(c!=',') throw new IllegalArgumentException("Expected ',' or '}' at "+cur.i);
+        }
+    }
+
+    private static final class Cursor {
+        final String s;
+        int i;
+
+        Cursor(String s) { this.s=s; }
+
+        char peek() {
+            if(i>=s.length()) throw new IllegalArgumentException("Unexpected end of JSON");
+            return s.charAt(i);
+        }
+        char next() { char c=peek(); i++; return c; }
+        void skipWs() { while(i<s.length() && Character.isWhitespace(s.charAt(i))) i++; }
+        void expect(char c) { if(next()!=c) throw new IllegalArgumentException("Expected '"+c+"' at "+(i-1)); }
+
+        String string() {
+            expect('"');
+            StringBuilder sb=new StringBuilder();
+            while(true) {
+                char c=next();
+                if(c=='"') return sb.toString();
+                if(c=='\\') {
+                    char e=next();
+                    switch(e) {
+                        case 'n': sb.append('\n'); break;
+                        case 't': sb.append('\t'); break;
+                        case 'r': sb.append('\r'); break;
+                        case 'u': sb.append((char)Integer.parseInt(s.substring(i, i+4), 16)); i+=4; break;
+                        default: sb.append(e);
+                    }
+                } else {
+                    sb.append(c);
+                }
+            }
+        }
+
+        String bare() {
+            int start=i;
+            while(i<s.length() && ",}".indexOf(s.charAt(i))<0 && !Character.isWhitespace(s.charAt(i))) i++;
+            String v=s.substring(start, i);
+            if(v.isEmpty()) throw new IllegalArgumentException("Missing value at "+start);
+            if(v.equals("null")) return null;
+            if(v.startsWith("{") || v.startsWith("[")) throw new IllegalArgumentException("Nested values are not supported");
+            return v;
+        }
+    }
+}
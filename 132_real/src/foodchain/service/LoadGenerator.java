@@ -0,0 +1,200 @@
+package foodchain.service;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Drives the game service with many concurrent sessions and reports request latency.
+ * Usage: LoadGenerator [baseUrl|-] [sessionCounts] [movesPerSession] [inFlight]
+ * e.g. LoadGenerator - 1000,10000,50000 5 512. With "-" an in-process service is started.
+ */
+public class LoadGenerator {
+
+    private final HttpClient client;
+    private final String base;
+    private final Semaphore inFlight;
+
+    /**
+     * Creates a generator for a running service.
+     * @param base The base URL, e.g. http://127.0.0.1:8132/games.
+     * @param maxInFlight Maximum number of requests outstanding at once.
+     */
+    public LoadGenerator(String base, int maxInFlight) {
+        this.base=base;
+        this.inFlight=new Semaphore(maxInFlight);
+        this.client=HttpClient.newBuilder()
+                .executor(Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors())))
+                .build();
+    }
+
+    /**
+     * Creates the given number of sessions, then makes each play Predator moves with AI replies.
+     * All sessions stay alive until the level is finished.
+     * @param sessions Number of concurrent sessions.
+     * @param moves Predator moves per session.
+     * @return Latency samples for creates and moves.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public Result runLevel(int sessions, int moves) throws InterruptedException {
+        Result res=new Result(sessions);
+        String[] ids=new String[sessions];
+        String[] states=new String[sessions];
+
+        long t0=System.nanoTime();
+        CountDownLatch created=new CountDownLatch(sessions);
+        for(int i=0;i<sessions;i++) {
+            int idx=i;
+            inFlight.acquire();
+            send(post(base+"?era="+ERAS[i%ERAS.length]+"&size=SMALL&rounds=100&seed="+i), res.create, body->{
+                if(body==null) return;
+                states[idx]=body;
+                ids[idx]=field(body, "\"id\":\"", '"');
+            }, ()->{ inFlight.release(); created.countDown(); });
+        }
+        created.await();
+
+        // Each session plays its moves back to back; the permit is held for the whole chain.
+        CountDownLatch done=new CountDownLatch(sessions);
+        Runnable finished=()->{ inFlight.release(); done.countDown(); };
+        for(int i=0;i<sessions;i++) {
+            if(ids[i]==null) { done.countDown(); continue; }
+            inFlight.acquire();
+            playMoves(ids[i], states[i], moves, res, finished);
+        }
+        done.await();
+        res.wallNanos=System.nanoTime()-t0;
+
+        CountDownLatch deleted=new CountDownLatch(sessions);
+        for(String id : ids) {
+            if(id==null) { deleted.countDown(); continue; }
+            inFlight.acquire();
+            send(HttpRequest.newBuilder(URI.create(base+"/"+id)).DELETE().build(), null, null,
+                ()->{ inFlight.release(); deleted.countDown(); });
+        }
+        deleted.await();
+        return res;
+    }
+
+    private void playMoves(String id, String state, int remaining, Result res, Runnable finished) {
+        if(remaining==0 || state==null || state.contains("\"gameOver\":true")) { finished.run(); return; }
+        // Skip moves (staying in place) are always legal, so the client needs no rules.
+        int p=state.indexOf("\"predator\":");
+        String row=field(state.substring(p), "\"row\":", ',');
+        String col=field(state.substring(p), "\"col\":", ',');
+        send(post(base+"/"+id+"/move?role=PREDATOR&auto=true&row="+row+"&col="+col), res.move,
+            body->playMoves(id, body, remaining-1, res, finished), null);
+    }
+
+    /**
+     * Sends a request asynchronously. Callers hold an in-flight permit around it.
+     * @param req The request.
+     * @param log Where to record the latency, or null.
+     * @param onBody Receives the body on success and null on failure, or null.
+     * @param after Runs after onBody in every case, or null.
+     */
+    private void send(HttpRequest req, LatencyLog log, Consumer<String> onBody, Runnable after) {
+        long start=System.nanoTime();
+        client.sendAsync(req, HttpResponse.BodyHandlers.ofString()).whenComplete((resp, err)->{
+            boolean ok=(err==null && resp.statusCode()<300);
+            if(log!=null) {
+                log.add(System.nanoTime()-start);
+                if(!ok) log.errors.incrementAndGet();
+            }
+            if(onBody!=null) onBody.accept(ok ? resp.body() : null);
+            if(after!=null) after.run();
+        });
+    }
+
+    private static HttpRequest post(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).POST(HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    private static String field(String json, String prefix, char end) {
+        int i=json.indexOf(prefix);
+        if(i<0) return null;
+        i+=prefix.length();
+        int j=json.indexOf(end, i);
+        return json.substring(i, j);
+    }
+
+    private static final String[] ERAS={"PAST", "PRESENT", "FUTURE"};
+
+    /**
+     * Thread-safe collection of latency samples.
+     */
+    static final class LatencyLog {
+        private long[] samples=new long[1024];
+        private int n;
+        final AtomicInteger errors=new AtomicInteger();
+
+        synchronized void add(long nanos) {
+            if(n==samples.length) samples=Arrays.copyOf(samples, n*2);
+            samples[n++]=nanos;
+        }
+
+        synchronized int count() { return n; }
+
+        synchronized double percentileMillis(double q) {
+            if(n==0) return 0;
+            long[] sorted=Arrays.copyOf(samples, n);
+            Arrays.sort(sorted);
+            int idx=(int)Math.min(n-1, Math.ceil(q*n)-1);
+            return sorted[Math.max(0, idx)]/1e6;
+        }
+    }
+
+    /**
+     * Latencies of one load level.
+     */
+    public static final class Result {
+        final int sessions;
+        final LatencyLog create=new LatencyLog();
+        final LatencyLog move=new LatencyLog();
+        long wallNanos;
+
+        Result(int sessions) { this.sessions=sessions; }
+
+        @Override
+        public String toString() {
+            double secs=wallNanos/1e9;
+            return String.format(Locale.ROOT,
+                "sessions=%-6d create p50=%.2fms p99=%.2fms | move+ai p50=%.2fms p99=%.2fms | %d req in %.1fs (%.0f req/s) errors=%d",
+                sessions, create.percentileMillis(0.50), create.percentileMillis(0.99),
+                move.percentileMillis(0.50), move.percentileMillis(0.99),
+                create.count()+move.count(), secs, (create.count()+move.count())/secs,
+                create.errors.get()+move.errors.get());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url=args.length>0 ? args[0] : "-";
+        String levels=args.length>1 ? args[1] : "1000,10000,50000";
+        int moves=args.length>2 ? Integer.parseInt(args[2]) : 5;
+        int inFlight=args.length>3 ? Integer.parseInt(args[3]) : 512;
+
+        GameService embedded=null;
+        if(url.equals("-")) {
+            Path tmp=Files.createTempDirectory("foodchain-load");
+            embedded=new GameService(0, tmp, 1_000_000, Runtime.getRuntime().availableProcessors());
+            embedded.start();
+            url="http://127.0.0.1:"+embedded.getPort()+"/games";
+        }
+        try {
+            LoadGenerator gen=new LoadGenerator(url, inFlight);
+            for(String lv : levels.split(",")) {
+                System.out.println(gen.runLevel(Integer.parseInt(lv.trim()), moves));
+            }
+        } finally {
+            if(embedded!=null) embedded.stop();
+            System.exit(0);
+        }
+    }
+}
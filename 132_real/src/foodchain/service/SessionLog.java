@@ -0,0 +1,71 @@
+package foodchain.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import foodchain.events.GameEvent;
+import foodchain.io.GameLogger;
+
+/**
+ * Per-session game log kept in memory and written to the session's own file on demand.
+ * Only the most recent events are kept so idle sessions stay small, and they are
+ * formatted as text only when the log is read or flushed.
+ */
+class SessionLog extends GameLogger {
+    private final Path file;
+    private final int capacity;
+    private final Deque<GameEvent> events=new ArrayDeque<>();
+    private int pending;
+
+    /**
+     * Creates a log for one session.
+     * @param file The file that {@link #flush()} appends to.
+     * @param capacity Maximum number of events held in memory.
+     */
+    SessionLog(Path file, int capacity) {
+        super(file);
+        this.file=file;
+        this.capacity=capacity;
+    }
+
+    @Override
+    public synchronized void onEvent(GameEvent e) {
+        if(events.size()==capacity) events.removeFirst();
+        events.addLast(e);
+        pending=Math.min(pending+1, capacity);
+    }
+
+    /**
+     * Formats the events held in memory.
+     * @return The recent log lines, oldest first.
+     */
+    synchronized List<String> recent() {
+        List<String> out=new ArrayList<>();
+        for(GameEvent e : events) format(e, out::add);
+        return out;
+    }
+
+    /**
+     * Appends the events logged since the last flush to the session file.
+     * @throws IOException If writing fails.
+     */
+    synchronized void flush() throws IOException {
+        if(pending==0) return;
+        Path parent=file.getParent();
+        if(parent!=null) Files.createDirectories(parent);
+        StringBuilder sb=new StringBuilder();
+        int skip=events.size()-pending;
+        for(GameEvent e : events) {
+            if(skip-->0) continue;
+            format(e, l->sb.append(l).append(System.lineSeparator()));
+        }
+        Files.writeString(file, sb, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        pending=0;
+    }
+}
@@ -0,0 +1,134 @@
+package foodchain.service;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.Locale;
+
+import foodchain.core.GameSnapshot;
+import foodchain.core.SnapshotCodec;
+
+/**
+ * Follows a game streamed by {@link SpectatorServer}.
+ *
+ * Usage: SpectatorClient [port] [seconds] [slowMs] prints what a viewer received;
+ * slowMs sleeps after every message to act as a slow viewer.
+ */
+public final class SpectatorClient implements AutoCloseable {
+
+    /** Messages longer than this are taken as a broken stream. */
+    private static final int MAX_MESSAGE=1<<20;
+    private static final int RECEIVE_BUFFER=8*1024;
+
+    private final Socket socket;
+    private final DataInputStream in;
+    private GameSnapshot current;
+    private long keyframes;
+    private long deltas;
+    private long skipped;
+    private long bytes;
+
+    /**
+     * Connects to a stream on the loopback interface.
+     * @param port The port of the stream.
+     * @throws IOException If the connection fails.
+     */
+    public SpectatorClient(int port) throws IOException {
+        socket=new Socket();
+        // Little buffering, so a viewer that falls behind is noticed by the server instead of lagging
+        socket.setReceiveBufferSize(RECEIVE_BUFFER);
+        socket.setTcpNoDelay(true);
+        socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        in=new DataInputStream(new BufferedInputStream(socket.getInputStream(), RECEIVE_BUFFER));
+    }
+
+    /**
+     * Waits for the next message and applies it.
+     * Deltas that arrive before a keyframe, or that do not follow the current snapshot, are skipped.
+     * @return The updated snapshot.
+     * @throws IOException If the stream ends or is malformed.
+     */
+    public GameSnapshot next() throws IOException {
+        while(true) {
+            int len=in.readInt();
+            if(len<=0 || len>MAX_MESSAGE) throw new IOException("Bad message length "+len);
+            byte[] msg=new byte[len];
+            in.readFully(msg);
+            bytes+=4+len;
+            GameSnapshot st;
+            try {
+                st=SnapshotCodec.decode(ByteBuffer.wrap(msg), current);
+            } catch(IllegalArgumentException e) {
+                throw new IOException("Malformed message: "+e.getMessage(), e);
+            }
+            if(st==null) {
+                skipped++;
+                continue;
+            }
+            if(msg[0]==SnapshotCodec.KEYFRAME) keyframes++;
+            else deltas++;
+            current=st;
+            return st;
+        }
+    }
+
+    /** @return The snapshot applied last, or null before the first keyframe. */
+    public GameSnapshot getCurrent() { return current; }
+    public long getKeyframes() { return keyframes; }
+    public long getDeltas() { return deltas; }
+    /** @return Deltas dropped because they did not follow the current snapshot. */
+    public long getSkipped() { return skipped; }
+    public long getBytes() { return bytes; }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+
+    /**
+     * Follows a stream for a while and reports what arrived.
+     * @param args [port] [seconds] [slowMs]
+     * @throws Exception If the stream cannot be reached.
+     */
+    public static void main(String[] args) throws Exception {
+        int port=(args.length>0) ? Integer.parseInt(args[0]) : SpectatorServer.DEFAULT_PORT;
+        long seconds=(args.length>1) ? Long.parseLong(args[1]) : 10L;
+        long slowMs=(args.length>2) ? Long.parseLong(args[2]) : 0L;
+        long deadline=System.nanoTime()+seconds*1_000_000_000L;
+        SpectatorClient client=new SpectatorClient(port);
+        try {
+            // The loop stops at the deadline; the timer closes the client to unblock a next() that is waiting for data
+            Thread timer=new Thread(()->{
+                try {
+                    Thread.sleep(seconds*1000L);
+                    client.close();
+                } catch(InterruptedException | IOException e) {
+                    // Nothing to stop
+                }
+            }, "foodchain-viewer-timer");
+            timer.setDaemon(true);
+            timer.start();
+            try {
+                while(System.nanoTime()-deadline<0) {
+                    client.next();
+                    if(slowMs>0) Thread.sleep(slowMs);
+                }
+            } catch(EOFException e) {
+                System.out.println("Stream ended");
+            } catch(IOException e) {
+                if(!client.socket.isClosed()) throw e;
+            }
+            GameSnapshot st=client.getCurrent();
+            System.out.printf(Locale.ROOT, "keyframes=%d deltas=%d skipped=%d bytes=%d last=%s%n",
+                    client.getKeyframes(), client.getDeltas(), client.getSkipped(), client.getBytes(),
+                    (st==null) ? "-" : "round "+st.getRound()+" "+st.getWinnerText());
+        } finally {
+            client.close();
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package foodchain.service;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import foodchain.ai.AiStrategies;
+import foodchain.ai.AiStrategy;
+import foodchain.core.GameConfig;
+import foodchain.core.GameEngine;
+import foodchain.core.GameSnapshot;
+import foodchain.core.SnapshotCodec;
+import foodchain.model.Era;
+import foodchain.model.GridSize;
+import foodchain.model.Pos;
+import foodchain.model.Role;
+
+/**
+ * Streams a live game to read-only viewers over the loopback interface.
+ *
+ * A viewer gets a keyframe when it connects and then one {@link SnapshotCodec} delta per published
+ * snapshot. Each message is sent as a 4-byte big-endian length followed by the message.
+ * One non-blocking thread serves every viewer, and each delta is encoded once for all of them.
+ *
+ * {@link #publish} never blocks: it hands the snapshot over and wakes the server thread. If
+ * snapshots come faster than the thread runs, the skipped ones are folded into the next delta.
+ * A viewer whose queue is full is downgraded: its queued deltas are dropped, and while it stays
+ * behind it only gets a keyframe of the latest snapshot every "foodchain.spectate.keyframeMs"
+ * (default 500). Once a keyframe has been queued it follows the deltas again.
+ * "foodchain.spectate.queue" sets the queue length (default 64 messages).
+ *
+ * Usage: SpectatorServer [port] [era] [size] [rounds] [turnMs] [games]
+ * plays AI games at the given pace and streams them.
+ */
+public final class SpectatorServer implements AutoCloseable {
+
+    /** Default port of the stream. */
+    public static final int DEFAULT_PORT=8133;
+
+    private static final int QUEUE_LIMIT=Integer.getInteger("foodchain.spectate.queue", 64);
+    private static final int SEND_BUFFER=8*1024;
+    private static final long KEYFRAME_NANOS=TimeUnit.MILLISECONDS.toNanos(Long.getLong("foodchain.spectate.keyframeMs", 500L));
+
+    private final ServerSocketChannel server;
+    private final Selector selector;
+    private final Thread thread;
+    private final AtomicReference<GameSnapshot> latest=new AtomicReference<>();
+    private final AtomicBoolean wakePending=new AtomicBoolean();
+    private volatile boolean running=true;
+
+    private volatile int viewers;
+    private volatile long deltasSent;
+    private volatile long keyframesSent;
+    private volatile long downgrades;
+
+    // Server thread only
+    private final List<Viewer> all=new ArrayList<>();
+    private final ByteBuffer discard=ByteBuffer.allocate(256);
+    private final ByteBuffer[] batch=new ByteBuffer[16];
+    private GameSnapshot sent;
+    private ByteBuffer sentKeyframe;
+
+    private static final class Viewer {
+        final SocketChannel channel;
+        final SelectionKey key;
+        final ArrayDeque<ByteBuffer> queue=new ArrayDeque<>();
+        // True until a keyframe has been queued since connecting or falling behind
+        boolean stale=true;
+        long lastKeyframe;
+
+        Viewer(SocketChannel channel, SelectionKey key) {
+            this.channel=channel;
+            this.key=key;
+        }
+    }
+
+    /**
+     * Binds the stream to the loopback interface and starts its thread.
+     * @param port The port, or 0 for any free port.
+     * @throws IOException If the port cannot be bound.
+     */
+    public SpectatorServer(int port) throws IOException {
+        selector=Selector.open();
+        server=ServerSocketChannel.open();
+        try {
+            server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+            server.configureBlocking(false);
+            server.register(selector, SelectionKey.OP_ACCEPT);
+        } catch(IOException e) {
+            server.close();
+            selector.close();
+            throw e;
+        }
+        thread=new Thread(this::run, "foodchain-spectate");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * @return The port the stream listens on.
+     */
+    public int getPort() {
+        return server.socket().getLocalPort();
+    }
+
+    /**
+     * Sends a snapshot to every viewer. Returns at once; safe to call from any thread.
+     * @param st The snapshot to show.
+     */
+    public void publish(GameSnapshot st) {
+        if(st==null) return;
+        latest.set(st);
+        if(wakePending.compareAndSet(false, true)) selector.wakeup();
+    }
+
+    public int getViewerCount() { return viewers; }
+    public long getDeltasSent() { return deltasSent; }
+    public long getKeyframesSent() { return keyframesSent; }
+    /** @return How many times a viewer fell behind and had its queued deltas dropped. */
+    public long getDowngrades() { return downgrades; }
+
+    @Override
+    public void close() {
+        running=false;
+        selector.wakeup();
+        try {
+            thread.join(1000);
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        try {
+            while(running) {
+                selector.select(TimeUnit.NANOSECONDS.toMillis(KEYFRAME_NANOS)/4+1);
+                wakePending.set(false);
+                Iterator<SelectionKey> it=selector.selectedKeys().iterator();
+                while(it.hasNext()) {
+                    SelectionKey k=it.next();
+                    it.remove();
+                    if(!k.isValid()) continue;
+                    if(k.isAcceptable()) accept();
+                    else handle(k);
+                }
+                GameSnapshot st=latest.get();
+                if(st!=null && st!=sent) broadcast(st);
+                serveStale(System.nanoTime());
+            }
+        } catch(IOException | ClosedSelectorException e) {
+            if(running) System.err.println("Spectator stream stopped: "+e.getMessage());
+        } finally {
+            for(Viewer v : new ArrayList<>(all)) drop(v);
+            try {
+                server.close();
+                selector.close();
+            } catch(IOException e) {
+                // Closing anyway
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel ch;
+        while((ch=server.accept())!=null) {
+            ch.configureBlocking(false);
+            ch.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            // A small kernel buffer keeps a slow viewer's backlog in its queue, where it can be dropped
+            ch.setOption(StandardSocketOptions.SO_SNDBUF, SEND_BUFFER);
+            SelectionKey key=ch.register(selector, SelectionKey.OP_READ);
+            Viewer v=new Viewer(ch, key);
+            key.attach(v);
+            all.add(v);
+            viewers=all.size();
+        }
+    }
+
+    private void handle(SelectionKey k) {
+        Viewer v=(Viewer)k.attachment();
+        try {
+            if(k.isReadable()) {
+                // Viewers send nothing; reading only notices when they hang up
+                discard.clear();
+                if(v.channel.read(discard)<0) {
+                    drop(v);
+                    return;
+                }
+            }
+            if(k.isValid() && k.isWritable()) flush(v);
+        } catch(IOException e) {
+            drop(v);
+        }
+    }
+
+    private void broadcast(GameSnapshot st) {
+        byte[] d=(sent==null) ? null : SnapshotCodec.delta(sent, st);
+        sent=st;
+        sentKeyframe=null;
+        ByteBuffer msg=(d==null) ? null : frame(d);
+        for(Viewer v : new ArrayList<>(all)) {
+            if(v.stale) continue;
+            if(v.queue.size()>=QUEUE_LIMIT) {
+                downgrade(v);
+            } else if(msg==null) {
+                v.lastKeyframe=System.nanoTime();
+                enqueue(v, keyframe());
+                keyframesSent++;
+            } else {
+                enqueue(v, msg.duplicate());
+                deltasSent++;
+            }
+        }
+    }
+
+    /**
+     * Gives a keyframe to viewers that just connected, and to slow ones once their queue
+     * has drained and the keyframe interval has passed.
+     */
+    private void serveStale(long now) {
+        if(sent==null) return;
+        for(Viewer v : new ArrayList<>(all)) {
+            if(!v.stale || !v.queue.isEmpty()) continue;
+            if(v.lastKeyframe!=0 && now-v.lastKeyframe<KEYFRAME_NANOS) continue;
+            v.stale=false;
+            v.lastKeyframe=now;
+            enqueue(v, keyframe());
+            keyframesSent++;
+        }
+    }
+
+    private void downgrade(Viewer v) {
+        ByteBuffer head=v.queue.peekFirst();
+        v.queue.clear();
+        // A message already partly on the wire has to be finished
+        if(head!=null && head.position()>0) v.queue.add(head);
+        v.stale=true;
+        downgrades++;
+    }
+
+    private ByteBuffer keyframe() {
+        if(sentKeyframe==null) sentKeyframe=frame(SnapshotCodec.keyframe(sent));
+        return sentKeyframe.duplicate();
+    }
+
+    private static ByteBuffer frame(byte[] msg) {
+        ByteBuffer b=ByteBuffer.allocate(4+msg.length);
+        b.putInt(msg.length).put(msg).flip();
+        return b.asReadOnlyBuffer();
+    }
+
+    private void enqueue(Viewer v, ByteBuffer msg) {
+        v.queue.add(msg);
+        if(v.queue.size()==1) {
+            try {
+                flush(v);
+            } catch(IOException e) {
+                drop(v);
+            }
+        }
+    }
+
+    /**
+     * Writes as much of the queue as the socket takes, and asks to be told when it takes more.
+     */
+    private void flush(Viewer v) throws IOException {
+        while(!v.queue.isEmpty()) {
+            int k=0;
+            for(ByteBuffer b : v.queue) {
+                if(k==batch.length) break;
+                batch[k++]=b;
+            }
+            v.channel.write(batch, 0, k);
+            boolean full=batch[k-1].hasRemaining();
+            Arrays.fill(batch, null);
+            while(!v.queue.isEmpty() && !v.queue.peekFirst().hasRemaining()) v.queue.pollFirst();
+            if(full) break;
+        }
+        int ops=v.queue.isEmpty() ? SelectionKey.OP_READ : SelectionKey.OP_READ|SelectionKey.OP_WRITE;
+        if(v.key.isValid() && v.key.interestOps()!=ops) v.key.interestOps(ops);
+    }
+
+    private void drop(Viewer v) {
+        all.remove(v);
+        viewers=all.size();
+        v.key.cancel();
+        try {
+            v.channel.close();
+        } catch(IOException e) {
+            // Gone already
+        }
+    }
+
+    /**
+     * Plays AI games at a fixed pace and streams them.
+     * @param args [port] [era] [size] [rounds] [turnMs] [games]
+     * @throws Exception If the port cannot be bound or a game cannot start.
+     */
+    public static void main(String[] args) throws Exception {
+        int port=(args.length>0) ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        Era era=Era.valueOf(((args.length>1) ? args[1] : "PAST").toUpperCase(Locale.ROOT));
+        GridSize size=GridSize.valueOf(((args.length>2) ? args[2] : "LARGE").toUpperCase(Locale.ROOT));
+        int rounds=(args.length>3) ? Integer.parseInt(args[3]) : 100;
+        long turnMs=(args.length>4) ? Long.parseLong(args[4]) : 100L;
+        int games=(args.length>5) ? Integer.parseInt(args[5]) : Integer.MAX_VALUE;
+
+        try(SpectatorServer stream=new SpectatorServer(port)) {
+            System.out.println("Streaming on 127.0.0.1:"+stream.getPort());
+            Map<Role, AiStrategy> ai=new EnumMap<>(Role.class);
+            for(Role r : Role.values()) ai.put(r, AiStrategies.forRole(r));
+            for(int g=0;g<games;g++) {
+                GameEngine engine=new GameEngine(new Random(g), null);
+                engine.startGame(new GameConfig(era, size, rounds));
+                for(Role r : Role.values()) AiStrategies.seed(ai.get(r), r, g);
+                stream.publish(engine.getSnapshot());
+                while(!engine.isGameOver()) {
+                    Thread.sleep(turnMs);
+                    Role turn=engine.getTurnManager().getCurrentTurn();
+                    Pos to=AiStrategies.decideLive(ai.get(turn), engine, turn, AiStrategies.DEFAULT_BUDGET_NANOS);
+                    if(to==null || !engine.move(turn, to)) engine.endTurn();
+                    stream.publish(engine.getSnapshot());
+                }
+                System.out.printf(Locale.ROOT, "game %d: %s | viewers=%d deltas=%d keyframes=%d downgrades=%d%n", g,
+                        engine.getWinnerText(), stream.getViewerCount(), stream.getDeltasSent(),
+                        stream.getKeyframesSent(), stream.getDowngrades());
+                Thread.sleep(20*turnMs);
+            }
+        }
+    }
+}
@@ -1,9 +1,33 @@
 /**
- * 
+ * Headless game core: rules, engine, AI, persistence, metrics and the batch tools.
+ * Has no desktop dependency, so it can be linked into a slim runtime image on its own.
  */
-/**
- * 
- */
-module comp132real {
-	requires java.desktop;
-}
\ No newline at end of file
+module comp132real.core {
+	requires java.management;
+	requires jdk.jfr;
+	requires jdk.httpserver;
+	requires java.net.http;
+
+	exports foodchain.model;
+	exports foodchain.board;
+	exports foodchain.entities;
+	exports foodchain.core;
+	exports foodchain.events;
+	exports foodchain.io;
+	exports foodchain.ai;
+	exports foodchain.rules;
+	exports foodchain.metrics;
+	exports foodchain.jfr;
+	exports foodchain.arena;
+	exports foodchain.service;
+	exports foodchain.batch;
+	exports foodchain.archive;
+
+	uses foodchain.ai.ApexStrategy;
+	uses foodchain.ai.PredatorStrategy;
+	uses foodchain.ai.PreyStrategy;
+
+	provides foodchain.ai.ApexStrategy with foodchain.ai.GreedyApexStrategy, foodchain.ai.RandomMoveStrategy;
+	provides foodchain.ai.PredatorStrategy with foodchain.ai.GreedyPredatorStrategy, foodchain.ai.RandomMoveStrategy;
+	provides foodchain.ai.PreyStrategy with foodchain.ai.SafetyPreyStrategy, foodchain.ai.RandomMoveStrategy;
+}
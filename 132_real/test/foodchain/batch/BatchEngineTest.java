@@ -0,0 +1,49 @@
+package foodchain.batch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import foodchain.board.TerrainMap;
+import foodchain.io.FoodChainRegistry;
+import foodchain.io.TerrainBook;
+import foodchain.model.Era;
+import foodchain.model.GridSize;
+import foodchain.rules.RuleBook;
+
+/**
+ * Plays the same seeded games on BatchEngine and GameEngine and compares them after every turn.
+ * Runs from the project directory, where the era and map files are.
+ */
+class BatchEngineTest {
+
+    @Test
+    void matchesGameEngineOnOpenGround() throws IOException {
+        for(Era era : Era.values()) {
+            for(GridSize size : GridSize.values()) {
+                assertTrue(BatchEngine.verify(era, size, 30, 100, 132L)>0, era+" "+size);
+            }
+        }
+    }
+
+    @Test
+    void matchesGameEngineOnTerrain() throws IOException {
+        TerrainMap canyon=TerrainBook.getDefault().map("canyon");
+        for(Era era : Era.values()) {
+            assertTrue(BatchEngine.verify(era, GridSize.fromSize(canyon.getSize()), canyon, 30, 100, 7L)>0, era.toString());
+        }
+    }
+
+    @Test
+    void runsEveryGameToTheRoundLimit() throws IOException {
+        long[] seeds={1, 2, 3}, policySeeds={4, 5, 6};
+        BatchEngine b=new BatchEngine(RuleBook.getDefault().rules(Era.PAST), FoodChainRegistry.getDefault().count(Era.PAST),
+                GridSize.SMALL, 12, seeds, policySeeds);
+        long turns=b.runToEnd();
+        assertEquals(0, b.getRunning());
+        assertEquals(turns, b.getTurnsPlayed());
+        for(int g=0;g<b.getGames();g++) assertTrue(b.isOver(g), "game "+g);
+    }
+}
@@ -0,0 +1,85 @@
+package foodchain.board;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class CellMapTest {
+
+    @Test
+    void emptyMapHasNothing() {
+        CellMap m=new CellMap();
+        assertEquals(0, m.size());
+        assertEquals(-1, m.get(0));
+        m.remove(0);
+        assertEquals(0, m.size());
+    }
+
+    @Test
+    void putReplacesAndRemoveForgets() {
+        CellMap m=new CellMap();
+        m.put(7, (byte)1);
+        m.put(7, (byte)2);
+        assertEquals(1, m.size());
+        assertEquals(2, m.get(7));
+        m.remove(7);
+        assertEquals(0, m.size());
+        assertEquals(-1, m.get(7));
+    }
+
+    @Test
+    void keysBeyondIntRangeAreDistinct() {
+        CellMap m=new CellMap();
+        long big=1L<<40;
+        m.put(big, (byte)3);
+        m.put(big+1, (byte)4);
+        assertEquals(-1, m.get(0));
+        assertEquals(3, m.get(big));
+        assertEquals(4, m.get(big+1));
+    }
+
+    @Test
+    void growsPastItsInitialCapacity() {
+        CellMap m=new CellMap();
+        for(int k=0;k<10_000;k++) m.put(k, (byte)(k%5));
+        assertEquals(10_000, m.size());
+        for(int k=0;k<10_000;k++) assertEquals(k%5, m.get(k), "key "+k);
+        for(int k=0;k<10_000;k+=2) m.remove(k);
+        assertEquals(5_000, m.size());
+        for(int k=0;k<10_000;k++) assertEquals((k%2==0) ? -1 : k%5, m.get(k), "key "+k);
+    }
+
+    /**
+     * Random inserts and removals over a small key range, so probe runs form and removals
+     * have entries to shift back. After each step every key in the range is read back.
+     */
+    @Test
+    void matchesHashMapUnderChurn() {
+        Random rng=new Random(132);
+        CellMap m=new CellMap();
+        Map<Long, Byte> ref=new HashMap<>();
+        int range=300;
+        for(int step=0;step<20_000;step++) {
+            long key=rng.nextInt(range);
+            if(rng.nextInt(3)==0) {
+                m.remove(key);
+                ref.remove(key);
+            } else {
+                byte v=(byte)rng.nextInt(6);
+                m.put(key, v);
+                ref.put(key, v);
+            }
+            if(step%97==0) {
+                for(long k=0;k<range;k++) {
+                    Byte v=ref.get(k);
+                    assertEquals((v==null) ? -1 : v, m.get(k), "step "+step+" key "+k);
+                }
+            }
+            assertEquals(ref.size(), m.size());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package foodchain.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import foodchain.model.Era;
+
+/**
+ * Leaf counts of the standard start positions against the published table.
+ * Runs from the project directory, where the era files are.
+ */
+class PerftTest {
+
+    private static final int DEPTH=4;
+
+    @Test
+    void countsMatchTheReferenceTable() throws IOException {
+        for(Era era : Era.values()) {
+            GameEngine e=Perft.standardStart(era);
+            for(int d=1;d<=DEPTH;d++) {
+                assertEquals(Perft.reference(era, d), Perft.perft(e, d), era+" depth "+d);
+            }
+        }
+    }
+
+    @Test
+    void parallelCountMatchesSerial() throws IOException {
+        ForkJoinPool pool=new ForkJoinPool(4);
+        try {
+            for(Era era : Era.values()) {
+                GameEngine e=Perft.standardStart(era);
+                assertEquals(Perft.reference(era, DEPTH+1), Perft.parallelPerft(e, DEPTH+1, pool), era.toString());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void divideSumsToTheCount() throws IOException {
+        GameEngine e=Perft.standardStart(Era.PRESENT);
+        long sum=0;
+        for(long n : Perft.divide(e, DEPTH).values()) sum+=n;
+        assertEquals(Perft.reference(Era.PRESENT, DEPTH), sum);
+    }
+
+    @Test
+    void countingLeavesThePositionAlone() throws IOException {
+        GameEngine e=Perft.standardStart(Era.FUTURE);
+        String before=e.legalMoves().toString();
+        long version=e.getSnapshot().getVersion();
+        Perft.perft(e, 3);
+        assertEquals(before, e.legalMoves().toString());
+        assertEquals(version, e.getSnapshot().getVersion());
+    }
+}
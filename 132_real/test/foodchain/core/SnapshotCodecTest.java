@@ -0,0 +1,169 @@
+package foodchain.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import foodchain.board.CellContent;
+import foodchain.board.TerrainMap;
+import foodchain.io.TerrainBook;
+import foodchain.model.Era;
+import foodchain.model.GridSize;
+import foodchain.model.Pos;
+import foodchain.model.Role;
+
+/**
+ * Encodes the snapshots of random games and checks that decoding gives them back.
+ * Runs from the project directory, where the era and map files are.
+ */
+class SnapshotCodecTest {
+
+    @Test
+    void keyframesRoundTrip() throws IOException {
+        for(Era era : Era.values()) {
+            GameEngine e=start(new GameConfig(era, GridSize.MEDIUM, 15), 1L);
+            Random rng=new Random(2L);
+            while(!e.isGameOver()) {
+                GameSnapshot st=e.getSnapshot();
+                assertSameGame(st, decode(SnapshotCodec.keyframe(st), null));
+                playRandom(e, rng);
+            }
+        }
+    }
+
+    @Test
+    void deltasRebuildEveryTurn() throws IOException {
+        for(Era era : Era.values()) {
+            GameEngine e=start(new GameConfig(era, GridSize.LARGE, 20), 3L);
+            Random rng=new Random(4L);
+            GameSnapshot sent=e.getSnapshot();
+            GameSnapshot held=decode(SnapshotCodec.keyframe(sent), null);
+            while(!e.isGameOver()) {
+                playRandom(e, rng);
+                GameSnapshot st=e.getSnapshot();
+                byte[] d=SnapshotCodec.delta(sent, st);
+                assertNotNull(d, "delta within one game");
+                held=decode(d, held);
+                assertSameGame(st, held);
+                sent=st;
+            }
+        }
+    }
+
+    @Test
+    void terrainSurvivesAndIsReused() throws IOException {
+        TerrainMap canyon=TerrainBook.getDefault().map("canyon");
+        GameEngine e=start(new GameConfig(Era.PAST, GridSize.fromSize(canyon.getSize()), 10, canyon), 5L);
+        GameSnapshot first=decode(SnapshotCodec.keyframe(e.getSnapshot()), null);
+        assertEquals(canyon.format(), first.getTerrain().format());
+        playRandom(e, new Random(6L));
+        GameSnapshot second=decode(SnapshotCodec.keyframe(e.getSnapshot()), first);
+        assertSameGame(e.getSnapshot(), second);
+        assertSame(first.getTerrain(), second.getTerrain());
+    }
+
+    @Test
+    void deltaNeedsTheSnapshotItWasMadeFrom() throws IOException {
+        GameEngine e=start(new GameConfig(Era.PRESENT, GridSize.SMALL, 10), 7L);
+        GameSnapshot a=e.getSnapshot();
+        GameSnapshot held=decode(SnapshotCodec.keyframe(a), null);
+        playRandom(e, new Random(8L));
+        GameSnapshot b=e.getSnapshot();
+        playRandom(e, new Random(9L));
+        GameSnapshot c=e.getSnapshot();
+        assertNull(decode(SnapshotCodec.delta(b, c), held), "delta from a snapshot the receiver does not hold");
+        assertNull(decode(SnapshotCodec.delta(a, b), null), "delta without a keyframe");
+
+        GameEngine other=start(new GameConfig(Era.PRESENT, GridSize.SMALL, 10), 7L);
+        assertNull(SnapshotCodec.delta(a, other.getSnapshot()), "delta across games");
+    }
+
+    /**
+     * Cell indexes past 32767 once overflowed a short on the wire,
+     * and past 2^23 the int a change was packed into.
+     */
+    @Test
+    void deltasReachTheFarCornerOfLargeBoards() {
+        int n=3000;
+        CellContent[] empty=new CellContent[n];
+        Arrays.fill(empty, CellContent.EMPTY);
+        CellContent[][] rows=new CellContent[n][];
+        Arrays.fill(rows, empty);
+        GameSnapshot.Piece[] pieces={
+            new GameSnapshot.Piece("Rabbit", Role.PREY, new Pos(0, 0), 0, 0),
+            new GameSnapshot.Piece("Wolf", Role.PREDATOR, new Pos(0, 1), 0, 0),
+            new GameSnapshot.Piece("Bear", Role.APEX, new Pos(0, 2), 0, 0),
+            new GameSnapshot.Piece("Carrot", null, new Pos(n-1, n-1), 0, 0),
+        };
+        GameSnapshot a=new GameSnapshot(1, Era.PAST, 1, 10, Role.PREY, false, pieces, rows, null, 42, 0, -1, null);
+        CellContent[][] changed=rows.clone();
+        changed[n-1]=rows[n-1].clone();
+        changed[n-1][n-1]=CellContent.FOOD;
+        GameSnapshot b=new GameSnapshot(2, Era.PAST, 1, 10, Role.PREDATOR, false, pieces, changed, null, 42, 1, 0, null);
+
+        GameSnapshot base=decode(SnapshotCodec.keyframe(a), null);
+        GameSnapshot held=decode(SnapshotCodec.delta(a, b), base);
+        assertSameGame(b, held);
+        List<String> seen=new ArrayList<>();
+        assertTrue(held.changesSince(base, (r, c, before, after)->seen.add(r+","+c+" "+before+">"+after)));
+        assertEquals(List.of((n-1)+","+(n-1)+" EMPTY>FOOD"), seen);
+    }
+
+    @Test
+    void malformedMessagesAreRejected() throws IOException {
+        GameEngine e=start(new GameConfig(Era.FUTURE, GridSize.SMALL, 10), 10L);
+        byte[] msg=SnapshotCodec.keyframe(e.getSnapshot());
+        assertThrows(IllegalArgumentException.class, ()->decode(Arrays.copyOf(msg, msg.length/2), null));
+        assertThrows(IllegalArgumentException.class, ()->decode(new byte[] {99}, null));
+    }
+
+    private static GameEngine start(GameConfig cfg, long seed) throws IOException {
+        GameEngine e=new GameEngine(new Random(seed), null);
+        e.startGame(cfg);
+        return e;
+    }
+
+    private static void playRandom(GameEngine e, Random rng) {
+        List<Pos> moves=e.legalMoves();
+        Role turn=e.getTurnManager().getCurrentTurn();
+        e.move(turn, moves.get(rng.nextInt(moves.size())));
+    }
+
+    private static GameSnapshot decode(byte[] msg, GameSnapshot current) {
+        return SnapshotCodec.decode(ByteBuffer.wrap(msg), current);
+    }
+
+    private static void assertSameGame(GameSnapshot expected, GameSnapshot actual) {
+        assertNotNull(actual, "decoded snapshot");
+        assertEquals(expected.getVersion(), actual.getVersion(), "version");
+        assertEquals(expected.getEra(), actual.getEra(), "era");
+        assertEquals(expected.getSize(), actual.getSize(), "size");
+        assertEquals(expected.getRound(), actual.getRound(), "round");
+        assertEquals(expected.getTotalRounds(), actual.getTotalRounds(), "total rounds");
+        assertEquals(expected.getTurn(), actual.getTurn(), "turn");
+        assertEquals(expected.isGameOver(), actual.isGameOver(), "game over");
+        GameSnapshot.Piece[][] pieces={
+            {expected.getPrey(), actual.getPrey()}, {expected.getPredator(), actual.getPredator()},
+            {expected.getApex(), actual.getApex()}, {expected.getFood(), actual.getFood()},
+        };
+        for(GameSnapshot.Piece[] p : pieces) {
+            assertEquals(p[0].getName(), p[1].getName(), "name");
+            assertEquals(p[0].getRole(), p[1].getRole(), p[0].getName()+" role");
+            assertEquals(p[0].getPos(), p[1].getPos(), p[0].getName()+" position");
+            assertEquals(p[0].getScore(), p[1].getScore(), p[0].getName()+" score");
+            assertEquals(p[0].getAbilityCooldown(), p[1].getAbilityCooldown(), p[0].getName()+" cooldown");
+        }
+        for(int r=0;r<expected.getSize();r++) {
+            for(int c=0;c<expected.getSize();c++) {
+                assertEquals(expected.get(r, c), actual.get(r, c), "cell "+r+","+c);
+            }
+        }
+    }
+}